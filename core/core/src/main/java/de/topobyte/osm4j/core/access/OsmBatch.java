@@ -0,0 +1,97 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.access;
+
+import java.util.List;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+
+/**
+ * A list of entities that all have the same type. Readers produce batches in
+ * the order the entities occur in the input, typically one or a few batches
+ * per block of the underlying file.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class OsmBatch
+{
+
+	/**
+	 * The number of entities that adapters put into a batch if not specified
+	 * otherwise. This matches the usual number of entities per PBF block.
+	 */
+	public static final int DEFAULT_SIZE = 8000;
+
+	private EntityType type;
+	private List<? extends OsmEntity> entities;
+
+	public OsmBatch(EntityType type, List<? extends OsmEntity> entities)
+	{
+		this.type = type;
+		this.entities = entities;
+	}
+
+	public EntityType getType()
+	{
+		return type;
+	}
+
+	public List<? extends OsmEntity> getEntities()
+	{
+		return entities;
+	}
+
+	public int size()
+	{
+		return entities.size();
+	}
+
+	@SuppressWarnings("unchecked")
+	public List<? extends OsmNode> getNodes()
+	{
+		ensureType(EntityType.Node);
+		return (List<? extends OsmNode>) entities;
+	}
+
+	@SuppressWarnings("unchecked")
+	public List<? extends OsmWay> getWays()
+	{
+		ensureType(EntityType.Way);
+		return (List<? extends OsmWay>) entities;
+	}
+
+	@SuppressWarnings("unchecked")
+	public List<? extends OsmRelation> getRelations()
+	{
+		ensureType(EntityType.Relation);
+		return (List<? extends OsmRelation>) entities;
+	}
+
+	private void ensureType(EntityType expected)
+	{
+		if (type != expected) {
+			throw new IllegalStateException(
+					"batch contains entities of type " + type);
+		}
+	}
+
+}
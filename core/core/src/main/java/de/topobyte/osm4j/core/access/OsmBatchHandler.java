@@ -0,0 +1,49 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.access;
+
+import java.io.IOException;
+import java.util.List;
+
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+
+/**
+ * Receives entities in batches instead of one at a time. Readers never modify
+ * a list after passing it to the handler, so implementations may keep
+ * references to the lists or hand them over to other threads.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public interface OsmBatchHandler
+{
+
+	public void handle(OsmBounds bounds) throws IOException;
+
+	public void handleNodes(List<? extends OsmNode> nodes) throws IOException;
+
+	public void handleWays(List<? extends OsmWay> ways) throws IOException;
+
+	public void handleRelations(List<? extends OsmRelation> relations)
+			throws IOException;
+
+	public void complete() throws IOException;
+
+}
@@ -0,0 +1,41 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.access;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Random access to the blocks of a file. Implementations need to support
+ * concurrent invocations of {@link #decodeBlock(int)} so that blocks can be
+ * decoded by multiple threads at the same time.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public interface OsmBlockSource
+{
+
+	public int getNumberOfBlocks();
+
+	/**
+	 * @return the entities of the block with the specified index, as batches
+	 *         in the order they occur within the block.
+	 */
+	public List<OsmBatch> decodeBlock(int index) throws IOException;
+
+}
@@ -0,0 +1,82 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.access.wrapper;
+
+import java.io.IOException;
+import java.util.List;
+
+import de.topobyte.osm4j.core.access.OsmBatchHandler;
+import de.topobyte.osm4j.core.access.OsmHandler;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+
+/**
+ * Passes the entities of each batch one by one to an {@link OsmHandler}.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class OsmBatchHandlerAdapter implements OsmBatchHandler
+{
+
+	private OsmHandler handler;
+
+	public OsmBatchHandlerAdapter(OsmHandler handler)
+	{
+		this.handler = handler;
+	}
+
+	@Override
+	public void handle(OsmBounds bounds) throws IOException
+	{
+		handler.handle(bounds);
+	}
+
+	@Override
+	public void handleNodes(List<? extends OsmNode> nodes) throws IOException
+	{
+		for (int i = 0; i < nodes.size(); i++) {
+			handler.handle(nodes.get(i));
+		}
+	}
+
+	@Override
+	public void handleWays(List<? extends OsmWay> ways) throws IOException
+	{
+		for (int i = 0; i < ways.size(); i++) {
+			handler.handle(ways.get(i));
+		}
+	}
+
+	@Override
+	public void handleRelations(List<? extends OsmRelation> relations)
+			throws IOException
+	{
+		for (int i = 0; i < relations.size(); i++) {
+			handler.handle(relations.get(i));
+		}
+	}
+
+	@Override
+	public void complete() throws IOException
+	{
+		handler.complete();
+	}
+
+}
@@ -0,0 +1,118 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.access.wrapper;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import de.topobyte.osm4j.core.access.OsmBatch;
+import de.topobyte.osm4j.core.access.OsmBatchIterator;
+import de.topobyte.osm4j.core.access.OsmIterator;
+import de.topobyte.osm4j.core.model.iface.EntityContainer;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+
+/**
+ * Groups consecutive entities of the same type returned by an
+ * {@link OsmIterator} into batches of at most a fixed size.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class OsmBatchIteratorAdapter implements OsmBatchIterator
+{
+
+	private OsmIterator iterator;
+	private int batchSize;
+
+	// The first entity of the next batch, already taken from the iterator
+	private EntityContainer pending = null;
+
+	public OsmBatchIteratorAdapter(OsmIterator iterator)
+	{
+		this(iterator, OsmBatch.DEFAULT_SIZE);
+	}
+
+	public OsmBatchIteratorAdapter(OsmIterator iterator, int batchSize)
+	{
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batch size must be positive");
+		}
+		this.iterator = iterator;
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public Iterator<OsmBatch> iterator()
+	{
+		return this;
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		return pending != null || iterator.hasNext();
+	}
+
+	@Override
+	public OsmBatch next()
+	{
+		EntityContainer first = pending;
+		pending = null;
+		if (first == null) {
+			if (!iterator.hasNext()) {
+				throw new NoSuchElementException();
+			}
+			first = iterator.next();
+		}
+
+		EntityType type = first.getType();
+		List<OsmEntity> entities = new ArrayList<>();
+		entities.add(first.getEntity());
+		while (entities.size() < batchSize && iterator.hasNext()) {
+			EntityContainer container = iterator.next();
+			if (container.getType() != type) {
+				pending = container;
+				break;
+			}
+			entities.add(container.getEntity());
+		}
+		return new OsmBatch(type, entities);
+	}
+
+	@Override
+	public void remove()
+	{
+		throw new UnsupportedOperationException("read only");
+	}
+
+	@Override
+	public boolean hasBounds()
+	{
+		return iterator.hasBounds();
+	}
+
+	@Override
+	public OsmBounds getBounds()
+	{
+		return iterator.getBounds();
+	}
+
+}
@@ -0,0 +1,55 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.access.wrapper;
+
+import de.topobyte.osm4j.core.access.OsmBatch;
+import de.topobyte.osm4j.core.access.OsmBatchHandler;
+import de.topobyte.osm4j.core.access.OsmBatchReader;
+import de.topobyte.osm4j.core.access.OsmInputException;
+import de.topobyte.osm4j.core.access.OsmReader;
+
+public class OsmBatchReaderAdapter implements OsmBatchReader
+{
+
+	private OsmReader reader;
+	private int batchSize;
+
+	public OsmBatchReaderAdapter(OsmReader reader)
+	{
+		this(reader, OsmBatch.DEFAULT_SIZE);
+	}
+
+	public OsmBatchReaderAdapter(OsmReader reader, int batchSize)
+	{
+		this.reader = reader;
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public void setBatchHandler(OsmBatchHandler handler)
+	{
+		reader.setHandler(new OsmHandlerBatchAdapter(handler, batchSize));
+	}
+
+	@Override
+	public void read() throws OsmInputException
+	{
+		reader.read();
+	}
+
+}
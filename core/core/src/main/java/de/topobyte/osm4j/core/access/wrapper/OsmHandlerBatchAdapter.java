@@ -0,0 +1,138 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.access.wrapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.topobyte.osm4j.core.access.OsmBatch;
+import de.topobyte.osm4j.core.access.OsmBatchHandler;
+import de.topobyte.osm4j.core.access.OsmHandler;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+
+/**
+ * Collects entities passed one by one into batches of consecutive entities of
+ * the same type and forwards them to an {@link OsmBatchHandler}. A batch is
+ * emitted as soon as it is full, when the entity type changes and on
+ * completion.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class OsmHandlerBatchAdapter implements OsmHandler
+{
+
+	private OsmBatchHandler handler;
+	private int batchSize;
+
+	private List<OsmNode> nodes = null;
+	private List<OsmWay> ways = null;
+	private List<OsmRelation> relations = null;
+
+	public OsmHandlerBatchAdapter(OsmBatchHandler handler)
+	{
+		this(handler, OsmBatch.DEFAULT_SIZE);
+	}
+
+	public OsmHandlerBatchAdapter(OsmBatchHandler handler, int batchSize)
+	{
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batch size must be positive");
+		}
+		this.handler = handler;
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public void handle(OsmBounds bounds) throws IOException
+	{
+		flush();
+		handler.handle(bounds);
+	}
+
+	@Override
+	public void handle(OsmNode node) throws IOException
+	{
+		if (nodes == null) {
+			flush();
+			nodes = new ArrayList<>(batchSize);
+		}
+		nodes.add(node);
+		if (nodes.size() == batchSize) {
+			flush();
+		}
+	}
+
+	@Override
+	public void handle(OsmWay way) throws IOException
+	{
+		if (ways == null) {
+			flush();
+			ways = new ArrayList<>(batchSize);
+		}
+		ways.add(way);
+		if (ways.size() == batchSize) {
+			flush();
+		}
+	}
+
+	@Override
+	public void handle(OsmRelation relation) throws IOException
+	{
+		if (relations == null) {
+			flush();
+			relations = new ArrayList<>(batchSize);
+		}
+		relations.add(relation);
+		if (relations.size() == batchSize) {
+			flush();
+		}
+	}
+
+	@Override
+	public void complete() throws IOException
+	{
+		flush();
+		handler.complete();
+	}
+
+	/**
+	 * Pass the currently collected entities to the batch handler, if any. At
+	 * most one of the lists is non-null at any time.
+	 */
+	private void flush() throws IOException
+	{
+		if (nodes != null) {
+			List<OsmNode> batch = nodes;
+			nodes = null;
+			handler.handleNodes(batch);
+		} else if (ways != null) {
+			List<OsmWay> batch = ways;
+			ways = null;
+			handler.handleWays(batch);
+		} else if (relations != null) {
+			List<OsmRelation> batch = relations;
+			relations = null;
+			handler.handleRelations(batch);
+		}
+	}
+
+}
@@ -0,0 +1,100 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.access.wrapper;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import de.topobyte.osm4j.core.access.OsmBatch;
+import de.topobyte.osm4j.core.access.OsmBatchIterator;
+import de.topobyte.osm4j.core.access.OsmIterator;
+import de.topobyte.osm4j.core.model.iface.EntityContainer;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+
+/**
+ * Returns the entities of the batches of an {@link OsmBatchIterator} one by
+ * one.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class OsmIteratorBatchAdapter implements OsmIterator
+{
+
+	private OsmBatchIterator iterator;
+
+	private EntityType type = null;
+	private List<? extends OsmEntity> entities = null;
+	private int pointer = 0;
+
+	public OsmIteratorBatchAdapter(OsmBatchIterator iterator)
+	{
+		this.iterator = iterator;
+	}
+
+	@Override
+	public Iterator<EntityContainer> iterator()
+	{
+		return this;
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		while (entities == null || pointer == entities.size()) {
+			if (!iterator.hasNext()) {
+				return false;
+			}
+			OsmBatch batch = iterator.next();
+			type = batch.getType();
+			entities = batch.getEntities();
+			pointer = 0;
+		}
+		return true;
+	}
+
+	@Override
+	public EntityContainer next()
+	{
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return new EntityContainer(type, entities.get(pointer++));
+	}
+
+	@Override
+	public void remove()
+	{
+		throw new UnsupportedOperationException("read only");
+	}
+
+	@Override
+	public boolean hasBounds()
+	{
+		return iterator.hasBounds();
+	}
+
+	@Override
+	public OsmBounds getBounds()
+	{
+		return iterator.getBounds();
+	}
+
+}
@@ -0,0 +1,384 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.dataset;
+
+import java.util.Arrays;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.model.iface.OsmMetadata;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmRelationMember;
+import de.topobyte.osm4j.core.model.iface.OsmTag;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.core.model.impl.RelationMember;
+import de.topobyte.osm4j.core.model.impl.Tag;
+import de.topobyte.osm4j.core.resolve.EntityNotFoundException;
+import de.topobyte.osm4j.core.resolve.OsmEntityProvider;
+
+/**
+ * A compact, read-only alternative to {@link InMemoryMapDataSet} that stores
+ * entities column by column in primitive arrays instead of as individual
+ * objects.
+ * 
+ * Ids are kept in sorted arrays and looked up by binary search. Coordinates
+ * are stored as fixed-point integers with 7 decimal places, just like in PBF
+ * files. Missing coordinates (NaN) are stored as {@link Integer#MAX_VALUE},
+ * as in PBF files, and returned as NaN. Way nodes, relation members and tags
+ * are stored in compressed sparse row layout: one flat array of values per
+ * type plus an array of offsets marking where each entity's values begin. Tag
+ * keys, tag values and member roles are replaced by indices into a dictionary
+ * of distinct strings.
+ * 
+ * Entities returned from the getters are lightweight views onto these arrays
+ * that are created on each call. Metadata is not stored.
+ * 
+ * Use {@link ColumnarDataSetLoader} to create instances.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class ColumnarDataSet implements OsmEntityProvider
+{
+
+	static final double SCALE = 1e7;
+
+	/**
+	 * The stored value of coordinates that are not available.
+	 */
+	static final int MISSING = Integer.MAX_VALUE;
+
+	static int toFixedPoint(double coordinate)
+	{
+		if (Double.isNaN(coordinate)) {
+			return MISSING;
+		}
+		return (int) Math.round(coordinate * SCALE);
+	}
+
+	static double fromFixedPoint(int value)
+	{
+		if (value == MISSING) {
+			return Double.NaN;
+		}
+		return value / SCALE;
+	}
+
+	private static final EntityType[] TYPES = EntityType.values();
+
+	/**
+	 * Tags of all entities of one type in compressed sparse row layout.
+	 */
+	static class Tags
+	{
+
+		final int[] offsets;
+		final int[] keys;
+		final int[] values;
+
+		Tags(int[] offsets, int[] keys, int[] values)
+		{
+			this.offsets = offsets;
+			this.keys = keys;
+			this.values = values;
+		}
+
+	}
+
+	private final OsmBounds bounds;
+	private final String[] strings;
+
+	private final long[] nodeIds;
+	private final int[] nodeLons;
+	private final int[] nodeLats;
+	private final Tags nodeTags;
+
+	private final long[] wayIds;
+	private final int[] wayNodeOffsets;
+	private final long[] wayNodes;
+	private final Tags wayTags;
+
+	private final long[] relationIds;
+	private final int[] memberOffsets;
+	private final long[] memberIds;
+	private final byte[] memberTypes;
+	private final int[] memberRoles;
+	private final Tags relationTags;
+
+	ColumnarDataSet(OsmBounds bounds, String[] strings, long[] nodeIds,
+			int[] nodeLons, int[] nodeLats, Tags nodeTags, long[] wayIds,
+			int[] wayNodeOffsets, long[] wayNodes, Tags wayTags,
+			long[] relationIds, int[] memberOffsets, long[] memberIds,
+			byte[] memberTypes, int[] memberRoles, Tags relationTags)
+	{
+		this.bounds = bounds;
+		this.strings = strings;
+		this.nodeIds = nodeIds;
+		this.nodeLons = nodeLons;
+		this.nodeLats = nodeLats;
+		this.nodeTags = nodeTags;
+		this.wayIds = wayIds;
+		this.wayNodeOffsets = wayNodeOffsets;
+		this.wayNodes = wayNodes;
+		this.wayTags = wayTags;
+		this.relationIds = relationIds;
+		this.memberOffsets = memberOffsets;
+		this.memberIds = memberIds;
+		this.memberTypes = memberTypes;
+		this.memberRoles = memberRoles;
+		this.relationTags = relationTags;
+	}
+
+	public boolean hasBounds()
+	{
+		return bounds != null;
+	}
+
+	public OsmBounds getBounds()
+	{
+		return bounds;
+	}
+
+	public int getNumberOfNodes()
+	{
+		return nodeIds.length;
+	}
+
+	public int getNumberOfWays()
+	{
+		return wayIds.length;
+	}
+
+	public int getNumberOfRelations()
+	{
+		return relationIds.length;
+	}
+
+	/**
+	 * @return the node at the specified position in id order.
+	 */
+	public OsmNode getNodeByIndex(int index)
+	{
+		return new NodeView(index);
+	}
+
+	/**
+	 * @return the way at the specified position in id order.
+	 */
+	public OsmWay getWayByIndex(int index)
+	{
+		return new WayView(index);
+	}
+
+	/**
+	 * @return the relation at the specified position in id order.
+	 */
+	public OsmRelation getRelationByIndex(int index)
+	{
+		return new RelationView(index);
+	}
+
+	public boolean containsNode(long id)
+	{
+		return Arrays.binarySearch(nodeIds, id) >= 0;
+	}
+
+	public boolean containsWay(long id)
+	{
+		return Arrays.binarySearch(wayIds, id) >= 0;
+	}
+
+	public boolean containsRelation(long id)
+	{
+		return Arrays.binarySearch(relationIds, id) >= 0;
+	}
+
+	@Override
+	public OsmNode getNode(long id) throws EntityNotFoundException
+	{
+		int index = Arrays.binarySearch(nodeIds, id);
+		if (index < 0) {
+			throw new EntityNotFoundException(
+					"unable to find node with id: " + id);
+		}
+		return new NodeView(index);
+	}
+
+	@Override
+	public OsmWay getWay(long id) throws EntityNotFoundException
+	{
+		int index = Arrays.binarySearch(wayIds, id);
+		if (index < 0) {
+			throw new EntityNotFoundException(
+					"unable to find way with id: " + id);
+		}
+		return new WayView(index);
+	}
+
+	@Override
+	public OsmRelation getRelation(long id) throws EntityNotFoundException
+	{
+		int index = Arrays.binarySearch(relationIds, id);
+		if (index < 0) {
+			throw new EntityNotFoundException(
+					"unable to find relation with id: " + id);
+		}
+		return new RelationView(index);
+	}
+
+	private String string(int index)
+	{
+		return index < 0 ? null : strings[index];
+	}
+
+	private abstract class EntityView
+	{
+
+		final int index;
+		private final Tags tags;
+
+		EntityView(int index, Tags tags)
+		{
+			this.index = index;
+			this.tags = tags;
+		}
+
+		public int getNumberOfTags()
+		{
+			return tags.offsets[index + 1] - tags.offsets[index];
+		}
+
+		public OsmTag getTag(int n)
+		{
+			int i = tags.offsets[index] + n;
+			return new Tag(string(tags.keys[i]), string(tags.values[i]));
+		}
+
+		public OsmMetadata getMetadata()
+		{
+			return null;
+		}
+
+	}
+
+	private class NodeView extends EntityView implements OsmNode
+	{
+
+		NodeView(int index)
+		{
+			super(index, nodeTags);
+		}
+
+		@Override
+		public long getId()
+		{
+			return nodeIds[index];
+		}
+
+		@Override
+		public EntityType getType()
+		{
+			return EntityType.Node;
+		}
+
+		@Override
+		public double getLongitude()
+		{
+			return fromFixedPoint(nodeLons[index]);
+		}
+
+		@Override
+		public double getLatitude()
+		{
+			return fromFixedPoint(nodeLats[index]);
+		}
+
+	}
+
+	private class WayView extends EntityView implements OsmWay
+	{
+
+		WayView(int index)
+		{
+			super(index, wayTags);
+		}
+
+		@Override
+		public long getId()
+		{
+			return wayIds[index];
+		}
+
+		@Override
+		public EntityType getType()
+		{
+			return EntityType.Way;
+		}
+
+		@Override
+		public int getNumberOfNodes()
+		{
+			return wayNodeOffsets[index + 1] - wayNodeOffsets[index];
+		}
+
+		@Override
+		public long getNodeId(int n)
+		{
+			return wayNodes[wayNodeOffsets[index] + n];
+		}
+
+	}
+
+	private class RelationView extends EntityView implements OsmRelation
+	{
+
+		RelationView(int index)
+		{
+			super(index, relationTags);
+		}
+
+		@Override
+		public long getId()
+		{
+			return relationIds[index];
+		}
+
+		@Override
+		public EntityType getType()
+		{
+			return EntityType.Relation;
+		}
+
+		@Override
+		public int getNumberOfMembers()
+		{
+			return memberOffsets[index + 1] - memberOffsets[index];
+		}
+
+		@Override
+		public OsmRelationMember getMember(int n)
+		{
+			int i = memberOffsets[index] + n;
+			byte type = memberTypes[i];
+			return new RelationMember(memberIds[i],
+					type < 0 ? null : TYPES[type], string(memberRoles[i]));
+		}
+
+	}
+
+}
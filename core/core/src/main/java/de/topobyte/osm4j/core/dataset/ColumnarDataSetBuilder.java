@@ -0,0 +1,386 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.dataset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmRelationMember;
+import de.topobyte.osm4j.core.model.iface.OsmTag;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+
+/**
+ * Collects entities into growable columns and turns them into a
+ * {@link ColumnarDataSet}. Entities may arrive in any order. If an id occurs
+ * more than once, the entity added last wins, just like when putting entities
+ * into the maps of an {@link InMemoryMapDataSet}.
+ */
+class ColumnarDataSetBuilder
+{
+
+	private final boolean keepNodeTags;
+	private final boolean keepWayTags;
+	private final boolean keepRelationTags;
+
+	private OsmBounds bounds = null;
+
+	private Map<String, Integer> dictionary = new HashMap<>();
+	private List<String> strings = new ArrayList<>();
+
+	private LongColumn nodeIds = new LongColumn();
+	private IntColumn nodeLons = new IntColumn();
+	private IntColumn nodeLats = new IntColumn();
+	private TagColumns nodeTags = new TagColumns();
+
+	private LongColumn wayIds = new LongColumn();
+	private IntColumn wayNodeOffsets = IntColumn.offsets();
+	private LongColumn wayNodes = new LongColumn();
+	private TagColumns wayTags = new TagColumns();
+
+	private LongColumn relationIds = new LongColumn();
+	private IntColumn memberOffsets = IntColumn.offsets();
+	private LongColumn memberIds = new LongColumn();
+	private IntColumn memberTypes = new IntColumn();
+	private IntColumn memberRoles = new IntColumn();
+	private TagColumns relationTags = new TagColumns();
+
+	ColumnarDataSetBuilder(boolean keepNodeTags, boolean keepWayTags,
+			boolean keepRelationTags)
+	{
+		this.keepNodeTags = keepNodeTags;
+		this.keepWayTags = keepWayTags;
+		this.keepRelationTags = keepRelationTags;
+	}
+
+	void setBounds(OsmBounds bounds)
+	{
+		this.bounds = bounds;
+	}
+
+	void add(OsmNode node)
+	{
+		nodeIds.add(node.getId());
+		nodeLons.add(ColumnarDataSet.toFixedPoint(node.getLongitude()));
+		nodeLats.add(ColumnarDataSet.toFixedPoint(node.getLatitude()));
+		nodeTags.add(node, keepNodeTags);
+	}
+
+	void add(OsmWay way)
+	{
+		wayIds.add(way.getId());
+		for (int i = 0; i < way.getNumberOfNodes(); i++) {
+			wayNodes.add(way.getNodeId(i));
+		}
+		wayNodeOffsets.add(wayNodes.size);
+		wayTags.add(way, keepWayTags);
+	}
+
+	void add(OsmRelation relation)
+	{
+		relationIds.add(relation.getId());
+		for (int i = 0; i < relation.getNumberOfMembers(); i++) {
+			OsmRelationMember member = relation.getMember(i);
+			EntityType type = member.getType();
+			memberIds.add(member.getId());
+			memberTypes.add(type == null ? -1 : type.ordinal());
+			memberRoles.add(index(member.getRole()));
+		}
+		memberOffsets.add(memberIds.size);
+		relationTags.add(relation, keepRelationTags);
+	}
+
+	private int index(String string)
+	{
+		if (string == null) {
+			return -1;
+		}
+		Integer index = dictionary.get(string);
+		if (index == null) {
+			index = strings.size();
+			strings.add(string);
+			dictionary.put(string, index);
+		}
+		return index;
+	}
+
+	ColumnarDataSet build()
+	{
+		String[] table = strings.toArray(new String[0]);
+		dictionary = null;
+		strings = null;
+
+		long[] nIds = nodeIds.toArray();
+		int[] order = order(nIds);
+		int[] lons = gather(nodeLons.toArray(), order);
+		int[] lats = gather(nodeLats.toArray(), order);
+		ColumnarDataSet.Tags nTags = nodeTags.build(order);
+
+		long[] wIds = wayIds.toArray();
+		int[] wayOrder = order(wIds);
+		int[] wOffsets = wayNodeOffsets.toArray();
+		long[] wNodes = gather(wayNodes.toArray(), wOffsets, wayOrder);
+		wOffsets = gatherOffsets(wOffsets, wayOrder);
+		ColumnarDataSet.Tags wTags = wayTags.build(wayOrder);
+
+		long[] rIds = relationIds.toArray();
+		int[] relationOrder = order(rIds);
+		int[] mOffsets = memberOffsets.toArray();
+		long[] mIds = gather(memberIds.toArray(), mOffsets, relationOrder);
+		int[] mTypes = gather(memberTypes.toArray(), mOffsets,
+				relationOrder);
+		int[] mRoles = gather(memberRoles.toArray(), mOffsets,
+				relationOrder);
+		mOffsets = gatherOffsets(mOffsets, relationOrder);
+		ColumnarDataSet.Tags rTags = relationTags.build(relationOrder);
+
+		byte[] types = new byte[mTypes.length];
+		for (int i = 0; i < types.length; i++) {
+			types[i] = (byte) mTypes[i];
+		}
+
+		return new ColumnarDataSet(bounds, table, gather(nIds, order),
+				lons, lats, nTags, gather(wIds, wayOrder), wOffsets, wNodes,
+				wTags, gather(rIds, relationOrder), mOffsets, mIds, types,
+				mRoles, rTags);
+	}
+
+	/**
+	 * Determine the order in which to store entities so that ids are strictly
+	 * increasing.
+	 * 
+	 * @return the indices of the entities to keep in storage order or null if
+	 *         the ids are already strictly increasing.
+	 */
+	private static int[] order(long[] ids)
+	{
+		int n = ids.length;
+		boolean sorted = true;
+		for (int i = 1; i < n; i++) {
+			if (ids[i] <= ids[i - 1]) {
+				sorted = false;
+				break;
+			}
+		}
+		if (sorted) {
+			return null;
+		}
+
+		// Stable bottom-up merge sort of the indices by id
+		int[] a = new int[n];
+		int[] b = new int[n];
+		for (int i = 0; i < n; i++) {
+			a[i] = i;
+		}
+		for (int width = 1; width < n; width *= 2) {
+			for (int lo = 0; lo < n; lo += 2 * width) {
+				int mid = Math.min(lo + width, n);
+				int hi = Math.min(lo + 2 * width, n);
+				int l = lo, r = mid, k = lo;
+				while (l < mid && r < hi) {
+					b[k++] = ids[a[l]] <= ids[a[r]] ? a[l++] : a[r++];
+				}
+				while (l < mid) {
+					b[k++] = a[l++];
+				}
+				while (r < hi) {
+					b[k++] = a[r++];
+				}
+			}
+			int[] t = a;
+			a = b;
+			b = t;
+		}
+
+		// Of multiple entities with the same id, keep the last one added
+		int m = 0;
+		for (int i = 0; i < n; i++) {
+			if (i + 1 < n && ids[a[i]] == ids[a[i + 1]]) {
+				continue;
+			}
+			a[m++] = a[i];
+		}
+		return Arrays.copyOf(a, m);
+	}
+
+	private static long[] gather(long[] values, int[] order)
+	{
+		if (order == null) {
+			return values;
+		}
+		long[] result = new long[order.length];
+		for (int i = 0; i < order.length; i++) {
+			result[i] = values[order[i]];
+		}
+		return result;
+	}
+
+	private static int[] gather(int[] values, int[] order)
+	{
+		if (order == null) {
+			return values;
+		}
+		int[] result = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			result[i] = values[order[i]];
+		}
+		return result;
+	}
+
+	private static int[] gatherOffsets(int[] offsets, int[] order)
+	{
+		if (order == null) {
+			return offsets;
+		}
+		int[] result = new int[order.length + 1];
+		for (int i = 0; i < order.length; i++) {
+			int k = order[i];
+			result[i + 1] = result[i] + offsets[k + 1] - offsets[k];
+		}
+		return result;
+	}
+
+	private static long[] gather(long[] values, int[] offsets, int[] order)
+	{
+		if (order == null) {
+			return values;
+		}
+		int[] target = gatherOffsets(offsets, order);
+		long[] result = new long[target[order.length]];
+		for (int i = 0; i < order.length; i++) {
+			int k = order[i];
+			System.arraycopy(values, offsets[k], result, target[i],
+					offsets[k + 1] - offsets[k]);
+		}
+		return result;
+	}
+
+	private static int[] gather(int[] values, int[] offsets, int[] order)
+	{
+		if (order == null) {
+			return values;
+		}
+		int[] target = gatherOffsets(offsets, order);
+		int[] result = new int[target[order.length]];
+		for (int i = 0; i < order.length; i++) {
+			int k = order[i];
+			System.arraycopy(values, offsets[k], result, target[i],
+					offsets[k + 1] - offsets[k]);
+		}
+		return result;
+	}
+
+	private class TagColumns
+	{
+
+		private IntColumn offsets = IntColumn.offsets();
+		private IntColumn keys = new IntColumn();
+		private IntColumn values = new IntColumn();
+
+		void add(OsmEntity entity, boolean keep)
+		{
+			if (keep) {
+				for (int i = 0; i < entity.getNumberOfTags(); i++) {
+					OsmTag tag = entity.getTag(i);
+					keys.add(index(tag.getKey()));
+					values.add(index(tag.getValue()));
+				}
+			}
+			offsets.add(keys.size);
+		}
+
+		ColumnarDataSet.Tags build(int[] order)
+		{
+			int[] o = offsets.toArray();
+			int[] k = gather(keys.toArray(), o, order);
+			int[] v = gather(values.toArray(), o, order);
+			return new ColumnarDataSet.Tags(gatherOffsets(o, order), k, v);
+		}
+
+	}
+
+	private static class LongColumn
+	{
+
+		private long[] data = new long[16];
+		private int size = 0;
+
+		void add(long value)
+		{
+			if (size == data.length) {
+				data = Arrays.copyOf(data, grow(size));
+			}
+			data[size++] = value;
+		}
+
+		long[] toArray()
+		{
+			long[] result = Arrays.copyOf(data, size);
+			data = null;
+			return result;
+		}
+
+	}
+
+	private static class IntColumn
+	{
+
+		static IntColumn offsets()
+		{
+			IntColumn column = new IntColumn();
+			column.add(0);
+			return column;
+		}
+
+		private int[] data = new int[16];
+		private int size = 0;
+
+		void add(int value)
+		{
+			if (size == data.length) {
+				data = Arrays.copyOf(data, grow(size));
+			}
+			data[size++] = value;
+		}
+
+		int[] toArray()
+		{
+			int[] result = Arrays.copyOf(data, size);
+			data = null;
+			return result;
+		}
+
+	}
+
+	private static int grow(int size)
+	{
+		int grown = size + (size >> 1);
+		if (grown < 0) {
+			throw new OutOfMemoryError("column too large");
+		}
+		return grown;
+	}
+
+}
@@ -0,0 +1,133 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.dataset;
+
+import java.io.IOException;
+
+import de.topobyte.osm4j.core.access.OsmHandler;
+import de.topobyte.osm4j.core.access.OsmInputException;
+import de.topobyte.osm4j.core.access.OsmIterator;
+import de.topobyte.osm4j.core.access.OsmIteratorInput;
+import de.topobyte.osm4j.core.access.OsmReader;
+import de.topobyte.osm4j.core.access.OsmReaderInput;
+import de.topobyte.osm4j.core.model.iface.EntityContainer;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+
+public class ColumnarDataSetLoader
+{
+
+	public static ColumnarDataSet read(OsmIteratorInput iteratorInput,
+			boolean keepNodeTags, boolean keepWayTags, boolean keepRelationTags)
+			throws IOException
+	{
+		OsmIterator iterator = iteratorInput.getIterator();
+		ColumnarDataSet data = read(iterator, keepNodeTags, keepWayTags,
+				keepRelationTags);
+		iteratorInput.close();
+		return data;
+	}
+
+	public static ColumnarDataSet read(OsmReaderInput readerInput,
+			boolean keepNodeTags, boolean keepWayTags, boolean keepRelationTags)
+			throws IOException, OsmInputException
+	{
+		OsmReader reader = readerInput.getReader();
+		ColumnarDataSet data = read(reader, keepNodeTags, keepWayTags,
+				keepRelationTags);
+		readerInput.close();
+		return data;
+	}
+
+	public static ColumnarDataSet read(OsmIterator iterator,
+			boolean keepNodeTags, boolean keepWayTags, boolean keepRelationTags)
+	{
+		ColumnarDataSetBuilder builder = new ColumnarDataSetBuilder(
+				keepNodeTags, keepWayTags, keepRelationTags);
+
+		if (iterator.hasBounds()) {
+			builder.setBounds(iterator.getBounds());
+		}
+
+		while (iterator.hasNext()) {
+			EntityContainer container = iterator.next();
+			switch (container.getType()) {
+			case Node:
+				builder.add((OsmNode) container.getEntity());
+				break;
+			case Way:
+				builder.add((OsmWay) container.getEntity());
+				break;
+			case Relation:
+				builder.add((OsmRelation) container.getEntity());
+				break;
+			}
+		}
+
+		return builder.build();
+	}
+
+	public static ColumnarDataSet read(OsmReader reader,
+			final boolean keepNodeTags, final boolean keepWayTags,
+			final boolean keepRelationTags) throws OsmInputException
+	{
+		final ColumnarDataSetBuilder builder = new ColumnarDataSetBuilder(
+				keepNodeTags, keepWayTags, keepRelationTags);
+
+		reader.setHandler(new OsmHandler() {
+
+			@Override
+			public void handle(OsmBounds bounds) throws IOException
+			{
+				builder.setBounds(bounds);
+			}
+
+			@Override
+			public void handle(OsmNode node) throws IOException
+			{
+				builder.add(node);
+			}
+
+			@Override
+			public void handle(OsmWay way) throws IOException
+			{
+				builder.add(way);
+			}
+
+			@Override
+			public void handle(OsmRelation relation) throws IOException
+			{
+				builder.add(relation);
+			}
+
+			@Override
+			public void complete() throws IOException
+			{
+				// nothing to do here
+			}
+
+		});
+
+		reader.read();
+
+		return builder.build();
+	}
+
+}
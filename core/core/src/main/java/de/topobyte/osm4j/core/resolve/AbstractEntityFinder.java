@@ -17,25 +17,187 @@
 
 package de.topobyte.osm4j.core.resolve;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import com.slimjars.dist.gnu.trove.TLongCollection;
+import com.slimjars.dist.gnu.trove.iterator.TLongIterator;
+import com.slimjars.dist.gnu.trove.map.TLongObjectMap;
+import com.slimjars.dist.gnu.trove.map.hash.TLongObjectHashMap;
+import com.slimjars.dist.gnu.trove.set.TLongSet;
+import com.slimjars.dist.gnu.trove.set.hash.TLongHashSet;
+
 import de.topobyte.adt.multicollections.MultiSet;
 import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
 import de.topobyte.osm4j.core.model.iface.OsmNode;
 import de.topobyte.osm4j.core.model.iface.OsmRelation;
 import de.topobyte.osm4j.core.model.iface.OsmRelationMember;
 import de.topobyte.osm4j.core.model.iface.OsmWay;
 
+/**
+ * Base class for entity finders.
+ * 
+ * If an entity provider is passed to the constructor, lookups of multiple
+ * entities are resolved in bulk: the referenced ids are collected,
+ * deduplicated and sorted, then resolved using the bulk lookup methods of the
+ * {@link OsmEntityProvider}. The results are added to the output collections
+ * in the same order and multiplicity as with one lookup per reference.
+ * Entities that cannot be resolved are reported to the
+ * {@link #entityMissing(EntityType, long)},
+ * {@link #wayNodeMissing(OsmWay, long)} and
+ * {@link #memberMissing(OsmRelation, OsmRelationMember)} methods, which throw
+ * an {@link EntityNotFoundException} unless overridden.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
 public abstract class AbstractEntityFinder implements EntityFinder
 {
 
+	protected OsmEntityProvider entityProvider;
+
+	/**
+	 * Create a finder without an entity provider. Subclasses need to
+	 * implement the lookup of entities by id themselves and the methods that
+	 * work on collections of ways and relations delegate to the methods for
+	 * single ways and relations.
+	 */
+	protected AbstractEntityFinder()
+	{
+		this(null);
+	}
+
+	protected AbstractEntityFinder(OsmEntityProvider entityProvider)
+	{
+		this.entityProvider = entityProvider;
+	}
+
+	/**
+	 * Called for each id passed to {@link #findNodes(TLongCollection)},
+	 * {@link #findWays(TLongCollection)} or
+	 * {@link #findRelations(TLongCollection)} that cannot be resolved.
+	 */
+	protected void entityMissing(EntityType type, long id)
+			throws EntityNotFoundException
+	{
+		throw new EntityNotFoundException(String.format(
+				"Unable to find %s with id %d",
+				type.toString().toLowerCase(), id));
+	}
+
+	/**
+	 * Called for each node reference of a way that cannot be resolved.
+	 */
+	protected void wayNodeMissing(OsmWay way, long nodeId)
+			throws EntityNotFoundException
+	{
+		throw new EntityNotFoundException(String.format(
+				"Unable to find way node: way id %d, node id %d", way.getId(),
+				nodeId));
+	}
+
+	/**
+	 * Called for each member of a relation that cannot be resolved.
+	 */
+	protected void memberMissing(OsmRelation relation,
+			OsmRelationMember member) throws EntityNotFoundException
+	{
+		throw new EntityNotFoundException(String.format(
+				"Unable to find member: relation id %d, member %s:%d",
+				relation.getId(), member.getType().toString(), member.getId()));
+	}
+
+	@Override
+	public List<OsmNode> findNodes(TLongCollection ids)
+			throws EntityNotFoundException
+	{
+		TLongObjectMap<OsmNode> resolved = resolveNodes(ids);
+		List<OsmNode> nodes = new ArrayList<>();
+		TLongIterator idIterator = ids.iterator();
+		while (idIterator.hasNext()) {
+			long id = idIterator.next();
+			OsmNode node = resolved.get(id);
+			if (node == null) {
+				entityMissing(EntityType.Node, id);
+			} else {
+				nodes.add(node);
+			}
+		}
+		return nodes;
+	}
+
+	@Override
+	public List<OsmWay> findWays(TLongCollection ids)
+			throws EntityNotFoundException
+	{
+		TLongObjectMap<OsmWay> resolved = resolveWays(ids);
+		List<OsmWay> ways = new ArrayList<>();
+		TLongIterator idIterator = ids.iterator();
+		while (idIterator.hasNext()) {
+			long id = idIterator.next();
+			OsmWay way = resolved.get(id);
+			if (way == null) {
+				entityMissing(EntityType.Way, id);
+			} else {
+				ways.add(way);
+			}
+		}
+		return ways;
+	}
+
+	@Override
+	public List<OsmRelation> findRelations(TLongCollection ids)
+			throws EntityNotFoundException
+	{
+		TLongObjectMap<OsmRelation> resolved = resolveRelations(ids);
+		List<OsmRelation> relations = new ArrayList<>();
+		TLongIterator idIterator = ids.iterator();
+		while (idIterator.hasNext()) {
+			long id = idIterator.next();
+			OsmRelation relation = resolved.get(id);
+			if (relation == null) {
+				entityMissing(EntityType.Relation, id);
+			} else {
+				relations.add(relation);
+			}
+		}
+		return relations;
+	}
+
 	@Override
 	public void findWayNodes(Collection<OsmWay> ways,
 			Collection<OsmNode> outNodes) throws EntityNotFoundException
 	{
+		if (entityProvider == null) {
+			for (OsmWay way : ways) {
+				findWayNodes(way, outNodes);
+			}
+			return;
+		}
+
+		TLongSet ids = new TLongHashSet();
 		for (OsmWay way : ways) {
-			findWayNodes(way, outNodes);
+			for (int i = 0; i < way.getNumberOfNodes(); i++) {
+				ids.add(way.getNodeId(i));
+			}
+		}
+
+		TLongObjectMap<OsmNode> nodes = resolveNodes(ids);
+
+		for (OsmWay way : ways) {
+			for (int i = 0; i < way.getNumberOfNodes(); i++) {
+				long id = way.getNodeId(i);
+				OsmNode node = nodes.get(id);
+				if (node == null) {
+					wayNodeMissing(way, id);
+				} else {
+					outNodes.add(node);
+				}
+			}
 		}
 	}
 
@@ -43,26 +205,64 @@ public abstract class AbstractEntityFinder implements EntityFinder
 	public void findMemberNodes(Collection<OsmRelation> relations,
 			Set<OsmNode> outNodes) throws EntityNotFoundException
 	{
-		for (OsmRelation relation : relations) {
-			findMemberNodes(relation, outNodes);
+		if (entityProvider == null) {
+			for (OsmRelation relation : relations) {
+				findMemberNodes(relation, outNodes);
+			}
+			return;
 		}
+		addMembers(relations, outNodes, null, null);
 	}
 
 	@Override
 	public void findMemberWays(Collection<OsmRelation> relations,
 			Set<OsmWay> outWays) throws EntityNotFoundException
 	{
-		for (OsmRelation relation : relations) {
-			findMemberWays(relation, outWays);
+		if (entityProvider == null) {
+			for (OsmRelation relation : relations) {
+				findMemberWays(relation, outWays);
+			}
+			return;
 		}
+		addMembers(relations, null, outWays, null);
 	}
 
 	@Override
 	public void findMemberWays(Collection<OsmRelation> relations,
 			MultiSet<OsmWay> outWays) throws EntityNotFoundException
 	{
+		if (entityProvider == null) {
+			for (OsmRelation relation : relations) {
+				findMemberWays(relation, outWays);
+			}
+			return;
+		}
+
+		TLongSet ids = new TLongHashSet();
+		for (OsmRelation relation : relations) {
+			for (int i = 0; i < relation.getNumberOfMembers(); i++) {
+				OsmRelationMember member = relation.getMember(i);
+				if (member.getType() == EntityType.Way) {
+					ids.add(member.getId());
+				}
+			}
+		}
+
+		TLongObjectMap<OsmWay> ways = resolveWays(ids);
+
 		for (OsmRelation relation : relations) {
-			findMemberWays(relation, outWays);
+			for (int i = 0; i < relation.getNumberOfMembers(); i++) {
+				OsmRelationMember member = relation.getMember(i);
+				if (member.getType() != EntityType.Way) {
+					continue;
+				}
+				OsmWay way = ways.get(member.getId());
+				if (way == null) {
+					memberMissing(relation, member);
+				} else {
+					outWays.add(way);
+				}
+			}
 		}
 	}
 
@@ -70,9 +270,13 @@ public abstract class AbstractEntityFinder implements EntityFinder
 	public void findMemberRelations(Collection<OsmRelation> relations,
 			Set<OsmRelation> outRelations) throws EntityNotFoundException
 	{
-		for (OsmRelation relation : relations) {
-			findMemberRelations(relation, outRelations);
+		if (entityProvider == null) {
+			for (OsmRelation relation : relations) {
+				findMemberRelations(relation, outRelations);
+			}
+			return;
 		}
+		addMembers(relations, null, null, outRelations);
 	}
 
 	@Override
@@ -80,20 +284,166 @@ public abstract class AbstractEntityFinder implements EntityFinder
 			Set<OsmNode> outNodes, Set<OsmWay> outWays)
 			throws EntityNotFoundException
 	{
-		for (OsmRelation relation : relations) {
-			findMemberNodesAndWays(relation, outNodes, outWays);
+		if (entityProvider == null) {
+			for (OsmRelation relation : relations) {
+				findMemberNodesAndWays(relation, outNodes, outWays);
+			}
+			return;
 		}
+		addMembers(relations, outNodes, outWays, null);
 	}
 
 	@Override
 	public void findMemberNodesAndWayNodes(Collection<OsmRelation> relations,
 			Set<OsmNode> outNodes) throws EntityNotFoundException
 	{
+		if (entityProvider == null) {
+			for (OsmRelation relation : relations) {
+				findMemberNodesAndWayNodes(relation, outNodes);
+			}
+			return;
+		}
+
+		Set<OsmWay> ways = new HashSet<>();
+		findMemberNodesAndWays(relations, outNodes, ways);
+		findWayNodes(ways, outNodes);
+	}
+
+	/**
+	 * Resolve the members of the specified types of all relations in bulk and
+	 * add them to the output collections. Members of types whose output
+	 * collection is null are skipped.
+	 */
+	private void addMembers(Collection<OsmRelation> relations,
+			Collection<OsmNode> outNodes, Collection<OsmWay> outWays,
+			Collection<OsmRelation> outRelations)
+			throws EntityNotFoundException
+	{
+		TLongSet nodeIds = new TLongHashSet();
+		TLongSet wayIds = new TLongHashSet();
+		TLongSet relationIds = new TLongHashSet();
+		for (OsmRelation relation : relations) {
+			for (int i = 0; i < relation.getNumberOfMembers(); i++) {
+				OsmRelationMember member = relation.getMember(i);
+				if (member.getType() == EntityType.Node && outNodes != null) {
+					nodeIds.add(member.getId());
+				} else if (member.getType() == EntityType.Way
+						&& outWays != null) {
+					wayIds.add(member.getId());
+				} else if (member.getType() == EntityType.Relation
+						&& outRelations != null) {
+					relationIds.add(member.getId());
+				}
+			}
+		}
+
+		TLongObjectMap<OsmNode> nodes = resolveNodes(nodeIds);
+		TLongObjectMap<OsmWay> ways = resolveWays(wayIds);
+		TLongObjectMap<OsmRelation> rels = resolveRelations(relationIds);
+
 		for (OsmRelation relation : relations) {
-			findMemberNodesAndWayNodes(relation, outNodes);
+			for (int i = 0; i < relation.getNumberOfMembers(); i++) {
+				OsmRelationMember member = relation.getMember(i);
+				if (member.getType() == EntityType.Node && outNodes != null) {
+					add(nodes.get(member.getId()), outNodes, relation,
+							member);
+				} else if (member.getType() == EntityType.Way
+						&& outWays != null) {
+					add(ways.get(member.getId()), outWays, relation, member);
+				} else if (member.getType() == EntityType.Relation
+						&& outRelations != null) {
+					add(rels.get(member.getId()), outRelations, relation,
+							member);
+				}
+			}
 		}
 	}
 
+	private <T> void add(T entity, Collection<T> out, OsmRelation relation,
+			OsmRelationMember member) throws EntityNotFoundException
+	{
+		if (entity == null) {
+			memberMissing(relation, member);
+		} else {
+			out.add(entity);
+		}
+	}
+
+	/*
+	 * Bulk resolution
+	 */
+
+	protected TLongObjectMap<OsmNode> resolveNodes(TLongCollection ids)
+			throws EntityNotFoundException
+	{
+		TLongObjectMap<OsmNode> nodes = new TLongObjectHashMap<>();
+		if (!ids.isEmpty()) {
+			entityProvider.getNodes(sorted(ids), new Collector<>(nodes));
+		}
+		return nodes;
+	}
+
+	protected TLongObjectMap<OsmWay> resolveWays(TLongCollection ids)
+			throws EntityNotFoundException
+	{
+		TLongObjectMap<OsmWay> ways = new TLongObjectHashMap<>();
+		if (!ids.isEmpty()) {
+			entityProvider.getWays(sorted(ids), new Collector<>(ways));
+		}
+		return ways;
+	}
+
+	protected TLongObjectMap<OsmRelation> resolveRelations(
+			TLongCollection ids) throws EntityNotFoundException
+	{
+		TLongObjectMap<OsmRelation> relations = new TLongObjectHashMap<>();
+		if (!ids.isEmpty()) {
+			entityProvider.getRelations(sorted(ids),
+					new Collector<>(relations));
+		}
+		return relations;
+	}
+
+	/**
+	 * @return the distinct values of the collection in ascending order.
+	 */
+	private static long[] sorted(TLongCollection ids)
+	{
+		long[] array;
+		if (ids instanceof TLongSet) {
+			array = ids.toArray();
+		} else {
+			array = new TLongHashSet(ids).toArray();
+		}
+		Arrays.sort(array);
+		return array;
+	}
+
+	private static class Collector<T extends OsmEntity>
+			implements EntityReceiver<T>
+	{
+
+		private TLongObjectMap<T> entities;
+
+		Collector(TLongObjectMap<T> entities)
+		{
+			this.entities = entities;
+		}
+
+		@Override
+		public void found(T entity)
+		{
+			entities.put(entity.getId(), entity);
+		}
+
+		@Override
+		public void missing(long id)
+		{
+			// reported along with the referencing entity by the caller
+		}
+
+	}
+
 	protected void addMember(OsmRelationMember member,
 			Collection<OsmNode> outNodes, Collection<OsmWay> outWays,
 			Collection<OsmRelation> outRelations,
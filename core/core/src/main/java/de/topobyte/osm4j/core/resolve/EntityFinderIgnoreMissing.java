@@ -17,16 +17,12 @@
 
 package de.topobyte.osm4j.core.resolve;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.LinkedList;
-import java.util.List;
 import java.util.Set;
 
-import com.slimjars.dist.gnu.trove.TLongCollection;
-import com.slimjars.dist.gnu.trove.iterator.TLongIterator;
 import com.slimjars.dist.gnu.trove.set.TLongSet;
 import com.slimjars.dist.gnu.trove.set.hash.TLongHashSet;
 
@@ -41,58 +37,28 @@ import de.topobyte.osm4j.core.model.util.OsmModelUtil;
 public class EntityFinderIgnoreMissing extends AbstractEntityFinder
 {
 
-	private OsmEntityProvider entityProvider;
-
 	public EntityFinderIgnoreMissing(OsmEntityProvider entityProvider)
 	{
-		this.entityProvider = entityProvider;
+		super(entityProvider);
 	}
 
 	@Override
-	public List<OsmNode> findNodes(TLongCollection ids)
-			throws EntityNotFoundException
+	protected void entityMissing(EntityType type, long id)
 	{
-		List<OsmNode> nodes = new ArrayList<>();
-		TLongIterator idIterator = ids.iterator();
-		while (idIterator.hasNext()) {
-			try {
-				nodes.add(entityProvider.getNode(idIterator.next()));
-			} catch (EntityNotFoundException e) {
-				// ignore silently
-			}
-		}
-		return nodes;
+		// ignore silently
 	}
 
 	@Override
-	public List<OsmWay> findWays(TLongCollection ids)
-			throws EntityNotFoundException
+	protected void wayNodeMissing(OsmWay way, long nodeId)
 	{
-		List<OsmWay> ways = new ArrayList<>();
-		TLongIterator idIterator = ids.iterator();
-		while (idIterator.hasNext()) {
-			try {
-				ways.add(entityProvider.getWay(idIterator.next()));
-			} catch (EntityNotFoundException e) {
-				// ignore silently
-			}
-		}
-		return ways;
+		// ignore silently
 	}
 
 	@Override
-	public List<OsmRelation> findRelations(TLongCollection ids)
+	protected void memberMissing(OsmRelation relation,
+			OsmRelationMember member)
 	{
-		List<OsmRelation> relations = new ArrayList<>();
-		TLongIterator idIterator = ids.iterator();
-		while (idIterator.hasNext()) {
-			try {
-				relations.add(entityProvider.getRelation(idIterator.next()));
-			} catch (EntityNotFoundException e) {
-				// ignore silently
-			}
-		}
-		return relations;
+		// ignore silently
 	}
 
 	@Override
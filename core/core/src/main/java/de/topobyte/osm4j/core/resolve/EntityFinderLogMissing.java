@@ -17,19 +17,15 @@
 
 package de.topobyte.osm4j.core.resolve;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.LinkedList;
-import java.util.List;
 import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.slimjars.dist.gnu.trove.TLongCollection;
-import com.slimjars.dist.gnu.trove.iterator.TLongIterator;
 import com.slimjars.dist.gnu.trove.set.TLongSet;
 import com.slimjars.dist.gnu.trove.set.hash.TLongHashSet;
 
@@ -47,11 +43,9 @@ public abstract class EntityFinderLogMissing extends AbstractEntityFinder
 	static final Logger logger = LoggerFactory
 			.getLogger(EntityFinderLogMissing.class);
 
-	private OsmEntityProvider entityProvider;
-
 	public EntityFinderLogMissing(OsmEntityProvider entityProvider)
 	{
-		this.entityProvider = entityProvider;
+		super(entityProvider);
 	}
 
 	protected abstract void log(String message);
@@ -93,53 +87,32 @@ public abstract class EntityFinderLogMissing extends AbstractEntityFinder
 	}
 
 	@Override
-	public List<OsmNode> findNodes(TLongCollection ids)
-			throws EntityNotFoundException
-	{
-		List<OsmNode> nodes = new ArrayList<>();
-		TLongIterator idIterator = ids.iterator();
-		while (idIterator.hasNext()) {
-			long id = idIterator.next();
-			try {
-				nodes.add(entityProvider.getNode(id));
-			} catch (EntityNotFoundException e) {
-				logNodeNotFound(id);
-			}
+	protected void entityMissing(EntityType type, long id)
+	{
+		switch (type) {
+		case Node:
+			logNodeNotFound(id);
+			break;
+		case Way:
+			logWayNotFound(id);
+			break;
+		case Relation:
+			logRelationNotFound(id);
+			break;
 		}
-		return nodes;
 	}
 
 	@Override
-	public List<OsmWay> findWays(TLongCollection ids)
-			throws EntityNotFoundException
+	protected void wayNodeMissing(OsmWay way, long nodeId)
 	{
-		List<OsmWay> ways = new ArrayList<>();
-		TLongIterator idIterator = ids.iterator();
-		while (idIterator.hasNext()) {
-			long id = idIterator.next();
-			try {
-				ways.add(entityProvider.getWay(id));
-			} catch (EntityNotFoundException e) {
-				logWayNotFound(id);
-			}
-		}
-		return ways;
+		logWayNodeNotFound(way, nodeId);
 	}
 
 	@Override
-	public List<OsmRelation> findRelations(TLongCollection ids)
+	protected void memberMissing(OsmRelation relation,
+			OsmRelationMember member)
 	{
-		List<OsmRelation> relations = new ArrayList<>();
-		TLongIterator idIterator = ids.iterator();
-		while (idIterator.hasNext()) {
-			long id = idIterator.next();
-			try {
-				relations.add(entityProvider.getRelation(id));
-			} catch (EntityNotFoundException e) {
-				logRelationNotFound(id);
-			}
-		}
-		return relations;
+		logMemberNotFound(relation, member);
 	}
 
 	@Override
@@ -17,16 +17,12 @@
 
 package de.topobyte.osm4j.core.resolve;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.LinkedList;
-import java.util.List;
 import java.util.Set;
 
-import com.slimjars.dist.gnu.trove.TLongCollection;
-import com.slimjars.dist.gnu.trove.iterator.TLongIterator;
 import com.slimjars.dist.gnu.trove.set.TLongSet;
 import com.slimjars.dist.gnu.trove.set.hash.TLongHashSet;
 
@@ -41,47 +37,9 @@ import de.topobyte.osm4j.core.model.util.OsmModelUtil;
 public class EntityFinderThrowMissing extends AbstractEntityFinder
 {
 
-	private OsmEntityProvider entityProvider;
-
 	public EntityFinderThrowMissing(OsmEntityProvider entityProvider)
 	{
-		this.entityProvider = entityProvider;
-	}
-
-	@Override
-	public List<OsmNode> findNodes(TLongCollection ids)
-			throws EntityNotFoundException
-	{
-		List<OsmNode> nodes = new ArrayList<>();
-		TLongIterator idIterator = ids.iterator();
-		while (idIterator.hasNext()) {
-			nodes.add(entityProvider.getNode(idIterator.next()));
-		}
-		return nodes;
-	}
-
-	@Override
-	public List<OsmWay> findWays(TLongCollection ids)
-			throws EntityNotFoundException
-	{
-		List<OsmWay> ways = new ArrayList<>();
-		TLongIterator idIterator = ids.iterator();
-		while (idIterator.hasNext()) {
-			ways.add(entityProvider.getWay(idIterator.next()));
-		}
-		return ways;
-	}
-
-	@Override
-	public List<OsmRelation> findRelations(TLongCollection ids)
-			throws EntityNotFoundException
-	{
-		List<OsmRelation> relations = new ArrayList<>();
-		TLongIterator idIterator = ids.iterator();
-		while (idIterator.hasNext()) {
-			relations.add(entityProvider.getRelation(idIterator.next()));
-		}
-		return relations;
+		super(entityProvider);
 	}
 
 	@Override
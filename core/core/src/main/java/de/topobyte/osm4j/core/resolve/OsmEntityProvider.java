@@ -17,6 +17,7 @@
 
 package de.topobyte.osm4j.core.resolve;
 
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
 import de.topobyte.osm4j.core.model.iface.OsmNode;
 import de.topobyte.osm4j.core.model.iface.OsmRelation;
 import de.topobyte.osm4j.core.model.iface.OsmWay;
@@ -24,6 +25,12 @@ import de.topobyte.osm4j.core.model.iface.OsmWay;
 /**
  * An implementation of this class is used as a DAO for basic OSM-types.
  * 
+ * Besides the lookup of single entities, there are bulk lookup methods for
+ * arrays of ids. Callers are encouraged to pass ids sorted in ascending order
+ * without duplicates, which allows implementations backed by external storage
+ * to access their data sequentially instead of seeking randomly. The default
+ * implementations simply look up the entities one by one.
+ * 
  * @author Sebastian Kuerten (sebastian@topobyte.de)
  */
 public interface OsmEntityProvider
@@ -65,4 +72,73 @@ public interface OsmEntityProvider
 	 */
 	public OsmRelation getRelation(long id) throws EntityNotFoundException;
 
+	/**
+	 * Get the nodes with the given ids. For each id, either
+	 * {@link EntityReceiver#found(OsmEntity)} or
+	 * {@link EntityReceiver#missing(long)} is called on the receiver.
+	 * 
+	 * @param ids
+	 *            the ids of the nodes, preferably sorted in ascending order.
+	 * @param receiver
+	 *            the receiver of the results.
+	 * 
+	 * @throws EntityNotFoundException
+	 *             if thrown by the receiver.
+	 */
+	public default void getNodes(long[] ids, EntityReceiver<OsmNode> receiver)
+			throws EntityNotFoundException
+	{
+		for (long id : ids) {
+			OsmNode node;
+			try {
+				node = getNode(id);
+			} catch (EntityNotFoundException e) {
+				receiver.missing(id);
+				continue;
+			}
+			receiver.found(node);
+		}
+	}
+
+	/**
+	 * Get the ways with the given ids.
+	 * 
+	 * @see #getNodes(long[], EntityReceiver)
+	 */
+	public default void getWays(long[] ids, EntityReceiver<OsmWay> receiver)
+			throws EntityNotFoundException
+	{
+		for (long id : ids) {
+			OsmWay way;
+			try {
+				way = getWay(id);
+			} catch (EntityNotFoundException e) {
+				receiver.missing(id);
+				continue;
+			}
+			receiver.found(way);
+		}
+	}
+
+	/**
+	 * Get the relations with the given ids.
+	 * 
+	 * @see #getNodes(long[], EntityReceiver)
+	 */
+	public default void getRelations(long[] ids,
+			EntityReceiver<OsmRelation> receiver)
+			throws EntityNotFoundException
+	{
+		for (long id : ids) {
+			OsmRelation relation;
+			try {
+				relation = getRelation(id);
+			} catch (EntityNotFoundException e) {
+				receiver.missing(id);
+				continue;
+			}
+			receiver.found(relation);
+		}
+	}
+
 }
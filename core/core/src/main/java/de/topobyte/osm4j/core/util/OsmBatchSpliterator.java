@@ -0,0 +1,123 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.util;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import de.topobyte.osm4j.core.access.OsmBatch;
+import de.topobyte.osm4j.core.access.OsmBlockSource;
+
+/**
+ * A spliterator over the batches of a range of blocks of an
+ * {@link OsmBlockSource}. Splitting happens at block boundaries and blocks are
+ * decoded lazily by the thread that traverses them, so that a parallel stream
+ * decodes blocks on its worker threads.
+ * 
+ * The size estimate is the number of blocks not decoded yet.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class OsmBatchSpliterator implements Spliterator<OsmBatch>
+{
+
+	private OsmBlockSource source;
+	private int next;
+	private int end;
+
+	// Batches of the last decoded block that have not been consumed yet
+	private Deque<OsmBatch> pending;
+
+	public OsmBatchSpliterator(OsmBlockSource source)
+	{
+		this(source, 0, source.getNumberOfBlocks());
+	}
+
+	/**
+	 * Create a spliterator over the blocks with indices {@code from}
+	 * (inclusive) to {@code to} (exclusive).
+	 */
+	public OsmBatchSpliterator(OsmBlockSource source, int from, int to)
+	{
+		this(source, new ArrayDeque<OsmBatch>(), from, to);
+	}
+
+	private OsmBatchSpliterator(OsmBlockSource source,
+			Deque<OsmBatch> pending, int from, int to)
+	{
+		this.source = source;
+		this.pending = pending;
+		this.next = from;
+		this.end = to;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super OsmBatch> action)
+	{
+		while (pending.isEmpty()) {
+			if (next >= end) {
+				return false;
+			}
+			decode(next++);
+		}
+		action.accept(pending.removeFirst());
+		return true;
+	}
+
+	private void decode(int block)
+	{
+		try {
+			pending.addAll(source.decodeBlock(block));
+		} catch (IOException e) {
+			throw new RuntimeException("error while reading block", e);
+		}
+	}
+
+	@Override
+	public Spliterator<OsmBatch> trySplit()
+	{
+		int remaining = end - next;
+		if (remaining < 2) {
+			return null;
+		}
+		int mid = next + remaining / 2;
+		// The prefix also takes over the batches of a partially consumed block
+		// so that the encounter order is retained.
+		OsmBatchSpliterator prefix = new OsmBatchSpliterator(source, pending,
+				next, mid);
+		pending = new ArrayDeque<>();
+		next = mid;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize()
+	{
+		return end - next;
+	}
+
+	@Override
+	public int characteristics()
+	{
+		return ORDERED | NONNULL | IMMUTABLE;
+	}
+
+}
@@ -0,0 +1,147 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.util;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import de.topobyte.osm4j.core.access.OsmBatch;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+
+/**
+ * A spliterator over the entities of a single type contained in the batches of
+ * another spliterator. Splitting is delegated to the underlying spliterator,
+ * hence entities are split along the same boundaries as their batches.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class OsmEntitySpliterator<T extends OsmEntity> implements Spliterator<T>
+{
+
+	private Spliterator<OsmBatch> batches;
+	private EntityType type;
+
+	private List<? extends OsmEntity> entities = null;
+	private int pointer = 0;
+
+	private Consumer<OsmBatch> receiver = new Consumer<OsmBatch>() {
+
+		@Override
+		public void accept(OsmBatch batch)
+		{
+			if (batch.getType() == type) {
+				entities = batch.getEntities();
+				pointer = 0;
+			}
+		}
+
+	};
+
+	/**
+	 * @param type
+	 *            the type of entities to return, which needs to match the
+	 *            type parameter of this class.
+	 */
+	public OsmEntitySpliterator(Spliterator<OsmBatch> batches,
+			EntityType type)
+	{
+		this.batches = batches;
+		this.type = type;
+	}
+
+	private OsmEntitySpliterator(Spliterator<OsmBatch> batches,
+			EntityType type, List<? extends OsmEntity> entities, int pointer)
+	{
+		this(batches, type);
+		this.entities = entities;
+		this.pointer = pointer;
+	}
+
+	private boolean exhausted()
+	{
+		return entities == null || pointer == entities.size();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean tryAdvance(Consumer<? super T> action)
+	{
+		while (exhausted()) {
+			if (!batches.tryAdvance(receiver)) {
+				return false;
+			}
+		}
+		action.accept((T) entities.get(pointer++));
+		return true;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void forEachRemaining(final Consumer<? super T> action)
+	{
+		while (!exhausted()) {
+			action.accept((T) entities.get(pointer++));
+		}
+		batches.forEachRemaining(new Consumer<OsmBatch>() {
+
+			@Override
+			public void accept(OsmBatch batch)
+			{
+				if (batch.getType() != type) {
+					return;
+				}
+				List<? extends OsmEntity> list = batch.getEntities();
+				for (int i = 0; i < list.size(); i++) {
+					action.accept((T) list.get(i));
+				}
+			}
+
+		});
+	}
+
+	@Override
+	public Spliterator<T> trySplit()
+	{
+		Spliterator<OsmBatch> split = batches.trySplit();
+		if (split == null) {
+			return null;
+		}
+		// The prefix also takes over the rest of the current batch so that the
+		// encounter order is retained.
+		OsmEntitySpliterator<T> prefix = new OsmEntitySpliterator<>(split,
+				type, entities, pointer);
+		entities = null;
+		pointer = 0;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize()
+	{
+		return batches.estimateSize();
+	}
+
+	@Override
+	public int characteristics()
+	{
+		return ORDERED | NONNULL | IMMUTABLE;
+	}
+
+}
@@ -0,0 +1,232 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.util;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Reads raw blocks using a {@link RawBlockReader} and decodes them using a
+ * pool of worker threads.
+ * 
+ * A dedicated thread reads the raw blocks from the input and submits them to
+ * the worker pool. The futures of the submitted tasks are queued in file order
+ * so that {@link #next()} returns the decoded blocks in the same order they
+ * appear in the file, regardless of the order in which the workers finish.
+ * The queue is bounded, hence the number of blocks held in memory at any time
+ * is limited to a small multiple of the number of threads.
+ * 
+ * @param <R>
+ *            the type of raw blocks.
+ * @param <T>
+ *            the type of decoded blocks.
+ */
+public class ThreadedBlockReader<R, T>
+{
+
+	private RawBlockReader<R> input;
+	private RawBlockDecoder<R, T> decoder;
+	private int numThreads;
+	private String name;
+
+	private ExecutorService executor;
+	private BlockingQueue<Future<T>> queue;
+	private Thread readerThread;
+
+	private boolean started = false;
+	private boolean finished = false;
+
+	/**
+	 * @param name
+	 *            a prefix for the names of the threads, such as the name of
+	 *            the file format.
+	 */
+	public ThreadedBlockReader(RawBlockReader<R> input,
+			RawBlockDecoder<R, T> decoder, int numThreads, String name)
+	{
+		if (numThreads < 1) {
+			throw new IllegalArgumentException(
+					"number of threads must be positive");
+		}
+		this.input = input;
+		this.decoder = decoder;
+		this.numThreads = numThreads;
+		this.name = name;
+	}
+
+	public int getNumThreads()
+	{
+		return numThreads;
+	}
+
+	/**
+	 * Start the reader thread and the worker pool. Calling this method more
+	 * than once has no effect.
+	 */
+	public void start()
+	{
+		if (started) {
+			return;
+		}
+		started = true;
+
+		executor = Executors.newFixedThreadPool(numThreads,
+				new ThreadFactory() {
+
+					@Override
+					public Thread newThread(Runnable runnable)
+					{
+						Thread thread = new Thread(runnable,
+								name + "-block-decoder");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+
+		queue = new ArrayBlockingQueue<>(numThreads * 2);
+
+		readerThread = new Thread(new Runnable() {
+
+			@Override
+			public void run()
+			{
+				readBlocks();
+			}
+		}, name + "-block-reader");
+		readerThread.setDaemon(true);
+		readerThread.start();
+	}
+
+	/**
+	 * Stop reading and decoding. Blocks that have not been retrieved yet are
+	 * discarded.
+	 */
+	public void stop()
+	{
+		finished = true;
+		if (!started) {
+			return;
+		}
+		readerThread.interrupt();
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Get the next decoded block.
+	 * 
+	 * @return the next block in file order or null if the end of the input has
+	 *         been reached.
+	 */
+	public T next() throws IOException
+	{
+		if (finished) {
+			return null;
+		}
+		start();
+
+		T block;
+		try {
+			block = queue.take().get();
+		} catch (InterruptedException e) {
+			stop();
+			throw new IOException("interrupted while waiting for block", e);
+		} catch (ExecutionException e) {
+			stop();
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw new IOException("error while decoding block", cause);
+		}
+
+		if (block == null) {
+			finished = true;
+			executor.shutdown();
+		}
+		return block;
+	}
+
+	private void readBlocks()
+	{
+		try {
+			while (true) {
+				final R block;
+				try {
+					block = input.readBlock();
+				} catch (IOException | RuntimeException e) {
+					queue.put(failed(e));
+					return;
+				}
+				if (block == null) {
+					queue.put(completed(null));
+					return;
+				}
+
+				Future<T> future = executor.submit(new Callable<T>() {
+
+					@Override
+					public T call() throws Exception
+					{
+						return decoder.decode(block);
+					}
+				});
+				queue.put(future);
+			}
+		} catch (InterruptedException | RejectedExecutionException e) {
+			// stopped by the consumer
+		}
+	}
+
+	private static <V> Future<V> completed(final V value)
+	{
+		FutureTask<V> task = new FutureTask<>(new Callable<V>() {
+
+			@Override
+			public V call()
+			{
+				return value;
+			}
+		});
+		task.run();
+		return task;
+	}
+
+	private static <V> Future<V> failed(final Exception exception)
+	{
+		FutureTask<V> task = new FutureTask<>(new Callable<V>() {
+
+			@Override
+			public V call() throws Exception
+			{
+				throw exception;
+			}
+		});
+		task.run();
+		return task;
+	}
+
+}
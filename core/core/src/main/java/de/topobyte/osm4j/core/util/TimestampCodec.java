@@ -0,0 +1,240 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.util;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.util.Locale;
+
+/**
+ * Conversion between epoch milliseconds and the ISO-8601 timestamps used in
+ * OSM XML, change and changeset files.
+ * 
+ * Timestamps in the canonical layout <code>yyyy-MM-ddTHH:mm:ssZ</code> are
+ * parsed and formatted with plain arithmetic on characters without creating
+ * any objects. Anything else, such as timestamps with an explicit zone offset,
+ * is handled by a slower path based on java.time.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class TimestampCodec
+{
+
+	/**
+	 * The number of characters of a timestamp in canonical layout.
+	 */
+	public static final int LENGTH = 20;
+
+	/**
+	 * The maximum number of characters written by
+	 * {@link #format(long, char[], int)}.
+	 */
+	public static final int MAX_LENGTH = 32;
+
+	private static final long INVALID = Long.MIN_VALUE;
+
+	private static final DateTimeFormatter PARSER;
+
+	static {
+		DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder();
+		builder.appendPattern("uuuu-MM-dd'T'HH:mm:ss");
+		builder.optionalStart();
+		builder.appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true);
+		builder.optionalEnd();
+		builder.optionalStart();
+		builder.appendOffset("+HH:MM", "Z");
+		builder.optionalEnd();
+		builder.optionalStart();
+		builder.appendOffset("+HHMM", "Z");
+		builder.optionalEnd();
+		PARSER = builder.toFormatter(Locale.ROOT)
+				.withResolverStyle(ResolverStyle.STRICT);
+	}
+
+	private static final DateTimeFormatter FORMATTER = DateTimeFormatter
+			.ofPattern("uuuu-MM-dd'T'HH:mm:ss'Z'", Locale.ROOT)
+			.withZone(ZoneOffset.UTC);
+
+	/**
+	 * Parse the specified timestamp to milliseconds since the epoch.
+	 * 
+	 * @throws RuntimeException
+	 *             if the timestamp cannot be parsed.
+	 */
+	public static long parse(CharSequence timestamp)
+	{
+		if (timestamp.length() == LENGTH) {
+			long millis = parseCanonical(timestamp);
+			if (millis != INVALID) {
+				return millis;
+			}
+		}
+
+		try {
+			return OffsetDateTime.parse(timestamp, PARSER).toInstant()
+					.toEpochMilli();
+		} catch (DateTimeParseException e) {
+			throw new RuntimeException(
+					"Unable to parse date '" + timestamp + "'", e);
+		}
+	}
+
+	private static long parseCanonical(CharSequence s)
+	{
+		if (s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T'
+				|| s.charAt(13) != ':' || s.charAt(16) != ':'
+				|| s.charAt(19) != 'Z') {
+			return INVALID;
+		}
+		int year = digits(s, 0, 4);
+		int month = digits(s, 5, 2);
+		int day = digits(s, 8, 2);
+		int hour = digits(s, 11, 2);
+		int minute = digits(s, 14, 2);
+		int second = digits(s, 17, 2);
+		if (year < 0 || month < 1 || month > 12 || day < 1
+				|| day > daysInMonth(year, month) || hour < 0 || hour > 23
+				|| minute < 0 || minute > 59 || second < 0 || second > 59) {
+			return INVALID;
+		}
+		long days = daysFromCivil(year, month, day);
+		long seconds = days * 86400 + hour * 3600 + minute * 60 + second;
+		return seconds * 1000;
+	}
+
+	private static int digits(CharSequence s, int offset, int length)
+	{
+		int value = 0;
+		for (int i = offset; i < offset + length; i++) {
+			int digit = s.charAt(i) - '0';
+			if (digit < 0 || digit > 9) {
+				return -1;
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+
+	private static int daysInMonth(int year, int month)
+	{
+		switch (month) {
+		case 2:
+			boolean leap = (year % 4 == 0 && year % 100 != 0)
+					|| year % 400 == 0;
+			return leap ? 29 : 28;
+		case 4:
+		case 6:
+		case 9:
+		case 11:
+			return 30;
+		default:
+			return 31;
+		}
+	}
+
+	/*
+	 * Conversion between dates of the proleptic Gregorian calendar and days
+	 * since 1970-01-01, following Howard Hinnant's 'chrono-compatible low-level
+	 * date algorithms'.
+	 */
+
+	private static long daysFromCivil(long year, int month, int day)
+	{
+		long y = month <= 2 ? year - 1 : year;
+		long era = (y >= 0 ? y : y - 399) / 400;
+		long yoe = y - era * 400;
+		long doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day
+				- 1;
+		long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+		return era * 146097 + doe - 719468;
+	}
+
+	/**
+	 * Format the specified number of milliseconds since the epoch as a
+	 * timestamp. Milliseconds are truncated.
+	 */
+	public static String format(long millis)
+	{
+		char[] buffer = new char[MAX_LENGTH];
+		int length = format(millis, buffer, 0);
+		return new String(buffer, 0, length);
+	}
+
+	/**
+	 * Format the specified number of milliseconds since the epoch as a
+	 * timestamp into the specified buffer, which needs to provide space for at
+	 * least {@link #MAX_LENGTH} characters starting at the specified offset.
+	 * Milliseconds are truncated.
+	 * 
+	 * @return the number of characters written.
+	 */
+	public static int format(long millis, char[] buffer, int offset)
+	{
+		long seconds = Math.floorDiv(millis, 1000L);
+		long days = Math.floorDiv(seconds, 86400L);
+		int secondOfDay = (int) Math.floorMod(seconds, 86400L);
+
+		long z = days + 719468;
+		long era = (z >= 0 ? z : z - 146096) / 146097;
+		long doe = z - era * 146097;
+		long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+		long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+		long mp = (5 * doy + 2) / 153;
+		int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+		int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+		long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+
+		if (year < 0 || year > 9999) {
+			String formatted = FORMATTER
+					.format(Instant.ofEpochSecond(seconds));
+			formatted.getChars(0, formatted.length(), buffer, offset);
+			return formatted.length();
+		}
+
+		int y = (int) year;
+		buffer[offset] = (char) ('0' + y / 1000);
+		buffer[offset + 1] = (char) ('0' + y / 100 % 10);
+		buffer[offset + 2] = (char) ('0' + y / 10 % 10);
+		buffer[offset + 3] = (char) ('0' + y % 10);
+		buffer[offset + 4] = '-';
+		put2(buffer, offset + 5, month);
+		buffer[offset + 7] = '-';
+		put2(buffer, offset + 8, day);
+		buffer[offset + 10] = 'T';
+		put2(buffer, offset + 11, secondOfDay / 3600);
+		buffer[offset + 13] = ':';
+		put2(buffer, offset + 14, secondOfDay / 60 % 60);
+		buffer[offset + 16] = ':';
+		put2(buffer, offset + 17, secondOfDay % 60);
+		buffer[offset + 19] = 'Z';
+		return LENGTH;
+	}
+
+	private static void put2(char[] buffer, int offset, int value)
+	{
+		buffer[offset] = (char) ('0' + value / 10);
+		buffer[offset + 1] = (char) ('0' + value % 10);
+	}
+
+}
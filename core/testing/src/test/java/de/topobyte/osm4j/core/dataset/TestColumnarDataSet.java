@@ -0,0 +1,171 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.dataset;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.slimjars.dist.gnu.trove.list.array.TLongArrayList;
+
+import de.topobyte.osm4j.core.EqualityUtil;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmRelationMember;
+import de.topobyte.osm4j.core.model.iface.OsmTag;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.core.model.impl.Node;
+import de.topobyte.osm4j.core.model.impl.Relation;
+import de.topobyte.osm4j.core.model.impl.RelationMember;
+import de.topobyte.osm4j.core.model.impl.Tag;
+import de.topobyte.osm4j.core.model.impl.Way;
+import de.topobyte.osm4j.core.resolve.EntityNotFoundException;
+
+public class TestColumnarDataSet
+{
+
+	private Random random = new Random(1);
+
+	private List<OsmTag> tags()
+	{
+		List<OsmTag> tags = new ArrayList<>();
+		int n = random.nextInt(4);
+		for (int i = 0; i < n; i++) {
+			tags.add(new Tag("key" + random.nextInt(10),
+					"value" + random.nextInt(100)));
+		}
+		return tags;
+	}
+
+	@Test
+	public void testUnsortedWithDuplicates() throws EntityNotFoundException
+	{
+		InMemoryListDataSet list = new InMemoryListDataSet();
+
+		for (int i = 0; i < 2000; i++) {
+			long id = random.nextInt(1500);
+			double lon = ((long) (random.nextDouble() * 3600000000L)
+					- 1800000000L) / 1e7;
+			double lat = (random.nextInt(180000000) - 90000000) / 1e7;
+			list.getNodes().add(new Node(id, lon, lat, tags()));
+		}
+		for (int i = 0; i < 500; i++) {
+			TLongArrayList nodes = new TLongArrayList();
+			int n = random.nextInt(10);
+			for (int k = 0; k < n; k++) {
+				nodes.add(random.nextInt(1500));
+			}
+			list.getWays().add(new Way(random.nextInt(400), nodes, tags()));
+		}
+		for (int i = 0; i < 200; i++) {
+			List<OsmRelationMember> members = new ArrayList<>();
+			int n = random.nextInt(5);
+			for (int k = 0; k < n; k++) {
+				EntityType type = EntityType.values()[random.nextInt(3)];
+				members.add(new RelationMember(random.nextInt(400), type,
+						"role" + random.nextInt(3)));
+			}
+			list.getRelations()
+					.add(new Relation(random.nextInt(150), members, tags()));
+		}
+		Collections.shuffle(list.getNodes(), random);
+
+		InMemoryMapDataSet expected = MapDataSetLoader
+				.read(new ListDataSetIterator(list), true, true, true);
+		ColumnarDataSet data = ColumnarDataSetLoader
+				.read(new ListDataSetIterator(list), true, true, true);
+
+		Assert.assertEquals(expected.getNodes().size(),
+				data.getNumberOfNodes());
+		Assert.assertEquals(expected.getWays().size(), data.getNumberOfWays());
+		Assert.assertEquals(expected.getRelations().size(),
+				data.getNumberOfRelations());
+
+		for (OsmNode node : expected.getNodes().valueCollection()) {
+			Assert.assertTrue(EqualityUtil.equals(node,
+					data.getNode(node.getId())));
+		}
+		for (OsmWay way : expected.getWays().valueCollection()) {
+			Assert.assertTrue(
+					EqualityUtil.equals(way, data.getWay(way.getId())));
+		}
+		for (OsmRelation relation : expected.getRelations()
+				.valueCollection()) {
+			Assert.assertTrue(EqualityUtil.equals(relation,
+					data.getRelation(relation.getId())));
+		}
+
+		long last = Long.MIN_VALUE;
+		for (int i = 0; i < data.getNumberOfNodes(); i++) {
+			long id = data.getNodeByIndex(i).getId();
+			Assert.assertTrue(id > last);
+			last = id;
+		}
+	}
+
+	@Test
+	public void testDropTags() throws EntityNotFoundException
+	{
+		InMemoryListDataSet list = new InMemoryListDataSet();
+		List<OsmTag> tags = new ArrayList<>();
+		tags.add(new Tag("highway", "residential"));
+		list.getNodes().add(new Node(1, 13.1, 52.1, tags));
+		list.getWays().add(new Way(1, new TLongArrayList(new long[] { 1 }),
+				tags));
+
+		ColumnarDataSet data = ColumnarDataSetLoader
+				.read(new ListDataSetIterator(list), false, true, false);
+		Assert.assertEquals(0, data.getNode(1).getNumberOfTags());
+		Assert.assertEquals(1, data.getWay(1).getNumberOfTags());
+		Assert.assertEquals("residential",
+				data.getWay(1).getTag(0).getValue());
+		Assert.assertEquals(13.1, data.getNode(1).getLongitude(), 0);
+		Assert.assertFalse(data.containsNode(2));
+	}
+
+	@Test
+	public void testMissingCoordinates() throws EntityNotFoundException
+	{
+		InMemoryListDataSet list = new InMemoryListDataSet();
+		list.getNodes().add(new Node(1, 13.1, 52.1));
+		list.getNodes().add(new Node(2, Double.NaN, 52.2));
+		list.getNodes().add(new Node(3, 13.3, Double.NaN));
+		list.getNodes().add(new Node(4, Double.NaN, Double.NaN));
+		list.getNodes().add(new Node(5, 0, 0));
+
+		ColumnarDataSet data = ColumnarDataSetLoader
+				.read(new ListDataSetIterator(list), true, true, true);
+
+		Assert.assertEquals(13.1, data.getNode(1).getLongitude(), 0);
+		Assert.assertEquals(52.1, data.getNode(1).getLatitude(), 0);
+		Assert.assertTrue(Double.isNaN(data.getNode(2).getLongitude()));
+		Assert.assertEquals(52.2, data.getNode(2).getLatitude(), 0);
+		Assert.assertEquals(13.3, data.getNode(3).getLongitude(), 0);
+		Assert.assertTrue(Double.isNaN(data.getNode(3).getLatitude()));
+		Assert.assertTrue(Double.isNaN(data.getNode(4).getLongitude()));
+		Assert.assertTrue(Double.isNaN(data.getNode(4).getLatitude()));
+		Assert.assertEquals(0, data.getNode(5).getLongitude(), 0);
+		Assert.assertEquals(0, data.getNode(5).getLatitude(), 0);
+	}
+
+}
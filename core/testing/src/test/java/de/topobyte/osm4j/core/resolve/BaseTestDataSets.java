@@ -27,6 +27,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 
+import de.topobyte.osm4j.core.test.ColumnarLoader;
 import de.topobyte.osm4j.core.test.ListLoader;
 import de.topobyte.osm4j.core.test.Loader;
 import de.topobyte.osm4j.core.test.MapLoader;
@@ -39,8 +40,8 @@ public abstract class BaseTestDataSets
 	@Parameters(name = "{index}: {0}")
 	public static Collection<Object[]> data()
 	{
-		return Arrays.asList(
-				new Object[][] { { new MapLoader() }, { new ListLoader() } });
+		return Arrays.asList(new Object[][] { { new MapLoader() },
+				{ new ListLoader() }, { new ColumnarLoader() } });
 	}
 
 	private Loader loader;
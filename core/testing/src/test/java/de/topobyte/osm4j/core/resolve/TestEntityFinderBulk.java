@@ -0,0 +1,219 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.resolve;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.slimjars.dist.gnu.trove.list.array.TLongArrayList;
+import com.slimjars.dist.gnu.trove.map.TLongObjectMap;
+import com.slimjars.dist.gnu.trove.map.hash.TLongObjectHashMap;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmRelationMember;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.core.model.impl.Node;
+import de.topobyte.osm4j.core.model.impl.Relation;
+import de.topobyte.osm4j.core.model.impl.RelationMember;
+import de.topobyte.osm4j.core.model.impl.Way;
+import de.topobyte.osm4j.core.test.TroveUtil;
+
+public class TestEntityFinderBulk
+{
+
+	/**
+	 * A provider that records the ids passed to the bulk lookup methods and
+	 * fails on single lookups.
+	 */
+	private static class RecordingProvider implements OsmEntityProvider
+	{
+
+		private TLongObjectMap<OsmNode> nodes = new TLongObjectHashMap<>();
+		private TLongObjectMap<OsmWay> ways = new TLongObjectHashMap<>();
+		private List<long[]> nodeRequests = new ArrayList<>();
+		private List<long[]> wayRequests = new ArrayList<>();
+
+		@Override
+		public OsmNode getNode(long id) throws EntityNotFoundException
+		{
+			throw new AssertionError("single node lookup");
+		}
+
+		@Override
+		public OsmWay getWay(long id) throws EntityNotFoundException
+		{
+			throw new AssertionError("single way lookup");
+		}
+
+		@Override
+		public OsmRelation getRelation(long id) throws EntityNotFoundException
+		{
+			throw new AssertionError("single relation lookup");
+		}
+
+		@Override
+		public void getNodes(long[] ids, EntityReceiver<OsmNode> receiver)
+				throws EntityNotFoundException
+		{
+			nodeRequests.add(ids.clone());
+			for (long id : ids) {
+				OsmNode node = nodes.get(id);
+				if (node == null) {
+					receiver.missing(id);
+				} else {
+					receiver.found(node);
+				}
+			}
+		}
+
+		@Override
+		public void getWays(long[] ids, EntityReceiver<OsmWay> receiver)
+				throws EntityNotFoundException
+		{
+			wayRequests.add(ids.clone());
+			for (long id : ids) {
+				OsmWay way = ways.get(id);
+				if (way == null) {
+					receiver.missing(id);
+				} else {
+					receiver.found(way);
+				}
+			}
+		}
+
+	}
+
+	private RecordingProvider createProvider()
+	{
+		RecordingProvider provider = new RecordingProvider();
+		for (long id = 1; id <= 5; id++) {
+			provider.nodes.put(id, new Node(id, id, id));
+		}
+		provider.ways.put(1, new Way(1, nodeIds(5, 3, 1, 3)));
+		provider.ways.put(2, new Way(2, nodeIds(2, 5)));
+		return provider;
+	}
+
+	private static TLongArrayList nodeIds(long... ids)
+	{
+		return new TLongArrayList(ids);
+	}
+
+	private static List<Long> ids(List<? extends OsmNode> nodes)
+	{
+		List<Long> ids = new ArrayList<>();
+		for (OsmNode node : nodes) {
+			ids.add(node.getId());
+		}
+		return ids;
+	}
+
+	@Test
+	public void findNodesSortedAndOrdered() throws EntityNotFoundException
+	{
+		RecordingProvider provider = createProvider();
+		EntityFinder finder = new EntityFinderThrowMissing(provider);
+
+		List<OsmNode> nodes = finder
+				.findNodes(TroveUtil.collection(4, 2, 4, 1));
+
+		assertEquals(Arrays.asList(4L, 2L, 4L, 1L), ids(nodes));
+		assertEquals(1, provider.nodeRequests.size());
+		assertArrayEquals(new long[] { 1, 2, 4 },
+				provider.nodeRequests.get(0));
+	}
+
+	@Test
+	public void findWayNodesInOneRequest() throws EntityNotFoundException
+	{
+		RecordingProvider provider = createProvider();
+		EntityFinder finder = new EntityFinderThrowMissing(provider);
+
+		List<OsmWay> ways = finder.findWays(TroveUtil.collection(1, 2));
+		List<OsmNode> nodes = new ArrayList<>();
+		finder.findWayNodes(ways, nodes);
+
+		assertEquals(Arrays.asList(5L, 3L, 1L, 3L, 2L, 5L), ids(nodes));
+		assertEquals(1, provider.nodeRequests.size());
+		assertArrayEquals(new long[] { 1, 2, 3, 5 },
+				provider.nodeRequests.get(0));
+	}
+
+	@Test
+	public void findMemberNodesAndWayNodes() throws EntityNotFoundException
+	{
+		RecordingProvider provider = createProvider();
+		EntityFinder finder = new EntityFinderThrowMissing(provider);
+
+		List<OsmRelationMember> members = new ArrayList<>();
+		members.add(new RelationMember(4, EntityType.Node, ""));
+		members.add(new RelationMember(2, EntityType.Way, ""));
+		List<OsmRelation> relations = new ArrayList<>();
+		relations.add(new Relation(1, members));
+
+		Set<OsmNode> nodes = new HashSet<>();
+		finder.findMemberNodesAndWayNodes(relations, nodes);
+
+		Set<Long> found = new HashSet<>(ids(new ArrayList<>(nodes)));
+		assertEquals(new HashSet<>(Arrays.asList(2L, 4L, 5L)), found);
+		assertEquals(2, provider.nodeRequests.size());
+		assertEquals(1, provider.wayRequests.size());
+	}
+
+	@Test
+	public void missingThrow()
+	{
+		EntityFinder finder = new EntityFinderThrowMissing(createProvider());
+		try {
+			finder.findNodes(TroveUtil.collection(1, 7));
+			fail("expected exception");
+		} catch (EntityNotFoundException e) {
+			assertTrue(e.getMessage().contains("7"));
+		}
+	}
+
+	@Test
+	public void missingIgnore() throws EntityNotFoundException
+	{
+		RecordingProvider provider = createProvider();
+		provider.ways.put(3, new Way(3, nodeIds(1, 8, 2)));
+		EntityFinder finder = new EntityFinderIgnoreMissing(provider);
+
+		List<OsmNode> nodes = finder.findNodes(TroveUtil.collection(7, 3));
+		assertEquals(Arrays.asList(3L), ids(nodes));
+
+		List<OsmWay> ways = finder.findWays(TroveUtil.collection(3, 9));
+		assertEquals(1, ways.size());
+		List<OsmNode> wayNodes = new ArrayList<>();
+		finder.findWayNodes(ways, wayNodes);
+		assertEquals(Arrays.asList(1L, 2L), ids(wayNodes));
+	}
+
+}
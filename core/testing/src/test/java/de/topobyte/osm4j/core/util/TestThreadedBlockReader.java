@@ -0,0 +1,112 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+public class TestThreadedBlockReader
+{
+
+	private static class CountingReader implements RawBlockReader<Integer>
+	{
+
+		private int next = 0;
+		private int count;
+
+		CountingReader(int count)
+		{
+			this.count = count;
+		}
+
+		@Override
+		public Integer readBlock()
+		{
+			if (next >= count) {
+				return null;
+			}
+			return next++;
+		}
+
+	}
+
+	private static class SlowDecoder implements RawBlockDecoder<Integer, String>
+	{
+
+		@Override
+		public String decode(Integer block) throws IOException
+		{
+			if (block < 0) {
+				throw new IOException("invalid block");
+			}
+			try {
+				// Let later blocks finish earlier than earlier blocks
+				Thread.sleep((block * 7) % 5);
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+			return "block " + block;
+		}
+
+	}
+
+	private static SlowDecoder decoder = new SlowDecoder();
+
+	@Test
+	public void testOrder() throws IOException
+	{
+		for (int threads = 1; threads <= 4; threads++) {
+			ThreadedBlockReader<Integer, String> reader;
+			reader = new ThreadedBlockReader<>(new CountingReader(100),
+					decoder, threads, "test");
+			for (int i = 0; i < 100; i++) {
+				assertEquals("block " + i, reader.next());
+			}
+			assertNull(reader.next());
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	public void testDecodeError()
+	{
+		RawBlockReader<Integer> input = new RawBlockReader<Integer>() {
+
+			@Override
+			public Integer readBlock()
+			{
+				return -1;
+			}
+
+		};
+		ThreadedBlockReader<Integer, String> reader;
+		reader = new ThreadedBlockReader<>(input, decoder, 2, "test");
+		try {
+			reader.next();
+			fail("expected exception");
+		} catch (IOException e) {
+			assertEquals("invalid block", e.getMessage());
+		}
+	}
+
+}
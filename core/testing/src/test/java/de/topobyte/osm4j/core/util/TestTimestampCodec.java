@@ -0,0 +1,95 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.core.util;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestTimestampCodec
+{
+
+	private DateTimeFormatter reference = DateTimeFormatter
+			.ofPattern("uuuu-MM-dd'T'HH:mm:ss'Z'").withZone(ZoneOffset.UTC);
+
+	@Test
+	public void testRoundTrip()
+	{
+		Random random = new Random(1);
+		// Roughly year 1 to year 9999
+		long min = -62135596800000L;
+		long max = 253402300799000L;
+		for (int i = 0; i < 100000; i++) {
+			long millis = min + (long) (random.nextDouble() * (max - min));
+			long seconds = Math.floorDiv(millis, 1000);
+
+			String expected = reference.format(Instant.ofEpochSecond(seconds));
+			String formatted = TimestampCodec.format(millis);
+			Assert.assertEquals(expected, formatted);
+			Assert.assertEquals(seconds * 1000,
+					TimestampCodec.parse(formatted));
+		}
+	}
+
+	@Test
+	public void testKnownValues()
+	{
+		Assert.assertEquals(0, TimestampCodec.parse("1970-01-01T00:00:00Z"));
+		Assert.assertEquals(1494529484000L,
+				TimestampCodec.parse("2017-05-11T19:04:44Z"));
+		Assert.assertEquals(951782400000L,
+				TimestampCodec.parse("2000-02-29T00:00:00Z"));
+		Assert.assertEquals("1969-12-31T23:59:59Z",
+				TimestampCodec.format(-1));
+		Assert.assertEquals("2017-05-11T19:04:44Z",
+				TimestampCodec.format(1494529484999L));
+	}
+
+	@Test
+	public void testOffsets()
+	{
+		long expected = 1494529484000L;
+		Assert.assertEquals(expected,
+				TimestampCodec.parse("2017-05-11T21:04:44+0200"));
+		Assert.assertEquals(expected,
+				TimestampCodec.parse("2017-05-11T21:04:44+02:00"));
+		Assert.assertEquals(expected,
+				TimestampCodec.parse("2017-05-11T17:04:44-02:00"));
+	}
+
+	@Test
+	public void testInvalid()
+	{
+		String[] invalid = { "", "2017-05-11", "2017-13-11T19:04:44Z",
+				"2017-02-29T19:04:44Z", "2017-05-11T24:04:44Z",
+				"2017-05-11 19:04:44Z", "2017-05-1xT19:04:44Z" };
+		for (String timestamp : invalid) {
+			try {
+				TimestampCodec.parse(timestamp);
+				Assert.fail("parsed invalid timestamp: " + timestamp);
+			} catch (RuntimeException e) {
+				// expected
+			}
+		}
+	}
+
+}
@@ -124,6 +124,8 @@ public abstract class BaseQuery extends AbstractExecutableInputOutput
 				outputConfigIntermediate, outputConfig, keepTmp,
 				simpleRelationTests, null, null);
 		query.execute();
+
+		tboConfig.shutdownCompressionExecutor();
 	}
 
 }
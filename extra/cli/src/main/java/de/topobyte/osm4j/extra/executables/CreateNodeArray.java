@@ -25,7 +25,9 @@ import java.util.Map;
 import de.topobyte.osm4j.core.access.OsmIterator;
 import de.topobyte.osm4j.extra.nodearray.NodeArrayCreator;
 import de.topobyte.osm4j.extra.nodearray.NodeArrayType;
+import de.topobyte.osm4j.pbf.seq.PbfCursor;
 import de.topobyte.osm4j.utils.AbstractExecutableSingleInputStream;
+import de.topobyte.osm4j.utils.FileFormat;
 import de.topobyte.utilities.apache.commons.cli.OptionHelper;
 
 public class CreateNodeArray extends AbstractExecutableSingleInputStream
@@ -93,10 +95,17 @@ public class CreateNodeArray extends AbstractExecutableSingleInputStream
 
 	private void execute() throws IOException
 	{
-		OsmIterator iterator = createIterator();
-
-		NodeArrayCreator creator = new NodeArrayCreator(iterator,
-				Paths.get(outputPath), type);
+		NodeArrayCreator creator;
+		if (inputFormat == FileFormat.PBF) {
+			PbfCursor cursor = new PbfCursor(osmStream.getInputStream(),
+					false);
+			creator = new NodeArrayCreator(cursor, Paths.get(outputPath),
+					type);
+		} else {
+			OsmIterator iterator = createIterator();
+			creator = new NodeArrayCreator(iterator, Paths.get(outputPath),
+					type);
+		}
 		creator.execute();
 	}
 
@@ -116,6 +116,8 @@ public class DistributeWays extends AbstractExecutableInputOutput
 		}
 
 		distributor.execute();
+
+		tboConfig.shutdownCompressionExecutor();
 	}
 
 }
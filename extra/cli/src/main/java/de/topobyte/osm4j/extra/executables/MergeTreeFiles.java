@@ -123,6 +123,8 @@ public class MergeTreeFiles extends AbstractExecutableInputOutput
 		}
 
 		merger.execute();
+
+		tboConfig.shutdownCompressionExecutor();
 	}
 
 }
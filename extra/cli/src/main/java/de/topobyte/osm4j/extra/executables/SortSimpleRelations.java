@@ -100,7 +100,8 @@ public class SortSimpleRelations
 
 	private void execute() throws IOException
 	{
-		OsmStreamInput streamInput = new OsmStreamInput(osmStream);
+		OsmStreamInput streamInput = new OsmStreamInput(osmStream,
+				inputConfig);
 
 		OsmOutputConfig outputConfig = new OsmOutputConfig(outputFormat,
 				pbfConfig, tboConfig, writeMetadata);
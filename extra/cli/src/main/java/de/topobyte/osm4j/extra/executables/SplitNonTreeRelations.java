@@ -151,6 +151,8 @@ public class SplitNonTreeRelations extends AbstractExecutableInputOutput
 				Paths.get(pathOutputComplexBboxes), maxMembersSimple,
 				maxMembersComplex, false);
 		splitter.execute();
+
+		tboConfig.shutdownCompressionExecutor();
 	}
 
 }
@@ -115,6 +115,8 @@ public class SplitRelationsAndCollectMembers
 				fileNamesRelations, inputWays, inputNodes, outputConfig);
 
 		task.execute();
+
+		tboConfig.shutdownCompressionExecutor();
 	}
 
 }
@@ -76,7 +76,8 @@ public class SplitSimpleRelations
 
 	private void execute() throws IOException
 	{
-		OsmStreamInput streamInput = new OsmStreamInput(osmStream);
+		OsmStreamInput streamInput = new OsmStreamInput(osmStream,
+				inputConfig);
 
 		OsmOutputConfig outputConfig = new OsmOutputConfig(outputFormat,
 				pbfConfig, tboConfig, writeMetadata);
@@ -22,6 +22,7 @@ import java.io.OutputStream;
 import java.nio.file.Path;
 
 import de.topobyte.melon.io.StreamUtil;
+import de.topobyte.osm4j.core.access.OsmIterator;
 import de.topobyte.osm4j.core.access.OsmIteratorInput;
 import de.topobyte.osm4j.core.access.OsmOutputStream;
 import de.topobyte.osm4j.core.access.OsmOutputStreamStreamOutput;
@@ -29,6 +30,7 @@ import de.topobyte.osm4j.core.access.OsmStreamOutput;
 import de.topobyte.osm4j.core.dataset.InMemoryListDataSet;
 import de.topobyte.osm4j.core.dataset.ListDataSetLoader;
 import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.tbo.access.MappedTboIterator;
 import de.topobyte.osm4j.utils.FileFormat;
 import de.topobyte.osm4j.utils.OsmFileInput;
 import de.topobyte.osm4j.utils.OsmIoUtils;
@@ -100,6 +102,14 @@ public abstract class AbstractQuery
 
 	protected InMemoryListDataSet read(Path path) throws IOException
 	{
+		if (inputFormat == FileFormat.TBO) {
+			// The files read here are small, mapping them avoids most of the
+			// overhead of streaming and copying the block data
+			OsmIterator iterator = new MappedTboIterator(path.toFile(), true,
+					outputConfig.isWriteMetadata());
+			return ListDataSetLoader.read(iterator, true, true, true);
+		}
+
 		OsmFileInput fileInput = new OsmFileInput(path, inputFormat);
 		OsmIteratorInput input = fileInput.createIterator(true,
 				outputConfig.isWriteMetadata());
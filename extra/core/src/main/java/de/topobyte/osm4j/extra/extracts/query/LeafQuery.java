@@ -19,12 +19,14 @@ package de.topobyte.osm4j.extra.extracts.query;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.slimjars.dist.gnu.trove.list.TIntList;
 import com.slimjars.dist.gnu.trove.map.TLongObjectMap;
 import com.slimjars.dist.gnu.trove.map.hash.TLongObjectHashMap;
 import com.slimjars.dist.gnu.trove.set.TLongSet;
@@ -34,6 +36,7 @@ import de.topobyte.jts.utils.GeometryGroup;
 import de.topobyte.jts.utils.predicate.PredicateEvaluator;
 import de.topobyte.osm4j.core.access.OsmStreamOutput;
 import de.topobyte.osm4j.core.dataset.InMemoryListDataSet;
+import de.topobyte.osm4j.core.model.iface.EntityType;
 import de.topobyte.osm4j.core.model.iface.OsmNode;
 import de.topobyte.osm4j.core.model.iface.OsmWay;
 import de.topobyte.osm4j.core.resolve.EntityNotFoundException;
@@ -42,6 +45,10 @@ import de.topobyte.osm4j.extra.datatree.DataTreeFiles;
 import de.topobyte.osm4j.extra.datatree.Node;
 import de.topobyte.osm4j.geometry.WayBuilder;
 import de.topobyte.osm4j.geometry.WayBuilderResult;
+import de.topobyte.osm4j.tbo.access.TboFile;
+import de.topobyte.osm4j.tbo.index.BlockIndex;
+import de.topobyte.osm4j.tbo.index.BlockInfo;
+import de.topobyte.osm4j.tbo.index.BlockMatch;
 import de.topobyte.osm4j.utils.FileFormat;
 import de.topobyte.osm4j.utils.OsmOutputConfig;
 
@@ -51,6 +58,7 @@ public class LeafQuery extends AbstractQuery
 	final static Logger logger = LoggerFactory.getLogger(LeafQuery.class);
 
 	private PredicateEvaluator test;
+	private PredicateRegion region;
 
 	private DataTreeFiles filesTreeNodes;
 	private DataTreeFiles filesTreeWays;
@@ -68,6 +76,7 @@ public class LeafQuery extends AbstractQuery
 		super(inputFormat, outputConfigIntermediate, outputConfig);
 
 		this.test = test;
+		region = new PredicateRegion(test);
 		this.filesTreeNodes = filesTreeNodes;
 		this.filesTreeWays = filesTreeWays;
 		this.filesTreeSimpleRelations = filesTreeSimpleRelations;
@@ -92,6 +101,8 @@ public class LeafQuery extends AbstractQuery
 	private InMemoryListDataSet dataSimpleRelations;
 	private InMemoryListDataSet dataComplexRelations;
 
+	private BlockIndex nodeBlockIndex;
+
 	private TLongSet nodeIds = new TLongHashSet();
 	private TLongSet wayIds = new TLongHashSet();
 
@@ -176,13 +187,44 @@ public class LeafQuery extends AbstractQuery
 	private void readData(Node leaf) throws IOException
 	{
 		dataNodes = read(filesTreeNodes.getPath(leaf));
+		nodeBlockIndex = readNodeBlockIndex(filesTreeNodes.getPath(leaf));
 		dataWays = read(filesTreeWays.getPath(leaf));
 		dataSimpleRelations = read(filesTreeSimpleRelations.getPath(leaf));
 		dataComplexRelations = read(filesTreeComplexRelations.getPath(leaf));
 	}
 
+	/**
+	 * @return the stored block index of a TBO node file if there is one that
+	 *         matches the nodes loaded, null otherwise.
+	 */
+	private BlockIndex readNodeBlockIndex(Path path) throws IOException
+	{
+		if (inputFormat != FileFormat.TBO) {
+			return null;
+		}
+		try (TboFile file = new TboFile(path.toFile(), false, false)) {
+			if (!file.hasIndex()) {
+				return null;
+			}
+			BlockIndex index = file.getBlockIndex();
+			TIntList blocks = index.getBlocks(EntityType.Node);
+			int count = 0;
+			for (int k = 0; k < blocks.size(); k++) {
+				count += index.getBlock(blocks.get(k)).getCount();
+			}
+			if (count != dataNodes.getNodes().size()) {
+				return null;
+			}
+			return index;
+		}
+	}
+
 	private void queryNodes() throws IOException
 	{
+		if (nodeBlockIndex != null) {
+			queryNodesByBlocks();
+			return;
+		}
 		for (OsmNode node : dataNodes.getNodes()) {
 			if (test.contains(
 					new Coordinate(node.getLongitude(), node.getLatitude()))) {
@@ -192,6 +234,34 @@ public class LeafQuery extends AbstractQuery
 		}
 	}
 
+	/**
+	 * Use the bounding boxes of the node blocks to skip the individual tests
+	 * for nodes of blocks that are completely inside or outside the region.
+	 */
+	private void queryNodesByBlocks() throws IOException
+	{
+		List<OsmNode> nodes = dataNodes.getNodes();
+		TIntList blocks = nodeBlockIndex.getBlocks(EntityType.Node);
+		int start = 0;
+		for (int k = 0; k < blocks.size(); k++) {
+			BlockInfo block = nodeBlockIndex.getBlock(blocks.get(k));
+			int end = start + block.getCount();
+			BlockMatch match = BlockMatch.classify(region, block);
+			if (match != BlockMatch.DISJOINT) {
+				boolean contained = match == BlockMatch.CONTAINED;
+				for (int i = start; i < end; i++) {
+					OsmNode node = nodes.get(i);
+					if (contained || region.contains(node.getLongitude(),
+							node.getLatitude())) {
+						nodeIds.add(node.getId());
+						outNodes.getOsmOutput().write(node);
+					}
+				}
+			}
+			start = end;
+		}
+	}
+
 	private void queryWays() throws IOException
 	{
 		for (OsmWay way : dataWays.getWays()) {
@@ -0,0 +1,59 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.extra.extracts.query;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+
+import de.topobyte.jts.utils.predicate.PredicateEvaluator;
+import de.topobyte.osm4j.tbo.index.Region;
+
+/**
+ * Adapts a {@link PredicateEvaluator} for block based queries on TBO files.
+ */
+public class PredicateRegion implements Region
+{
+
+	private PredicateEvaluator test;
+
+	public PredicateRegion(PredicateEvaluator test)
+	{
+		this.test = test;
+	}
+
+	@Override
+	public boolean contains(double lon, double lat)
+	{
+		return test.contains(new Coordinate(lon, lat));
+	}
+
+	@Override
+	public boolean contains(double minLon, double maxLon, double minLat,
+			double maxLat)
+	{
+		return test.contains(new Envelope(minLon, maxLon, minLat, maxLat));
+	}
+
+	@Override
+	public boolean intersects(double minLon, double maxLon, double minLat,
+			double maxLat)
+	{
+		return test.intersects(new Envelope(minLon, maxLon, minLat, maxLat));
+	}
+
+}
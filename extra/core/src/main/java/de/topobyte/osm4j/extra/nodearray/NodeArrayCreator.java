@@ -27,11 +27,13 @@ import de.topobyte.osm4j.core.access.OsmIterator;
 import de.topobyte.osm4j.core.model.iface.EntityContainer;
 import de.topobyte.osm4j.core.model.iface.EntityType;
 import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.pbf.seq.PbfCursor;
 
 public class NodeArrayCreator
 {
 
 	private OsmIterator input;
+	private PbfCursor cursor;
 	private Path outputPath;
 	private NodeArrayType type;
 	private NodeArrayWriter writer;
@@ -44,6 +46,18 @@ public class NodeArrayCreator
 		this.type = type;
 	}
 
+	/**
+	 * Create a node array from PBF input using a cursor, which avoids creating
+	 * objects for each node.
+	 */
+	public NodeArrayCreator(PbfCursor cursor, Path outputPath,
+			NodeArrayType type)
+	{
+		this.cursor = cursor;
+		this.outputPath = outputPath;
+		this.type = type;
+	}
+
 	public void execute() throws IOException
 	{
 		initOutput();
@@ -74,6 +88,10 @@ public class NodeArrayCreator
 
 	private void run() throws IOException
 	{
+		if (cursor != null) {
+			runCursor();
+			return;
+		}
 		while (input.hasNext()) {
 			EntityContainer container = input.next();
 			if (container.getType() != EntityType.Node) {
@@ -85,4 +103,15 @@ public class NodeArrayCreator
 		writer.finish();
 	}
 
+	private void runCursor() throws IOException
+	{
+		while (cursor.next()) {
+			if (cursor.getType() != EntityType.Node) {
+				break;
+			}
+			writer.write(cursor.getNode());
+		}
+		writer.finish();
+	}
+
 }
@@ -26,6 +26,7 @@ import org.locationtech.jts.geom.GeometryFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.topobyte.osm4j.core.model.iface.OsmLocatedWay;
 import de.topobyte.osm4j.core.model.iface.OsmNode;
 import de.topobyte.osm4j.core.model.iface.OsmWay;
 import de.topobyte.osm4j.core.model.util.OsmModelUtil;
@@ -143,6 +144,10 @@ public class WayBuilder extends AbstractGeometryBuilder
 	public WayBuilderResult buildThrowExceptionIfNodeMissing(OsmWay way,
 			OsmEntityProvider resolver) throws EntityNotFoundException
 	{
+		if (way instanceof OsmLocatedWay) {
+			return build((OsmLocatedWay) way);
+		}
+
 		WayBuilderResult result = new WayBuilderResult();
 
 		int numNodes = way.getNumberOfNodes();
@@ -174,6 +179,10 @@ public class WayBuilder extends AbstractGeometryBuilder
 	public WayBuilderResult buildReturnEmptyIfNodeMissing(OsmWay way,
 			OsmEntityProvider resolver)
 	{
+		if (way instanceof OsmLocatedWay) {
+			return build((OsmLocatedWay) way);
+		}
+
 		WayBuilderResult result = new WayBuilderResult();
 
 		int numNodes = way.getNumberOfNodes();
@@ -216,6 +225,10 @@ public class WayBuilder extends AbstractGeometryBuilder
 	public WayBuilderResult buildOmitVertexIfNodeMissing(OsmWay way,
 			OsmEntityProvider resolver)
 	{
+		if (way instanceof OsmLocatedWay) {
+			return build((OsmLocatedWay) way);
+		}
+
 		WayBuilderResult result = new WayBuilderResult();
 
 		// Test if the way is closed, i.e. first node id == last node id
@@ -269,6 +282,10 @@ public class WayBuilder extends AbstractGeometryBuilder
 	public WayBuilderResult buildSplitIfNodeMissing(OsmWay way,
 			OsmEntityProvider resolver)
 	{
+		if (way instanceof OsmLocatedWay) {
+			return build((OsmLocatedWay) way);
+		}
+
 		// Test if the way is closed, i.e. first node id == last node id
 		boolean closed = OsmModelUtil.isClosed(way);
 		// Remember if the first node is missing, so that we can handle closed
@@ -301,6 +318,42 @@ public class WayBuilder extends AbstractGeometryBuilder
 				firstMissing);
 	}
 
+	/**
+	 * Build a geometry from a way that stores the locations of its nodes. No
+	 * node lookup is necessary in this case.
+	 * 
+	 * @param way
+	 *            the way to use for building.
+	 * @return the constructed geometry.
+	 */
+	public WayBuilderResult build(OsmLocatedWay way)
+	{
+		WayBuilderResult result = new WayBuilderResult();
+
+		int numNodes = way.getNumberOfNodes();
+		if (numNodes == 0) {
+			return result;
+		}
+		if (numNodes == 1) {
+			if (includePuntal) {
+				result.getCoordinates().add(new Coordinate(
+						way.getNodeLongitude(0), way.getNodeLatitude(0)));
+			}
+			return result;
+		}
+
+		CoordinateSequence cs = factory.getCoordinateSequenceFactory()
+				.create(numNodes, 2);
+
+		for (int i = 0; i < numNodes; i++) {
+			cs.setOrdinate(i, 0, way.getNodeLongitude(i));
+			cs.setOrdinate(i, 1, way.getNodeLatitude(i));
+		}
+		createLine(result, cs, OsmModelUtil.isClosed(way));
+
+		return result;
+	}
+
 	private void logMissingNode(long nodeId)
 	{
 		String message = String.format("Node not found: %d", nodeId);
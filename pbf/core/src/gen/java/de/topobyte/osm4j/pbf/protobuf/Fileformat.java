@@ -133,6 +133,27 @@ public final class Fileformat {
      * @return The lz4Data.
      */
     com.google.protobuf.ByteString getLz4Data();
+
+    /**
+     * <pre>
+     * zstd compressed data. It decompresses a lot faster than zlib while
+     * offering similar or better compression ratios.
+     * </pre>
+     *
+     * <code>optional bytes zstd_data = 7;</code>
+     * @return Whether the zstdData field is set.
+     */
+    boolean hasZstdData();
+    /**
+     * <pre>
+     * zstd compressed data. It decompresses a lot faster than zlib while
+     * offering similar or better compression ratios.
+     * </pre>
+     *
+     * <code>optional bytes zstd_data = 7;</code>
+     * @return The zstdData.
+     */
+    com.google.protobuf.ByteString getZstdData();
   }
   /**
    * Protobuf type {@code OSMPBF.Blob}
@@ -148,6 +169,7 @@ public final class Fileformat {
       lzmaData_ = com.google.protobuf.ByteString.EMPTY;
       oBSOLETEBzip2Data_ = com.google.protobuf.ByteString.EMPTY;
       lz4Data_ = com.google.protobuf.ByteString.EMPTY;
+      zstdData_ = com.google.protobuf.ByteString.EMPTY;
     }
     private int bitField0_;
     public static final int RAW_FIELD_NUMBER = 1;
@@ -467,6 +489,61 @@ public final class Fileformat {
       lz4Data_ = getDefaultInstance().getLz4Data();
     }
 
+    public static final int ZSTD_DATA_FIELD_NUMBER = 7;
+    private com.google.protobuf.ByteString zstdData_;
+    /**
+     * <pre>
+     * zstd compressed data. It decompresses a lot faster than zlib while
+     * offering similar or better compression ratios.
+     * </pre>
+     *
+     * <code>optional bytes zstd_data = 7;</code>
+     * @return Whether the zstdData field is set.
+     */
+    @java.lang.Override
+    public boolean hasZstdData() {
+      return ((bitField0_ & 0x00000040) != 0);
+    }
+    /**
+     * <pre>
+     * zstd compressed data. It decompresses a lot faster than zlib while
+     * offering similar or better compression ratios.
+     * </pre>
+     *
+     * <code>optional bytes zstd_data = 7;</code>
+     * @return The zstdData.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString getZstdData() {
+      return zstdData_;
+    }
+    /**
+     * <pre>
+     * zstd compressed data. It decompresses a lot faster than zlib while
+     * offering similar or better compression ratios.
+     * </pre>
+     *
+     * <code>optional bytes zstd_data = 7;</code>
+     * @param value The zstdData to set.
+     */
+    private void setZstdData(com.google.protobuf.ByteString value) {
+      java.lang.Class<?> valueClass = value.getClass();
+  bitField0_ |= 0x00000040;
+      zstdData_ = value;
+    }
+    /**
+     * <pre>
+     * zstd compressed data. It decompresses a lot faster than zlib while
+     * offering similar or better compression ratios.
+     * </pre>
+     *
+     * <code>optional bytes zstd_data = 7;</code>
+     */
+    private void clearZstdData() {
+      bitField0_ = (bitField0_ & ~0x00000040);
+      zstdData_ = getDefaultInstance().getZstdData();
+    }
+
     public static de.topobyte.osm4j.pbf.protobuf.Fileformat.Blob parseFrom(
         java.nio.ByteBuffer data)
         throws com.google.protobuf.InvalidProtocolBufferException {
@@ -888,6 +965,62 @@ public final class Fileformat {
         return this;
       }
 
+      /**
+       * <pre>
+       * zstd compressed data. It decompresses a lot faster than zlib while
+       * offering similar or better compression ratios.
+       * </pre>
+       *
+       * <code>optional bytes zstd_data = 7;</code>
+       * @return Whether the zstdData field is set.
+       */
+      @java.lang.Override
+      public boolean hasZstdData() {
+        return instance.hasZstdData();
+      }
+      /**
+       * <pre>
+       * zstd compressed data. It decompresses a lot faster than zlib while
+       * offering similar or better compression ratios.
+       * </pre>
+       *
+       * <code>optional bytes zstd_data = 7;</code>
+       * @return The zstdData.
+       */
+      @java.lang.Override
+      public com.google.protobuf.ByteString getZstdData() {
+        return instance.getZstdData();
+      }
+      /**
+       * <pre>
+       * zstd compressed data. It decompresses a lot faster than zlib while
+       * offering similar or better compression ratios.
+       * </pre>
+       *
+       * <code>optional bytes zstd_data = 7;</code>
+       * @param value The zstdData to set.
+       * @return This builder for chaining.
+       */
+      public Builder setZstdData(com.google.protobuf.ByteString value) {
+        copyOnWrite();
+        instance.setZstdData(value);
+        return this;
+      }
+      /**
+       * <pre>
+       * zstd compressed data. It decompresses a lot faster than zlib while
+       * offering similar or better compression ratios.
+       * </pre>
+       *
+       * <code>optional bytes zstd_data = 7;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearZstdData() {
+        copyOnWrite();
+        instance.clearZstdData();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:OSMPBF.Blob)
     }
     @java.lang.Override
@@ -911,11 +1044,12 @@ public final class Fileformat {
               "lzmaData_",
               "oBSOLETEBzip2Data_",
               "lz4Data_",
+              "zstdData_",
             };
             java.lang.String info =
-                "\u0001\u0006\u0000\u0001\u0001\u0006\u0006\u0000\u0000\u0000\u0001\u100a\u0000\u0002" +
+                "\u0001\u0007\u0000\u0001\u0001\u0007\u0007\u0000\u0000\u0000\u0001\u100a\u0000\u0002" +
                 "\u1004\u0001\u0003\u100a\u0002\u0004\u100a\u0003\u0005\u100a\u0004\u0006\u100a\u0005" +
-                "";
+                "\u0007\u100a\u0006";
             return newMessageInfo(DEFAULT_INSTANCE, info, objects);
         }
         // fall through
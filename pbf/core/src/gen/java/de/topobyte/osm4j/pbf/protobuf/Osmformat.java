@@ -9359,6 +9359,79 @@ public final class Osmformat {
      * @return The refs at the given index.
      */
     long getRefs(int index);
+
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     * @return A list containing the lat.
+     */
+    java.util.List<java.lang.Long> getLatList();
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     * @return The count of lat.
+     */
+    int getLatCount();
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The lat at the given index.
+     */
+    long getLat(int index);
+
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     * @return A list containing the lon.
+     */
+    java.util.List<java.lang.Long> getLonList();
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     * @return The count of lon.
+     */
+    int getLonCount();
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The lon at the given index.
+     */
+    long getLon(int index);
   }
   /**
    * Protobuf type {@code OSMPBF.Way}
@@ -9372,6 +9445,8 @@ public final class Osmformat {
       keys_ = emptyIntList();
       vals_ = emptyIntList();
       refs_ = emptyLongList();
+      lat_ = emptyLongList();
+      lon_ = emptyLongList();
     }
     private int bitField0_;
     public static final int ID_FIELD_NUMBER = 1;
@@ -9724,6 +9799,239 @@ public final class Osmformat {
       refs_ = emptyLongList();
     }
 
+    public static final int LAT_FIELD_NUMBER = 9;
+    private com.google.protobuf.Internal.LongList lat_;
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     * @return A list containing the lat.
+     */
+    @java.lang.Override
+    public java.util.List<java.lang.Long>
+        getLatList() {
+      return lat_;
+    }
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     * @return The count of lat.
+     */
+    @java.lang.Override
+    public int getLatCount() {
+      return lat_.size();
+    }
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The lat at the given index.
+     */
+    @java.lang.Override
+    public long getLat(int index) {
+      return lat_.getLong(index);
+    }
+    private int latMemoizedSerializedSize = -1;
+    private void ensureLatIsMutable() {
+      com.google.protobuf.Internal.LongList tmp = lat_;
+      if (!tmp.isModifiable()) {
+        lat_ =
+            com.google.protobuf.GeneratedMessageLite.mutableCopy(tmp);
+       }
+    }
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     * @param index The index to set the value at.
+     * @param value The lat to set.
+     */
+    private void setLat(
+        int index, long value) {
+      ensureLatIsMutable();
+      lat_.setLong(index, value);
+    }
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     * @param value The lat to add.
+     */
+    private void addLat(long value) {
+      ensureLatIsMutable();
+      lat_.addLong(value);
+    }
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     * @param values The lat to add.
+     */
+    private void addAllLat(
+        java.lang.Iterable<? extends java.lang.Long> values) {
+      ensureLatIsMutable();
+      com.google.protobuf.AbstractMessageLite.addAll(
+          values, lat_);
+    }
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     */
+    private void clearLat() {
+      lat_ = emptyLongList();
+    }
+
+    public static final int LON_FIELD_NUMBER = 10;
+    private com.google.protobuf.Internal.LongList lon_;
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     * @return A list containing the lon.
+     */
+    @java.lang.Override
+    public java.util.List<java.lang.Long>
+        getLonList() {
+      return lon_;
+    }
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     * @return The count of lon.
+     */
+    @java.lang.Override
+    public int getLonCount() {
+      return lon_.size();
+    }
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The lon at the given index.
+     */
+    @java.lang.Override
+    public long getLon(int index) {
+      return lon_.getLong(index);
+    }
+    private int lonMemoizedSerializedSize = -1;
+    private void ensureLonIsMutable() {
+      com.google.protobuf.Internal.LongList tmp = lon_;
+      if (!tmp.isModifiable()) {
+        lon_ =
+            com.google.protobuf.GeneratedMessageLite.mutableCopy(tmp);
+       }
+    }
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     * @param index The index to set the value at.
+     * @param value The lon to set.
+     */
+    private void setLon(
+        int index, long value) {
+      ensureLonIsMutable();
+      lon_.setLong(index, value);
+    }
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     * @param value The lon to add.
+     */
+    private void addLon(long value) {
+      ensureLonIsMutable();
+      lon_.addLong(value);
+    }
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     * @param values The lon to add.
+     */
+    private void addAllLon(
+        java.lang.Iterable<? extends java.lang.Long> values) {
+      ensureLonIsMutable();
+      com.google.protobuf.AbstractMessageLite.addAll(
+          values, lon_);
+    }
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     */
+    private void clearLon() {
+      lon_ = emptyLongList();
+    }
+
     public static de.topobyte.osm4j.pbf.protobuf.Osmformat.Way parseFrom(
         java.nio.ByteBuffer data)
         throws com.google.protobuf.InvalidProtocolBufferException {
@@ -10167,6 +10475,235 @@ public final class Osmformat {
         return this;
       }
 
+      /**
+       * <pre>
+       * The following two fields are optional. They are only used in a special
+       * format where node locations are also added to the ways. This makes the
+       * files larger, but allows creating way geometries directly.
+       *
+       * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+       * and the number of values in refs, lat, and lon MUST be the same.
+       * </pre>
+       *
+       * <code>repeated sint64 lat = 9 [packed = true];</code>
+       * @return A list containing the lat.
+       */
+      @java.lang.Override
+      public java.util.List<java.lang.Long>
+          getLatList() {
+        return java.util.Collections.unmodifiableList(
+            instance.getLatList());
+      }
+      /**
+       * <pre>
+       * The following two fields are optional. They are only used in a special
+       * format where node locations are also added to the ways. This makes the
+       * files larger, but allows creating way geometries directly.
+       *
+       * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+       * and the number of values in refs, lat, and lon MUST be the same.
+       * </pre>
+       *
+       * <code>repeated sint64 lat = 9 [packed = true];</code>
+       * @return The count of lat.
+       */
+      @java.lang.Override
+      public int getLatCount() {
+        return instance.getLatCount();
+      }
+      /**
+       * <pre>
+       * The following two fields are optional. They are only used in a special
+       * format where node locations are also added to the ways. This makes the
+       * files larger, but allows creating way geometries directly.
+       *
+       * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+       * and the number of values in refs, lat, and lon MUST be the same.
+       * </pre>
+       *
+       * <code>repeated sint64 lat = 9 [packed = true];</code>
+       * @param index The index of the element to return.
+       * @return The lat at the given index.
+       */
+      @java.lang.Override
+      public long getLat(int index) {
+        return instance.getLat(index);
+      }
+      /**
+       * <pre>
+       * The following two fields are optional. They are only used in a special
+       * format where node locations are also added to the ways. This makes the
+       * files larger, but allows creating way geometries directly.
+       *
+       * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+       * and the number of values in refs, lat, and lon MUST be the same.
+       * </pre>
+       *
+       * <code>repeated sint64 lat = 9 [packed = true];</code>
+       * @param value The lat to set.
+       * @return This builder for chaining.
+       */
+      public Builder setLat(
+          int index, long value) {
+        copyOnWrite();
+        instance.setLat(index, value);
+        return this;
+      }
+      /**
+       * <pre>
+       * The following two fields are optional. They are only used in a special
+       * format where node locations are also added to the ways. This makes the
+       * files larger, but allows creating way geometries directly.
+       *
+       * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+       * and the number of values in refs, lat, and lon MUST be the same.
+       * </pre>
+       *
+       * <code>repeated sint64 lat = 9 [packed = true];</code>
+       * @param value The lat to add.
+       * @return This builder for chaining.
+       */
+      public Builder addLat(long value) {
+        copyOnWrite();
+        instance.addLat(value);
+        return this;
+      }
+      /**
+       * <pre>
+       * The following two fields are optional. They are only used in a special
+       * format where node locations are also added to the ways. This makes the
+       * files larger, but allows creating way geometries directly.
+       *
+       * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+       * and the number of values in refs, lat, and lon MUST be the same.
+       * </pre>
+       *
+       * <code>repeated sint64 lat = 9 [packed = true];</code>
+       * @param values The lat to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllLat(
+          java.lang.Iterable<? extends java.lang.Long> values) {
+        copyOnWrite();
+        instance.addAllLat(values);
+        return this;
+      }
+      /**
+       * <pre>
+       * The following two fields are optional. They are only used in a special
+       * format where node locations are also added to the ways. This makes the
+       * files larger, but allows creating way geometries directly.
+       *
+       * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+       * and the number of values in refs, lat, and lon MUST be the same.
+       * </pre>
+       *
+       * <code>repeated sint64 lat = 9 [packed = true];</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearLat() {
+        copyOnWrite();
+        instance.clearLat();
+        return this;
+      }
+
+      /**
+       * <pre>
+       * DELTA coded, optional
+       * </pre>
+       *
+       * <code>repeated sint64 lon = 10 [packed = true];</code>
+       * @return A list containing the lon.
+       */
+      @java.lang.Override
+      public java.util.List<java.lang.Long>
+          getLonList() {
+        return java.util.Collections.unmodifiableList(
+            instance.getLonList());
+      }
+      /**
+       * <pre>
+       * DELTA coded, optional
+       * </pre>
+       *
+       * <code>repeated sint64 lon = 10 [packed = true];</code>
+       * @return The count of lon.
+       */
+      @java.lang.Override
+      public int getLonCount() {
+        return instance.getLonCount();
+      }
+      /**
+       * <pre>
+       * DELTA coded, optional
+       * </pre>
+       *
+       * <code>repeated sint64 lon = 10 [packed = true];</code>
+       * @param index The index of the element to return.
+       * @return The lon at the given index.
+       */
+      @java.lang.Override
+      public long getLon(int index) {
+        return instance.getLon(index);
+      }
+      /**
+       * <pre>
+       * DELTA coded, optional
+       * </pre>
+       *
+       * <code>repeated sint64 lon = 10 [packed = true];</code>
+       * @param value The lon to set.
+       * @return This builder for chaining.
+       */
+      public Builder setLon(
+          int index, long value) {
+        copyOnWrite();
+        instance.setLon(index, value);
+        return this;
+      }
+      /**
+       * <pre>
+       * DELTA coded, optional
+       * </pre>
+       *
+       * <code>repeated sint64 lon = 10 [packed = true];</code>
+       * @param value The lon to add.
+       * @return This builder for chaining.
+       */
+      public Builder addLon(long value) {
+        copyOnWrite();
+        instance.addLon(value);
+        return this;
+      }
+      /**
+       * <pre>
+       * DELTA coded, optional
+       * </pre>
+       *
+       * <code>repeated sint64 lon = 10 [packed = true];</code>
+       * @param values The lon to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllLon(
+          java.lang.Iterable<? extends java.lang.Long> values) {
+        copyOnWrite();
+        instance.addAllLon(values);
+        return this;
+      }
+      /**
+       * <pre>
+       * DELTA coded, optional
+       * </pre>
+       *
+       * <code>repeated sint64 lon = 10 [packed = true];</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearLon() {
+        copyOnWrite();
+        instance.clearLon();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:OSMPBF.Way)
     }
     private byte memoizedIsInitialized = 2;
@@ -10190,10 +10727,12 @@ public final class Osmformat {
               "vals_",
               "info_",
               "refs_",
+              "lat_",
+              "lon_",
             };
             java.lang.String info =
-                "\u0001\u0005\u0000\u0001\u0001\b\u0005\u0000\u0003\u0001\u0001\u1502\u0000\u0002" +
-                "+\u0003+\u0004\u1009\u0001\b0";
+                "\u0001\u0007\u0000\u0001\u0001\n\u0007\u0000\u0005\u0001\u0001\u1502\u0000\u0002" +
+                "+\u0003+\u0004\u1009\u0001\b0\t0\n0";
             return newMessageInfo(DEFAULT_INSTANCE, info, objects);
         }
         // fall through
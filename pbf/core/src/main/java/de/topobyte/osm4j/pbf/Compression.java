@@ -21,6 +21,8 @@ public enum Compression {
 
 	NONE,
 	DEFLATE,
-	LZ4
+	LZ4,
+	ZSTD,
+	LZMA
 
 }
\ No newline at end of file
@@ -28,4 +28,7 @@ public class Constants
 	public static final String FEATURE_SCHEMA_0_6 = "OsmSchema-V0.6";
 	public static final String FEATURE_DENSE_NODES = "DenseNodes";
 
+	public static final String FEATURE_SORT_TYPE_THEN_ID = "Sort.Type_then_ID";
+	public static final String FEATURE_LOCATIONS_ON_WAYS = "LocationsOnWays";
+
 }
@@ -0,0 +1,97 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.raf;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+
+/**
+ * Accumulates the information about the entities of one type in a data block
+ * that is stored in a {@link BlockContent}.
+ */
+public class BlockContentBuilder
+{
+
+	private EntityType type;
+
+	private int count = 0;
+	private long minId = Long.MAX_VALUE;
+	private long maxId = Long.MIN_VALUE;
+
+	private boolean hasCoordinates = false;
+	private double minLon = Double.POSITIVE_INFINITY;
+	private double maxLon = Double.NEGATIVE_INFINITY;
+	private double minLat = Double.POSITIVE_INFINITY;
+	private double maxLat = Double.NEGATIVE_INFINITY;
+
+	public BlockContentBuilder(EntityType type)
+	{
+		this.type = type;
+	}
+
+	public void clear()
+	{
+		count = 0;
+		minId = Long.MAX_VALUE;
+		maxId = Long.MIN_VALUE;
+		hasCoordinates = false;
+		minLon = Double.POSITIVE_INFINITY;
+		maxLon = Double.NEGATIVE_INFINITY;
+		minLat = Double.POSITIVE_INFINITY;
+		maxLat = Double.NEGATIVE_INFINITY;
+	}
+
+	public boolean isEmpty()
+	{
+		return count == 0;
+	}
+
+	public void add(long id)
+	{
+		count++;
+		minId = Math.min(minId, id);
+		maxId = Math.max(maxId, id);
+	}
+
+	public void add(long id, double lon, double lat)
+	{
+		add(id);
+		hasCoordinates = true;
+		minLon = Math.min(minLon, lon);
+		maxLon = Math.max(maxLon, lon);
+		minLat = Math.min(minLat, lat);
+		maxLat = Math.max(maxLat, lat);
+	}
+
+	/**
+	 * Create the summary for the data block with the specified index.
+	 * 
+	 * @return the summary or null if no entities have been added.
+	 */
+	public BlockContent build(int block)
+	{
+		if (count == 0) {
+			return null;
+		}
+		if (hasCoordinates) {
+			return new BlockContent(block, type, count, minId, maxId, minLon,
+					maxLon, minLat, maxLat);
+		}
+		return new BlockContent(block, type, count, minId, maxId);
+	}
+
+}
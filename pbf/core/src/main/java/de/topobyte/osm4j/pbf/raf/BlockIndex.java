@@ -0,0 +1,130 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.raf;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+
+/**
+ * An index of the blocks of a PBF file. In addition to the positions of the
+ * blocks, it stores a {@link BlockContent} for each entity type contained in
+ * each data block. That allows finding the block that contains a specific
+ * entity without decoding any other blocks.
+ * 
+ * Use {@link BlockIndexBuilder} to create an index and {@link BlockIndexFile}
+ * to store it next to the PBF file.
+ */
+public class BlockIndex
+{
+
+	private long fileSize;
+	private BlockInfo headerBlockInfo;
+	private List<BlockInfo> dataBlockInfos;
+
+	private Map<EntityType, List<BlockContent>> contents = new EnumMap<>(
+			EntityType.class);
+	private Map<EntityType, Boolean> sorted = new EnumMap<>(EntityType.class);
+
+	public BlockIndex(long fileSize, BlockInfo headerBlockInfo,
+			List<BlockInfo> dataBlockInfos, List<BlockContent> contents)
+	{
+		this.fileSize = fileSize;
+		this.headerBlockInfo = headerBlockInfo;
+		this.dataBlockInfos = dataBlockInfos;
+
+		for (EntityType type : EntityType.values()) {
+			this.contents.put(type, new ArrayList<BlockContent>());
+			sorted.put(type, true);
+		}
+
+		for (BlockContent content : contents) {
+			List<BlockContent> list = this.contents.get(content.getType());
+			if (!list.isEmpty()) {
+				BlockContent last = list.get(list.size() - 1);
+				if (last.getMaxId() >= content.getMinId()) {
+					sorted.put(content.getType(), false);
+				}
+			}
+			list.add(content);
+		}
+	}
+
+	public long getFileSize()
+	{
+		return fileSize;
+	}
+
+	public BlockInfo getHeaderBlockInfo()
+	{
+		return headerBlockInfo;
+	}
+
+	public List<BlockInfo> getDataBlockInfos()
+	{
+		return dataBlockInfos;
+	}
+
+	public List<BlockContent> getContents(EntityType type)
+	{
+		return contents.get(type);
+	}
+
+	/**
+	 * Find the data block that contains the entity with the specified type and
+	 * id. If the blocks are sorted by id, a binary search is performed,
+	 * otherwise all blocks are checked.
+	 * 
+	 * Note that a block returned by this method is not guaranteed to contain
+	 * the entity, since only the range of ids is known for each block.
+	 * 
+	 * @return the index of the data block or -1 if no block's id range covers
+	 *         the specified id.
+	 */
+	public int findBlockContaining(EntityType type, long id)
+	{
+		List<BlockContent> list = contents.get(type);
+		if (!sorted.get(type)) {
+			for (BlockContent content : list) {
+				if (content.containsId(id)) {
+					return content.getBlock();
+				}
+			}
+			return -1;
+		}
+
+		int low = 0;
+		int high = list.size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			BlockContent content = list.get(mid);
+			if (content.getMaxId() < id) {
+				low = mid + 1;
+			} else if (content.getMinId() > id) {
+				high = mid - 1;
+			} else {
+				return content.getBlock();
+			}
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,150 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.raf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+
+/**
+ * Builds a {@link BlockIndex} either incrementally while writing a file or by
+ * scanning an existing file once using {@link #scan(IndexedPbfFile)}.
+ */
+public class BlockIndexBuilder
+{
+
+	/**
+	 * Build the index of the specified file by decoding each of its blocks.
+	 */
+	public static BlockIndex scan(IndexedPbfFile file) throws IOException
+	{
+		if (!file.isBlockIndexInitialized()) {
+			file.buildBlockIndex();
+		}
+
+		BlockIndexBuilder builder = new BlockIndexBuilder();
+		if (file.hasHeader()) {
+			builder.setHeaderBlock(file.getHeaderBlockInfo());
+		}
+		int n = file.getNumberOfDataBlocks();
+		for (int i = 0; i < n; i++) {
+			builder.addDataBlock(file.getDataBlockInfo(i),
+					file.getDataBlock(i));
+		}
+		return builder.build(file.getFileSize());
+	}
+
+	private BlockInfo headerBlockInfo = null;
+	private List<BlockInfo> dataBlockInfos = new ArrayList<>();
+	private List<BlockContent> contents = new ArrayList<>();
+
+	private BlockContentBuilder nodes = new BlockContentBuilder(
+			EntityType.Node);
+	private BlockContentBuilder ways = new BlockContentBuilder(
+			EntityType.Way);
+	private BlockContentBuilder relations = new BlockContentBuilder(
+			EntityType.Relation);
+
+	public void setHeaderBlock(BlockInfo info)
+	{
+		headerBlockInfo = info;
+	}
+
+	/**
+	 * Add a data block with the summaries of its contents.
+	 */
+	public void addDataBlock(BlockInfo info, BlockContentBuilder... builders)
+	{
+		int index = dataBlockInfos.size();
+		dataBlockInfos.add(info);
+		for (BlockContentBuilder builder : builders) {
+			BlockContent content = builder.build(index);
+			if (content != null) {
+				contents.add(content);
+			}
+		}
+	}
+
+	/**
+	 * Add a data block and compute the summaries of its contents from the
+	 * decoded block.
+	 */
+	public void addDataBlock(BlockInfo info, Osmformat.PrimitiveBlock block)
+	{
+		nodes.clear();
+		ways.clear();
+		relations.clear();
+
+		long granularity = block.getGranularity();
+		long latOffset = block.getLatOffset();
+		long lonOffset = block.getLonOffset();
+
+		for (Osmformat.PrimitiveGroup group : block.getPrimitivegroupList()) {
+			for (Osmformat.Node node : group.getNodesList()) {
+				addNode(node.getId(), node.getLon(), node.getLat(),
+						granularity, lonOffset, latOffset);
+			}
+			if (group.hasDense()) {
+				Osmformat.DenseNodes dense = group.getDense();
+				long id = 0, lat = 0, lon = 0;
+				for (int i = 0; i < dense.getIdCount(); i++) {
+					id += dense.getId(i);
+					lat += dense.getLat(i);
+					lon += dense.getLon(i);
+					addNode(id, lon, lat, granularity, lonOffset, latOffset);
+				}
+			}
+			for (Osmformat.Way way : group.getWaysList()) {
+				ways.add(way.getId());
+			}
+			for (Osmformat.Relation relation : group.getRelationsList()) {
+				relations.add(relation.getId());
+			}
+		}
+
+		addDataBlock(info, nodes, ways, relations);
+	}
+
+	private void addNode(long id, long lon, long lat, long granularity,
+			long lonOffset, long latOffset)
+	{
+		// Nodes with a missing coordinate do not extend the bounding box
+		if (lon == Integer.MAX_VALUE || lat == Integer.MAX_VALUE) {
+			nodes.add(id);
+			return;
+		}
+		nodes.add(id, coordinate(lonOffset, granularity, lon),
+				coordinate(latOffset, granularity, lat));
+	}
+
+	private static double coordinate(long offset, long granularity,
+			long value)
+	{
+		return .000000001 * (offset + (granularity * value));
+	}
+
+	public BlockIndex build(long fileSize)
+	{
+		return new BlockIndex(fileSize, headerBlockInfo,
+				new ArrayList<>(dataBlockInfos), new ArrayList<>(contents));
+	}
+
+}
@@ -0,0 +1,172 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.raf;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+
+/**
+ * Storage of {@link BlockIndex} instances in sidecar files next to the PBF
+ * file they describe.
+ */
+public class BlockIndexFile
+{
+
+	private static final int MAGIC = 0x50424958; // "PBIX"
+	private static final int VERSION = 1;
+
+	/**
+	 * Get the default location of the index file for the specified PBF file.
+	 */
+	public static Path sidecar(Path pbfFile)
+	{
+		return pbfFile.resolveSibling(pbfFile.getFileName() + ".idx");
+	}
+
+	public static void write(BlockIndex index, Path file) throws IOException
+	{
+		try (OutputStream output = new BufferedOutputStream(
+				Files.newOutputStream(file))) {
+			write(index, output);
+		}
+	}
+
+	public static BlockIndex read(Path file) throws IOException
+	{
+		try (InputStream input = new BufferedInputStream(
+				Files.newInputStream(file))) {
+			return read(input);
+		}
+	}
+
+	public static void write(BlockIndex index, OutputStream output)
+			throws IOException
+	{
+		DataOutputStream data = new DataOutputStream(output);
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeLong(index.getFileSize());
+
+		BlockInfo header = index.getHeaderBlockInfo();
+		data.writeBoolean(header != null);
+		if (header != null) {
+			write(data, header);
+		}
+
+		List<BlockInfo> infos = index.getDataBlockInfos();
+		data.writeInt(infos.size());
+		for (BlockInfo info : infos) {
+			write(data, info);
+		}
+
+		for (EntityType type : EntityType.values()) {
+			List<BlockContent> contents = index.getContents(type);
+			data.writeInt(contents.size());
+			for (BlockContent content : contents) {
+				data.writeInt(content.getBlock());
+				data.writeInt(content.getCount());
+				data.writeLong(content.getMinId());
+				data.writeLong(content.getMaxId());
+				data.writeBoolean(content.hasBBox());
+				if (content.hasBBox()) {
+					data.writeDouble(content.getMinLon());
+					data.writeDouble(content.getMaxLon());
+					data.writeDouble(content.getMinLat());
+					data.writeDouble(content.getMaxLat());
+				}
+			}
+		}
+		data.flush();
+	}
+
+	public static BlockIndex read(InputStream input) throws IOException
+	{
+		DataInputStream data = new DataInputStream(input);
+		if (data.readInt() != MAGIC) {
+			throw new IOException("not a PBF block index");
+		}
+		int version = data.readInt();
+		if (version != VERSION) {
+			throw new IOException("unsupported index version: " + version);
+		}
+		long fileSize = data.readLong();
+
+		BlockInfo header = null;
+		if (data.readBoolean()) {
+			header = readInfo(data);
+		}
+
+		int numBlocks = data.readInt();
+		List<BlockInfo> infos = new ArrayList<>(numBlocks);
+		for (int i = 0; i < numBlocks; i++) {
+			infos.add(readInfo(data));
+		}
+
+		List<BlockContent> contents = new ArrayList<>();
+		for (EntityType type : EntityType.values()) {
+			int num = data.readInt();
+			for (int i = 0; i < num; i++) {
+				int block = data.readInt();
+				int count = data.readInt();
+				long minId = data.readLong();
+				long maxId = data.readLong();
+				if (data.readBoolean()) {
+					double minLon = data.readDouble();
+					double maxLon = data.readDouble();
+					double minLat = data.readDouble();
+					double maxLat = data.readDouble();
+					contents.add(new BlockContent(block, type, count, minId,
+							maxId, minLon, maxLon, minLat, maxLat));
+				} else {
+					contents.add(new BlockContent(block, type, count, minId,
+							maxId));
+				}
+			}
+		}
+
+		return new BlockIndex(fileSize, header, infos, contents);
+	}
+
+	private static void write(DataOutputStream data, BlockInfo info)
+			throws IOException
+	{
+		data.writeLong(info.getPosition());
+		data.writeInt(info.getLengthHeader());
+		data.writeInt(info.getLengthData());
+	}
+
+	private static BlockInfo readInfo(DataInputStream data) throws IOException
+	{
+		long position = data.readLong();
+		int lengthHeader = data.readInt();
+		int lengthData = data.readInt();
+		return new BlockInfo(position, lengthHeader, lengthData);
+	}
+
+}
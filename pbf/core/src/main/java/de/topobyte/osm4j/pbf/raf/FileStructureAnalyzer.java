@@ -35,10 +35,10 @@ public class FileStructureAnalyzer
 	/**
 	 * Analyze the file structure of the specified PBF file. If not initialized
 	 * yet, this method will build the file's block index by calling
-	 * {@link PbfFile#buildBlockIndex()}. After that it will scan the blocks for
-	 * the contained element types and build a {@link FileStructure} object that
-	 * specifies which blocks of the file contain nodes, which contain ways and
-	 * which contain relations.
+	 * {@link IndexedPbfFile#buildBlockIndex()}. After that it will scan the
+	 * blocks for the contained element types and build a {@link FileStructure}
+	 * object that specifies which blocks of the file contain nodes, which
+	 * contain ways and which contain relations.
 	 * 
 	 * The analyzer will find the boundaries between entity types using binary
 	 * search. Since a PBF file block needs to be parsed completely (and
@@ -55,7 +55,8 @@ public class FileStructureAnalyzer
 	 * @return
 	 * @throws IOException
 	 */
-	public static FileStructure analyze(PbfFile pbfFile) throws IOException
+	public static FileStructure analyze(IndexedPbfFile pbfFile)
+			throws IOException
 	{
 		if (!pbfFile.isBlockIndexInitialized()) {
 			pbfFile.buildBlockIndex();
@@ -83,7 +84,7 @@ public class FileStructureAnalyzer
 		return new FileStructure(blocksNodes, blocksWays, blocksRelations);
 	}
 
-	private PbfFile pbfFile;
+	private IndexedPbfFile pbfFile;
 
 	private int maxN = -1;
 	private int minW = -1;
@@ -98,7 +99,7 @@ public class FileStructureAnalyzer
 	private boolean foundLastNode = false;
 	private boolean foundLastWay = false;
 
-	private FileStructureAnalyzer(PbfFile pbfFile)
+	private FileStructureAnalyzer(IndexedPbfFile pbfFile)
 	{
 		this.pbfFile = pbfFile;
 	}
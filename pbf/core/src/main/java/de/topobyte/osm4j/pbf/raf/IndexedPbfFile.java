@@ -0,0 +1,84 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.raf;
+
+import java.io.IOException;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.pbf.protobuf.Fileformat;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+import de.topobyte.osm4j.pbf.util.BlobHeader;
+
+/**
+ * Random access to the blocks of a PBF file by index. Implementations need to
+ * have their block index built using {@link #buildBlockIndex()} or loaded
+ * using {@link #loadBlockIndex(BlockIndex)} before blocks can be accessed.
+ */
+public interface IndexedPbfFile
+{
+
+	public long getFileSize() throws IOException;
+
+	public void buildBlockIndex() throws IOException;
+
+	/**
+	 * Initialize the block index from a previously created index instead of
+	 * scanning the file.
+	 * 
+	 * @throws IOException
+	 *             if the index does not match the file.
+	 */
+	public void loadBlockIndex(BlockIndex index) throws IOException;
+
+	public boolean isBlockIndexInitialized();
+
+	/**
+	 * @return the index loaded using {@link #loadBlockIndex(BlockIndex)} or
+	 *         null if no index has been loaded.
+	 */
+	public BlockIndex getBlockIndex();
+
+	/**
+	 * Find the data block that contains the entity with the specified type and
+	 * id using the loaded {@link BlockIndex}.
+	 * 
+	 * @return the index of the data block or -1 if there is no such block.
+	 */
+	public int findBlockContaining(EntityType type, long id);
+
+	public boolean hasHeader();
+
+	public BlockInfo getHeaderBlockInfo();
+
+	public int getNumberOfDataBlocks();
+
+	public BlockInfo getDataBlockInfo(int i);
+
+	public byte[] getRawHeaderBlockWithHeader() throws IOException;
+
+	public byte[] getRawDataBlockWithHeader(int i) throws IOException;
+
+	public Osmformat.HeaderBlock getHeaderBlock() throws IOException;
+
+	public BlobHeader getDataBlockHeader(int i) throws IOException;
+
+	public Fileformat.Blob getDataBlob(int i) throws IOException;
+
+	public Osmformat.PrimitiveBlock getDataBlock(int i) throws IOException;
+
+}
@@ -0,0 +1,393 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.raf;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.pbf.Constants;
+import de.topobyte.osm4j.pbf.protobuf.Fileformat;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+import de.topobyte.osm4j.pbf.util.BlobHeader;
+import de.topobyte.osm4j.pbf.util.BlockData;
+import de.topobyte.osm4j.pbf.util.PbfUtil;
+
+/**
+ * A PBF file that is mapped into memory. In contrast to {@link PbfFile}, the
+ * data access methods of this class are thread-safe once the block index has
+ * been built, i.e. many threads may call {@link #getDataBlock(int)}
+ * concurrently. The blob bytes of each block can be accessed without copying
+ * through {@link #getRawDataBlob(int)}.
+ * 
+ * The file is mapped in segments that never exceed {@link Integer#MAX_VALUE}
+ * bytes and that always start at a block boundary, hence files of arbitrary
+ * size are supported as long as each single block fits into a segment.
+ */
+public class MappedPbfFile implements IndexedPbfFile, Closeable
+{
+
+	private static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+	private FileChannel channel;
+
+	private volatile boolean blockIndexInitialized = false;
+	private BlockInfo headerBlockInfo;
+	private List<BlockInfo> dataBlockInfos = new ArrayList<>();
+	private BlockIndex blockIndex = null;
+
+	private ByteBuffer headerBlock;
+	private List<ByteBuffer> dataBlocks = new ArrayList<>();
+
+	public MappedPbfFile(File file) throws IOException
+	{
+		this(file.toPath());
+	}
+
+	public MappedPbfFile(Path file) throws IOException
+	{
+		this(FileChannel.open(file, StandardOpenOption.READ));
+	}
+
+	public MappedPbfFile(FileChannel channel)
+	{
+		this.channel = channel;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		channel.close();
+	}
+
+	@Override
+	public synchronized void buildBlockIndex() throws IOException
+	{
+		blockIndexInitialized = false;
+		headerBlockInfo = null;
+		dataBlockInfos.clear();
+		headerBlock = null;
+		dataBlocks.clear();
+
+		List<BlockInfo> infos = scanBlocks();
+		mapBlocks(infos);
+
+		blockIndexInitialized = true;
+	}
+
+	@Override
+	public synchronized void loadBlockIndex(BlockIndex index)
+			throws IOException
+	{
+		if (index.getFileSize() != channel.size()) {
+			throw new IOException("block index does not match file");
+		}
+
+		blockIndexInitialized = false;
+		headerBlockInfo = index.getHeaderBlockInfo();
+		dataBlockInfos = new ArrayList<>(index.getDataBlockInfos());
+		headerBlock = null;
+		dataBlocks.clear();
+
+		// The header block is usually the first block, but sort by position
+		// to be safe since blocks need to be mapped in file order.
+		List<BlockInfo> infos = new ArrayList<>(dataBlockInfos);
+		if (headerBlockInfo != null) {
+			infos.add(headerBlockInfo);
+		}
+		Collections.sort(infos, new Comparator<BlockInfo>() {
+
+			@Override
+			public int compare(BlockInfo o1, BlockInfo o2)
+			{
+				return Long.compare(o1.getPosition(), o2.getPosition());
+			}
+
+		});
+		mapBlocks(infos);
+
+		blockIndex = index;
+		blockIndexInitialized = true;
+	}
+
+	@Override
+	public long getFileSize() throws IOException
+	{
+		return channel.size();
+	}
+
+	private List<BlockInfo> scanBlocks() throws IOException
+	{
+		List<BlockInfo> infos = new ArrayList<>();
+
+		long size = channel.size();
+		long pos = 0;
+		ByteBuffer intBuffer = ByteBuffer.allocate(4);
+
+		while (pos < size) {
+			intBuffer.clear();
+			readFully(intBuffer, pos);
+			int headerSize = intBuffer.getInt(0);
+
+			ByteBuffer headerBuffer = ByteBuffer.allocate(headerSize);
+			readFully(headerBuffer, pos + 4);
+			headerBuffer.flip();
+			BlobHeader header = PbfUtil.parseHeader(headerBuffer);
+
+			BlockInfo info = new BlockInfo(pos, headerSize,
+					header.getDataLength());
+			infos.add(info);
+
+			if (header.getType().equals(Constants.BLOCK_TYPE_DATA)) {
+				dataBlockInfos.add(info);
+			} else if (header.getType().equals(Constants.BLOCK_TYPE_HEADER)) {
+				if (headerBlockInfo == null) {
+					headerBlockInfo = info;
+				} else {
+					throw new IOException("Multiple header blocks");
+				}
+			} else {
+				throw new IOException("invalid PBF block");
+			}
+
+			pos += 4 + headerSize + header.getDataLength();
+		}
+
+		if (pos > size) {
+			throw new EOFException("truncated PBF block");
+		}
+
+		return infos;
+	}
+
+	private void readFully(ByteBuffer buffer, long position)
+			throws IOException
+	{
+		long pos = position;
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, pos);
+			if (read < 0) {
+				throw new EOFException();
+			}
+			pos += read;
+		}
+	}
+
+	private void mapBlocks(List<BlockInfo> infos) throws IOException
+	{
+		int i = 0;
+		while (i < infos.size()) {
+			// Determine the blocks that fit into the next segment
+			long start = infos.get(i).getPosition();
+			int j = i;
+			long end = start;
+			while (j < infos.size()) {
+				long blockEnd = end(infos.get(j));
+				if (blockEnd - start > MAX_SEGMENT_SIZE) {
+					break;
+				}
+				end = blockEnd;
+				j++;
+			}
+			if (j == i) {
+				throw new IOException("block too large: " + start);
+			}
+
+			MappedByteBuffer segment = channel.map(MapMode.READ_ONLY, start,
+					end - start);
+
+			for (int k = i; k < j; k++) {
+				BlockInfo info = infos.get(k);
+				int offset = (int) (info.getPosition() - start);
+				int length = (int) (end(info) - info.getPosition());
+				ByteBuffer block = slice(segment, offset, length);
+				if (info == headerBlockInfo) {
+					headerBlock = block;
+				} else {
+					dataBlocks.add(block);
+				}
+			}
+
+			i = j;
+		}
+	}
+
+	private static long end(BlockInfo info)
+	{
+		return info.getPosition() + 4 + info.getLengthHeader()
+				+ info.getLengthData();
+	}
+
+	private static ByteBuffer slice(ByteBuffer buffer, int offset, int length)
+	{
+		ByteBuffer copy = buffer.duplicate();
+		copy.position(offset);
+		copy.limit(offset + length);
+		return copy.slice();
+	}
+
+	/*
+	 * Block info
+	 */
+
+	@Override
+	public boolean isBlockIndexInitialized()
+	{
+		return blockIndexInitialized;
+	}
+
+	@Override
+	public BlockIndex getBlockIndex()
+	{
+		return blockIndex;
+	}
+
+	@Override
+	public int findBlockContaining(EntityType type, long id)
+	{
+		if (blockIndex == null) {
+			throw new IllegalStateException("no block index loaded");
+		}
+		return blockIndex.findBlockContaining(type, id);
+	}
+
+	@Override
+	public boolean hasHeader()
+	{
+		return headerBlockInfo != null;
+	}
+
+	@Override
+	public BlockInfo getHeaderBlockInfo()
+	{
+		return headerBlockInfo;
+	}
+
+	@Override
+	public int getNumberOfDataBlocks()
+	{
+		return dataBlockInfos.size();
+	}
+
+	@Override
+	public BlockInfo getDataBlockInfo(int i)
+	{
+		return dataBlockInfos.get(i);
+	}
+
+	/*
+	 * Zero-copy access to blocks. The returned buffers are read-only views of
+	 * the mapped file and independent of each other, hence they can be
+	 * consumed by different threads.
+	 */
+
+	public ByteBuffer getRawHeaderBlob()
+	{
+		return blob(headerBlockInfo, headerBlock);
+	}
+
+	public ByteBuffer getRawDataBlob(int i)
+	{
+		return blob(dataBlockInfos.get(i), dataBlocks.get(i));
+	}
+
+	public ByteBuffer getRawDataBlockHeader(int i)
+	{
+		BlockInfo info = dataBlockInfos.get(i);
+		return slice(dataBlocks.get(i), 4, info.getLengthHeader())
+				.asReadOnlyBuffer();
+	}
+
+	private ByteBuffer blob(BlockInfo info, ByteBuffer block)
+	{
+		return slice(block, 4 + info.getLengthHeader(), info.getLengthData())
+				.asReadOnlyBuffer();
+	}
+
+	/*
+	 * Access to raw blocks (header data + block data)
+	 */
+
+	@Override
+	public byte[] getRawHeaderBlockWithHeader() throws IOException
+	{
+		return copy(headerBlock);
+	}
+
+	@Override
+	public byte[] getRawDataBlockWithHeader(int i) throws IOException
+	{
+		return copy(dataBlocks.get(i));
+	}
+
+	private static byte[] copy(ByteBuffer block)
+	{
+		ByteBuffer copy = block.duplicate();
+		byte[] buf = new byte[copy.remaining()];
+		copy.get(buf);
+		return buf;
+	}
+
+	/*
+	 * Data access
+	 */
+
+	@Override
+	public Osmformat.HeaderBlock getHeaderBlock() throws IOException
+	{
+		Fileformat.Blob blob = PbfUtil.parseBlock(getRawHeaderBlob());
+		BlockData blockData = PbfUtil.getBlockData(blob);
+		return Osmformat.HeaderBlock.parseFrom(blockData.getBlobData());
+	}
+
+	@Override
+	public BlobHeader getDataBlockHeader(int i) throws IOException
+	{
+		return PbfUtil.parseHeader(getRawDataBlockHeader(i));
+	}
+
+	@Override
+	public Fileformat.Blob getDataBlob(int i) throws IOException
+	{
+		return PbfUtil.parseBlock(getRawDataBlob(i));
+	}
+
+	@Override
+	public Osmformat.PrimitiveBlock getDataBlock(int i) throws IOException
+	{
+		Fileformat.Blob blob = getDataBlob(i);
+		BlockData blockData = PbfUtil.getBlockData(blob);
+
+		Osmformat.PrimitiveBlock primBlock = Osmformat.PrimitiveBlock
+				.parseFrom(blockData.getBlobData());
+		return primBlock;
+	}
+
+}
@@ -0,0 +1,152 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.raf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+
+/**
+ * Processes ranges of data blocks of an {@link IndexedPbfFile} using a number
+ * of threads. Blocks are handed out to the threads one by one, so that each
+ * thread decodes and processes its own blocks.
+ * 
+ * The file needs to support concurrent access to its blocks, such as
+ * {@link MappedPbfFile}.
+ */
+public class ParallelBlockReader
+{
+
+	private IndexedPbfFile file;
+	private int numThreads;
+
+	private FileStructure structure = null;
+
+	public ParallelBlockReader(IndexedPbfFile file, int numThreads)
+	{
+		this.file = file;
+		this.numThreads = numThreads;
+	}
+
+	/**
+	 * Get the structure of the file, analyzing it on first access.
+	 */
+	public FileStructure getStructure() throws IOException
+	{
+		if (structure == null) {
+			structure = FileStructureAnalyzer.analyze(file);
+		}
+		return structure;
+	}
+
+	/**
+	 * Process all blocks that contain entities of the specified type. Note
+	 * that blocks at the boundaries between entity types may contain entities
+	 * of other types as well.
+	 */
+	public void process(EntityType type, BlockProcessor processor)
+			throws IOException
+	{
+		Interval interval = getStructure().getBlocks(type);
+		if (interval == null) {
+			return;
+		}
+		process(interval, processor);
+	}
+
+	/**
+	 * Process all data blocks of the file.
+	 */
+	public void processAll(BlockProcessor processor) throws IOException
+	{
+		if (!file.isBlockIndexInitialized()) {
+			file.buildBlockIndex();
+		}
+		int num = file.getNumberOfDataBlocks();
+		if (num == 0) {
+			return;
+		}
+		process(new Interval(0, num - 1), processor);
+	}
+
+	/**
+	 * Process the blocks within the specified interval (inclusive bounds).
+	 */
+	public void process(Interval interval, final BlockProcessor processor)
+			throws IOException
+	{
+		if (!file.isBlockIndexInitialized()) {
+			file.buildBlockIndex();
+		}
+
+		int start = interval.getStart();
+		final int end = interval.getEnd();
+		final AtomicInteger next = new AtomicInteger(start);
+
+		int n = Math.max(1, Math.min(numThreads, end - start + 1));
+		ExecutorService executor = Executors.newFixedThreadPool(n);
+
+		List<Future<Void>> futures = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			futures.add(executor.submit(new Callable<Void>() {
+
+				@Override
+				public Void call() throws IOException
+				{
+					while (true) {
+						int index = next.getAndIncrement();
+						if (index > end) {
+							return null;
+						}
+						Osmformat.PrimitiveBlock block = file
+								.getDataBlock(index);
+						processor.process(index, block);
+					}
+				}
+
+			}));
+		}
+		executor.shutdown();
+
+		try {
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			throw new IOException("interrupted while processing blocks", e);
+		} catch (ExecutionException e) {
+			executor.shutdownNow();
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw new RuntimeException("error while processing block", cause);
+		}
+	}
+
+}
@@ -25,6 +25,7 @@ import java.io.RandomAccessFile;
 import java.util.ArrayList;
 import java.util.List;
 
+import de.topobyte.osm4j.core.model.iface.EntityType;
 import de.topobyte.osm4j.pbf.Constants;
 import de.topobyte.osm4j.pbf.protobuf.Fileformat;
 import de.topobyte.osm4j.pbf.protobuf.Osmformat;
@@ -32,7 +33,7 @@ import de.topobyte.osm4j.pbf.util.BlobHeader;
 import de.topobyte.osm4j.pbf.util.BlockData;
 import de.topobyte.osm4j.pbf.util.PbfUtil;
 
-public class PbfFile
+public class PbfFile implements IndexedPbfFile
 {
 
 	private RandomAccessFile file;
@@ -40,6 +41,7 @@ public class PbfFile
 	private boolean blockIndexInitialized = false;
 	private BlockInfo headerBlockInfo;
 	private List<BlockInfo> dataBlockInfos = new ArrayList<>();
+	private BlockIndex blockIndex = null;
 
 	public PbfFile(File file) throws FileNotFoundException
 	{
@@ -51,6 +53,7 @@ public class PbfFile
 		this.file = file;
 	}
 
+	@Override
 	public void buildBlockIndex() throws IOException
 	{
 		headerBlockInfo = null;
@@ -87,25 +90,68 @@ public class PbfFile
 		blockIndexInitialized = true;
 	}
 
+	@Override
+	public void loadBlockIndex(BlockIndex index) throws IOException
+	{
+		if (index.getFileSize() != file.length()) {
+			throw new IOException("block index does not match file");
+		}
+		headerBlockInfo = index.getHeaderBlockInfo();
+		dataBlockInfos = new ArrayList<>(index.getDataBlockInfos());
+		blockIndex = index;
+		blockIndexInitialized = true;
+	}
+
+	@Override
+	public long getFileSize() throws IOException
+	{
+		return file.length();
+	}
+
 	/*
 	 * Block info
 	 */
 
+	@Override
 	public boolean isBlockIndexInitialized()
 	{
 		return blockIndexInitialized;
 	}
 
+	@Override
+	public BlockIndex getBlockIndex()
+	{
+		return blockIndex;
+	}
+
+	@Override
+	public int findBlockContaining(EntityType type, long id)
+	{
+		if (blockIndex == null) {
+			throw new IllegalStateException("no block index loaded");
+		}
+		return blockIndex.findBlockContaining(type, id);
+	}
+
+	@Override
 	public boolean hasHeader()
 	{
 		return headerBlockInfo != null;
 	}
 
+	@Override
+	public BlockInfo getHeaderBlockInfo()
+	{
+		return headerBlockInfo;
+	}
+
+	@Override
 	public int getNumberOfDataBlocks()
 	{
 		return dataBlockInfos.size();
 	}
 
+	@Override
 	public BlockInfo getDataBlockInfo(int i)
 	{
 		return dataBlockInfos.get(i);
@@ -115,11 +161,13 @@ public class PbfFile
 	 * Access to raw blocks (header data + block data)
 	 */
 
+	@Override
 	public byte[] getRawHeaderBlockWithHeader() throws IOException
 	{
 		return getRawBlockWithHeader(headerBlockInfo);
 	}
 
+	@Override
 	public byte[] getRawDataBlockWithHeader(int i) throws IOException
 	{
 		BlockInfo info = dataBlockInfos.get(i);
@@ -129,7 +177,7 @@ public class PbfFile
 	private byte[] getRawBlockWithHeader(BlockInfo info) throws IOException
 	{
 		file.seek(info.getPosition());
-		int lengthTotal = info.getLengthHeader() + info.getLengthData();
+		int lengthTotal = 4 + info.getLengthHeader() + info.getLengthData();
 		byte[] buf = new byte[lengthTotal];
 		file.readFully(buf);
 		return buf;
@@ -139,6 +187,7 @@ public class PbfFile
 	 * Data access
 	 */
 
+	@Override
 	public Osmformat.HeaderBlock getHeaderBlock() throws IOException
 	{
 		Fileformat.Blob blob = getBlockBlob(headerBlockInfo);
@@ -146,6 +195,7 @@ public class PbfFile
 		return Osmformat.HeaderBlock.parseFrom(blockData.getBlobData());
 	}
 
+	@Override
 	public BlobHeader getDataBlockHeader(int i) throws IOException
 	{
 		BlockInfo info = dataBlockInfos.get(i);
@@ -154,6 +204,7 @@ public class PbfFile
 		return PbfUtil.parseHeader(file, info.getLengthHeader());
 	}
 
+	@Override
 	public Fileformat.Blob getDataBlob(int i) throws IOException
 	{
 		BlockInfo info = dataBlockInfos.get(i);
@@ -161,6 +212,7 @@ public class PbfFile
 		return blob;
 	}
 
+	@Override
 	public Osmformat.PrimitiveBlock getDataBlock(int i) throws IOException
 	{
 		BlockInfo info = dataBlockInfos.get(i);
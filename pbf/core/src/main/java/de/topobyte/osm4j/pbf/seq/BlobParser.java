@@ -33,7 +33,7 @@ public abstract class BlobParser
 	public void parse(InputStream input) throws IOException
 	{
 		DataInputStream data = new DataInputStream(input);
-		while (true) {
+		while (!isDone()) {
 			try {
 				parseBlob(data);
 			} catch (EOFException eof) {
@@ -45,6 +45,10 @@ public abstract class BlobParser
 	private void parseBlob(DataInput data) throws IOException
 	{
 		BlobHeader header = PbfUtil.parseHeader(data);
+		if (skip(header)) {
+			PbfUtil.skipBlock(data, header.getDataLength());
+			return;
+		}
 		Fileformat.Blob blob = PbfUtil.parseBlock(data, header.getDataLength());
 
 		parse(header, blob);
@@ -53,4 +57,21 @@ public abstract class BlobParser
 	protected abstract void parse(BlobHeader header, Fileformat.Blob blob)
 			throws IOException;
 
+	/**
+	 * Subclasses may override this to skip blobs without reading them.
+	 */
+	protected boolean skip(BlobHeader header)
+	{
+		return false;
+	}
+
+	/**
+	 * Subclasses may override this to stop parsing before the end of the
+	 * input has been reached.
+	 */
+	protected boolean isDone()
+	{
+		return false;
+	}
+
 }
@@ -0,0 +1,182 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import java.util.List;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+
+/**
+ * A cursor over the entities of a {@link Osmformat.PrimitiveBlock}. Instead of
+ * creating objects for each entity, the cursor updates one of its views
+ * ({@link #getNode()}, {@link #getWay()} or {@link #getRelation()}) on each
+ * call to {@link #next()}. The views are only valid until the next call to
+ * {@link #next()} or {@link #reset(Osmformat.PrimitiveBlock)}.
+ * 
+ * Entities are visited group by group, in the order nodes, dense nodes, ways,
+ * relations within each group. {@link PbfIterator} returns all nodes of a
+ * block before its ways and relations instead. Both orders are the same for
+ * blocks in which each group holds a single type of entity, as the PBF format
+ * recommends.
+ */
+public class BlockCursor
+{
+
+	private static final int PHASE_NODES = 0;
+	private static final int PHASE_DENSE = 1;
+	private static final int PHASE_WAYS = 2;
+	private static final int PHASE_RELATIONS = 3;
+
+	private CursorBlock block = new CursorBlock();
+	private CursorNode node;
+	private CursorWay way;
+	private CursorRelation relation;
+
+	private List<Osmformat.PrimitiveGroup> groups = null;
+	private int groupIndex;
+	private int phase;
+	private int index;
+
+	private EntityType type = null;
+
+	public BlockCursor(boolean fetchMetadata)
+	{
+		node = new CursorNode(block, fetchMetadata);
+		way = new CursorWay(block, fetchMetadata);
+		relation = new CursorRelation(block, fetchMetadata);
+	}
+
+	public void reset(Osmformat.PrimitiveBlock primBlock)
+	{
+		block.reset(primBlock);
+		groups = primBlock.getPrimitivegroupList();
+		groupIndex = 0;
+		phase = PHASE_NODES;
+		index = 0;
+		type = null;
+	}
+
+	/**
+	 * Move to the next entity of the block.
+	 * 
+	 * @return false if there are no more entities in this block.
+	 */
+	public boolean next()
+	{
+		if (groups == null) {
+			return false;
+		}
+		while (groupIndex < groups.size()) {
+			Osmformat.PrimitiveGroup group = groups.get(groupIndex);
+			switch (phase) {
+			default:
+			case PHASE_NODES:
+				if (index < group.getNodesCount()) {
+					node.set(group.getNodes(index++));
+					type = EntityType.Node;
+					return true;
+				}
+				nextPhase();
+				if (group.hasDense()) {
+					node.resetDense(group.getDense());
+				}
+				break;
+			case PHASE_DENSE:
+				if (group.hasDense() && index < group.getDense().getIdCount()) {
+					node.advanceDense(index++);
+					type = EntityType.Node;
+					return true;
+				}
+				nextPhase();
+				break;
+			case PHASE_WAYS:
+				if (index < group.getWaysCount()) {
+					way.set(group.getWays(index++));
+					type = EntityType.Way;
+					return true;
+				}
+				nextPhase();
+				break;
+			case PHASE_RELATIONS:
+				if (index < group.getRelationsCount()) {
+					relation.set(group.getRelations(index++));
+					type = EntityType.Relation;
+					return true;
+				}
+				groupIndex++;
+				phase = PHASE_NODES;
+				index = 0;
+				break;
+			}
+		}
+		type = null;
+		return false;
+	}
+
+	private void nextPhase()
+	{
+		phase++;
+		index = 0;
+	}
+
+	/**
+	 * @return the type of the current entity.
+	 */
+	public EntityType getType()
+	{
+		return type;
+	}
+
+	/**
+	 * @return the current entity as a view of the matching type.
+	 */
+	public CursorEntity getEntity()
+	{
+		switch (type) {
+		default:
+		case Node:
+			return node;
+		case Way:
+			return way;
+		case Relation:
+			return relation;
+		}
+	}
+
+	public CursorNode getNode()
+	{
+		return node;
+	}
+
+	public CursorWay getWay()
+	{
+		return way;
+	}
+
+	public CursorRelation getRelation()
+	{
+		return relation;
+	}
+
+	public CursorBlock getBlock()
+	{
+		return block;
+	}
+
+}
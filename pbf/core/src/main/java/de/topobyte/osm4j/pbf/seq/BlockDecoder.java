@@ -0,0 +1,102 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.core.util.RawBlockDecoder;
+import de.topobyte.osm4j.pbf.Constants;
+import de.topobyte.osm4j.pbf.protobuf.Fileformat;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+import de.topobyte.osm4j.pbf.util.BlobHeader;
+import de.topobyte.osm4j.pbf.util.BlockData;
+import de.topobyte.osm4j.pbf.util.PbfUtil;
+
+/**
+ * Decompresses and decodes a raw blob into an {@link EntityBlock}. Instances
+ * do not keep any state between invocations of
+ * {@link #decode(BlobHeader, Fileformat.Blob)} and can be shared among
+ * multiple threads.
+ */
+public class BlockDecoder
+		implements RawBlockDecoder<PbfBlob, EntityBlock>
+{
+
+	private boolean fetchMetadata;
+	private boolean lazy;
+
+	public BlockDecoder(boolean fetchMetadata)
+	{
+		this(fetchMetadata, false);
+	}
+
+	/**
+	 * @param lazy
+	 *            whether to create {@link LazyEntity} instances that decode
+	 *            tags and metadata only when requested.
+	 */
+	public BlockDecoder(boolean fetchMetadata, boolean lazy)
+	{
+		this.fetchMetadata = fetchMetadata;
+		this.lazy = lazy;
+	}
+
+	@Override
+	public EntityBlock decode(PbfBlob blob) throws IOException
+	{
+		return decode(blob.getHeader(), blob.getBlob());
+	}
+
+	public EntityBlock decode(BlobHeader header, Fileformat.Blob blob)
+			throws IOException
+	{
+		BlockData blockData = PbfUtil.getBlockData(blob);
+
+		String type = header.getType();
+		if (type.equals(Constants.BLOCK_TYPE_DATA)) {
+			Osmformat.PrimitiveBlock block = Osmformat.PrimitiveBlock
+					.parseFrom(blockData.getBlobData());
+			return decode(block);
+		} else if (type.equals(Constants.BLOCK_TYPE_HEADER)) {
+			Osmformat.HeaderBlock block = Osmformat.HeaderBlock
+					.parseFrom(blockData.getBlobData());
+			return new EntityBlock(PbfUtil.bounds(block.getBbox()));
+		} else {
+			throw new IOException("invalid PBF block");
+		}
+	}
+
+	private EntityBlock decode(Osmformat.PrimitiveBlock block)
+	{
+		PrimParser primParser = new PrimParser(block, fetchMetadata, lazy);
+
+		List<OsmNode> nodes = new ArrayList<>();
+		List<OsmWay> ways = new ArrayList<>();
+		List<OsmRelation> relations = new ArrayList<>();
+
+		primParser.convert(block, nodes, ways, relations);
+
+		return new EntityBlock(nodes, ways, relations);
+	}
+
+}
@@ -17,6 +17,7 @@
 
 package de.topobyte.osm4j.pbf.seq;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -26,23 +27,72 @@ import java.util.zip.Deflater;
 import net.jpountz.lz4.LZ4Compressor;
 import net.jpountz.lz4.LZ4Factory;
 
+import org.tukaani.xz.LZMA2Options;
+import org.tukaani.xz.LZMAOutputStream;
+
+import com.github.luben.zstd.Zstd;
+
 import com.google.protobuf.ByteString;
 
 import de.topobyte.osm4j.pbf.Compression;
 import de.topobyte.osm4j.pbf.protobuf.Fileformat;
+import de.topobyte.osm4j.pbf.raf.BlockInfo;
 
 public class BlockWriter
 {
 
 	private DataOutputStream output;
+	private long position = 0;
+
+	public static final int DEFAULT_ZSTD_LEVEL = 3;
+
+	private int zstdLevel = DEFAULT_ZSTD_LEVEL;
 
 	public BlockWriter(OutputStream output)
 	{
 		this.output = new DataOutputStream(output);
 	}
 
-	public void write(String type, ByteString indexData,
+	public int getZstdLevel()
+	{
+		return zstdLevel;
+	}
+
+	/**
+	 * Set the compression level used for blocks compressed with
+	 * {@link Compression#ZSTD}.
+	 */
+	public void setZstdLevel(int zstdLevel)
+	{
+		this.zstdLevel = zstdLevel;
+	}
+
+	/**
+	 * Get the number of bytes written so far.
+	 */
+	public long getPosition()
+	{
+		return position;
+	}
+
+	/**
+	 * Compress and write a block.
+	 * 
+	 * @return the location of the written block within the output.
+	 */
+	public BlockInfo write(String type, ByteString indexData,
 			Compression compression, ByteString data) throws IOException
+	{
+		Fileformat.Blob blob = createBlob(compression, data);
+		return write(type, indexData, blob);
+	}
+
+	/**
+	 * Compress the data of a block. This method does not modify the state of
+	 * the writer and may be called from multiple threads concurrently.
+	 */
+	public Fileformat.Blob createBlob(Compression compression, ByteString data)
+			throws IOException
 	{
 		Fileformat.Blob.Builder blobBuilder = Fileformat.Blob.newBuilder();
 		switch (compression) {
@@ -65,13 +115,31 @@ public class BlockWriter
 					compressed.getLength());
 			blobBuilder.setLz4Data(lz4Data);
 			break;
+		case ZSTD:
+			blobBuilder.setRawSize(data.size());
+			compressed = zstd(data);
+			ByteString zstdData = ByteString.copyFrom(compressed.getData(), 0,
+					compressed.getLength());
+			blobBuilder.setZstdData(zstdData);
+			break;
+		case LZMA:
+			blobBuilder.setRawSize(data.size());
+			compressed = lzma(data);
+			ByteString lzmaData = ByteString.copyFrom(compressed.getData(), 0,
+					compressed.getLength());
+			blobBuilder.setLzmaData(lzmaData);
+			break;
 		}
-		Fileformat.Blob blob = blobBuilder.build();
-		write(type, indexData, blob);
+		return blobBuilder.build();
 	}
 
-	public void write(String type, ByteString indexData, Fileformat.Blob blob)
-			throws IOException
+	/**
+	 * Write a block.
+	 * 
+	 * @return the location of the written block within the output.
+	 */
+	public BlockInfo write(String type, ByteString indexData,
+			Fileformat.Blob blob) throws IOException
 	{
 		Fileformat.BlobHeader.Builder headerBuilder = Fileformat.BlobHeader
 				.newBuilder();
@@ -87,6 +155,10 @@ public class BlockWriter
 		output.writeInt(size);
 		header.writeTo(output);
 		blob.writeTo(output);
+
+		BlockInfo info = new BlockInfo(position, size, header.getDatasize());
+		position += 4 + size + header.getDatasize();
+		return info;
 	}
 
 	protected ByteArray deflate(ByteString data)
@@ -117,7 +189,7 @@ public class BlockWriter
 
 	private LZ4Compressor lz4Compressor = null;
 
-	private void initLz4()
+	private synchronized void initLz4()
 	{
 		if (lz4Compressor == null) {
 			LZ4Factory factory = LZ4Factory.fastestInstance();
@@ -139,4 +211,33 @@ public class BlockWriter
 		return new ByteArray(out, length);
 	}
 
+	protected ByteArray zstd(ByteString data) throws IOException
+	{
+		int size = data.size();
+
+		byte[] out = new byte[(int) Zstd.compressBound(size)];
+		long length = Zstd.compressByteArray(out, 0, out.length,
+				data.toByteArray(), 0, size, zstdLevel);
+		if (Zstd.isError(length)) {
+			throw new IOException("Error while compressing data: "
+					+ Zstd.getErrorName(length));
+		}
+
+		return new ByteArray(out, (int) length);
+	}
+
+	protected ByteArray lzma(ByteString data) throws IOException
+	{
+		int size = data.size();
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream(size / 4);
+		LZMAOutputStream output = new LZMAOutputStream(baos,
+				new LZMA2Options(), size);
+		data.writeTo(output);
+		output.close();
+
+		byte[] out = baos.toByteArray();
+		return new ByteArray(out, out.length);
+	}
+
 }
@@ -0,0 +1,92 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+
+/**
+ * Block level state shared by the entity views of a {@link BlockCursor}.
+ * Strings are decoded from the block's string table on first access only and
+ * the lookup table is reused from block to block.
+ */
+public class CursorBlock
+{
+
+	private LazyStringTable strings = new LazyStringTable();
+
+	private int granularity;
+	private long latOffset;
+	private long lonOffset;
+	private int dateGranularity;
+
+	void reset(Osmformat.PrimitiveBlock block)
+	{
+		strings.reset(block.getStringtable());
+
+		granularity = block.getGranularity();
+		latOffset = block.getLatOffset();
+		lonOffset = block.getLonOffset();
+		dateGranularity = block.getDateGranularity();
+	}
+
+	public LazyStringTable getStringTable()
+	{
+		return strings;
+	}
+
+	public int getNumberOfStrings()
+	{
+		return strings.size();
+	}
+
+	public String getString(int sid)
+	{
+		return strings.get(sid);
+	}
+
+	public int getGranularity()
+	{
+		return granularity;
+	}
+
+	public long getLatOffset()
+	{
+		return latOffset;
+	}
+
+	public long getLonOffset()
+	{
+		return lonOffset;
+	}
+
+	public int getDateGranularity()
+	{
+		return dateGranularity;
+	}
+
+	public double parseLat(long raw)
+	{
+		return (granularity * raw + latOffset) * .000000001;
+	}
+
+	public double parseLon(long raw)
+	{
+		return (granularity * raw + lonOffset) * .000000001;
+	}
+
+}
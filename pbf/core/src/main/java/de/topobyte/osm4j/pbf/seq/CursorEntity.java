@@ -0,0 +1,67 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import de.topobyte.osm4j.core.model.iface.OsmMetadata;
+import de.topobyte.osm4j.core.model.iface.OsmTag;
+
+/**
+ * Base class of the reusable entity views of a {@link BlockCursor}. A view is
+ * only valid until the cursor is advanced; use {@link #getKey(int)} and
+ * {@link #getValue(int)} to access tags without allocating {@link OsmTag}
+ * instances.
+ */
+public abstract class CursorEntity implements StringTableEntity
+{
+
+	protected CursorBlock block;
+	protected CursorMetadata metadata;
+	protected boolean hasMetadata;
+
+	protected long id;
+
+	CursorEntity(CursorBlock block)
+	{
+		this.block = block;
+		metadata = new CursorMetadata(block);
+	}
+
+	@Override
+	public long getId()
+	{
+		return id;
+	}
+
+	@Override
+	public OsmMetadata getMetadata()
+	{
+		return hasMetadata ? metadata : null;
+	}
+
+	@Override
+	public LazyStringTable getStringTable()
+	{
+		return block.getStringTable();
+	}
+
+	public CursorBlock getBlock()
+	{
+		return block;
+	}
+
+}
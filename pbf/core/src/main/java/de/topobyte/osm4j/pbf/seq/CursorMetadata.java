@@ -0,0 +1,107 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import de.topobyte.osm4j.core.model.iface.OsmMetadata;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+
+/**
+ * A reusable view on the metadata of the entity a {@link BlockCursor} is
+ * currently positioned on.
+ */
+public class CursorMetadata implements OsmMetadata
+{
+
+	private CursorBlock block;
+
+	private int version;
+	private long timestamp;
+	private long uid;
+	private int userSid;
+	private long changeset;
+	private boolean visible;
+
+	CursorMetadata(CursorBlock block)
+	{
+		this.block = block;
+	}
+
+	void set(int version, long timestamp, long uid, int userSid,
+			long changeset, boolean visible)
+	{
+		this.version = version;
+		this.timestamp = timestamp;
+		this.uid = uid;
+		this.userSid = userSid;
+		this.changeset = changeset;
+		this.visible = visible;
+	}
+
+	void set(Osmformat.Info info)
+	{
+		long timestamp = -1;
+		if (info.hasTimestamp()) {
+			timestamp = block.getDateGranularity() * info.getTimestamp();
+		}
+		boolean visible = !info.hasVisible() || info.getVisible();
+		set(info.getVersion(), timestamp, info.getUid(), info.getUserSid(),
+				info.getChangeset(), visible);
+	}
+
+	@Override
+	public int getVersion()
+	{
+		return version;
+	}
+
+	@Override
+	public long getTimestamp()
+	{
+		return timestamp;
+	}
+
+	@Override
+	public long getUid()
+	{
+		return uid;
+	}
+
+	@Override
+	public String getUser()
+	{
+		return block.getString(userSid);
+	}
+
+	public int getUserSid()
+	{
+		return userSid;
+	}
+
+	@Override
+	public long getChangeset()
+	{
+		return changeset;
+	}
+
+	@Override
+	public boolean isVisible()
+	{
+		return visible;
+	}
+
+}
@@ -0,0 +1,198 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+
+/**
+ * A reusable view on the node a {@link BlockCursor} is currently positioned
+ * on. Works for both plain and dense nodes. The raw coordinates are the values
+ * as stored in the block, i.e. in units of the block's granularity.
+ */
+public class CursorNode extends CursorEntity implements OsmNode
+{
+
+	private boolean fetchMetadata;
+
+	private long rawLat;
+	private long rawLon;
+
+	// Plain node
+	private Osmformat.Node node;
+
+	// Dense nodes and the delta decoding state
+	private Osmformat.DenseNodes dense;
+	private Osmformat.DenseInfo denseInfo;
+	private boolean hasVisible;
+	private long timestamp;
+	private long uid;
+	private int userSid;
+	private long changeset;
+	private int keysValsStart;
+	private int keysValsNext;
+	private int numTags;
+
+	CursorNode(CursorBlock block, boolean fetchMetadata)
+	{
+		super(block);
+		this.fetchMetadata = fetchMetadata;
+	}
+
+	void set(Osmformat.Node node)
+	{
+		this.node = node;
+		dense = null;
+
+		id = node.getId();
+		rawLat = node.getLat();
+		rawLon = node.getLon();
+		numTags = node.getKeysCount();
+
+		hasMetadata = fetchMetadata && node.hasInfo();
+		if (hasMetadata) {
+			metadata.set(node.getInfo());
+		}
+	}
+
+	void resetDense(Osmformat.DenseNodes dense)
+	{
+		this.dense = dense;
+		node = null;
+
+		denseInfo = null;
+		hasVisible = false;
+		if (fetchMetadata && dense.hasDenseinfo()) {
+			denseInfo = dense.getDenseinfo();
+			hasVisible = denseInfo.getVisibleCount() != 0;
+		}
+		hasMetadata = denseInfo != null;
+
+		id = 0;
+		rawLat = 0;
+		rawLon = 0;
+		timestamp = 0;
+		uid = 0;
+		userSid = 0;
+		changeset = 0;
+		keysValsNext = 0;
+	}
+
+	void advanceDense(int i)
+	{
+		id += dense.getId(i);
+		rawLat += dense.getLat(i);
+		rawLon += dense.getLon(i);
+
+		if (denseInfo != null) {
+			timestamp += denseInfo.getTimestamp(i);
+			uid += denseInfo.getUid(i);
+			userSid += denseInfo.getUserSid(i);
+			changeset += denseInfo.getChangeset(i);
+			boolean visible = true;
+			if (hasVisible) {
+				visible = denseInfo.getVisible(i);
+			}
+			metadata.set(denseInfo.getVersion(i),
+					timestamp * block.getDateGranularity(), uid, userSid,
+					changeset, visible);
+		}
+
+		// If empty, assume that nothing here has keys or vals.
+		keysValsStart = keysValsNext;
+		numTags = 0;
+		if (dense.getKeysValsCount() > 0) {
+			int j = keysValsStart;
+			while (dense.getKeysVals(j) != 0) {
+				j += 2;
+				numTags++;
+			}
+			keysValsNext = j + 1; // Skip over the '0' delimiter.
+		}
+	}
+
+	@Override
+	public EntityType getType()
+	{
+		return EntityType.Node;
+	}
+
+	public boolean isDense()
+	{
+		return dense != null;
+	}
+
+	public long getRawLatitude()
+	{
+		return rawLat;
+	}
+
+	public long getRawLongitude()
+	{
+		return rawLon;
+	}
+
+	public boolean hasCoordinates()
+	{
+		return rawLat != Integer.MAX_VALUE && rawLon != Integer.MAX_VALUE;
+	}
+
+	@Override
+	public double getLatitude()
+	{
+		if (rawLat == Integer.MAX_VALUE) {
+			return Double.NaN;
+		}
+		return block.parseLat(rawLat);
+	}
+
+	@Override
+	public double getLongitude()
+	{
+		if (rawLon == Integer.MAX_VALUE) {
+			return Double.NaN;
+		}
+		return block.parseLon(rawLon);
+	}
+
+	@Override
+	public int getNumberOfTags()
+	{
+		return numTags;
+	}
+
+	@Override
+	public int getKeySid(int n)
+	{
+		if (dense != null) {
+			return dense.getKeysVals(keysValsStart + n * 2);
+		}
+		return node.getKeys(n);
+	}
+
+	@Override
+	public int getValueSid(int n)
+	{
+		if (dense != null) {
+			return dense.getKeysVals(keysValsStart + n * 2 + 1);
+		}
+		return node.getVals(n);
+	}
+
+}
@@ -0,0 +1,134 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmRelationMember;
+import de.topobyte.osm4j.core.model.impl.RelationMember;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+
+/**
+ * A reusable view on the relation a {@link BlockCursor} is currently
+ * positioned on. Use {@link #getMemberId(int)}, {@link #getMemberType(int)} and
+ * {@link #getMemberRole(int)} to access members without allocating
+ * {@link OsmRelationMember} instances.
+ */
+public class CursorRelation extends CursorEntity implements OsmRelation
+{
+
+	private boolean fetchMetadata;
+
+	private Osmformat.Relation relation;
+
+	private long[] memberIds = new long[16];
+	private int numMembers;
+
+	CursorRelation(CursorBlock block, boolean fetchMetadata)
+	{
+		super(block);
+		this.fetchMetadata = fetchMetadata;
+	}
+
+	void set(Osmformat.Relation relation)
+	{
+		this.relation = relation;
+		id = relation.getId();
+
+		numMembers = relation.getMemidsCount();
+		if (memberIds.length < numMembers) {
+			memberIds = new long[Math.max(numMembers, memberIds.length * 2)];
+		}
+		long memberId = 0;
+		for (int i = 0; i < numMembers; i++) {
+			memberId += relation.getMemids(i);
+			memberIds[i] = memberId;
+		}
+
+		hasMetadata = fetchMetadata && relation.hasInfo();
+		if (hasMetadata) {
+			metadata.set(relation.getInfo());
+		}
+	}
+
+	@Override
+	public EntityType getType()
+	{
+		return EntityType.Relation;
+	}
+
+	@Override
+	public int getNumberOfMembers()
+	{
+		return numMembers;
+	}
+
+	public long getMemberId(int n)
+	{
+		return memberIds[n];
+	}
+
+	public EntityType getMemberType(int n)
+	{
+		switch (relation.getTypes(n)) {
+		default:
+		case NODE:
+			return EntityType.Node;
+		case WAY:
+			return EntityType.Way;
+		case RELATION:
+			return EntityType.Relation;
+		}
+	}
+
+	public int getMemberRoleSid(int n)
+	{
+		return relation.getRolesSid(n);
+	}
+
+	public String getMemberRole(int n)
+	{
+		return block.getString(relation.getRolesSid(n));
+	}
+
+	@Override
+	public OsmRelationMember getMember(int n)
+	{
+		return new RelationMember(getMemberId(n), getMemberType(n),
+				getMemberRole(n));
+	}
+
+	@Override
+	public int getNumberOfTags()
+	{
+		return relation.getKeysCount();
+	}
+
+	@Override
+	public int getKeySid(int n)
+	{
+		return relation.getKeys(n);
+	}
+
+	@Override
+	public int getValueSid(int n)
+	{
+		return relation.getVals(n);
+	}
+
+}
@@ -0,0 +1,100 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+
+/**
+ * A reusable view on the way a {@link BlockCursor} is currently positioned on.
+ */
+public class CursorWay extends CursorEntity implements OsmWay
+{
+
+	private boolean fetchMetadata;
+
+	private Osmformat.Way way;
+
+	private long[] nodeIds = new long[16];
+	private int numNodes;
+
+	CursorWay(CursorBlock block, boolean fetchMetadata)
+	{
+		super(block);
+		this.fetchMetadata = fetchMetadata;
+	}
+
+	void set(Osmformat.Way way)
+	{
+		this.way = way;
+		id = way.getId();
+
+		numNodes = way.getRefsCount();
+		if (nodeIds.length < numNodes) {
+			nodeIds = new long[Math.max(numNodes, nodeIds.length * 2)];
+		}
+		long nodeId = 0;
+		for (int i = 0; i < numNodes; i++) {
+			nodeId += way.getRefs(i);
+			nodeIds[i] = nodeId;
+		}
+
+		hasMetadata = fetchMetadata && way.hasInfo();
+		if (hasMetadata) {
+			metadata.set(way.getInfo());
+		}
+	}
+
+	@Override
+	public EntityType getType()
+	{
+		return EntityType.Way;
+	}
+
+	@Override
+	public int getNumberOfNodes()
+	{
+		return numNodes;
+	}
+
+	@Override
+	public long getNodeId(int n)
+	{
+		return nodeIds[n];
+	}
+
+	@Override
+	public int getNumberOfTags()
+	{
+		return way.getKeysCount();
+	}
+
+	@Override
+	public int getKeySid(int n)
+	{
+		return way.getKeys(n);
+	}
+
+	@Override
+	public int getValueSid(int n)
+	{
+		return way.getVals(n);
+	}
+
+}
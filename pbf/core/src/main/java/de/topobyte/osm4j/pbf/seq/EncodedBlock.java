@@ -0,0 +1,49 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import de.topobyte.osm4j.pbf.protobuf.Fileformat;
+import de.topobyte.osm4j.pbf.raf.BlockContentBuilder;
+
+/**
+ * A compressed data block ready to be written, together with the summaries of
+ * its contents if a block index is being built.
+ */
+class EncodedBlock
+{
+
+	private Fileformat.Blob blob;
+	private BlockContentBuilder[] contents;
+
+	EncodedBlock(Fileformat.Blob blob, BlockContentBuilder[] contents)
+	{
+		this.blob = blob;
+		this.contents = contents;
+	}
+
+	Fileformat.Blob getBlob()
+	{
+		return blob;
+	}
+
+	BlockContentBuilder[] getContents()
+	{
+		return contents;
+	}
+
+}
@@ -0,0 +1,169 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Encodes blocks using a pool of worker threads and passes the results to a
+ * {@link Sink} from a single thread in the order the tasks have been
+ * submitted.
+ * 
+ * The futures of submitted tasks are queued in a bounded queue, hence
+ * {@link #submit(Callable)} blocks once the configured number of blocks is in
+ * flight. Errors that occur while encoding or writing are reported by the next
+ * call to {@link #submit(Callable)} or {@link #finish()}.
+ */
+class EncoderPipeline
+{
+
+	interface Sink
+	{
+
+		public void write(EncodedBlock block) throws IOException;
+
+	}
+
+	private static final Future<EncodedBlock> END = new FutureTask<>(
+			new Callable<EncodedBlock>() {
+
+				@Override
+				public EncodedBlock call()
+				{
+					return null;
+				}
+			});
+
+	private ExecutorService executor;
+	private BlockingQueue<Future<EncodedBlock>> queue;
+	private Thread sinkThread;
+
+	private volatile Throwable error = null;
+
+	EncoderPipeline(int numThreads, int maxInFlight, final Sink sink)
+	{
+		executor = Executors.newFixedThreadPool(numThreads,
+				new ThreadFactory() {
+
+					@Override
+					public Thread newThread(Runnable runnable)
+					{
+						Thread thread = new Thread(runnable,
+								"pbf-block-encoder");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+
+		queue = new ArrayBlockingQueue<>(maxInFlight);
+
+		sinkThread = new Thread(new Runnable() {
+
+			@Override
+			public void run()
+			{
+				writeBlocks(sink);
+			}
+		}, "pbf-block-sink");
+		sinkThread.setDaemon(true);
+		sinkThread.start();
+	}
+
+	void submit(Callable<EncodedBlock> task) throws IOException
+	{
+		checkError();
+		Future<EncodedBlock> future = executor.submit(task);
+		try {
+			queue.put(future);
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			throw new IOException("interrupted while submitting block", e);
+		}
+	}
+
+	/**
+	 * Wait until all submitted blocks have been written and release the
+	 * threads.
+	 */
+	void finish() throws IOException
+	{
+		try {
+			queue.put(END);
+			sinkThread.join();
+		} catch (InterruptedException e) {
+			throw new IOException("interrupted while writing blocks", e);
+		} finally {
+			executor.shutdown();
+		}
+		checkError();
+	}
+
+	private void checkError() throws IOException
+	{
+		Throwable e = error;
+		if (e == null) {
+			return;
+		}
+		if (e instanceof IOException) {
+			throw (IOException) e;
+		}
+		if (e instanceof RuntimeException) {
+			throw (RuntimeException) e;
+		}
+		throw new IOException("error while writing block", e);
+	}
+
+	private void writeBlocks(Sink sink)
+	{
+		while (true) {
+			Future<EncodedBlock> future;
+			try {
+				future = queue.take();
+			} catch (InterruptedException e) {
+				error = e;
+				return;
+			}
+			if (future == END) {
+				return;
+			}
+			// After an error, keep draining the queue so that producers don't
+			// block, but don't write anything anymore.
+			if (error != null) {
+				future.cancel(true);
+				continue;
+			}
+			try {
+				sink.write(future.get());
+			} catch (ExecutionException e) {
+				error = e.getCause();
+			} catch (InterruptedException | IOException | RuntimeException e) {
+				error = e;
+			}
+		}
+	}
+
+}
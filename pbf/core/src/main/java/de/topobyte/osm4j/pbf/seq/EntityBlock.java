@@ -0,0 +1,80 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import java.util.List;
+
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+
+/**
+ * The decoded contents of a single PBF block. A header block carries the
+ * bounds of the file while a data block carries the entities it contains.
+ */
+public class EntityBlock
+{
+
+	private boolean header;
+	private OsmBounds bounds;
+	private List<OsmNode> nodes;
+	private List<OsmWay> ways;
+	private List<OsmRelation> relations;
+
+	public EntityBlock(OsmBounds bounds)
+	{
+		this.header = true;
+		this.bounds = bounds;
+	}
+
+	public EntityBlock(List<OsmNode> nodes, List<OsmWay> ways,
+			List<OsmRelation> relations)
+	{
+		this.header = false;
+		this.nodes = nodes;
+		this.ways = ways;
+		this.relations = relations;
+	}
+
+	public boolean isHeader()
+	{
+		return header;
+	}
+
+	public OsmBounds getBounds()
+	{
+		return bounds;
+	}
+
+	public List<OsmNode> getNodes()
+	{
+		return nodes;
+	}
+
+	public List<OsmWay> getWays()
+	{
+		return ways;
+	}
+
+	public List<OsmRelation> getRelations()
+	{
+		return relations;
+	}
+
+}
@@ -0,0 +1,160 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.pbf.Constants;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+import de.topobyte.osm4j.pbf.raf.FileStructure;
+import de.topobyte.osm4j.pbf.raf.Interval;
+import de.topobyte.osm4j.pbf.util.PbfMeta;
+
+/**
+ * Keeps track of which data blocks of a PBF file need to be decoded when only
+ * some of the entity types are requested.
+ * 
+ * If the structure of the file is known (see
+ * {@link de.topobyte.osm4j.pbf.raf.FileStructureAnalyzer}), blocks outside the
+ * intervals of the requested types can be skipped without decoding them and
+ * reading stops after the last block of a requested type. Otherwise every
+ * block needs to be decoded, but if the file header declares the file to be
+ * sorted by type ({@link Constants#FEATURE_SORT_TYPE_THEN_ID}), reading stops
+ * as soon as a block with an entity type after the last requested type has
+ * been encountered.
+ */
+public class EntityTypeSelection
+{
+
+	private Set<EntityType> types;
+	private EntityType lastType = null;
+	private FileStructure structure;
+
+	private boolean sorted = false;
+	private boolean done = false;
+	private int blockIndex = -1;
+	private int lastBlock = -1;
+
+	public EntityTypeSelection(Set<EntityType> types)
+	{
+		this(types, null);
+	}
+
+	public EntityTypeSelection(Set<EntityType> types, FileStructure structure)
+	{
+		this.types = types.isEmpty() ? EnumSet.noneOf(EntityType.class)
+				: EnumSet.copyOf(types);
+		this.structure = structure;
+
+		for (EntityType type : EntityType.values()) {
+			if (this.types.contains(type)) {
+				lastType = type;
+			}
+		}
+		if (lastType == null) {
+			done = true;
+		}
+
+		if (structure != null) {
+			for (EntityType type : this.types) {
+				Interval interval = structure.getBlocks(type);
+				if (interval != null) {
+					lastBlock = Math.max(lastBlock, interval.getEnd());
+				}
+			}
+		}
+	}
+
+	public boolean isSelected(EntityType type)
+	{
+		return types.contains(type);
+	}
+
+	public boolean isAll()
+	{
+		return types.size() == EntityType.values().length;
+	}
+
+	/**
+	 * @return whether no further block can contain any entities of the
+	 *         selected types.
+	 */
+	public boolean isDone()
+	{
+		return done;
+	}
+
+	/**
+	 * Inspect the header block of the file.
+	 */
+	public void header(Osmformat.HeaderBlock header)
+	{
+		sorted = header.getOptionalFeaturesList()
+				.contains(Constants.FEATURE_SORT_TYPE_THEN_ID);
+	}
+
+	/**
+	 * Advance to the next data block.
+	 * 
+	 * @return true if the block needs to be decoded and false if it can be
+	 *         skipped.
+	 */
+	public boolean nextBlock()
+	{
+		blockIndex++;
+		if (done) {
+			return false;
+		}
+		if (structure == null) {
+			return true;
+		}
+		if (blockIndex > lastBlock) {
+			done = true;
+			return false;
+		}
+		for (EntityType type : types) {
+			Interval interval = structure.getBlocks(type);
+			if (interval != null && blockIndex >= interval.getStart()
+					&& blockIndex <= interval.getEnd()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Inspect a decoded data block. If the file is sorted by type and the
+	 * block contains entities of a type after the last selected type, no
+	 * further blocks need to be read.
+	 */
+	public void decoded(Osmformat.PrimitiveBlock block)
+	{
+		if (!sorted || done) {
+			return;
+		}
+		for (Osmformat.PrimitiveGroup group : block.getPrimitivegroupList()) {
+			EntityType type = PbfMeta.getEntityType(group);
+			if (type != null && type.ordinal() > lastType.ordinal()) {
+				done = true;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,79 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import de.topobyte.osm4j.core.model.iface.OsmMetadata;
+import de.topobyte.osm4j.core.model.iface.OsmTag;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+
+/**
+ * Base class of entities that keep the string table indices of their tags
+ * and decode keys, values and metadata only when they are requested. Use
+ * {@link #getKey(int)} and {@link #getValue(int)} to access tags without
+ * allocating {@link OsmTag} instances.
+ */
+public abstract class LazyEntity implements StringTableEntity
+{
+
+	protected LazyStringTable strings;
+	protected long id;
+
+	private OsmMetadata metadata = null;
+	private Osmformat.Info info = null;
+	private int dateGranularity;
+
+	LazyEntity(LazyStringTable strings, long id)
+	{
+		this.strings = strings;
+		this.id = id;
+	}
+
+	void setMetadata(OsmMetadata metadata)
+	{
+		this.metadata = metadata;
+	}
+
+	void setInfo(Osmformat.Info info, int dateGranularity)
+	{
+		this.info = info;
+		this.dateGranularity = dateGranularity;
+	}
+
+	@Override
+	public long getId()
+	{
+		return id;
+	}
+
+	@Override
+	public OsmMetadata getMetadata()
+	{
+		if (metadata == null && info != null) {
+			metadata = new LazyMetadata(strings, info, dateGranularity);
+			info = null;
+		}
+		return metadata;
+	}
+
+	@Override
+	public LazyStringTable getStringTable()
+	{
+		return strings;
+	}
+
+}
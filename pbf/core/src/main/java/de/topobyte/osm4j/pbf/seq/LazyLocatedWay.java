@@ -0,0 +1,80 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import de.topobyte.osm4j.core.model.iface.OsmLocatedWay;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+
+/**
+ * A lazily decoded way that carries the locations of its nodes. The delta
+ * encoded coordinates are resolved on first access.
+ */
+public class LazyLocatedWay extends LazyWay implements OsmLocatedWay
+{
+
+	private Osmformat.Way way;
+	private PrimParser parser;
+
+	private double[] lons = null;
+	private double[] lats = null;
+
+	LazyLocatedWay(LazyStringTable strings, Osmformat.Way way,
+			PrimParser parser)
+	{
+		super(strings, way);
+		this.way = way;
+		this.parser = parser;
+	}
+
+	private void decodeLocations()
+	{
+		int n = way.getLatCount();
+		double[] lons = new double[n];
+		double[] lats = new double[n];
+		long lon = 0, lat = 0;
+		for (int i = 0; i < n; i++) {
+			lon += way.getLon(i);
+			lat += way.getLat(i);
+			lons[i] = lon != Integer.MAX_VALUE ? parser.parseLon(lon)
+					: Double.NaN;
+			lats[i] = lat != Integer.MAX_VALUE ? parser.parseLat(lat)
+					: Double.NaN;
+		}
+		this.lons = lons;
+		this.lats = lats;
+	}
+
+	@Override
+	public double getNodeLongitude(int n)
+	{
+		if (lons == null) {
+			decodeLocations();
+		}
+		return lons[n];
+	}
+
+	@Override
+	public double getNodeLatitude(int n)
+	{
+		if (lats == null) {
+			decodeLocations();
+		}
+		return lats[n];
+	}
+
+}
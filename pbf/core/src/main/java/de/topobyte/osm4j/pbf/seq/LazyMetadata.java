@@ -0,0 +1,102 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import de.topobyte.osm4j.core.model.iface.OsmMetadata;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+
+/**
+ * Metadata of a lazily decoded entity. The user name is looked up in the
+ * block's string table when requested.
+ */
+public class LazyMetadata implements OsmMetadata
+{
+
+	private LazyStringTable strings;
+
+	private int version;
+	private long timestamp;
+	private long uid;
+	private int userSid;
+	private long changeset;
+	private boolean visible;
+
+	public LazyMetadata(LazyStringTable strings, int version, long timestamp,
+			long uid, int userSid, long changeset, boolean visible)
+	{
+		this.strings = strings;
+		this.version = version;
+		this.timestamp = timestamp;
+		this.uid = uid;
+		this.userSid = userSid;
+		this.changeset = changeset;
+		this.visible = visible;
+	}
+
+	public LazyMetadata(LazyStringTable strings, Osmformat.Info info,
+			int dateGranularity)
+	{
+		this(strings, info.getVersion(),
+				info.hasTimestamp() ? dateGranularity * info.getTimestamp()
+						: -1,
+				info.getUid(), info.getUserSid(), info.getChangeset(),
+				!info.hasVisible() || info.getVisible());
+	}
+
+	@Override
+	public int getVersion()
+	{
+		return version;
+	}
+
+	@Override
+	public long getTimestamp()
+	{
+		return timestamp;
+	}
+
+	@Override
+	public long getUid()
+	{
+		return uid;
+	}
+
+	@Override
+	public String getUser()
+	{
+		return strings.get(userSid);
+	}
+
+	public int getUserSid()
+	{
+		return userSid;
+	}
+
+	@Override
+	public long getChangeset()
+	{
+		return changeset;
+	}
+
+	@Override
+	public boolean isVisible()
+	{
+		return visible;
+	}
+
+}
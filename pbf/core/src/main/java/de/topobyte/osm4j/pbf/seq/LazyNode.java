@@ -0,0 +1,102 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+
+/**
+ * A lazily decoded node. Tags are stored either in a plain node message or as
+ * a range of the key/value array of a dense nodes message.
+ */
+public class LazyNode extends LazyEntity implements OsmNode
+{
+
+	private double lon;
+	private double lat;
+
+	private Osmformat.Node node = null;
+	private Osmformat.DenseNodes dense = null;
+	private int tagsOffset;
+	private int numTags;
+
+	LazyNode(LazyStringTable strings, long id, double lon, double lat,
+			Osmformat.Node node)
+	{
+		super(strings, id);
+		this.lon = lon;
+		this.lat = lat;
+		this.node = node;
+		numTags = node.getKeysCount();
+	}
+
+	LazyNode(LazyStringTable strings, long id, double lon, double lat,
+			Osmformat.DenseNodes dense, int tagsOffset, int numTags)
+	{
+		super(strings, id);
+		this.lon = lon;
+		this.lat = lat;
+		this.dense = dense;
+		this.tagsOffset = tagsOffset;
+		this.numTags = numTags;
+	}
+
+	@Override
+	public double getLongitude()
+	{
+		return lon;
+	}
+
+	@Override
+	public double getLatitude()
+	{
+		return lat;
+	}
+
+	@Override
+	public int getNumberOfTags()
+	{
+		return numTags;
+	}
+
+	@Override
+	public int getKeySid(int n)
+	{
+		if (node != null) {
+			return node.getKeys(n);
+		}
+		return dense.getKeysVals(tagsOffset + 2 * n);
+	}
+
+	@Override
+	public int getValueSid(int n)
+	{
+		if (node != null) {
+			return node.getVals(n);
+		}
+		return dense.getKeysVals(tagsOffset + 2 * n + 1);
+	}
+
+	@Override
+	public EntityType getType()
+	{
+		return EntityType.Node;
+	}
+
+}
@@ -0,0 +1,103 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmRelationMember;
+import de.topobyte.osm4j.core.model.impl.RelationMember;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+
+/**
+ * A lazily decoded relation. The delta encoded member ids are resolved on
+ * first access, member roles are looked up when a member is requested.
+ */
+public class LazyRelation extends LazyEntity implements OsmRelation
+{
+
+	private Osmformat.Relation relation;
+	private long[] memberIds = null;
+
+	LazyRelation(LazyStringTable strings, Osmformat.Relation relation)
+	{
+		super(strings, relation.getId());
+		this.relation = relation;
+	}
+
+	@Override
+	public int getNumberOfMembers()
+	{
+		return relation.getMemidsCount();
+	}
+
+	public long getMemberId(int n)
+	{
+		if (memberIds == null) {
+			long[] ids = new long[relation.getMemidsCount()];
+			long id = 0;
+			for (int i = 0; i < ids.length; i++) {
+				id += relation.getMemids(i);
+				ids[i] = id;
+			}
+			memberIds = ids;
+		}
+		return memberIds[n];
+	}
+
+	public EntityType getMemberType(int n)
+	{
+		return PrimParser.entityType(relation.getTypes(n));
+	}
+
+	public String getMemberRole(int n)
+	{
+		return strings.get(relation.getRolesSid(n));
+	}
+
+	@Override
+	public OsmRelationMember getMember(int n)
+	{
+		return new RelationMember(getMemberId(n), getMemberType(n),
+				getMemberRole(n));
+	}
+
+	@Override
+	public int getNumberOfTags()
+	{
+		return relation.getKeysCount();
+	}
+
+	@Override
+	public int getKeySid(int n)
+	{
+		return relation.getKeys(n);
+	}
+
+	@Override
+	public int getValueSid(int n)
+	{
+		return relation.getVals(n);
+	}
+
+	@Override
+	public EntityType getType()
+	{
+		return EntityType.Relation;
+	}
+
+}
@@ -0,0 +1,80 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import java.util.Arrays;
+
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+
+/**
+ * The string table of a primitive block. Strings are decoded from UTF-8 on
+ * first access only. An instance is either shared by all entities decoded
+ * from the same block or, as done by {@link BlockCursor}, reused from block to
+ * block via {@link #reset(Osmformat.StringTable)}.
+ * 
+ * Concurrent access from multiple threads is safe as long as the table is not
+ * reset: in the worst case, a string gets decoded more than once.
+ */
+public class LazyStringTable
+{
+
+	private Osmformat.StringTable stringTable;
+	private String[] strings;
+
+	LazyStringTable()
+	{
+		strings = new String[0];
+	}
+
+	public LazyStringTable(Osmformat.StringTable stringTable)
+	{
+		this.stringTable = stringTable;
+		strings = new String[stringTable.getSCount()];
+	}
+
+	/**
+	 * Replace the content of this table with the specified string table,
+	 * reusing the lookup array if it is large enough.
+	 */
+	void reset(Osmformat.StringTable stringTable)
+	{
+		this.stringTable = stringTable;
+		int count = stringTable.getSCount();
+		if (strings.length < count) {
+			strings = new String[count];
+		} else {
+			Arrays.fill(strings, 0, count, null);
+		}
+	}
+
+	public int size()
+	{
+		return stringTable.getSCount();
+	}
+
+	public String get(int sid)
+	{
+		String string = strings[sid];
+		if (string == null) {
+			string = stringTable.getS(sid).toStringUtf8();
+			strings[sid] = string;
+		}
+		return string;
+	}
+
+}
@@ -0,0 +1,85 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+
+/**
+ * A lazily decoded way. The delta encoded node references are resolved on
+ * first access.
+ */
+public class LazyWay extends LazyEntity implements OsmWay
+{
+
+	private Osmformat.Way way;
+	private long[] nodes = null;
+
+	LazyWay(LazyStringTable strings, Osmformat.Way way)
+	{
+		super(strings, way.getId());
+		this.way = way;
+	}
+
+	@Override
+	public int getNumberOfNodes()
+	{
+		return way.getRefsCount();
+	}
+
+	@Override
+	public long getNodeId(int n)
+	{
+		if (nodes == null) {
+			long[] ids = new long[way.getRefsCount()];
+			long id = 0;
+			for (int i = 0; i < ids.length; i++) {
+				id += way.getRefs(i);
+				ids[i] = id;
+			}
+			nodes = ids;
+		}
+		return nodes[n];
+	}
+
+	@Override
+	public int getNumberOfTags()
+	{
+		return way.getKeysCount();
+	}
+
+	@Override
+	public int getKeySid(int n)
+	{
+		return way.getKeys(n);
+	}
+
+	@Override
+	public int getValueSid(int n)
+	{
+		return way.getVals(n);
+	}
+
+	@Override
+	public EntityType getType()
+	{
+		return EntityType.Way;
+	}
+
+}
@@ -0,0 +1,173 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import de.topobyte.osm4j.core.access.OsmBatch;
+import de.topobyte.osm4j.core.access.OsmBatchIterator;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.pbf.protobuf.Fileformat;
+import de.topobyte.osm4j.pbf.util.BlobHeader;
+import de.topobyte.osm4j.pbf.util.PbfUtil;
+
+/**
+ * An iterator that returns the entities of each data block as one batch per
+ * entity type, in the order nodes, ways, relations.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class PbfBatchIterator implements OsmBatchIterator
+{
+
+	private DataInputStream input;
+	private boolean fetchMetadata;
+	private boolean lazyDecoding = false;
+
+	private BlockDecoder decoder = null;
+
+	private OsmBounds bounds = null;
+	private boolean beyondBounds = false;
+
+	private Deque<OsmBatch> batches = new ArrayDeque<>();
+	private boolean finished = false;
+
+	public PbfBatchIterator(InputStream input, boolean fetchMetadata)
+	{
+		this.input = new DataInputStream(input);
+		this.fetchMetadata = fetchMetadata;
+	}
+
+	public boolean isLazyDecoding()
+	{
+		return lazyDecoding;
+	}
+
+	/**
+	 * Create {@link LazyEntity} instances that decode tags and metadata only
+	 * when they are requested.
+	 */
+	public void setLazyDecoding(boolean lazyDecoding)
+	{
+		this.lazyDecoding = lazyDecoding;
+	}
+
+	@Override
+	public Iterator<OsmBatch> iterator()
+	{
+		return this;
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		while (!finished && batches.isEmpty()) {
+			tryAdvanceBlock();
+		}
+		return !batches.isEmpty();
+	}
+
+	@Override
+	public OsmBatch next()
+	{
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return batches.removeFirst();
+	}
+
+	@Override
+	public void remove()
+	{
+		throw new UnsupportedOperationException("read only");
+	}
+
+	@Override
+	public boolean hasBounds()
+	{
+		ensureBeyondBounds();
+		return bounds != null;
+	}
+
+	@Override
+	public OsmBounds getBounds()
+	{
+		ensureBeyondBounds();
+		return bounds;
+	}
+
+	private void ensureBeyondBounds()
+	{
+		while (!beyondBounds) {
+			tryAdvanceBlock();
+		}
+	}
+
+	private void tryAdvanceBlock()
+	{
+		try {
+			advanceBlock();
+		} catch (EOFException e) {
+			finished = true;
+			beyondBounds = true;
+		} catch (IOException e) {
+			throw new RuntimeException("error while reading block", e);
+		}
+	}
+
+	private void advanceBlock() throws IOException
+	{
+		BlobHeader header = PbfUtil.parseHeader(input);
+		Fileformat.Blob blob = PbfUtil.parseBlock(input,
+				header.getDataLength());
+
+		if (decoder == null) {
+			decoder = new BlockDecoder(fetchMetadata, lazyDecoding);
+		}
+		EntityBlock block = decoder.decode(header, blob);
+
+		if (block.isHeader()) {
+			if (!beyondBounds) {
+				bounds = block.getBounds();
+			}
+		} else {
+			push(EntityType.Node, block.getNodes());
+			push(EntityType.Way, block.getWays());
+			push(EntityType.Relation, block.getRelations());
+		}
+		beyondBounds = true;
+	}
+
+	private void push(EntityType type, List<? extends OsmEntity> entities)
+	{
+		if (!entities.isEmpty()) {
+			batches.addLast(new OsmBatch(type, entities));
+		}
+	}
+
+}
@@ -0,0 +1,48 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import de.topobyte.osm4j.pbf.protobuf.Fileformat;
+import de.topobyte.osm4j.pbf.util.BlobHeader;
+
+/**
+ * A raw blob of a PBF file together with its header, not decoded yet.
+ */
+public class PbfBlob
+{
+
+	private BlobHeader header;
+	private Fileformat.Blob blob;
+
+	public PbfBlob(BlobHeader header, Fileformat.Blob blob)
+	{
+		this.header = header;
+		this.blob = blob;
+	}
+
+	public BlobHeader getHeader()
+	{
+		return header;
+	}
+
+	public Fileformat.Blob getBlob()
+	{
+		return blob;
+	}
+
+}
@@ -0,0 +1,57 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import de.topobyte.osm4j.core.util.RawBlockReader;
+import de.topobyte.osm4j.pbf.protobuf.Fileformat;
+import de.topobyte.osm4j.pbf.util.BlobHeader;
+import de.topobyte.osm4j.pbf.util.PbfUtil;
+
+/**
+ * Reads the raw blobs of a PBF stream one after another.
+ */
+public class PbfBlobReader implements RawBlockReader<PbfBlob>
+{
+
+	private DataInputStream input;
+
+	public PbfBlobReader(InputStream input)
+	{
+		this.input = new DataInputStream(input);
+	}
+
+	@Override
+	public PbfBlob readBlock() throws IOException
+	{
+		BlobHeader header;
+		try {
+			header = PbfUtil.parseHeader(input);
+		} catch (EOFException e) {
+			return null;
+		}
+		Fileformat.Blob blob = PbfUtil.parseBlock(input,
+				header.getDataLength());
+		return new PbfBlob(header, blob);
+	}
+
+}
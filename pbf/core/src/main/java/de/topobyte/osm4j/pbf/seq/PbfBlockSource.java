@@ -0,0 +1,83 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import de.topobyte.osm4j.core.access.OsmBatch;
+import de.topobyte.osm4j.core.access.OsmBlockSource;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+import de.topobyte.osm4j.pbf.raf.MappedPbfFile;
+
+/**
+ * Provides the data blocks of a {@link MappedPbfFile} as batches of entities,
+ * one batch per entity type and block. The block index of the file needs to
+ * be initialized before creating a source.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class PbfBlockSource implements OsmBlockSource
+{
+
+	private MappedPbfFile file;
+	private boolean fetchMetadata;
+
+	private boolean nodes;
+	private boolean ways;
+	private boolean relations;
+
+	public PbfBlockSource(MappedPbfFile file, boolean fetchMetadata)
+	{
+		this(file, fetchMetadata, EnumSet.allOf(EntityType.class));
+	}
+
+	/**
+	 * Create a source that only decodes entities of the specified types.
+	 */
+	public PbfBlockSource(MappedPbfFile file, boolean fetchMetadata,
+			Set<EntityType> types)
+	{
+		if (!file.isBlockIndexInitialized()) {
+			throw new IllegalStateException("block index not initialized");
+		}
+		this.file = file;
+		this.fetchMetadata = fetchMetadata;
+		nodes = types.contains(EntityType.Node);
+		ways = types.contains(EntityType.Way);
+		relations = types.contains(EntityType.Relation);
+	}
+
+	@Override
+	public int getNumberOfBlocks()
+	{
+		return file.getNumberOfDataBlocks();
+	}
+
+	@Override
+	public List<OsmBatch> decodeBlock(int index) throws IOException
+	{
+		Osmformat.PrimitiveBlock block = file.getDataBlock(index);
+		PrimParser primParser = new PrimParser(block, fetchMetadata);
+		return primParser.convertBatches(block, nodes, ways, relations);
+	}
+
+}
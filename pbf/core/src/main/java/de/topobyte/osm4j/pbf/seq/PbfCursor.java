@@ -0,0 +1,165 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.pbf.Constants;
+import de.topobyte.osm4j.pbf.protobuf.Fileformat;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+import de.topobyte.osm4j.pbf.util.BlobHeader;
+import de.topobyte.osm4j.pbf.util.BlockData;
+import de.topobyte.osm4j.pbf.util.PbfUtil;
+
+/**
+ * A cursor over the entities of a PBF stream. This is an alternative to
+ * {@link PbfIterator} for hot loops that do not need to retain entities: the
+ * current entity is exposed through reusable views that implement the usual
+ * entity interfaces, hence iterating does not create objects per entity.
+ * 
+ * <pre>
+ * PbfCursor cursor = new PbfCursor(input, false);
+ * while (cursor.next()) {
+ * 	if (cursor.getType() != EntityType.Node) {
+ * 		break;
+ * 	}
+ * 	CursorNode node = cursor.getNode();
+ * 	...
+ * }
+ * </pre>
+ */
+public class PbfCursor
+{
+
+	private DataInputStream input;
+	private BlockCursor cursor;
+
+	private OsmBounds bounds = null;
+	private boolean beyondBounds = false;
+
+	private boolean finished = false;
+
+	public PbfCursor(InputStream input, boolean fetchMetadata)
+	{
+		this.input = new DataInputStream(input);
+		cursor = new BlockCursor(fetchMetadata);
+	}
+
+	/**
+	 * Move to the next entity.
+	 * 
+	 * @return false if the end of the stream has been reached.
+	 */
+	public boolean next() throws IOException
+	{
+		while (!cursor.next()) {
+			if (finished) {
+				return false;
+			}
+			tryAdvanceBlock();
+		}
+		return true;
+	}
+
+	public EntityType getType()
+	{
+		return cursor.getType();
+	}
+
+	public CursorEntity getEntity()
+	{
+		return cursor.getEntity();
+	}
+
+	public CursorNode getNode()
+	{
+		return cursor.getNode();
+	}
+
+	public CursorWay getWay()
+	{
+		return cursor.getWay();
+	}
+
+	public CursorRelation getRelation()
+	{
+		return cursor.getRelation();
+	}
+
+	public boolean hasBounds() throws IOException
+	{
+		ensureBeyondBounds();
+		return bounds != null;
+	}
+
+	public OsmBounds getBounds() throws IOException
+	{
+		ensureBeyondBounds();
+		return bounds;
+	}
+
+	private void ensureBeyondBounds() throws IOException
+	{
+		while (!beyondBounds) {
+			tryAdvanceBlock();
+		}
+	}
+
+	private void tryAdvanceBlock() throws IOException
+	{
+		try {
+			advanceBlock();
+		} catch (EOFException eof) {
+			finished = true;
+			beyondBounds = true;
+		}
+	}
+
+	private void advanceBlock() throws IOException
+	{
+		BlobHeader header = PbfUtil.parseHeader(input);
+		Fileformat.Blob blob = PbfUtil.parseBlock(input,
+				header.getDataLength());
+
+		BlockData blockData = PbfUtil.getBlockData(blob);
+
+		String type = header.getType();
+		if (type.equals(Constants.BLOCK_TYPE_DATA)) {
+			beyondBounds = true;
+
+			Osmformat.PrimitiveBlock block = Osmformat.PrimitiveBlock
+					.parseFrom(blockData.getBlobData());
+			cursor.reset(block);
+		} else if (type.equals(Constants.BLOCK_TYPE_HEADER)) {
+			Osmformat.HeaderBlock block = Osmformat.HeaderBlock
+					.parseFrom(blockData.getBlobData());
+			if (!beyondBounds) {
+				bounds = PbfUtil.bounds(block.getBbox());
+			}
+			beyondBounds = true;
+		} else {
+			throw new IOException("invalid PBF block");
+		}
+	}
+
+}
@@ -22,7 +22,9 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +37,7 @@ import de.topobyte.osm4j.pbf.protobuf.Osmformat;
 import de.topobyte.osm4j.pbf.protobuf.Osmformat.PrimitiveBlock;
 import de.topobyte.osm4j.pbf.protobuf.Osmformat.PrimitiveBlock.Builder;
 import de.topobyte.osm4j.pbf.protobuf.Osmformat.PrimitiveGroup;
+import de.topobyte.osm4j.pbf.raf.FileStructure;
 import de.topobyte.osm4j.pbf.util.BlobHeader;
 import de.topobyte.osm4j.pbf.util.BlockData;
 import de.topobyte.osm4j.pbf.util.PbfMeta;
@@ -57,8 +60,21 @@ public class PbfEntitySplit
 	private BlockWriter blockWriterWays = null;
 	private BlockWriter blockWriterRelations = null;
 
+	private EntityTypeSelection selection;
+
 	public PbfEntitySplit(InputStream in, OutputStream outNodes,
 			OutputStream outWays, OutputStream outRelations)
+	{
+		this(in, outNodes, outWays, outRelations, null);
+	}
+
+	/**
+	 * Create an entity splitter that uses the structure of the input file to
+	 * skip blocks that do not contain any of the requested entity types.
+	 */
+	public PbfEntitySplit(InputStream in, OutputStream outNodes,
+			OutputStream outWays, OutputStream outRelations,
+			FileStructure structure)
 	{
 		this.outNodes = outNodes;
 		this.outWays = outWays;
@@ -79,25 +95,40 @@ public class PbfEntitySplit
 		if (copyRelations) {
 			blockWriterRelations = new BlockWriter(outRelations);
 		}
+
+		Set<EntityType> types = EnumSet.noneOf(EntityType.class);
+		if (copyNodes) {
+			types.add(EntityType.Node);
+		}
+		if (copyWays) {
+			types.add(EntityType.Way);
+		}
+		if (copyRelations) {
+			types.add(EntityType.Relation);
+		}
+		selection = new EntityTypeSelection(types, structure);
 	}
 
 	public void execute() throws IOException
 	{
-		while (true) {
+		while (!selection.isDone()) {
 			try {
 				BlobHeader header = PbfUtil.parseHeader(input);
 
+				String type = header.getType();
+				if (type.equals(Constants.BLOCK_TYPE_DATA)
+						&& !selection.nextBlock()) {
+					PbfUtil.skipBlock(input, header.getDataLength());
+					continue;
+				}
+
 				Fileformat.Blob blob = PbfUtil.parseBlock(input,
 						header.getDataLength());
 
-				String type = header.getType();
-
-				// TODO: stop iterating if not all entity type are requested
-				// (for example only nodes) and we are beyond the last block of
-				// requested types
 				if (type.equals(Constants.BLOCK_TYPE_DATA)) {
 					data(blob);
 				} else if (type.equals(Constants.BLOCK_TYPE_HEADER)) {
+					header(blob);
 					if (copyNodes) {
 						blockWriterNodes.write(header.getType(), null, blob);
 					}
@@ -127,11 +158,20 @@ public class PbfEntitySplit
 
 	}
 
+	private void header(Fileformat.Blob blob) throws IOException
+	{
+		BlockData blockData = PbfUtil.getBlockData(blob);
+		Osmformat.HeaderBlock headerBlock = Osmformat.HeaderBlock
+				.parseFrom(blockData.getBlobData());
+		selection.header(headerBlock);
+	}
+
 	private void data(Fileformat.Blob blob) throws IOException
 	{
 		BlockData blockData = PbfUtil.getBlockData(blob);
 		Osmformat.PrimitiveBlock primBlock = Osmformat.PrimitiveBlock
 				.parseFrom(blockData.getBlobData());
+		selection.decoded(primBlock);
 
 		if (!PbfMeta.hasMixedContent(primBlock)) {
 			// If the block does not contain multiple entity types, we can copy
@@ -25,6 +25,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 import de.topobyte.osm4j.core.access.OsmIterator;
 import de.topobyte.osm4j.core.model.iface.EntityContainer;
@@ -40,6 +41,7 @@ import de.topobyte.osm4j.pbf.protobuf.Osmformat.DenseNodes;
 import de.topobyte.osm4j.pbf.protobuf.Osmformat.HeaderBBox;
 import de.topobyte.osm4j.pbf.protobuf.Osmformat.Relation;
 import de.topobyte.osm4j.pbf.protobuf.Osmformat.Way;
+import de.topobyte.osm4j.pbf.raf.FileStructure;
 import de.topobyte.osm4j.pbf.util.BlobHeader;
 import de.topobyte.osm4j.pbf.util.BlockData;
 import de.topobyte.osm4j.pbf.util.PbfUtil;
@@ -60,12 +62,56 @@ public class PbfIterator implements OsmIterator
 	private int available = 0;
 	private boolean finished = false;
 
+	private EntityTypeSelection selection = null;
+	private boolean lazyDecoding = false;
+
 	public PbfIterator(InputStream input, boolean fetchMetadata)
 	{
 		this.input = new DataInputStream(input);
 		this.fetchMetadata = fetchMetadata;
 	}
 
+	/**
+	 * Create an iterator that only returns entities of the specified types.
+	 */
+	public PbfIterator(InputStream input, boolean fetchMetadata,
+			Set<EntityType> types)
+	{
+		this(input, fetchMetadata, new EntityTypeSelection(types));
+	}
+
+	/**
+	 * Create an iterator that only returns entities of the specified types.
+	 * Using the structure of the file, blocks that do not contain any entities
+	 * of the selected types are skipped without decoding them.
+	 */
+	public PbfIterator(InputStream input, boolean fetchMetadata,
+			Set<EntityType> types, FileStructure structure)
+	{
+		this(input, fetchMetadata, new EntityTypeSelection(types, structure));
+	}
+
+	public PbfIterator(InputStream input, boolean fetchMetadata,
+			EntityTypeSelection selection)
+	{
+		this(input, fetchMetadata);
+		this.selection = selection;
+	}
+
+	public boolean isLazyDecoding()
+	{
+		return lazyDecoding;
+	}
+
+	/**
+	 * Create {@link LazyEntity} instances that decode tags and metadata only
+	 * when they are requested.
+	 */
+	public void setLazyDecoding(boolean lazyDecoding)
+	{
+		this.lazyDecoding = lazyDecoding;
+	}
+
 	@Override
 	public boolean hasNext()
 	{
@@ -116,6 +162,11 @@ public class PbfIterator implements OsmIterator
 
 	private void tryAdvanceBlock() throws IOException
 	{
+		if (selection != null && selection.isDone()) {
+			finished = true;
+			beyondBounds = true;
+			return;
+		}
 		try {
 			advanceBlock();
 		} catch (EOFException eof) {
@@ -127,38 +178,56 @@ public class PbfIterator implements OsmIterator
 	private void advanceBlock() throws IOException
 	{
 		BlobHeader header = PbfUtil.parseHeader(input);
-		Fileformat.Blob blob = PbfUtil.parseBlock(input,
-				header.getDataLength());
-
-		BlockData blockData = PbfUtil.getBlockData(blob);
 
 		String type = header.getType();
 		if (type.equals(Constants.BLOCK_TYPE_DATA)) {
 			beyondBounds = true;
 
+			if (selection != null && !selection.nextBlock()) {
+				PbfUtil.skipBlock(input, header.getDataLength());
+				return;
+			}
+
+			Fileformat.Blob blob = PbfUtil.parseBlock(input,
+					header.getDataLength());
+			BlockData blockData = PbfUtil.getBlockData(blob);
+
 			Osmformat.PrimitiveBlock block = Osmformat.PrimitiveBlock
 					.parseFrom(blockData.getBlobData());
 
-			PrimParser primParser = new PrimParser(block, fetchMetadata);
+			PrimParser primParser = new PrimParser(block, fetchMetadata,
+					lazyDecoding);
 
 			for (Osmformat.PrimitiveGroup group : block
 					.getPrimitivegroupList()) {
-				if (group.getNodesCount() > 0) {
+				if (group.getNodesCount() > 0 && wants(EntityType.Node)) {
 					pushNodes(primParser, group.getNodesList());
 				}
-				if (group.hasDense()) {
+				if (group.hasDense() && wants(EntityType.Node)) {
 					pushNodes(primParser, group.getDense());
 				}
-				if (group.getWaysCount() > 0) {
+				if (group.getWaysCount() > 0 && wants(EntityType.Way)) {
 					pushWays(primParser, group.getWaysList());
 				}
-				if (group.getRelationsCount() > 0) {
+				if (group.getRelationsCount() > 0
+						&& wants(EntityType.Relation)) {
 					pushRelations(primParser, group.getRelationsList());
 				}
 			}
+
+			if (selection != null) {
+				selection.decoded(block);
+			}
 		} else if (type.equals(Constants.BLOCK_TYPE_HEADER)) {
+			Fileformat.Blob blob = PbfUtil.parseBlock(input,
+					header.getDataLength());
+			BlockData blockData = PbfUtil.getBlockData(blob);
+
 			Osmformat.HeaderBlock block = Osmformat.HeaderBlock
 					.parseFrom(blockData.getBlobData());
+			if (selection != null) {
+				selection.header(block);
+			}
 			HeaderBBox bbox = block.getBbox();
 			if (bbox != null && !beyondBounds) {
 				this.bounds = PbfUtil.bounds(bbox);
@@ -169,6 +238,11 @@ public class PbfIterator implements OsmIterator
 		}
 	}
 
+	private boolean wants(EntityType type)
+	{
+		return selection == null || selection.isSelected(type);
+	}
+
 	private void pushNodes(PrimParser primParser, List<Osmformat.Node> nodes)
 	{
 		available += nodes.size();
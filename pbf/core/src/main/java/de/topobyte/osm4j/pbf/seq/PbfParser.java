@@ -18,17 +18,26 @@
 package de.topobyte.osm4j.pbf.seq;
 
 import java.io.IOException;
+import java.util.List;
 
+import de.topobyte.osm4j.core.access.OsmBatch;
+import de.topobyte.osm4j.core.access.OsmBatchHandler;
 import de.topobyte.osm4j.core.access.OsmHandler;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.pbf.Constants;
 import de.topobyte.osm4j.pbf.protobuf.Osmformat;
 import de.topobyte.osm4j.pbf.protobuf.Osmformat.HeaderBBox;
+import de.topobyte.osm4j.pbf.util.BlobHeader;
 import de.topobyte.osm4j.pbf.util.PbfUtil;
 
 public class PbfParser extends BlockParser
 {
 
 	private OsmHandler handler;
+	private OsmBatchHandler batchHandler;
 	private boolean fetchMetadata;
+	private EntityTypeSelection selection = null;
+	private boolean lazyDecoding = false;
 
 	public PbfParser(OsmHandler handler, boolean fetchMetadata)
 	{
@@ -36,26 +45,147 @@ public class PbfParser extends BlockParser
 		this.fetchMetadata = fetchMetadata;
 	}
 
+	/**
+	 * Create a parser that only passes entities of the selected types to the
+	 * handler.
+	 */
+	public PbfParser(OsmHandler handler, boolean fetchMetadata,
+			EntityTypeSelection selection)
+	{
+		this(handler, fetchMetadata);
+		this.selection = selection;
+	}
+
+	/**
+	 * Create a parser that passes the entities of each block to the handler as
+	 * one batch per entity type.
+	 */
+	public PbfParser(OsmBatchHandler batchHandler, boolean fetchMetadata)
+	{
+		this.batchHandler = batchHandler;
+		this.fetchMetadata = fetchMetadata;
+	}
+
+	/**
+	 * Create a parser that passes the entities of the selected types of each
+	 * block to the handler as one batch per entity type.
+	 */
+	public PbfParser(OsmBatchHandler batchHandler, boolean fetchMetadata,
+			EntityTypeSelection selection)
+	{
+		this(batchHandler, fetchMetadata);
+		this.selection = selection;
+	}
+
+	public boolean isLazyDecoding()
+	{
+		return lazyDecoding;
+	}
+
+	/**
+	 * Create {@link LazyEntity} instances that decode tags and metadata only
+	 * when they are requested.
+	 */
+	public void setLazyDecoding(boolean lazyDecoding)
+	{
+		this.lazyDecoding = lazyDecoding;
+	}
+
+	@Override
+	protected boolean skip(BlobHeader header)
+	{
+		if (selection == null
+				|| !header.getType().equals(Constants.BLOCK_TYPE_DATA)) {
+			return false;
+		}
+		return !selection.nextBlock();
+	}
+
+	@Override
+	protected boolean isDone()
+	{
+		return selection != null && selection.isDone();
+	}
+
 	@Override
 	protected void parse(Osmformat.HeaderBlock block) throws IOException
 	{
+		if (selection != null) {
+			selection.header(block);
+		}
 		HeaderBBox bbox = block.getBbox();
-		handler.handle(PbfUtil.bounds(bbox));
+		if (batchHandler != null) {
+			batchHandler.handle(PbfUtil.bounds(bbox));
+		} else {
+			handler.handle(PbfUtil.bounds(bbox));
+		}
 	}
 
 	@Override
 	protected void parse(Osmformat.PrimitiveBlock block) throws IOException
 	{
-		PrimParser primParser = new PrimParser(block, fetchMetadata);
+		PrimParser primParser = new PrimParser(block, fetchMetadata,
+				lazyDecoding);
+
+		boolean nodes = selected(EntityType.Node);
+		boolean ways = selected(EntityType.Way);
+		boolean relations = selected(EntityType.Relation);
 
+		if (batchHandler != null) {
+			parseBatches(block, primParser, nodes, ways, relations);
+		} else {
+			parseEntities(block, primParser, nodes, ways, relations);
+		}
+
+		if (selection != null) {
+			selection.decoded(block);
+		}
+	}
+
+	private void parseEntities(Osmformat.PrimitiveBlock block,
+			PrimParser primParser, boolean nodes, boolean ways,
+			boolean relations) throws IOException
+	{
 		for (Osmformat.PrimitiveGroup group : block.getPrimitivegroupList()) {
-			primParser.parseNodes(group.getNodesList(), handler);
-			primParser.parseWays(group.getWaysList(), handler);
-			primParser.parseRelations(group.getRelationsList(), handler);
-			if (group.hasDense()) {
+			if (nodes) {
+				primParser.parseNodes(group.getNodesList(), handler);
+			}
+			if (ways) {
+				primParser.parseWays(group.getWaysList(), handler);
+			}
+			if (relations) {
+				primParser.parseRelations(group.getRelationsList(), handler);
+			}
+			if (nodes && group.hasDense()) {
 				primParser.parseDense(group.getDense(), handler);
 			}
 		}
 	}
 
+	private void parseBatches(Osmformat.PrimitiveBlock block,
+			PrimParser primParser, boolean nodes, boolean ways,
+			boolean relations) throws IOException
+	{
+		List<OsmBatch> batches = primParser.convertBatches(block, nodes, ways,
+				relations);
+		for (OsmBatch batch : batches) {
+			switch (batch.getType()) {
+			case Node:
+				batchHandler.handleNodes(batch.getNodes());
+				break;
+			case Way:
+				batchHandler.handleWays(batch.getWays());
+				break;
+			case Relation:
+				batchHandler.handleRelations(batch.getRelations());
+				break;
+			}
+		}
+	}
+
+	private boolean selected(EntityType type)
+	{
+		return selection == null || selection.isSelected(type);
+	}
+
 }
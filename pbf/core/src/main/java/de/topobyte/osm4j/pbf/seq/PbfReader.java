@@ -23,25 +23,63 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.Set;
 
+import de.topobyte.osm4j.core.access.OsmBatchHandler;
+import de.topobyte.osm4j.core.access.OsmBatchReader;
 import de.topobyte.osm4j.core.access.OsmHandler;
 import de.topobyte.osm4j.core.access.OsmInputException;
 import de.topobyte.osm4j.core.access.OsmReader;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.pbf.raf.FileStructure;
+import de.topobyte.osm4j.pbf.raf.FileStructureAnalyzer;
+import de.topobyte.osm4j.pbf.raf.PbfFile;
 
-public class PbfReader implements OsmReader
+public class PbfReader implements OsmReader, OsmBatchReader
 {
 
 	private OsmHandler handler;
+	private OsmBatchHandler batchHandler;
 
 	private boolean parseMetadata;
 	private InputStream input;
 
+	private File file = null;
+	private Set<EntityType> types = null;
+	private boolean lazyDecoding = false;
+
 	public PbfReader(InputStream input, boolean parseMetadata)
 	{
 		this.input = input;
 		this.parseMetadata = parseMetadata;
 	}
 
+	/**
+	 * Create a reader that only passes entities of the specified types to the
+	 * handler.
+	 */
+	public PbfReader(InputStream input, boolean parseMetadata,
+			Set<EntityType> types)
+	{
+		this(input, parseMetadata);
+		this.types = types;
+	}
+
+	/**
+	 * Create a reader that only passes entities of the specified types to the
+	 * handler. Before reading, the structure of the file is analyzed so that
+	 * blocks that do not contain any entities of the selected types can be
+	 * skipped without decoding them.
+	 */
+	public PbfReader(File file, boolean parseMetadata, Set<EntityType> types)
+			throws FileNotFoundException
+	{
+		this(file, parseMetadata);
+		this.file = file;
+		this.types = types;
+	}
+
 	public PbfReader(File file, boolean parseMetadata)
 			throws FileNotFoundException
 	{
@@ -56,27 +94,83 @@ public class PbfReader implements OsmReader
 		this(new File(pathname), parseMetadata);
 	}
 
+	public boolean isLazyDecoding()
+	{
+		return lazyDecoding;
+	}
+
+	/**
+	 * Create {@link LazyEntity} instances that decode tags and metadata only
+	 * when they are requested.
+	 */
+	public void setLazyDecoding(boolean lazyDecoding)
+	{
+		this.lazyDecoding = lazyDecoding;
+	}
+
 	@Override
 	public void setHandler(OsmHandler handler)
 	{
 		this.handler = handler;
+		this.batchHandler = null;
+	}
+
+	/**
+	 * Receive the entities of each block as one batch per entity type instead
+	 * of one at a time. Replaces any handler set using
+	 * {@link #setHandler(OsmHandler)}.
+	 */
+	@Override
+	public void setBatchHandler(OsmBatchHandler batchHandler)
+	{
+		this.batchHandler = batchHandler;
+		this.handler = null;
 	}
 
 	@Override
 	public void read() throws OsmInputException
 	{
-		PbfParser parser = new PbfParser(handler, parseMetadata);
 		try {
+			EntityTypeSelection selection = null;
+			if (types != null) {
+				selection = createSelection();
+			}
+			PbfParser parser;
+			if (batchHandler != null) {
+				parser = new PbfParser(batchHandler, parseMetadata, selection);
+			} else {
+				parser = new PbfParser(handler, parseMetadata, selection);
+			}
+			parser.setLazyDecoding(lazyDecoding);
 			parser.parse(input);
 		} catch (IOException e) {
 			throw new OsmInputException("error while parsing data", e);
 		}
 
 		try {
-			handler.complete();
+			if (batchHandler != null) {
+				batchHandler.complete();
+			} else {
+				handler.complete();
+			}
 		} catch (IOException e) {
 			throw new OsmInputException("error while completing handler", e);
 		}
 	}
 
+	private EntityTypeSelection createSelection() throws IOException
+	{
+		if (file == null) {
+			return new EntityTypeSelection(types);
+		}
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			PbfFile pbfFile = new PbfFile(raf);
+			FileStructure structure = FileStructureAnalyzer.analyze(pbfFile);
+			return new EntityTypeSelection(types, structure);
+		} finally {
+			raf.close();
+		}
+	}
+
 }
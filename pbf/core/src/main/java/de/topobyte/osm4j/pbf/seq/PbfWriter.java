@@ -42,30 +42,27 @@ package de.topobyte.osm4j.pbf.seq;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import com.google.protobuf.ByteString;
 
 import de.topobyte.osm4j.core.access.OsmOutputStream;
 import de.topobyte.osm4j.core.model.iface.EntityType;
 import de.topobyte.osm4j.core.model.iface.OsmBounds;
-import de.topobyte.osm4j.core.model.iface.OsmEntity;
-import de.topobyte.osm4j.core.model.iface.OsmMetadata;
+import de.topobyte.osm4j.core.model.iface.OsmLocatedWay;
 import de.topobyte.osm4j.core.model.iface.OsmNode;
 import de.topobyte.osm4j.core.model.iface.OsmRelation;
-import de.topobyte.osm4j.core.model.iface.OsmRelationMember;
-import de.topobyte.osm4j.core.model.iface.OsmTag;
 import de.topobyte.osm4j.core.model.iface.OsmWay;
-import de.topobyte.osm4j.core.model.impl.Metadata;
 import de.topobyte.osm4j.pbf.Compression;
 import de.topobyte.osm4j.pbf.Constants;
-import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+import de.topobyte.osm4j.pbf.protobuf.Fileformat;
 import de.topobyte.osm4j.pbf.protobuf.Osmformat.HeaderBlock;
-import de.topobyte.osm4j.pbf.protobuf.Osmformat.PrimitiveBlock;
-import de.topobyte.osm4j.pbf.protobuf.Osmformat.PrimitiveGroup;
+import de.topobyte.osm4j.pbf.raf.BlockContentBuilder;
+import de.topobyte.osm4j.pbf.raf.BlockIndex;
+import de.topobyte.osm4j.pbf.raf.BlockIndexBuilder;
+import de.topobyte.osm4j.pbf.raf.BlockInfo;
 import de.topobyte.osm4j.pbf.util.PbfUtil;
-import de.topobyte.osm4j.pbf.util.StringTable;
 
 public class PbfWriter extends BlockWriter implements OsmOutputStream
 {
@@ -75,9 +72,10 @@ public class PbfWriter extends BlockWriter implements OsmOutputStream
 	private Compression compression = Compression.DEFLATE;
 
 	private boolean useDense = true;
+	private boolean writeLocationsOnWays = false;
 	private int granularity = 100;
 	private int dateGranularity = 1000;
-	private StringTable stringTable = new StringTable();
+	private BlockEncoder encoder = null;
 
 	private int batchLimit = 4000;
 
@@ -92,6 +90,14 @@ public class PbfWriter extends BlockWriter implements OsmOutputStream
 
 	private boolean headerWritten = false;
 
+	// Optionally, build an index of the written blocks
+	private BlockIndexBuilder indexBuilder = null;
+
+	// Optionally, encode and compress blocks using a pool of threads
+	private int encoderThreads = 1;
+	private int maxInFlightBlocks = 0;
+	private EncoderPipeline pipeline = null;
+
 	public PbfWriter(OutputStream output, boolean writeMetadata)
 	{
 		super(output);
@@ -118,6 +124,21 @@ public class PbfWriter extends BlockWriter implements OsmOutputStream
 		this.useDense = useDense;
 	}
 
+	public boolean isWriteLocationsOnWays()
+	{
+		return writeLocationsOnWays;
+	}
+
+	/**
+	 * Store the locations of way nodes with the ways (PBF feature
+	 * "LocationsOnWays"). Locations are only available for ways that
+	 * implement {@link OsmLocatedWay}.
+	 */
+	public void setWriteLocationsOnWays(boolean writeLocationsOnWays)
+	{
+		this.writeLocationsOnWays = writeLocationsOnWays;
+	}
+
 	public int getGranularity()
 	{
 		return granularity;
@@ -148,6 +169,65 @@ public class PbfWriter extends BlockWriter implements OsmOutputStream
 		this.batchLimit = batchLimit;
 	}
 
+	public int getEncoderThreads()
+	{
+		return encoderThreads;
+	}
+
+	/**
+	 * Set the number of threads used for encoding and compressing blocks. With
+	 * more than one thread, completed batches are encoded asynchronously while
+	 * the blocks are still written in order from a single thread, so that the
+	 * output is identical to the output of the single-threaded mode. This
+	 * needs to be configured before writing any data.
+	 */
+	public void setEncoderThreads(int encoderThreads)
+	{
+		this.encoderThreads = encoderThreads;
+	}
+
+	public int getMaxInFlightBlocks()
+	{
+		return maxInFlightBlocks;
+	}
+
+	/**
+	 * Set the maximum number of blocks being encoded or waiting to be written
+	 * when using multiple encoder threads. This bounds the amount of memory
+	 * used. A value below 1 selects the default of two blocks per thread.
+	 */
+	public void setMaxInFlightBlocks(int maxInFlightBlocks)
+	{
+		this.maxInFlightBlocks = maxInFlightBlocks;
+	}
+
+	public boolean isBuildIndex()
+	{
+		return indexBuilder != null;
+	}
+
+	/**
+	 * Build a {@link BlockIndex} of the blocks written. This needs to be
+	 * enabled before writing any data. After calling {@link #complete()}, the
+	 * index can be obtained using {@link #getBlockIndex()}.
+	 */
+	public void setBuildIndex(boolean buildIndex)
+	{
+		indexBuilder = buildIndex ? new BlockIndexBuilder() : null;
+	}
+
+	/**
+	 * @return the index of the blocks written so far or null if building an
+	 *         index has not been enabled.
+	 */
+	public BlockIndex getBlockIndex()
+	{
+		if (indexBuilder == null) {
+			return null;
+		}
+		return indexBuilder.build(getPosition());
+	}
+
 	@Override
 	public void write(OsmBounds bounds) throws IOException
 	{
@@ -199,14 +279,28 @@ public class PbfWriter extends BlockWriter implements OsmOutputStream
 		if (counter > 0) {
 			writeBatch();
 		}
+
+		if (pipeline != null) {
+			EncoderPipeline p = pipeline;
+			pipeline = null;
+			p.finish();
+		}
 	}
 
 	private void writeHeader(OsmBounds bounds) throws IOException
 	{
+		List<String> optionalFeatures = new ArrayList<>();
+		if (writeLocationsOnWays) {
+			optionalFeatures.add(Constants.FEATURE_LOCATIONS_ON_WAYS);
+		}
 		HeaderBlock header = PbfUtil.createHeader(Constants.WRITING_PROGRAM,
-				true, bounds);
+				true, bounds, optionalFeatures);
 		ByteString headerData = header.toByteString();
-		write(Constants.BLOCK_TYPE_HEADER, null, compression, headerData);
+		BlockInfo info = write(Constants.BLOCK_TYPE_HEADER, null, compression,
+				headerData);
+		if (indexBuilder != null) {
+			indexBuilder.setHeaderBlock(info);
+		}
 		headerWritten = true;
 	}
 
@@ -214,307 +308,141 @@ public class PbfWriter extends BlockWriter implements OsmOutputStream
 	{
 		ensureHeader();
 
-		Osmformat.PrimitiveBlock.Builder builder = Osmformat.PrimitiveBlock
-				.newBuilder();
-
-		// First add all strings to the string table
+		List<OsmNode> nodes = bufNodes;
+		List<OsmWay> ways = bufWays;
+		List<OsmRelation> relations = bufRelations;
 
-		addTagsToStringTable(bufNodes);
-		addTagsToStringTable(bufWays);
-		addTagsToStringTable(bufRelations);
-
-		addMemberRolesToStringTable(bufRelations);
-
-		if (writeMetadata) {
-			addUsersToStringTable(bufNodes);
-			addUsersToStringTable(bufWays);
-			addUsersToStringTable(bufRelations);
+		BlockContentBuilder[] contents = null;
+		if (indexBuilder != null) {
+			contents = collectBlockContents(nodes, ways, relations);
 		}
 
-		// And build indices
-		stringTable.finish();
-
-		// Now build groups and add to block builder
-
-		if (bufNodes.size() > 0) {
-			if (useDense) {
-				PrimitiveGroup group = serializeDense(bufNodes);
-				builder.addPrimitivegroup(group);
-			} else {
-				PrimitiveGroup group = serializeNonDense(bufNodes);
-				builder.addPrimitivegroup(group);
-			}
-			bufNodes.clear();
-		}
-
-		if (bufWays.size() > 0) {
-			PrimitiveGroup group = serializeWays(bufWays);
-			builder.addPrimitivegroup(group);
-			bufWays.clear();
-		}
-
-		if (bufRelations.size() > 0) {
-			PrimitiveGroup group = serializeRelations(bufRelations);
-			builder.addPrimitivegroup(group);
-			bufRelations.clear();
-		}
-
-		builder.setDateGranularity(dateGranularity);
-		builder.setGranularity(granularity);
-		builder.setStringtable(stringTable.serialize());
-
-		PrimitiveBlock block = builder.build();
-		ByteString data = block.toByteString();
-
-		// Reset counter and string table
+		// Reset counter
 		counter = 0;
-		stringTable.clear();
-
-		write(Constants.BLOCK_TYPE_DATA, null, compression, data);
-	}
 
-	private void addTagsToStringTable(Collection<? extends OsmEntity> entities)
-	{
-		for (OsmEntity entity : entities) {
-			for (int k = 0; k < entity.getNumberOfTags(); k++) {
-				OsmTag tag = entity.getTag(k);
-				stringTable.incr(tag.getKey());
-				stringTable.incr(tag.getValue());
+		if (encoderThreads <= 1) {
+			if (encoder == null) {
+				encoder = createEncoder();
 			}
-		}
-	}
-
-	private void addUsersToStringTable(Collection<? extends OsmEntity> entities)
-	{
-		for (OsmEntity entity : entities) {
-			OsmMetadata metadata = entity.getMetadata();
-			if (metadata == null) {
-				continue;
-			}
-			String user = metadata.getUser();
-			if (user == null) {
-				continue;
+			ByteString data = encoder.encode(nodes, ways, relations);
+			nodes.clear();
+			ways.clear();
+			relations.clear();
+
+			BlockInfo info = write(Constants.BLOCK_TYPE_DATA, null,
+					compression, data);
+			if (indexBuilder != null) {
+				indexBuilder.addDataBlock(info, contents);
 			}
-			stringTable.incr(user);
+			return;
 		}
-	}
 
-	private Osmformat.Info.Builder serializeMetadata(OsmEntity entity)
-	{
-		Osmformat.Info.Builder b = Osmformat.Info.newBuilder();
-		if (writeMetadata) {
-			OsmMetadata metadata = entity.getMetadata();
-			if (metadata == null) {
-				return b;
-			}
-			if (metadata.getUid() >= 0) {
-				b.setUid((int) metadata.getUid());
-				b.setUserSid(stringTable.getIndex(metadata.getUser()));
-			}
-			b.setTimestamp((int) (metadata.getTimestamp() / dateGranularity));
-			b.setVersion(metadata.getVersion());
-			b.setChangeset(metadata.getChangeset());
-			b.setVisible(metadata.isVisible());
-		}
-		return b;
-	}
+		// In asynchronous mode, hand the buffers over to the encoder task
+		bufNodes = new ArrayList<>();
+		bufWays = new ArrayList<>();
+		bufRelations = new ArrayList<>();
 
-	private void serializeMetadataDense(Osmformat.DenseInfo.Builder b,
-			Collection<? extends OsmEntity> entities)
-	{
-		long lasttimestamp = 0, lastchangeset = 0;
-		int lastuserSid = 0, lastuid = 0;
-		for (OsmEntity e : entities) {
-			OsmMetadata metadata = e.getMetadata();
-			if (metadata == null) {
-				metadata = new Metadata(-1, -1, -1, "", -1);
-			}
-			int uid = (int) metadata.getUid();
-			int userSid = stringTable.getIndex(metadata.getUser());
-			int timestamp = (int) (metadata.getTimestamp() / dateGranularity);
-			int version = metadata.getVersion();
-			long changeset = metadata.getChangeset();
-			boolean visible = metadata.isVisible();
-
-			b.addVersion(version);
-			b.addTimestamp(timestamp - lasttimestamp);
-			lasttimestamp = timestamp;
-			b.addChangeset(changeset - lastchangeset);
-			lastchangeset = changeset;
-			b.addUid(uid - lastuid);
-			lastuid = uid;
-			b.addUserSid(userSid - lastuserSid);
-			lastuserSid = userSid;
-			b.addVisible(visible);
+		if (pipeline == null) {
+			pipeline = createPipeline();
 		}
+		pipeline.submit(new EncoderTask(createEncoder(), compression, nodes,
+				ways, relations, contents));
 	}
 
-	private int mapDegrees(double degrees)
+	private BlockEncoder createEncoder()
 	{
-		return (int) ((degrees / .0000001) / (granularity / 100));
+		return new BlockEncoder(writeMetadata, useDense, granularity,
+				dateGranularity, writeLocationsOnWays);
 	}
 
-	private Osmformat.PrimitiveGroup serializeDense(Collection<OsmNode> nodes)
+	private BlockContentBuilder[] collectBlockContents(List<OsmNode> nodes,
+			List<OsmWay> ways, List<OsmRelation> relations)
 	{
-		Osmformat.PrimitiveGroup.Builder builder = Osmformat.PrimitiveGroup
-				.newBuilder();
-
-		long lastlat = 0, lastlon = 0, lastid = 0;
-		Osmformat.DenseNodes.Builder bi = Osmformat.DenseNodes.newBuilder();
-
-		// Does anything in this block have tags?
-		boolean doesBlockHaveTags = false;
-		for (OsmNode node : nodes) {
-			if (node.getNumberOfTags() != 0) {
-				doesBlockHaveTags = true;
-				break;
-			}
-		}
-
-		// Find out if any of the nodes has metadata. If none does, we can omit
-		// the metadata completely.
-		boolean hasMetadata = false;
+		BlockContentBuilder contentNodes = new BlockContentBuilder(
+				EntityType.Node);
+		BlockContentBuilder contentWays = new BlockContentBuilder(
+				EntityType.Way);
+		BlockContentBuilder contentRelations = new BlockContentBuilder(
+				EntityType.Relation);
+
+		// Use the coordinates as they will be stored in the file
 		for (OsmNode node : nodes) {
-			if (node.getMetadata() != null) {
-				hasMetadata = true;
-			}
+			long lon = (long) granularity * BlockEncoder
+					.mapDegrees(node.getLongitude(), granularity);
+			long lat = (long) granularity * BlockEncoder
+					.mapDegrees(node.getLatitude(), granularity);
+			contentNodes.add(node.getId(), .000000001 * lon,
+					.000000001 * lat);
 		}
-
-		if (writeMetadata && hasMetadata) {
-			Osmformat.DenseInfo.Builder bdi = Osmformat.DenseInfo.newBuilder();
-			serializeMetadataDense(bdi, nodes);
-			bi.setDenseinfo(bdi);
+		for (OsmWay way : ways) {
+			contentWays.add(way.getId());
 		}
-
-		for (OsmNode node : nodes) {
-			long id = node.getId();
-			int lat = mapDegrees(node.getLatitude());
-			int lon = mapDegrees(node.getLongitude());
-			bi.addId(id - lastid);
-			lastid = id;
-			bi.addLon(lon - lastlon);
-			lastlon = lon;
-			bi.addLat(lat - lastlat);
-			lastlat = lat;
-
-			// Then we must include tag information.
-			if (doesBlockHaveTags) {
-				for (int k = 0; k < node.getNumberOfTags(); k++) {
-					OsmTag t = node.getTag(k);
-					bi.addKeysVals(stringTable.getIndex(t.getKey()));
-					bi.addKeysVals(stringTable.getIndex(t.getValue()));
-				}
-				bi.addKeysVals(0); // Add delimiter.
-			}
+		for (OsmRelation relation : relations) {
+			contentRelations.add(relation.getId());
 		}
 
-		builder.setDense(bi);
-		return builder.build();
+		return new BlockContentBuilder[] { contentNodes, contentWays,
+				contentRelations };
 	}
 
-	private Osmformat.PrimitiveGroup serializeNonDense(
-			Collection<OsmNode> nodes)
-	{
-		Osmformat.PrimitiveGroup.Builder builder = Osmformat.PrimitiveGroup
-				.newBuilder();
-		for (OsmNode node : nodes) {
-			Osmformat.Node.Builder bi = Osmformat.Node.newBuilder();
-			bi.setId(node.getId());
-			bi.setLon(mapDegrees(node.getLongitude()));
-			bi.setLat(mapDegrees(node.getLatitude()));
-			for (int k = 0; k < node.getNumberOfTags(); k++) {
-				OsmTag t = node.getTag(k);
-				bi.addKeys(stringTable.getIndex(t.getKey()));
-				bi.addVals(stringTable.getIndex(t.getValue()));
-			}
-			if (writeMetadata && node.getMetadata() != null) {
-				bi.setInfo(serializeMetadata(node));
-			}
-			builder.addNodes(bi);
-		}
-		return builder.build();
-	}
+	/*
+	 * Asynchronous encoding
+	 */
 
-	private Osmformat.PrimitiveGroup serializeWays(Collection<OsmWay> ways)
+	private EncoderPipeline createPipeline()
 	{
-		Osmformat.PrimitiveGroup.Builder builder = Osmformat.PrimitiveGroup
-				.newBuilder();
-		for (OsmWay way : ways) {
-			Osmformat.Way.Builder bi = Osmformat.Way.newBuilder();
-			bi.setId(way.getId());
-			long lastid = 0;
-			for (int k = 0; k < way.getNumberOfNodes(); k++) {
-				long id = way.getNodeId(k);
-				bi.addRefs(id - lastid);
-				lastid = id;
-			}
-			for (int k = 0; k < way.getNumberOfTags(); k++) {
-				OsmTag t = way.getTag(k);
-				bi.addKeys(stringTable.getIndex(t.getKey()));
-				bi.addVals(stringTable.getIndex(t.getValue()));
-			}
-			if (writeMetadata && way.getMetadata() != null) {
-				bi.setInfo(serializeMetadata(way));
-			}
-			builder.addWays(bi);
+		int inFlight = maxInFlightBlocks;
+		if (inFlight < 1) {
+			inFlight = encoderThreads * 2;
 		}
-		return builder.build();
+		return new EncoderPipeline(encoderThreads, inFlight,
+				new EncoderPipeline.Sink() {
+
+					@Override
+					public void write(EncodedBlock block) throws IOException
+					{
+						BlockInfo info = PbfWriter.this.write(
+								Constants.BLOCK_TYPE_DATA, null,
+								block.getBlob());
+						if (indexBuilder != null) {
+							indexBuilder.addDataBlock(info,
+									block.getContents());
+						}
+					}
+
+				});
 	}
 
-	private void addMemberRolesToStringTable(Collection<OsmRelation> relations)
+	private class EncoderTask implements Callable<EncodedBlock>
 	{
-		for (OsmRelation relation : relations) {
-			for (int k = 0; k < relation.getNumberOfMembers(); k++) {
-				OsmRelationMember j = relation.getMember(k);
-				stringTable.incr(j.getRole());
-			}
-		}
-	}
-
-	private Osmformat.PrimitiveGroup serializeRelations(
-			Collection<OsmRelation> relations)
-	{
-		Osmformat.PrimitiveGroup.Builder builder = Osmformat.PrimitiveGroup
-				.newBuilder();
-		for (OsmRelation relation : relations) {
-			Osmformat.Relation.Builder bi = Osmformat.Relation.newBuilder();
-			bi.setId(relation.getId());
-			long lastid = 0;
-			for (int k = 0; k < relation.getNumberOfMembers(); k++) {
-				OsmRelationMember j = relation.getMember(k);
-				long id = j.getId();
-				bi.addMemids(id - lastid);
-				lastid = id;
-				EntityType t = j.getType();
-				Osmformat.Relation.MemberType type = getType(t);
-				bi.addTypes(type);
-				bi.addRolesSid(stringTable.getIndex(j.getRole()));
-			}
 
-			for (int k = 0; k < relation.getNumberOfTags(); k++) {
-				OsmTag t = relation.getTag(k);
-				bi.addKeys(stringTable.getIndex(t.getKey()));
-				bi.addVals(stringTable.getIndex(t.getValue()));
-			}
-			if (writeMetadata && relation.getMetadata() != null) {
-				bi.setInfo(serializeMetadata(relation));
-			}
-			builder.addRelations(bi);
+		private BlockEncoder encoder;
+		private Compression compression;
+		private List<OsmNode> nodes;
+		private List<OsmWay> ways;
+		private List<OsmRelation> relations;
+		private BlockContentBuilder[] contents;
+
+		EncoderTask(BlockEncoder encoder, Compression compression,
+				List<OsmNode> nodes, List<OsmWay> ways,
+				List<OsmRelation> relations, BlockContentBuilder[] contents)
+		{
+			this.encoder = encoder;
+			this.compression = compression;
+			this.nodes = nodes;
+			this.ways = ways;
+			this.relations = relations;
+			this.contents = contents;
 		}
-		return builder.build();
-	}
 
-	private Osmformat.Relation.MemberType getType(EntityType t)
-	{
-		switch (t) {
-		default:
-		case Node:
-			return Osmformat.Relation.MemberType.NODE;
-		case Way:
-			return Osmformat.Relation.MemberType.WAY;
-		case Relation:
-			return Osmformat.Relation.MemberType.RELATION;
+		@Override
+		public EncodedBlock call() throws IOException
+		{
+			ByteString data = encoder.encode(nodes, ways, relations);
+			Fileformat.Blob blob = createBlob(compression, data);
+			return new EncodedBlock(blob, contents);
 		}
+
 	}
 
 }
@@ -45,6 +45,7 @@ import java.util.List;
 
 import com.slimjars.dist.gnu.trove.list.array.TLongArrayList;
 
+import de.topobyte.osm4j.core.access.OsmBatch;
 import de.topobyte.osm4j.core.access.OsmHandler;
 import de.topobyte.osm4j.core.model.iface.EntityType;
 import de.topobyte.osm4j.core.model.iface.OsmMetadata;
@@ -52,6 +53,7 @@ import de.topobyte.osm4j.core.model.iface.OsmNode;
 import de.topobyte.osm4j.core.model.iface.OsmRelation;
 import de.topobyte.osm4j.core.model.iface.OsmTag;
 import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.core.model.impl.LocatedWay;
 import de.topobyte.osm4j.core.model.impl.Metadata;
 import de.topobyte.osm4j.core.model.impl.Node;
 import de.topobyte.osm4j.core.model.impl.Relation;
@@ -67,20 +69,28 @@ public class PrimParser
 	private long latOffset;
 	private long lonOffset;
 	private int dateGranularity;
-	private String[] strings;
+	private LazyStringTable strings;
 
 	private boolean fetchMetadata;
+	private boolean lazy;
 
 	public PrimParser(Osmformat.PrimitiveBlock block, boolean fetchMetadata)
 	{
-		this.fetchMetadata = fetchMetadata;
+		this(block, fetchMetadata, false);
+	}
 
-		Osmformat.StringTable stringTable = block.getStringtable();
-		strings = new String[stringTable.getSCount()];
+	/**
+	 * @param lazy
+	 *            whether to create {@link LazyEntity} instances that decode
+	 *            tags and metadata only when requested.
+	 */
+	public PrimParser(Osmformat.PrimitiveBlock block, boolean fetchMetadata,
+			boolean lazy)
+	{
+		this.fetchMetadata = fetchMetadata;
+		this.lazy = lazy;
 
-		for (int i = 0; i < strings.length; i++) {
-			strings[i] = stringTable.getS(i).toStringUtf8();
-		}
+		strings = new LazyStringTable(block.getStringtable());
 
 		granularity = block.getGranularity();
 		latOffset = block.getLatOffset();
@@ -140,6 +150,68 @@ public class PrimParser
 		}
 	}
 
+	/**
+	 * Convert the entities of the selected types contained in the specified
+	 * block, which needs to be the block this parser has been created for.
+	 * 
+	 * @return one batch per entity type in the order nodes, ways, relations.
+	 *         Types without entities are omitted.
+	 */
+	public List<OsmBatch> convertBatches(Osmformat.PrimitiveBlock block,
+			boolean nodes, boolean ways, boolean relations)
+	{
+		List<OsmNode> nodeBatch = new ArrayList<>();
+		List<OsmWay> wayBatch = new ArrayList<>();
+		List<OsmRelation> relationBatch = new ArrayList<>();
+
+		convert(block, nodes ? nodeBatch : null, ways ? wayBatch : null,
+				relations ? relationBatch : null);
+
+		List<OsmBatch> batches = new ArrayList<>(3);
+		if (!nodeBatch.isEmpty()) {
+			batches.add(new OsmBatch(EntityType.Node, nodeBatch));
+		}
+		if (!wayBatch.isEmpty()) {
+			batches.add(new OsmBatch(EntityType.Way, wayBatch));
+		}
+		if (!relationBatch.isEmpty()) {
+			batches.add(new OsmBatch(EntityType.Relation, relationBatch));
+		}
+		return batches;
+	}
+
+	/**
+	 * Convert the entities contained in the specified block, which needs to be
+	 * the block this parser has been created for, and add them to the
+	 * specified lists. Entities of a type are skipped if the respective list is
+	 * null.
+	 */
+	public void convert(Osmformat.PrimitiveBlock block, List<OsmNode> nodes,
+			List<OsmWay> ways, List<OsmRelation> relations)
+	{
+		for (Osmformat.PrimitiveGroup group : block.getPrimitivegroupList()) {
+			if (nodes != null) {
+				for (Osmformat.Node node : group.getNodesList()) {
+					nodes.add(convert(node));
+				}
+				if (group.hasDense()) {
+					nodes.addAll(convert(group.getDense()));
+				}
+			}
+			if (ways != null) {
+				for (Osmformat.Way way : group.getWaysList()) {
+					ways.add(convert(way));
+				}
+			}
+			if (relations != null) {
+				for (Osmformat.Relation relation : group
+						.getRelationsList()) {
+					relations.add(convert(relation));
+				}
+			}
+		}
+	}
+
 	public OsmNode convert(Osmformat.Node n)
 	{
 		long id = n.getId();
@@ -154,9 +226,18 @@ public class PrimParser
 			lon = parseLon(n.getLon());
 		}
 
+		if (lazy) {
+			LazyNode node = new LazyNode(strings, id, lon, lat, n);
+			if (fetchMetadata && n.hasInfo()) {
+				node.setInfo(n.getInfo(), dateGranularity);
+			}
+			return node;
+		}
+
 		List<OsmTag> tags = new ArrayList<>();
 		for (int j = 0; j < n.getKeysCount(); j++) {
-			tags.add(new Tag(strings[n.getKeys(j)], strings[n.getVals(j)]));
+			tags.add(new Tag(strings.get(n.getKeys(j)),
+					strings.get(n.getVals(j))));
 		}
 
 		OsmMetadata metadata = null;
@@ -170,6 +251,17 @@ public class PrimParser
 
 	public OsmWay convert(Osmformat.Way w)
 	{
+		boolean located = hasLocations(w);
+
+		if (lazy) {
+			LazyWay way = located ? new LazyLocatedWay(strings, w, this)
+					: new LazyWay(strings, w);
+			if (fetchMetadata && w.hasInfo()) {
+				way.setInfo(w.getInfo(), dateGranularity);
+			}
+			return way;
+		}
+
 		long id = w.getId();
 		TLongArrayList nodes = new TLongArrayList();
 
@@ -181,7 +273,8 @@ public class PrimParser
 
 		List<OsmTag> tags = new ArrayList<>();
 		for (int j = 0; j < w.getKeysCount(); j++) {
-			tags.add(new Tag(strings[w.getKeys(j)], strings[w.getVals(j)]));
+			tags.add(new Tag(strings.get(w.getKeys(j)),
+					strings.get(w.getVals(j))));
 		}
 
 		OsmMetadata metadata = null;
@@ -190,24 +283,58 @@ public class PrimParser
 			metadata = convertMetadata(info);
 		}
 
+		if (located) {
+			double[] lons = new double[w.getLonCount()];
+			double[] lats = new double[w.getLatCount()];
+			long lon = 0, lat = 0;
+			for (int j = 0; j < lons.length; j++) {
+				lon += w.getLon(j);
+				lat += w.getLat(j);
+				lons[j] = lon != Integer.MAX_VALUE ? parseLon(lon)
+						: Double.NaN;
+				lats[j] = lat != Integer.MAX_VALUE ? parseLat(lat)
+						: Double.NaN;
+			}
+			return new LocatedWay(id, nodes, lons, lats, tags, metadata);
+		}
+
 		return new Way(id, nodes, tags, metadata);
 	}
 
+	/**
+	 * Check whether the way carries the locations of its nodes (PBF feature
+	 * "LocationsOnWays").
+	 */
+	private static boolean hasLocations(Osmformat.Way w)
+	{
+		int n = w.getRefsCount();
+		return n > 0 && w.getLatCount() == n && w.getLonCount() == n;
+	}
+
 	public OsmRelation convert(Osmformat.Relation r)
 	{
+		if (lazy) {
+			LazyRelation relation = new LazyRelation(strings, r);
+			if (fetchMetadata && r.hasInfo()) {
+				relation.setInfo(r.getInfo(), dateGranularity);
+			}
+			return relation;
+		}
+
 		long id = r.getId();
 		long lastMid = 0;
 
 		List<OsmTag> tags = new ArrayList<>();
 		for (int j = 0; j < r.getKeysCount(); j++) {
-			tags.add(new Tag(strings[r.getKeys(j)], strings[r.getVals(j)]));
+			tags.add(new Tag(strings.get(r.getKeys(j)),
+					strings.get(r.getVals(j))));
 		}
 
 		List<RelationMember> members = new ArrayList<>();
 		for (int j = 0; j < r.getMemidsCount(); j++) {
 			long mid = lastMid + r.getMemids(j);
 			lastMid = mid;
-			String role = strings[r.getRolesSid(j)];
+			String role = strings.get(r.getRolesSid(j));
 			Osmformat.Relation.MemberType type = r.getTypes(j);
 
 			EntityType t = getType(type);
@@ -234,12 +361,17 @@ public class PrimParser
 		}
 
 		Metadata metadata = new Metadata(info.getVersion(), getTimestamp(info),
-				info.getUid(), strings[info.getUserSid()], info.getChangeset(),
-				visible);
+				info.getUid(), strings.get(info.getUserSid()),
+				info.getChangeset(), visible);
 		return metadata;
 	}
 
 	public EntityType getType(Osmformat.Relation.MemberType type)
+	{
+		return entityType(type);
+	}
+
+	static EntityType entityType(Osmformat.Relation.MemberType type)
 	{
 		switch (type) {
 		default:
@@ -284,8 +416,6 @@ public class PrimParser
 				lonf = parseLon(lon);
 			}
 
-			List<OsmTag> tags = new ArrayList<>();
-
 			OsmMetadata metadata = null;
 
 			if (fetchMetadata && nodes.hasDenseinfo()) {
@@ -298,22 +428,23 @@ public class PrimParser
 				if (hasVisible) {
 					visible = denseInfo.getVisible(i);
 				}
-				metadata = new Metadata(version, timestamp * dateGranularity,
-						uid, strings[userSid], changeset, visible);
+				metadata = denseMetadata(version, timestamp, uid, userSid,
+						changeset, visible);
 			}
 
 			// If empty, assume that nothing here has keys or vals.
+			int tagsOffset = j;
+			int numTags = 0;
 			if (nodes.getKeysValsCount() > 0) {
 				while (nodes.getKeysVals(j) != 0) {
-					int keyid = nodes.getKeysVals(j++);
-					int valid = nodes.getKeysVals(j++);
-					tags.add(new Tag(strings[keyid], strings[valid]));
+					j += 2;
+					numTags++;
 				}
 				j++; // Skip over the '0' delimiter.
 			}
 
-			Node node = new Node(id, lonf, latf, tags, metadata);
-			handler.handle(node);
+			handler.handle(denseNode(nodes, id, lonf, latf, tagsOffset,
+					numTags, metadata));
 		}
 	}
 
@@ -350,8 +481,6 @@ public class PrimParser
 				lonf = parseLon(lon);
 			}
 
-			List<OsmTag> tags = new ArrayList<>();
-
 			OsmMetadata metadata = null;
 
 			if (fetchMetadata && nodes.hasDenseinfo()) {
@@ -364,24 +493,57 @@ public class PrimParser
 				if (hasVisible) {
 					visible = denseInfo.getVisible(i);
 				}
-				metadata = new Metadata(version, timestamp * dateGranularity,
-						uid, strings[userSid], changeset, visible);
+				metadata = denseMetadata(version, timestamp, uid, userSid,
+						changeset, visible);
 			}
 
 			// If empty, assume that nothing here has keys or vals.
+			int tagsOffset = j;
+			int numTags = 0;
 			if (nodes.getKeysValsCount() > 0) {
 				while (nodes.getKeysVals(j) != 0) {
-					int keyid = nodes.getKeysVals(j++);
-					int valid = nodes.getKeysVals(j++);
-					tags.add(new Tag(strings[keyid], strings[valid]));
+					j += 2;
+					numTags++;
 				}
 				j++; // Skip over the '0' delimiter.
 			}
 
-			results.add(new Node(id, lonf, latf, tags, metadata));
+			results.add(denseNode(nodes, id, lonf, latf, tagsOffset, numTags,
+					metadata));
 		}
 
 		return results;
 	}
 
+	private OsmMetadata denseMetadata(int version, long timestamp, long uid,
+			int userSid, long changeset, boolean visible)
+	{
+		if (lazy) {
+			return new LazyMetadata(strings, version,
+					timestamp * dateGranularity, uid, userSid, changeset,
+					visible);
+		}
+		return new Metadata(version, timestamp * dateGranularity, uid,
+				strings.get(userSid), changeset, visible);
+	}
+
+	private OsmNode denseNode(Osmformat.DenseNodes nodes, long id, double lon,
+			double lat, int tagsOffset, int numTags, OsmMetadata metadata)
+	{
+		if (lazy) {
+			LazyNode node = new LazyNode(strings, id, lon, lat, nodes,
+					tagsOffset, numTags);
+			node.setMetadata(metadata);
+			return node;
+		}
+
+		List<OsmTag> tags = new ArrayList<>(numTags);
+		for (int i = 0; i < numTags; i++) {
+			int keyid = nodes.getKeysVals(tagsOffset + 2 * i);
+			int valid = nodes.getKeysVals(tagsOffset + 2 * i + 1);
+			tags.add(new Tag(strings.get(keyid), strings.get(valid)));
+		}
+		return new Node(id, lon, lat, tags, metadata);
+	}
+
 }
@@ -0,0 +1,55 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.core.model.iface.OsmTag;
+import de.topobyte.osm4j.core.model.impl.Tag;
+
+/**
+ * An entity whose tags are stored as indices into the string table of a
+ * primitive block. Keys and values are looked up on demand; use
+ * {@link #getKey(int)} and {@link #getValue(int)} to access tags without
+ * allocating {@link OsmTag} instances.
+ */
+public interface StringTableEntity extends OsmEntity
+{
+
+	public LazyStringTable getStringTable();
+
+	public int getKeySid(int n);
+
+	public int getValueSid(int n);
+
+	public default String getKey(int n)
+	{
+		return getStringTable().get(getKeySid(n));
+	}
+
+	public default String getValue(int n)
+	{
+		return getStringTable().get(getValueSid(n));
+	}
+
+	@Override
+	public default OsmTag getTag(int n)
+	{
+		return new Tag(getKey(n), getValue(n));
+	}
+
+}
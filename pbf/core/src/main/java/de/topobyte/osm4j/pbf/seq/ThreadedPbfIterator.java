@@ -0,0 +1,168 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import de.topobyte.osm4j.core.access.OsmIterator;
+import de.topobyte.osm4j.core.model.iface.EntityContainer;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.util.ThreadedBlockReader;
+
+/**
+ * An iterator over PBF data that decodes blocks in parallel using a
+ * {@link ThreadedBlockReader}. Entities are returned in the same order as with
+ * {@link PbfIterator}.
+ * 
+ * If iteration is stopped before the end of the input has been reached,
+ * {@link #close()} should be called to stop the reader and decoder threads.
+ * Closing the iterator also closes the underlying input stream.
+ */
+public class ThreadedPbfIterator implements OsmIterator, Closeable
+{
+
+	private InputStream input;
+	private ThreadedBlockReader<PbfBlob, EntityBlock> reader;
+
+	private OsmBounds bounds = null;
+	private boolean beyondBounds = false;
+
+	private EntityBlock block = null;
+	private int nodeIndex = 0;
+	private int wayIndex = 0;
+	private int relationIndex = 0;
+
+	private int available = 0;
+	private boolean finished = false;
+
+	public ThreadedPbfIterator(InputStream input, boolean fetchMetadata,
+			int numThreads)
+	{
+		this.input = input;
+		reader = new ThreadedBlockReader<>(new PbfBlobReader(input),
+				new BlockDecoder(fetchMetadata), numThreads, "pbf");
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		while (!finished && available == 0) {
+			advanceBlock();
+		}
+		return available > 0;
+	}
+
+	@Override
+	public EntityContainer next()
+	{
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		available--;
+		if (nodeIndex < block.getNodes().size()) {
+			return new EntityContainer(EntityType.Node,
+					block.getNodes().get(nodeIndex++));
+		} else if (wayIndex < block.getWays().size()) {
+			return new EntityContainer(EntityType.Way,
+					block.getWays().get(wayIndex++));
+		} else {
+			return new EntityContainer(EntityType.Relation,
+					block.getRelations().get(relationIndex++));
+		}
+	}
+
+	@Override
+	public void remove()
+	{
+		throw new UnsupportedOperationException("read only");
+	}
+
+	private void advanceBlock()
+	{
+		EntityBlock next;
+		try {
+			next = reader.next();
+		} catch (IOException e) {
+			throw new RuntimeException("error while reading block", e);
+		}
+
+		if (next == null) {
+			finished = true;
+			beyondBounds = true;
+			return;
+		}
+
+		if (next.isHeader()) {
+			if (!beyondBounds) {
+				bounds = next.getBounds();
+			}
+			beyondBounds = true;
+			return;
+		}
+
+		beyondBounds = true;
+		block = next;
+		nodeIndex = 0;
+		wayIndex = 0;
+		relationIndex = 0;
+		available = block.getNodes().size() + block.getWays().size()
+				+ block.getRelations().size();
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		finished = true;
+		available = 0;
+		reader.stop();
+		input.close();
+	}
+
+	@Override
+	public Iterator<EntityContainer> iterator()
+	{
+		return this;
+	}
+
+	@Override
+	public boolean hasBounds()
+	{
+		ensureBeyondBounds();
+		return bounds != null;
+	}
+
+	@Override
+	public OsmBounds getBounds()
+	{
+		ensureBeyondBounds();
+		return bounds;
+	}
+
+	private void ensureBeyondBounds()
+	{
+		while (!beyondBounds) {
+			advanceBlock();
+		}
+	}
+
+}
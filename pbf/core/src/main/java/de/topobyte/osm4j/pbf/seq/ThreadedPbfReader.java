@@ -0,0 +1,135 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.seq;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import de.topobyte.osm4j.core.access.OsmHandler;
+import de.topobyte.osm4j.core.access.OsmInputException;
+import de.topobyte.osm4j.core.access.OsmReader;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.core.util.ThreadedBlockReader;
+
+/**
+ * A reader for PBF data that decodes blocks in parallel using a
+ * {@link ThreadedBlockReader}. The handler is always invoked from the thread
+ * that calls {@link #read()} and receives the entities in file order.
+ */
+public class ThreadedPbfReader implements OsmReader
+{
+
+	private OsmHandler handler;
+
+	private boolean parseMetadata;
+	private InputStream input;
+	private int numThreads;
+	private boolean lazyDecoding = false;
+
+	public ThreadedPbfReader(InputStream input, boolean parseMetadata,
+			int numThreads)
+	{
+		this.input = input;
+		this.parseMetadata = parseMetadata;
+		this.numThreads = numThreads;
+	}
+
+	public ThreadedPbfReader(File file, boolean parseMetadata, int numThreads)
+			throws FileNotFoundException
+	{
+		InputStream fis = new FileInputStream(file);
+		input = new BufferedInputStream(fis);
+		this.parseMetadata = parseMetadata;
+		this.numThreads = numThreads;
+	}
+
+	public ThreadedPbfReader(String pathname, boolean parseMetadata,
+			int numThreads) throws FileNotFoundException
+	{
+		this(new File(pathname), parseMetadata, numThreads);
+	}
+
+	public boolean isLazyDecoding()
+	{
+		return lazyDecoding;
+	}
+
+	/**
+	 * Create {@link LazyEntity} instances that decode tags and metadata only
+	 * when they are requested.
+	 */
+	public void setLazyDecoding(boolean lazyDecoding)
+	{
+		this.lazyDecoding = lazyDecoding;
+	}
+
+	@Override
+	public void setHandler(OsmHandler handler)
+	{
+		this.handler = handler;
+	}
+
+	@Override
+	public void read() throws OsmInputException
+	{
+		ThreadedBlockReader<PbfBlob, EntityBlock> reader;
+		reader = new ThreadedBlockReader<>(new PbfBlobReader(input),
+				new BlockDecoder(parseMetadata, lazyDecoding), numThreads,
+				"pbf");
+		try {
+			EntityBlock block;
+			while ((block = reader.next()) != null) {
+				handle(block);
+			}
+		} catch (IOException e) {
+			throw new OsmInputException("error while parsing data", e);
+		} finally {
+			reader.stop();
+		}
+
+		try {
+			handler.complete();
+		} catch (IOException e) {
+			throw new OsmInputException("error while completing handler", e);
+		}
+	}
+
+	private void handle(EntityBlock block) throws IOException
+	{
+		if (block.isHeader()) {
+			handler.handle(block.getBounds());
+			return;
+		}
+		for (OsmNode node : block.getNodes()) {
+			handler.handle(node);
+		}
+		for (OsmWay way : block.getWays()) {
+			handler.handle(way);
+		}
+		for (OsmRelation relation : block.getRelations()) {
+			handler.handle(relation);
+		}
+	}
+
+}
@@ -17,15 +17,25 @@
 
 package de.topobyte.osm4j.pbf.util;
 
+import java.io.ByteArrayInputStream;
 import java.io.DataInput;
+import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.zip.DataFormatException;
 import java.util.zip.Inflater;
 
 import net.jpountz.lz4.LZ4Factory;
 import net.jpountz.lz4.LZ4FastDecompressor;
 
+import org.tukaani.xz.LZMAInputStream;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdException;
+
 import com.google.protobuf.ByteString;
 
 import de.topobyte.osm4j.core.model.iface.OsmBounds;
@@ -41,6 +51,14 @@ public class PbfUtil
 
 	public static Osmformat.HeaderBlock createHeader(String writingProgram,
 			boolean requiresDense, OsmBounds bound)
+	{
+		return createHeader(writingProgram, requiresDense, bound,
+				Collections.<String> emptyList());
+	}
+
+	public static Osmformat.HeaderBlock createHeader(String writingProgram,
+			boolean requiresDense, OsmBounds bound,
+			Collection<String> optionalFeatures)
 	{
 		Osmformat.HeaderBlock.Builder headerblock = Osmformat.HeaderBlock
 				.newBuilder();
@@ -60,6 +78,7 @@ public class PbfUtil
 		if (requiresDense) {
 			headerblock.addRequiredFeatures(Constants.FEATURE_DENSE_NODES);
 		}
+		headerblock.addAllOptionalFeatures(optionalFeatures);
 		return headerblock.build();
 	}
 
@@ -106,9 +125,40 @@ public class PbfUtil
 		return blob;
 	}
 
+	public static BlobHeader parseHeader(ByteBuffer buffer) throws IOException
+	{
+		Fileformat.BlobHeader header = Fileformat.BlobHeader.parseFrom(buffer);
+		return new BlobHeader(header.getType(), header.getDatasize(),
+				header.getIndexdata());
+	}
+
+	public static Fileformat.Blob parseBlock(ByteBuffer buffer)
+			throws IOException
+	{
+		return Fileformat.Blob.parseFrom(buffer);
+	}
+
+	/**
+	 * Skip over the data of a block without reading it.
+	 */
+	public static void skipBlock(DataInput data, int lengthData)
+			throws IOException
+	{
+		int remaining = lengthData;
+		while (remaining > 0) {
+			int skipped = data.skipBytes(remaining);
+			if (skipped == 0) {
+				// skipBytes() does not tell us about the end of the stream
+				data.readByte();
+				skipped = 1;
+			}
+			remaining -= skipped;
+		}
+	}
+
 	private static LZ4FastDecompressor lz4Decompressor = null;
 
-	private static void initLz4()
+	private static synchronized void initLz4()
 	{
 		if (lz4Decompressor == null) {
 			LZ4Factory factory = LZ4Factory.fastestInstance();
@@ -147,6 +197,28 @@ public class PbfUtil
 			lz4Decompressor.decompress(blob.getLz4Data().toByteArray(), 0,
 					uncompressed, 0, blob.getRawSize());
 
+			blobData = ByteString.copyFrom(uncompressed);
+		} else if (blob.hasZstdData()) {
+			compression = Compression.ZSTD;
+			byte uncompressed[];
+			try {
+				uncompressed = Zstd.decompress(blob.getZstdData().toByteArray(),
+						blob.getRawSize());
+			} catch (ZstdException e) {
+				throw new IOException("Error while decompressing zstd data",
+						e);
+			}
+
+			blobData = ByteString.copyFrom(uncompressed);
+		} else if (blob.hasLzmaData()) {
+			compression = Compression.LZMA;
+			byte uncompressed[] = new byte[blob.getRawSize()];
+
+			LZMAInputStream input = new LZMAInputStream(
+					new ByteArrayInputStream(blob.getLzmaData().toByteArray()));
+			new DataInputStream(input).readFully(uncompressed);
+			input.close();
+
 			blobData = ByteString.copyFrom(uncompressed);
 		} else {
 			throw new IOException("Encountered block without data");
@@ -0,0 +1,151 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.access.OsmBatch;
+import de.topobyte.osm4j.core.access.OsmBatchIterator;
+import de.topobyte.osm4j.core.access.OsmInputException;
+import de.topobyte.osm4j.core.access.wrapper.OsmBatchIteratorAdapter;
+import de.topobyte.osm4j.core.access.wrapper.OsmIteratorBatchAdapter;
+import de.topobyte.osm4j.core.access.wrapper.OsmReaderBatchAdapter;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.pbf.seq.PbfBatchIterator;
+import de.topobyte.osm4j.pbf.seq.PbfIterator;
+import de.topobyte.osm4j.pbf.seq.PbfReader;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.TestDataSet;
+import de.topobyte.osm4j.testing.TestDataSetIterator;
+
+public class TestBatchRead
+{
+
+	private static File file;
+	private static TestDataSet expected;
+
+	@BeforeClass
+	public static void setup() throws IOException
+	{
+		// Use small blocks so that the data is spread over many batches
+		file = Util.writeSmallBlocks("data-with-metadata.pbf", 50);
+
+		InputStream input = new FileInputStream(file);
+		expected = DataSetHelper.read(new PbfIterator(input, true));
+		input.close();
+	}
+
+	@AfterClass
+	public static void cleanup()
+	{
+		file.delete();
+	}
+
+	@Test
+	public void testIterator() throws IOException
+	{
+		InputStream input = new FileInputStream(file);
+		PbfBatchIterator iterator = new PbfBatchIterator(input, true);
+		List<OsmBatch> batches = new ArrayList<>();
+		for (OsmBatch batch : iterator) {
+			batches.add(batch);
+		}
+		input.close();
+
+		Assert.assertTrue(batches.size() > 3);
+		for (OsmBatch batch : batches) {
+			Assert.assertTrue(batch.size() > 0);
+			Assert.assertTrue(batch.size() <= 50);
+		}
+
+		input = new FileInputStream(file);
+		TestDataSet data = DataSetHelper.read(new OsmIteratorBatchAdapter(
+				new PbfBatchIterator(input, true)));
+		input.close();
+
+		Assert.assertNotNull(data.getBounds());
+		Assert.assertTrue("Comparison with entity iterator",
+				DataSetHelper.equals(expected, data));
+	}
+
+	@Test
+	public void testReader() throws IOException, OsmInputException
+	{
+		InputStream input = new FileInputStream(file);
+		PbfReader reader = new PbfReader(input, true);
+		TestDataSet data = DataSetHelper
+				.read(new OsmReaderBatchAdapter(reader));
+		input.close();
+
+		Assert.assertNotNull(data.getBounds());
+		Assert.assertTrue("Comparison with entity iterator",
+				DataSetHelper.equals(expected, data));
+	}
+
+	@Test
+	public void testIteratorAdapter()
+	{
+		OsmBatchIterator iterator = new OsmBatchIteratorAdapter(
+				new TestDataSetIterator(expected), 7);
+
+		int nodes = 0;
+		int ways = 0;
+		int relations = 0;
+		EntityType last = null;
+		while (iterator.hasNext()) {
+			OsmBatch batch = iterator.next();
+			Assert.assertTrue(batch.size() > 0);
+			Assert.assertTrue(batch.size() <= 7);
+			if (last != null) {
+				Assert.assertTrue(last.ordinal() <= batch.getType().ordinal());
+			}
+			last = batch.getType();
+			switch (batch.getType()) {
+			case Node:
+				nodes += batch.getNodes().size();
+				break;
+			case Way:
+				ways += batch.getWays().size();
+				break;
+			case Relation:
+				relations += batch.getRelations().size();
+				break;
+			}
+		}
+
+		Assert.assertEquals(expected.getNodes().size(), nodes);
+		Assert.assertEquals(expected.getWays().size(), ways);
+		Assert.assertEquals(expected.getRelations().size(), relations);
+
+		TestDataSet data = DataSetHelper.read(new OsmIteratorBatchAdapter(
+				new OsmBatchIteratorAdapter(new TestDataSetIterator(expected),
+						7)));
+		Assert.assertTrue(DataSetHelper.equals(expected, data));
+	}
+
+}
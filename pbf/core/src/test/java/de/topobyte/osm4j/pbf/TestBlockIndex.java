@@ -0,0 +1,266 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+import de.topobyte.osm4j.pbf.raf.BlockContent;
+import de.topobyte.osm4j.pbf.raf.BlockIndex;
+import de.topobyte.osm4j.pbf.raf.BlockIndexBuilder;
+import de.topobyte.osm4j.pbf.raf.BlockIndexFile;
+import de.topobyte.osm4j.pbf.raf.BlockInfo;
+import de.topobyte.osm4j.pbf.raf.IndexedPbfFile;
+import de.topobyte.osm4j.pbf.raf.MappedPbfFile;
+import de.topobyte.osm4j.pbf.raf.PbfFile;
+import de.topobyte.osm4j.pbf.seq.PbfWriter;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.TestDataSet;
+
+public class TestBlockIndex
+{
+
+	private static TestDataSet data;
+	private static File file;
+	private static BlockIndex written;
+
+	@BeforeClass
+	public static void setup() throws IOException
+	{
+		data = DataSetHelper
+				.read(Util.iterator("data-with-metadata.pbf", true));
+
+		file = File.createTempFile("osm4j-test", ".pbf");
+		OutputStream output = new FileOutputStream(file);
+		PbfWriter writer = new PbfWriter(output, true);
+		writer.setBatchLimit(50);
+		writer.setBuildIndex(true);
+		writer.write(data.getBounds());
+		DataSetHelper.write(data, writer);
+		writer.complete();
+		output.close();
+
+		written = writer.getBlockIndex();
+	}
+
+	@AfterClass
+	public static void cleanup()
+	{
+		file.delete();
+	}
+
+	@Test
+	public void testWriterMatchesScan() throws IOException
+	{
+		BlockIndex scanned = BlockIndexBuilder.scan(new PbfFile(file));
+		assertEquals(scanned, written);
+	}
+
+	@Test
+	public void testMissingCoordinates() throws IOException
+	{
+		String resource = "data-with-missing-coordinates.pbf";
+		TestDataSet data = DataSetHelper.read(Util.iterator(resource, false));
+
+		File file = File.createTempFile("osm4j-test", ".pbf");
+		try (InputStream input = Thread.currentThread()
+				.getContextClassLoader().getResourceAsStream(resource)) {
+			Files.copy(input, file.toPath(),
+					StandardCopyOption.REPLACE_EXISTING);
+		}
+		BlockIndex index = BlockIndexBuilder.scan(new PbfFile(file));
+		file.delete();
+
+		double minLon = Double.POSITIVE_INFINITY;
+		double maxLon = Double.NEGATIVE_INFINITY;
+		double minLat = Double.POSITIVE_INFINITY;
+		double maxLat = Double.NEGATIVE_INFINITY;
+		for (OsmNode node : data.getNodes()) {
+			if (Double.isNaN(node.getLongitude())
+					|| Double.isNaN(node.getLatitude())) {
+				continue;
+			}
+			minLon = Math.min(minLon, node.getLongitude());
+			maxLon = Math.max(maxLon, node.getLongitude());
+			minLat = Math.min(minLat, node.getLatitude());
+			maxLat = Math.max(maxLat, node.getLatitude());
+		}
+
+		int numNodes = 0;
+		for (BlockContent content : index.getContents(EntityType.Node)) {
+			numNodes += content.getCount();
+			Assert.assertTrue(content.hasBBox());
+			Assert.assertTrue(content.getMinLon() >= minLon - 1e-7);
+			Assert.assertTrue(content.getMaxLon() <= maxLon + 1e-7);
+			Assert.assertTrue(content.getMinLat() >= minLat - 1e-7);
+			Assert.assertTrue(content.getMaxLat() <= maxLat + 1e-7);
+		}
+		Assert.assertEquals(data.getNodes().size(), numNodes);
+	}
+
+	@Test
+	public void testStoreAndLoad() throws IOException
+	{
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		BlockIndexFile.write(written, baos);
+		BlockIndex index = BlockIndexFile
+				.read(new ByteArrayInputStream(baos.toByteArray()));
+		assertEquals(written, index);
+	}
+
+	@Test
+	public void testFindBlocks() throws IOException
+	{
+		PbfFile pbfFile = new PbfFile(file);
+		pbfFile.loadBlockIndex(written);
+		findBlocks(pbfFile);
+
+		MappedPbfFile mapped = new MappedPbfFile(file);
+		mapped.loadBlockIndex(written);
+		findBlocks(mapped);
+		mapped.close();
+	}
+
+	private void findBlocks(IndexedPbfFile pbfFile) throws IOException
+	{
+		Assert.assertTrue(pbfFile.isBlockIndexInitialized());
+		Assert.assertNotNull(pbfFile.getHeaderBlock());
+
+		for (OsmNode node : data.getNodes()) {
+			check(pbfFile, EntityType.Node, node);
+		}
+		for (OsmWay way : data.getWays()) {
+			check(pbfFile, EntityType.Way, way);
+		}
+		for (OsmRelation relation : data.getRelations()) {
+			check(pbfFile, EntityType.Relation, relation);
+		}
+
+		Assert.assertEquals(-1,
+				pbfFile.findBlockContaining(EntityType.Way, Long.MAX_VALUE));
+	}
+
+	private void check(IndexedPbfFile pbfFile, EntityType type,
+			OsmEntity entity) throws IOException
+	{
+		int index = pbfFile.findBlockContaining(type, entity.getId());
+		Assert.assertTrue(index >= 0);
+		Osmformat.PrimitiveBlock block = pbfFile.getDataBlock(index);
+		Assert.assertTrue(contains(block, type, entity.getId()));
+	}
+
+	private boolean contains(Osmformat.PrimitiveBlock block, EntityType type,
+			long id)
+	{
+		for (Osmformat.PrimitiveGroup group : block.getPrimitivegroupList()) {
+			switch (type) {
+			case Node:
+				long current = 0;
+				for (long delta : group.getDense().getIdList()) {
+					current += delta;
+					if (current == id) {
+						return true;
+					}
+				}
+				for (Osmformat.Node node : group.getNodesList()) {
+					if (node.getId() == id) {
+						return true;
+					}
+				}
+				break;
+			case Way:
+				for (Osmformat.Way way : group.getWaysList()) {
+					if (way.getId() == id) {
+						return true;
+					}
+				}
+				break;
+			case Relation:
+				for (Osmformat.Relation relation : group.getRelationsList()) {
+					if (relation.getId() == id) {
+						return true;
+					}
+				}
+				break;
+			}
+		}
+		return false;
+	}
+
+	private void assertEquals(BlockIndex expected, BlockIndex actual)
+	{
+		Assert.assertEquals(expected.getFileSize(), actual.getFileSize());
+		assertEquals(expected.getHeaderBlockInfo(),
+				actual.getHeaderBlockInfo());
+
+		List<BlockInfo> infos1 = expected.getDataBlockInfos();
+		List<BlockInfo> infos2 = actual.getDataBlockInfos();
+		Assert.assertEquals(infos1.size(), infos2.size());
+		for (int i = 0; i < infos1.size(); i++) {
+			assertEquals(infos1.get(i), infos2.get(i));
+		}
+
+		for (EntityType type : EntityType.values()) {
+			List<BlockContent> contents1 = expected.getContents(type);
+			List<BlockContent> contents2 = actual.getContents(type);
+			Assert.assertEquals(contents1.size(), contents2.size());
+			for (int i = 0; i < contents1.size(); i++) {
+				BlockContent c1 = contents1.get(i);
+				BlockContent c2 = contents2.get(i);
+				Assert.assertEquals(c1.getBlock(), c2.getBlock());
+				Assert.assertEquals(c1.getType(), c2.getType());
+				Assert.assertEquals(c1.getCount(), c2.getCount());
+				Assert.assertEquals(c1.getMinId(), c2.getMinId());
+				Assert.assertEquals(c1.getMaxId(), c2.getMaxId());
+				Assert.assertEquals(c1.hasBBox(), c2.hasBBox());
+				Assert.assertEquals(c1.getMinLon(), c2.getMinLon(), 0);
+				Assert.assertEquals(c1.getMaxLon(), c2.getMaxLon(), 0);
+				Assert.assertEquals(c1.getMinLat(), c2.getMinLat(), 0);
+				Assert.assertEquals(c1.getMaxLat(), c2.getMaxLat(), 0);
+			}
+		}
+	}
+
+	private void assertEquals(BlockInfo expected, BlockInfo actual)
+	{
+		Assert.assertEquals(expected.getPosition(), actual.getPosition());
+		Assert.assertEquals(expected.getLengthHeader(),
+				actual.getLengthHeader());
+		Assert.assertEquals(expected.getLengthData(), actual.getLengthData());
+	}
+
+}
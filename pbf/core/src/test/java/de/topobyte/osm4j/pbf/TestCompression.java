@@ -0,0 +1,88 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.topobyte.osm4j.pbf.seq.PbfIterator;
+import de.topobyte.osm4j.pbf.seq.PbfWriter;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.TestDataSet;
+
+public class TestCompression
+{
+
+	private static TestDataSet data;
+
+	@BeforeClass
+	public static void setup() throws IOException
+	{
+		data = DataSetHelper
+				.read(Util.iterator("data-with-metadata.pbf", true));
+	}
+
+	@Test
+	public void testAll() throws IOException
+	{
+		for (Compression compression : Compression.values()) {
+			PbfWriter writer = writer(compression);
+			roundtrip(compression, writer);
+		}
+	}
+
+	@Test
+	public void testZstdLevels() throws IOException
+	{
+		for (int level : new int[] { -1, 1, 19 }) {
+			PbfWriter writer = writer(Compression.ZSTD);
+			writer.setZstdLevel(level);
+			roundtrip(Compression.ZSTD, writer);
+		}
+	}
+
+	private ByteArrayOutputStream output;
+
+	private PbfWriter writer(Compression compression)
+	{
+		output = new ByteArrayOutputStream();
+		PbfWriter writer = new PbfWriter(output, true);
+		writer.setCompression(compression);
+		writer.setBatchLimit(100);
+		return writer;
+	}
+
+	private void roundtrip(Compression compression, PbfWriter writer)
+			throws IOException
+	{
+		writer.write(data.getBounds());
+		DataSetHelper.write(data, writer);
+		writer.complete();
+
+		TestDataSet read = DataSetHelper.read(new PbfIterator(
+				new ByteArrayInputStream(output.toByteArray()), true));
+		Assert.assertTrue("Round trip with " + compression,
+				DataSetHelper.equals(data, read));
+	}
+
+}
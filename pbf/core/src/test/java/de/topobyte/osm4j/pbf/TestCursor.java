@@ -0,0 +1,89 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.access.OsmIterator;
+import de.topobyte.osm4j.pbf.seq.PbfCursor;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.EntityHelper;
+import de.topobyte.osm4j.testing.TestDataSet;
+
+public class TestCursor
+{
+
+	@Test
+	public void testWithMetadata() throws IOException
+	{
+		compare("data-with-metadata.pbf", true);
+		compare("data-with-metadata.pbf", false);
+	}
+
+	@Test
+	public void testWithoutMetadata() throws IOException
+	{
+		compare("data-without-metadata.pbf", true);
+		compare("data-without-metadata.pbf", false);
+	}
+
+	@Test
+	public void testMissingCoordinates() throws IOException
+	{
+		compare("data-with-missing-coordinates.pbf", true);
+	}
+
+	private void compare(String resource, boolean fetchMetadata)
+			throws IOException
+	{
+		OsmIterator iterator = Util.iterator(resource, fetchMetadata);
+		TestDataSet expected = DataSetHelper.read(iterator);
+
+		InputStream input = Thread.currentThread().getContextClassLoader()
+				.getResourceAsStream(resource);
+		PbfCursor cursor = new PbfCursor(input, fetchMetadata);
+
+		TestDataSet data = new TestDataSet();
+		if (cursor.hasBounds()) {
+			data.setBounds(EntityHelper.clone(cursor.getBounds()));
+		}
+		while (cursor.next()) {
+			switch (cursor.getType()) {
+			case Node:
+				data.getNodes().add(EntityHelper.clone(cursor.getNode()));
+				break;
+			case Way:
+				data.getWays().add(EntityHelper.clone(cursor.getWay()));
+				break;
+			case Relation:
+				data.getRelations()
+						.add(EntityHelper.clone(cursor.getRelation()));
+				break;
+			}
+		}
+		input.close();
+
+		Assert.assertTrue("Comparison with iterator",
+				DataSetHelper.equals(expected, data));
+	}
+
+}
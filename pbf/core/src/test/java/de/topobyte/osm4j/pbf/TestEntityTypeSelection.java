@@ -0,0 +1,224 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.access.OsmInputException;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+import de.topobyte.osm4j.pbf.raf.FileStructure;
+import de.topobyte.osm4j.pbf.raf.FileStructureAnalyzer;
+import de.topobyte.osm4j.pbf.raf.PbfFile;
+import de.topobyte.osm4j.pbf.seq.EntityTypeSelection;
+import de.topobyte.osm4j.pbf.seq.PbfIterator;
+import de.topobyte.osm4j.pbf.seq.PbfReader;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.TestDataSet;
+
+public class TestEntityTypeSelection
+{
+
+	private static File file;
+	private static TestDataSet all;
+	private static FileStructure structure;
+
+	@BeforeClass
+	public static void setup() throws IOException
+	{
+		file = Util.writeSmallBlocks("data-with-metadata.pbf", 50);
+
+		InputStream input = new FileInputStream(file);
+		all = DataSetHelper.read(new PbfIterator(input, true));
+		input.close();
+
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		structure = FileStructureAnalyzer.analyze(new PbfFile(raf));
+		raf.close();
+	}
+
+	@AfterClass
+	public static void cleanup()
+	{
+		file.delete();
+	}
+
+	private static List<Set<EntityType>> selections()
+	{
+		List<Set<EntityType>> selections = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			Set<EntityType> types = EnumSet.noneOf(EntityType.class);
+			for (EntityType type : EntityType.values()) {
+				if ((i & (1 << type.ordinal())) != 0) {
+					types.add(type);
+				}
+			}
+			selections.add(types);
+		}
+		return selections;
+	}
+
+	private static TestDataSet expected(Set<EntityType> types)
+	{
+		TestDataSet data = new TestDataSet();
+		data.setBounds(all.getBounds());
+		if (types.contains(EntityType.Node)) {
+			data.setNodes(all.getNodes());
+		}
+		if (types.contains(EntityType.Way)) {
+			data.setWays(all.getWays());
+		}
+		if (types.contains(EntityType.Relation)) {
+			data.setRelations(all.getRelations());
+		}
+		return data;
+	}
+
+	@Test
+	public void testIterator() throws IOException
+	{
+		for (Set<EntityType> types : selections()) {
+			InputStream input = new FileInputStream(file);
+			TestDataSet data = DataSetHelper
+					.read(new PbfIterator(input, true, types));
+			input.close();
+
+			Assert.assertTrue("selection " + types,
+					DataSetHelper.equals(expected(types), data));
+		}
+	}
+
+	@Test
+	public void testIteratorWithStructure() throws IOException
+	{
+		for (Set<EntityType> types : selections()) {
+			InputStream input = new FileInputStream(file);
+			TestDataSet data = DataSetHelper
+					.read(new PbfIterator(input, true, types, structure));
+			input.close();
+
+			Assert.assertTrue("selection " + types,
+					DataSetHelper.equals(expected(types), data));
+		}
+	}
+
+	@Test
+	public void testReader() throws IOException, OsmInputException
+	{
+		for (Set<EntityType> types : selections()) {
+			InputStream input = new FileInputStream(file);
+			TestDataSet data = DataSetHelper
+					.read(new PbfReader(input, true, types));
+			input.close();
+
+			Assert.assertTrue("selection " + types,
+					DataSetHelper.equals(expected(types), data));
+		}
+	}
+
+	@Test
+	public void testReaderWithStructure()
+			throws IOException, OsmInputException
+	{
+		for (Set<EntityType> types : selections()) {
+			TestDataSet data = DataSetHelper
+					.read(new PbfReader(file, true, types));
+
+			Assert.assertTrue("selection " + types,
+					DataSetHelper.equals(expected(types), data));
+		}
+	}
+
+	@Test
+	public void testSkipBlocks()
+	{
+		EntityTypeSelection selection = new EntityTypeSelection(
+				EnumSet.of(EntityType.Way), structure);
+
+		int n = structure.getBlocks(EntityType.Way).getStart();
+		for (int i = 0; i < n; i++) {
+			Assert.assertFalse(selection.nextBlock());
+		}
+		int m = structure.getBlocks(EntityType.Way).getEnd();
+		for (int i = n; i <= m; i++) {
+			Assert.assertTrue(selection.nextBlock());
+		}
+		Assert.assertFalse(selection.isDone());
+		Assert.assertFalse(selection.nextBlock());
+		Assert.assertTrue(selection.isDone());
+	}
+
+	@Test
+	public void testSortedHeader()
+	{
+		Osmformat.PrimitiveBlock nodes = block(EntityType.Node);
+		Osmformat.PrimitiveBlock ways = block(EntityType.Way);
+
+		Osmformat.HeaderBlock unsorted = Osmformat.HeaderBlock.newBuilder()
+				.build();
+		EntityTypeSelection selection = new EntityTypeSelection(
+				EnumSet.of(EntityType.Node));
+		selection.header(unsorted);
+		Assert.assertTrue(selection.nextBlock());
+		selection.decoded(nodes);
+		Assert.assertTrue(selection.nextBlock());
+		selection.decoded(ways);
+		Assert.assertFalse(selection.isDone());
+
+		Osmformat.HeaderBlock sorted = Osmformat.HeaderBlock.newBuilder()
+				.addOptionalFeatures(Constants.FEATURE_SORT_TYPE_THEN_ID)
+				.build();
+		selection = new EntityTypeSelection(EnumSet.of(EntityType.Node));
+		selection.header(sorted);
+		Assert.assertTrue(selection.nextBlock());
+		selection.decoded(nodes);
+		Assert.assertFalse(selection.isDone());
+		Assert.assertTrue(selection.nextBlock());
+		selection.decoded(ways);
+		Assert.assertTrue(selection.isDone());
+	}
+
+	private static Osmformat.PrimitiveBlock block(EntityType type)
+	{
+		Osmformat.PrimitiveGroup.Builder group = Osmformat.PrimitiveGroup
+				.newBuilder();
+		if (type == EntityType.Node) {
+			group.addNodes(Osmformat.Node.newBuilder().setId(1).setLat(0)
+					.setLon(0));
+		} else {
+			group.addWays(Osmformat.Way.newBuilder().setId(1));
+		}
+		return Osmformat.PrimitiveBlock.newBuilder()
+				.setStringtable(Osmformat.StringTable.newBuilder())
+				.addPrimitivegroup(group).build();
+	}
+
+}
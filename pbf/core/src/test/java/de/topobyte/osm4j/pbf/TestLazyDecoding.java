@@ -0,0 +1,134 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.access.OsmInputException;
+import de.topobyte.osm4j.core.model.iface.EntityContainer;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.pbf.seq.LazyEntity;
+import de.topobyte.osm4j.pbf.seq.PbfIterator;
+import de.topobyte.osm4j.pbf.seq.PbfReader;
+import de.topobyte.osm4j.pbf.seq.ThreadedPbfReader;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.TestDataSet;
+
+public class TestLazyDecoding
+{
+
+	private static InputStream open(String resource)
+	{
+		return Thread.currentThread().getContextClassLoader()
+				.getResourceAsStream(resource);
+	}
+
+	private void testIterator(String resource, boolean fetchMetadata)
+			throws IOException
+	{
+		InputStream input = open(resource);
+		TestDataSet expected = DataSetHelper
+				.read(new PbfIterator(input, fetchMetadata));
+		input.close();
+
+		input = open(resource);
+		PbfIterator iterator = new PbfIterator(input, fetchMetadata);
+		iterator.setLazyDecoding(true);
+		TestDataSet data = DataSetHelper.read(iterator);
+		input.close();
+
+		Assert.assertTrue(DataSetHelper.equals(expected, data));
+	}
+
+	private void testReader(String resource, boolean fetchMetadata)
+			throws IOException, OsmInputException
+	{
+		InputStream input = open(resource);
+		TestDataSet expected = DataSetHelper
+				.read(new PbfReader(input, fetchMetadata));
+		input.close();
+
+		input = open(resource);
+		PbfReader reader = new PbfReader(input, fetchMetadata);
+		reader.setLazyDecoding(true);
+		TestDataSet data = DataSetHelper.read(reader);
+		input.close();
+
+		Assert.assertTrue(DataSetHelper.equals(expected, data));
+
+		input = open(resource);
+		ThreadedPbfReader threadedReader = new ThreadedPbfReader(input,
+				fetchMetadata, 4);
+		threadedReader.setLazyDecoding(true);
+		data = DataSetHelper.read(threadedReader);
+		input.close();
+
+		Assert.assertTrue(DataSetHelper.equals(expected, data));
+	}
+
+	@Test
+	public void testIterator() throws IOException
+	{
+		testIterator("data-with-metadata.pbf", true);
+		testIterator("data-with-metadata.pbf", false);
+		testIterator("data-without-metadata.pbf", true);
+		testIterator("data-without-metadata.pbf", false);
+	}
+
+	@Test
+	public void testReader() throws IOException, OsmInputException
+	{
+		testReader("data-with-metadata.pbf", true);
+		testReader("data-with-metadata.pbf", false);
+		testReader("data-without-metadata.pbf", true);
+		testReader("data-without-metadata.pbf", false);
+	}
+
+	@Test
+	public void testTagAccess() throws IOException
+	{
+		InputStream input = open("data-with-metadata.pbf");
+		PbfIterator iterator = new PbfIterator(input, true);
+		iterator.setLazyDecoding(true);
+
+		LazyEntity first = null;
+		for (EntityContainer container : iterator) {
+			OsmEntity entity = container.getEntity();
+			Assert.assertTrue(entity instanceof LazyEntity);
+			LazyEntity lazy = (LazyEntity) entity;
+			if (first == null && lazy.getNumberOfTags() > 0) {
+				first = lazy;
+			}
+			for (int i = 0; i < lazy.getNumberOfTags(); i++) {
+				Assert.assertEquals(lazy.getTag(i).getKey(), lazy.getKey(i));
+				Assert.assertEquals(lazy.getTag(i).getValue(),
+						lazy.getValue(i));
+			}
+		}
+		input.close();
+
+		Assert.assertNotNull(first);
+		int sid = first.getKeySid(0);
+		Assert.assertSame(first.getStringTable().get(sid), first.getKey(0));
+	}
+
+}
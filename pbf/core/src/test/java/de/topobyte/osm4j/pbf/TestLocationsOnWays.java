@@ -0,0 +1,209 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+import com.slimjars.dist.gnu.trove.list.array.TLongArrayList;
+
+import de.topobyte.osm4j.core.access.OsmIterator;
+import de.topobyte.osm4j.core.dataset.InMemoryListDataSet;
+import de.topobyte.osm4j.core.dataset.ListDataSetLoader;
+import de.topobyte.osm4j.core.model.iface.EntityContainer;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmLocatedWay;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.core.model.impl.LocatedWay;
+import de.topobyte.osm4j.core.model.util.OsmModelUtil;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+import de.topobyte.osm4j.pbf.raf.PbfFile;
+import de.topobyte.osm4j.pbf.seq.PbfIterator;
+import de.topobyte.osm4j.pbf.seq.PbfWriter;
+import de.topobyte.osm4j.pbf.seq.PrimParser;
+
+public class TestLocationsOnWays
+{
+
+	private static InMemoryListDataSet data;
+	private static Map<Long, OsmNode> nodes = new HashMap<>();
+	private static int numLocated = 0;
+	private static File file;
+
+	@BeforeClass
+	public static void setup() throws IOException
+	{
+		OsmIterator iterator = Util.iterator("data-with-metadata.pbf", true);
+		data = ListDataSetLoader.read(iterator, true, true, true);
+		for (OsmNode node : data.getNodes()) {
+			nodes.put(node.getId(), node);
+		}
+
+		// Attach locations to all ways whose nodes are all available
+		file = File.createTempFile("osm4j-test", ".pbf");
+		OutputStream output = new FileOutputStream(file);
+		PbfWriter writer = new PbfWriter(output, true);
+		writer.setWriteLocationsOnWays(true);
+		for (OsmNode node : data.getNodes()) {
+			writer.write(node);
+		}
+		for (OsmWay way : data.getWays()) {
+			OsmWay located = locate(way);
+			if (located != way) {
+				numLocated++;
+			}
+			writer.write(located);
+		}
+		for (OsmRelation relation : data.getRelations()) {
+			writer.write(relation);
+		}
+		writer.complete();
+		output.close();
+
+		Assert.assertTrue(numLocated > 0);
+	}
+
+	@AfterClass
+	public static void cleanup()
+	{
+		file.delete();
+	}
+
+	private static OsmWay locate(OsmWay way)
+	{
+		int n = way.getNumberOfNodes();
+		TLongArrayList ids = new TLongArrayList();
+		double[] lons = new double[n];
+		double[] lats = new double[n];
+		for (int i = 0; i < n; i++) {
+			OsmNode node = nodes.get(way.getNodeId(i));
+			if (node == null) {
+				return way;
+			}
+			ids.add(way.getNodeId(i));
+			lons[i] = node.getLongitude();
+			lats[i] = node.getLatitude();
+		}
+		return new LocatedWay(way.getId(), ids, lons, lats,
+				OsmModelUtil.getTagsAsList(way), way.getMetadata());
+	}
+
+	@Test
+	public void testHeader() throws IOException
+	{
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		PbfFile pbfFile = new PbfFile(raf);
+		pbfFile.buildBlockIndex();
+		Assert.assertTrue(pbfFile.getHeaderBlock().getOptionalFeaturesList()
+				.contains(Constants.FEATURE_LOCATIONS_ON_WAYS));
+		raf.close();
+	}
+
+	@Test
+	public void testRead() throws IOException
+	{
+		check(false);
+	}
+
+	@Test
+	public void testReadLazy() throws IOException
+	{
+		check(true);
+	}
+
+	private void check(boolean lazy) throws IOException
+	{
+		InputStream input = new FileInputStream(file);
+		PbfIterator iterator = new PbfIterator(input, true);
+		iterator.setLazyDecoding(lazy);
+
+		int numWays = 0;
+		int located = 0;
+		for (EntityContainer container : iterator) {
+			if (container.getType() != EntityType.Way) {
+				continue;
+			}
+			OsmWay way = (OsmWay) container.getEntity();
+			Assert.assertEquals(data.getWays().get(numWays++).getId(),
+					way.getId());
+			if (!(way instanceof OsmLocatedWay)) {
+				continue;
+			}
+			located++;
+			OsmLocatedWay locatedWay = (OsmLocatedWay) way;
+			for (int i = 0; i < way.getNumberOfNodes(); i++) {
+				OsmNode node = nodes.get(way.getNodeId(i));
+				Assert.assertEquals(node.getLongitude(),
+						locatedWay.getNodeLongitude(i), 1e-7);
+				Assert.assertEquals(node.getLatitude(),
+						locatedWay.getNodeLatitude(i), 1e-7);
+			}
+		}
+		input.close();
+
+		Assert.assertEquals(data.getWays().size(), numWays);
+		Assert.assertEquals(numLocated, located);
+	}
+
+	@Test
+	public void testMissingLocation()
+	{
+		// Three nodes, the second one with the missing-coordinate sentinel
+		int missing = Integer.MAX_VALUE;
+		Osmformat.Way way = Osmformat.Way.newBuilder().setId(1)
+				.addRefs(1).addRefs(1).addRefs(1)
+				.addLat(525000000).addLat(missing - 525000000)
+				.addLat(525000100 - missing).addLon(134000000)
+				.addLon(missing - 134000000).addLon(134000100 - missing)
+				.build();
+		Osmformat.PrimitiveBlock block = Osmformat.PrimitiveBlock
+				.newBuilder()
+				.setStringtable(Osmformat.StringTable.newBuilder()
+						.addS(ByteString.EMPTY))
+				.addPrimitivegroup(
+						Osmformat.PrimitiveGroup.newBuilder().addWays(way))
+				.build();
+
+		for (boolean lazy : new boolean[] { false, true }) {
+			PrimParser parser = new PrimParser(block, false, lazy);
+			OsmLocatedWay located = (OsmLocatedWay) parser.convert(way);
+			Assert.assertEquals(52.5, located.getNodeLatitude(0), 1e-7);
+			Assert.assertEquals(13.4, located.getNodeLongitude(0), 1e-7);
+			Assert.assertTrue(Double.isNaN(located.getNodeLatitude(1)));
+			Assert.assertTrue(Double.isNaN(located.getNodeLongitude(1)));
+			Assert.assertEquals(52.50001, located.getNodeLatitude(2), 1e-7);
+			Assert.assertEquals(13.40001, located.getNodeLongitude(2), 1e-7);
+		}
+	}
+
+}
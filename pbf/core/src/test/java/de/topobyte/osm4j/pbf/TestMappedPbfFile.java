@@ -0,0 +1,163 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.pbf.protobuf.Osmformat;
+import de.topobyte.osm4j.pbf.raf.BlockProcessor;
+import de.topobyte.osm4j.pbf.raf.FileStructure;
+import de.topobyte.osm4j.pbf.raf.FileStructureAnalyzer;
+import de.topobyte.osm4j.pbf.raf.MappedPbfFile;
+import de.topobyte.osm4j.pbf.raf.ParallelBlockReader;
+import de.topobyte.osm4j.pbf.raf.PbfFile;
+
+public class TestMappedPbfFile
+{
+
+	private static File file;
+
+	@BeforeClass
+	public static void setup() throws IOException
+	{
+		file = Util.writeSmallBlocks("data-with-metadata.pbf", 50);
+	}
+
+	@AfterClass
+	public static void cleanup()
+	{
+		file.delete();
+	}
+
+	@Test
+	public void testBlocks() throws IOException
+	{
+		PbfFile pbfFile = new PbfFile(file);
+		pbfFile.buildBlockIndex();
+
+		MappedPbfFile mapped = new MappedPbfFile(file);
+		mapped.buildBlockIndex();
+
+		Assert.assertTrue(mapped.hasHeader());
+		Assert.assertEquals(pbfFile.getHeaderBlock(), mapped.getHeaderBlock());
+
+		int n = pbfFile.getNumberOfDataBlocks();
+		Assert.assertTrue(n > 3);
+		Assert.assertEquals(n, mapped.getNumberOfDataBlocks());
+
+		for (int i = 0; i < n; i++) {
+			Assert.assertArrayEquals(pbfFile.getRawDataBlockWithHeader(i),
+					mapped.getRawDataBlockWithHeader(i));
+			Assert.assertEquals(pbfFile.getDataBlockHeader(i).getDataLength(),
+					mapped.getDataBlockHeader(i).getDataLength());
+			Assert.assertEquals(pbfFile.getDataBlock(i),
+					mapped.getDataBlock(i));
+		}
+
+		mapped.close();
+	}
+
+	@Test
+	public void testParallel() throws IOException
+	{
+		PbfFile pbfFile = new PbfFile(file);
+		FileStructure expected = FileStructureAnalyzer.analyze(pbfFile);
+
+		long[] counts = new long[3];
+		for (int i = 0; i < pbfFile.getNumberOfDataBlocks(); i++) {
+			count(pbfFile.getDataBlock(i), counts);
+		}
+
+		MappedPbfFile mapped = new MappedPbfFile(file);
+
+		for (int threads = 1; threads <= 4; threads++) {
+			ParallelBlockReader reader = new ParallelBlockReader(mapped,
+					threads);
+			FileStructure structure = reader.getStructure();
+			for (EntityType type : EntityType.values()) {
+				Assert.assertEquals(expected.getBlocks(type).getStart(),
+						structure.getBlocks(type).getStart());
+				Assert.assertEquals(expected.getBlocks(type).getEnd(),
+						structure.getBlocks(type).getEnd());
+			}
+
+			final AtomicLong nodes = new AtomicLong();
+			final AtomicLong ways = new AtomicLong();
+			final AtomicLong relations = new AtomicLong();
+
+			reader.process(EntityType.Node, new BlockProcessor() {
+
+				@Override
+				public void process(int index, Osmformat.PrimitiveBlock block)
+				{
+					long[] c = new long[3];
+					count(block, c);
+					nodes.addAndGet(c[0]);
+				}
+
+			});
+			reader.process(EntityType.Way, new BlockProcessor() {
+
+				@Override
+				public void process(int index, Osmformat.PrimitiveBlock block)
+				{
+					long[] c = new long[3];
+					count(block, c);
+					ways.addAndGet(c[1]);
+				}
+
+			});
+			reader.process(EntityType.Relation, new BlockProcessor() {
+
+				@Override
+				public void process(int index, Osmformat.PrimitiveBlock block)
+				{
+					long[] c = new long[3];
+					count(block, c);
+					relations.addAndGet(c[2]);
+				}
+
+			});
+
+			Assert.assertEquals(counts[0], nodes.get());
+			Assert.assertEquals(counts[1], ways.get());
+			Assert.assertEquals(counts[2], relations.get());
+		}
+
+		mapped.close();
+	}
+
+	private static void count(Osmformat.PrimitiveBlock block, long[] counts)
+	{
+		for (Osmformat.PrimitiveGroup group : block.getPrimitivegroupList()) {
+			counts[0] += group.getNodesCount();
+			counts[0] += group.getDense().getIdCount();
+			counts[1] += group.getWaysCount();
+			counts[2] += group.getRelationsCount();
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.access.OsmInputException;
+import de.topobyte.osm4j.core.access.OsmIterator;
+import de.topobyte.osm4j.pbf.seq.PbfIterator;
+import de.topobyte.osm4j.pbf.seq.ThreadedPbfIterator;
+import de.topobyte.osm4j.pbf.seq.ThreadedPbfReader;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.TestDataSet;
+
+public class TestThreadedRead
+{
+
+	private static File file;
+	private static TestDataSet expected;
+
+	@BeforeClass
+	public static void setup() throws IOException
+	{
+		// Write the test data using small blocks so that there is actually
+		// something to decode in parallel.
+		file = Util.writeSmallBlocks("data-with-metadata.pbf", 50);
+
+		InputStream input = new FileInputStream(file);
+		expected = DataSetHelper.read(new PbfIterator(input, true));
+		input.close();
+	}
+
+	@AfterClass
+	public static void cleanup()
+	{
+		file.delete();
+	}
+
+	@Test
+	public void testIterator() throws IOException
+	{
+		for (int threads = 1; threads <= 8; threads++) {
+			InputStream input = new FileInputStream(file);
+			OsmIterator iterator = new ThreadedPbfIterator(input, true,
+					threads);
+			TestDataSet data = DataSetHelper.read(iterator);
+			input.close();
+
+			Assert.assertNotNull(data.getBounds());
+			Assert.assertTrue("Comparison with sequential iterator",
+					DataSetHelper.equals(expected, data));
+		}
+	}
+
+	@Test
+	public void testReader() throws IOException, OsmInputException
+	{
+		for (int threads = 1; threads <= 8; threads++) {
+			InputStream input = new FileInputStream(file);
+			ThreadedPbfReader reader = new ThreadedPbfReader(input, true,
+					threads);
+			TestDataSet data = DataSetHelper.read(reader);
+			input.close();
+
+			Assert.assertNotNull(data.getBounds());
+			Assert.assertTrue("Comparison with sequential iterator",
+					DataSetHelper.equals(expected, data));
+		}
+	}
+
+	@Test
+	public void testCloseEarly() throws IOException, InterruptedException
+	{
+		InputStream input = new FileInputStream(file);
+		ThreadedPbfIterator iterator = new ThreadedPbfIterator(input, true,
+				4);
+		Assert.assertTrue(iterator.hasNext());
+		iterator.next();
+		iterator.close();
+
+		Assert.assertFalse(iterator.hasNext());
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.getName().startsWith("pbf-block-")) {
+				thread.join(5000);
+				Assert.assertFalse("thread still alive: " + thread.getName(),
+						thread.isAlive());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,88 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.topobyte.osm4j.pbf.raf.BlockIndex;
+import de.topobyte.osm4j.pbf.seq.PbfWriter;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.TestDataSet;
+
+public class TestThreadedWrite
+{
+
+	private static TestDataSet data;
+
+	@BeforeClass
+	public static void setup() throws IOException
+	{
+		data = DataSetHelper
+				.read(Util.iterator("data-with-metadata.pbf", true));
+	}
+
+	@Test
+	public void testDeflate() throws IOException
+	{
+		test(Compression.DEFLATE);
+	}
+
+	@Test
+	public void testLz4() throws IOException
+	{
+		test(Compression.LZ4);
+	}
+
+	private void test(Compression compression) throws IOException
+	{
+		byte[] expected = write(compression, 1, 0);
+
+		for (int threads = 2; threads <= 8; threads++) {
+			for (int inFlight : new int[] { 0, 1, 3 }) {
+				byte[] bytes = write(compression, threads, inFlight);
+				Assert.assertArrayEquals(expected, bytes);
+			}
+		}
+	}
+
+	private byte[] write(Compression compression, int threads, int inFlight)
+			throws IOException
+	{
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		PbfWriter writer = new PbfWriter(output, true);
+		writer.setCompression(compression);
+		writer.setBatchLimit(20);
+		writer.setEncoderThreads(threads);
+		writer.setMaxInFlightBlocks(inFlight);
+		writer.setBuildIndex(true);
+		writer.write(data.getBounds());
+		DataSetHelper.write(data, writer);
+		writer.complete();
+
+		BlockIndex index = writer.getBlockIndex();
+		Assert.assertEquals(output.size(), index.getFileSize());
+
+		return output.toByteArray();
+	}
+
+}
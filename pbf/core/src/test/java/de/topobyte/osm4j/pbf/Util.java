@@ -36,6 +36,8 @@ import de.topobyte.osm4j.pbf.seq.PbfIterator;
 import de.topobyte.osm4j.pbf.seq.PbfParser;
 import de.topobyte.osm4j.pbf.seq.PbfReader;
 import de.topobyte.osm4j.pbf.seq.PbfWriter;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.TestDataSet;
 import de.topobyte.osm4j.xml.dynsax.OsmXmlIterator;
 
 public class Util
@@ -162,4 +164,26 @@ public class Util
 		file.delete();
 	}
 
+	/**
+	 * Write the data from the specified resource to a temporary file using
+	 * small blocks, so that there are multiple blocks per entity type.
+	 */
+	public static File writeSmallBlocks(String resource, int batchLimit)
+			throws IOException
+	{
+		OsmIterator iterator = Util.iterator(resource, true);
+		TestDataSet data = DataSetHelper.read(iterator);
+
+		File file = File.createTempFile("osm4j-test", ".pbf");
+		OutputStream output = new FileOutputStream(file);
+		PbfWriter writer = new PbfWriter(output, true);
+		writer.setBatchLimit(batchLimit);
+		writer.write(data.getBounds());
+		DataSetHelper.write(data, writer);
+		writer.complete();
+		output.close();
+
+		return file;
+	}
+
 }
@@ -148,6 +148,27 @@ public final class Fileformat {
      * @return The lz4Data.
      */
     com.google.protobuf.ByteString getLz4Data();
+
+    /**
+     * <pre>
+     * zstd compressed data. It decompresses a lot faster than zlib while
+     * offering similar or better compression ratios.
+     * </pre>
+     *
+     * <code>optional bytes zstd_data = 7;</code>
+     * @return Whether the zstdData field is set.
+     */
+    boolean hasZstdData();
+    /**
+     * <pre>
+     * zstd compressed data. It decompresses a lot faster than zlib while
+     * offering similar or better compression ratios.
+     * </pre>
+     *
+     * <code>optional bytes zstd_data = 7;</code>
+     * @return The zstdData.
+     */
+    com.google.protobuf.ByteString getZstdData();
   }
   /**
    * Protobuf type {@code OSMPBF.Blob}
@@ -176,6 +197,7 @@ public final class Fileformat {
       lzmaData_ = com.google.protobuf.ByteString.EMPTY;
       oBSOLETEBzip2Data_ = com.google.protobuf.ByteString.EMPTY;
       lz4Data_ = com.google.protobuf.ByteString.EMPTY;
+      zstdData_ = com.google.protobuf.ByteString.EMPTY;
     }
 
     public static final com.google.protobuf.Descriptors.Descriptor
@@ -360,6 +382,35 @@ public final class Fileformat {
       return lz4Data_;
     }
 
+    public static final int ZSTD_DATA_FIELD_NUMBER = 7;
+    private com.google.protobuf.ByteString zstdData_ = com.google.protobuf.ByteString.EMPTY;
+    /**
+     * <pre>
+     * zstd compressed data. It decompresses a lot faster than zlib while
+     * offering similar or better compression ratios.
+     * </pre>
+     *
+     * <code>optional bytes zstd_data = 7;</code>
+     * @return Whether the zstdData field is set.
+     */
+    @java.lang.Override
+    public boolean hasZstdData() {
+      return ((bitField0_ & 0x00000040) != 0);
+    }
+    /**
+     * <pre>
+     * zstd compressed data. It decompresses a lot faster than zlib while
+     * offering similar or better compression ratios.
+     * </pre>
+     *
+     * <code>optional bytes zstd_data = 7;</code>
+     * @return The zstdData.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString getZstdData() {
+      return zstdData_;
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -392,6 +443,9 @@ public final class Fileformat {
       if (((bitField0_ & 0x00000020) != 0)) {
         output.writeBytes(6, lz4Data_);
       }
+      if (((bitField0_ & 0x00000040) != 0)) {
+        output.writeBytes(7, zstdData_);
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -425,6 +479,10 @@ public final class Fileformat {
         size += com.google.protobuf.CodedOutputStream
           .computeBytesSize(6, lz4Data_);
       }
+      if (((bitField0_ & 0x00000040) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(7, zstdData_);
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSize = size;
       return size;
@@ -470,6 +528,11 @@ public final class Fileformat {
         if (!getLz4Data()
             .equals(other.getLz4Data())) return false;
       }
+      if (hasZstdData() != other.hasZstdData()) return false;
+      if (hasZstdData()) {
+        if (!getZstdData()
+            .equals(other.getZstdData())) return false;
+      }
       if (!getUnknownFields().equals(other.getUnknownFields())) return false;
       return true;
     }
@@ -505,6 +568,10 @@ public final class Fileformat {
         hash = (37 * hash) + LZ4_DATA_FIELD_NUMBER;
         hash = (53 * hash) + getLz4Data().hashCode();
       }
+      if (hasZstdData()) {
+        hash = (37 * hash) + ZSTD_DATA_FIELD_NUMBER;
+        hash = (53 * hash) + getZstdData().hashCode();
+      }
       hash = (29 * hash) + getUnknownFields().hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -642,6 +709,7 @@ public final class Fileformat {
         lzmaData_ = com.google.protobuf.ByteString.EMPTY;
         oBSOLETEBzip2Data_ = com.google.protobuf.ByteString.EMPTY;
         lz4Data_ = com.google.protobuf.ByteString.EMPTY;
+        zstdData_ = com.google.protobuf.ByteString.EMPTY;
         return this;
       }
 
@@ -700,6 +768,10 @@ public final class Fileformat {
           result.lz4Data_ = lz4Data_;
           to_bitField0_ |= 0x00000020;
         }
+        if (((from_bitField0_ & 0x00000040) != 0)) {
+          result.zstdData_ = zstdData_;
+          to_bitField0_ |= 0x00000040;
+        }
         result.bitField0_ |= to_bitField0_;
       }
 
@@ -733,6 +805,9 @@ public final class Fileformat {
         if (other.hasLz4Data()) {
           setLz4Data(other.getLz4Data());
         }
+        if (other.hasZstdData()) {
+          setZstdData(other.getZstdData());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         onChanged();
         return this;
@@ -789,6 +864,11 @@ public final class Fileformat {
                 bitField0_ |= 0x00000020;
                 break;
               } // case 50
+              case 58: {
+                zstdData_ = input.readBytes();
+                bitField0_ |= 0x00000040;
+                break;
+              } // case 58
               default: {
                 if (!super.parseUnknownField(input, extensionRegistry, tag)) {
                   done = true; // was an endgroup tag
@@ -1154,6 +1234,66 @@ public final class Fileformat {
         return this;
       }
 
+      private com.google.protobuf.ByteString zstdData_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <pre>
+       * zstd compressed data. It decompresses a lot faster than zlib while
+       * offering similar or better compression ratios.
+       * </pre>
+       *
+       * <code>optional bytes zstd_data = 7;</code>
+       * @return Whether the zstdData field is set.
+       */
+      @java.lang.Override
+      public boolean hasZstdData() {
+        return ((bitField0_ & 0x00000040) != 0);
+      }
+      /**
+       * <pre>
+       * zstd compressed data. It decompresses a lot faster than zlib while
+       * offering similar or better compression ratios.
+       * </pre>
+       *
+       * <code>optional bytes zstd_data = 7;</code>
+       * @return The zstdData.
+       */
+      @java.lang.Override
+      public com.google.protobuf.ByteString getZstdData() {
+        return zstdData_;
+      }
+      /**
+       * <pre>
+       * zstd compressed data. It decompresses a lot faster than zlib while
+       * offering similar or better compression ratios.
+       * </pre>
+       *
+       * <code>optional bytes zstd_data = 7;</code>
+       * @param value The zstdData to set.
+       * @return This builder for chaining.
+       */
+      public Builder setZstdData(com.google.protobuf.ByteString value) {
+        if (value == null) { throw new NullPointerException(); }
+        zstdData_ = value;
+        bitField0_ |= 0x00000040;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * zstd compressed data. It decompresses a lot faster than zlib while
+       * offering similar or better compression ratios.
+       * </pre>
+       *
+       * <code>optional bytes zstd_data = 7;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearZstdData() {
+        bitField0_ = (bitField0_ & ~0x00000040);
+        zstdData_ = getDefaultInstance().getZstdData();
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:OSMPBF.Blob)
     }
 
@@ -1979,13 +2119,14 @@ public final class Fileformat {
       descriptor;
   static {
     java.lang.String[] descriptorData = {
-      "\n\032res/proto/fileformat.proto\022\006OSMPBF\"~\n\004" +
-      "Blob\022\013\n\003raw\030\001 \001(\014\022\020\n\010raw_size\030\002 \001(\005\022\021\n\tz" +
-      "lib_data\030\003 \001(\014\022\021\n\tlzma_data\030\004 \001(\014\022\037\n\023OBS" +
-      "OLETE_bzip2_data\030\005 \001(\014B\002\030\001\022\020\n\010lz4_data\030\006" +
-      " \001(\014\"?\n\nBlobHeader\022\014\n\004type\030\001 \002(\t\022\021\n\tinde" +
-      "xdata\030\002 \001(\014\022\020\n\010datasize\030\003 \002(\005B \n\036de.topo" +
-      "byte.osm4j.pbf.protobuf"
+      "\n\032res/proto/fileformat.proto\022\006OSMPBF\"\221\001\n" +
+      "\004Blob\022\013\n\003raw\030\001 \001(\014\022\020\n\010raw_size\030\002 \001(\005\022\021\n\t" +
+      "zlib_data\030\003 \001(\014\022\021\n\tlzma_data\030\004 \001(\014\022\037\n\023OB" +
+      "SOLETE_bzip2_data\030\005 \001(\014B\002\030\001\022\020\n\010lz4_data\030" +
+      "\006 \001(\014\022\021\n\tzstd_data\030\007 \001(\014\"?\n\nBlobHeader\022\014" +
+      "\n\004type\030\001 \002(\t\022\021\n\tindexdata\030\002 \001(\014\022\020\n\010datas" +
+      "ize\030\003 \002(\005B \n\036de.topobyte.osm4j.pbf.proto" +
+      "buf"
     };
     descriptor = com.google.protobuf.Descriptors.FileDescriptor
       .internalBuildGeneratedFileFrom(descriptorData,
@@ -1996,7 +2137,7 @@ public final class Fileformat {
     internal_static_OSMPBF_Blob_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_OSMPBF_Blob_descriptor,
-        new java.lang.String[] { "Raw", "RawSize", "ZlibData", "LzmaData", "OBSOLETEBzip2Data", "Lz4Data", });
+        new java.lang.String[] { "Raw", "RawSize", "ZlibData", "LzmaData", "OBSOLETEBzip2Data", "Lz4Data", "ZstdData", });
     internal_static_OSMPBF_BlobHeader_descriptor =
       getDescriptor().getMessageTypes().get(1);
     internal_static_OSMPBF_BlobHeader_fieldAccessorTable = new
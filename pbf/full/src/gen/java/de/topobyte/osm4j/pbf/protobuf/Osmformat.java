@@ -13093,6 +13093,79 @@ public final class Osmformat {
      * @return The refs at the given index.
      */
     long getRefs(int index);
+
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     * @return A list containing the lat.
+     */
+    java.util.List<java.lang.Long> getLatList();
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     * @return The count of lat.
+     */
+    int getLatCount();
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The lat at the given index.
+     */
+    long getLat(int index);
+
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     * @return A list containing the lon.
+     */
+    java.util.List<java.lang.Long> getLonList();
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     * @return The count of lon.
+     */
+    int getLonCount();
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The lon at the given index.
+     */
+    long getLon(int index);
   }
   /**
    * Protobuf type {@code OSMPBF.Way}
@@ -13119,6 +13192,8 @@ public final class Osmformat {
       keys_ = emptyIntList();
       vals_ = emptyIntList();
       refs_ = emptyLongList();
+      lat_ = emptyLongList();
+      lon_ = emptyLongList();
     }
 
     public static final com.google.protobuf.Descriptors.Descriptor
@@ -13294,6 +13369,105 @@ public final class Osmformat {
     }
     private int refsMemoizedSerializedSize = -1;
 
+    public static final int LAT_FIELD_NUMBER = 9;
+    @SuppressWarnings("serial")
+    private com.google.protobuf.Internal.LongList lat_ =
+        emptyLongList();
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     * @return A list containing the lat.
+     */
+    @java.lang.Override
+    public java.util.List<java.lang.Long>
+        getLatList() {
+      return lat_;
+    }
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     * @return The count of lat.
+     */
+    public int getLatCount() {
+      return lat_.size();
+    }
+    /**
+     * <pre>
+     * The following two fields are optional. They are only used in a special
+     * format where node locations are also added to the ways. This makes the
+     * files larger, but allows creating way geometries directly.
+     *
+     * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+     * and the number of values in refs, lat, and lon MUST be the same.
+     * </pre>
+     *
+     * <code>repeated sint64 lat = 9 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The lat at the given index.
+     */
+    public long getLat(int index) {
+      return lat_.getLong(index);
+    }
+    private int latMemoizedSerializedSize = -1;
+
+    public static final int LON_FIELD_NUMBER = 10;
+    @SuppressWarnings("serial")
+    private com.google.protobuf.Internal.LongList lon_ =
+        emptyLongList();
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     * @return A list containing the lon.
+     */
+    @java.lang.Override
+    public java.util.List<java.lang.Long>
+        getLonList() {
+      return lon_;
+    }
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     * @return The count of lon.
+     */
+    public int getLonCount() {
+      return lon_.size();
+    }
+    /**
+     * <pre>
+     * DELTA coded, optional
+     * </pre>
+     *
+     * <code>repeated sint64 lon = 10 [packed = true];</code>
+     * @param index The index of the element to return.
+     * @return The lon at the given index.
+     */
+    public long getLon(int index) {
+      return lon_.getLong(index);
+    }
+    private int lonMemoizedSerializedSize = -1;
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -13340,6 +13514,20 @@ public final class Osmformat {
       for (int i = 0; i < refs_.size(); i++) {
         output.writeSInt64NoTag(refs_.getLong(i));
       }
+      if (getLatList().size() > 0) {
+        output.writeUInt32NoTag(74);
+        output.writeUInt32NoTag(latMemoizedSerializedSize);
+      }
+      for (int i = 0; i < lat_.size(); i++) {
+        output.writeSInt64NoTag(lat_.getLong(i));
+      }
+      if (getLonList().size() > 0) {
+        output.writeUInt32NoTag(82);
+        output.writeUInt32NoTag(lonMemoizedSerializedSize);
+      }
+      for (int i = 0; i < lon_.size(); i++) {
+        output.writeSInt64NoTag(lon_.getLong(i));
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -13399,6 +13587,34 @@ public final class Osmformat {
         }
         refsMemoizedSerializedSize = dataSize;
       }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < lat_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeSInt64SizeNoTag(lat_.getLong(i));
+        }
+        size += dataSize;
+        if (!getLatList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        latMemoizedSerializedSize = dataSize;
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < lon_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeSInt64SizeNoTag(lon_.getLong(i));
+        }
+        size += dataSize;
+        if (!getLonList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        lonMemoizedSerializedSize = dataSize;
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSize = size;
       return size;
@@ -13430,6 +13646,10 @@ public final class Osmformat {
       }
       if (!getRefsList()
           .equals(other.getRefsList())) return false;
+      if (!getLatList()
+          .equals(other.getLatList())) return false;
+      if (!getLonList()
+          .equals(other.getLonList())) return false;
       if (!getUnknownFields().equals(other.getUnknownFields())) return false;
       return true;
     }
@@ -13462,6 +13682,14 @@ public final class Osmformat {
         hash = (37 * hash) + REFS_FIELD_NUMBER;
         hash = (53 * hash) + getRefsList().hashCode();
       }
+      if (getLatCount() > 0) {
+        hash = (37 * hash) + LAT_FIELD_NUMBER;
+        hash = (53 * hash) + getLatList().hashCode();
+      }
+      if (getLonCount() > 0) {
+        hash = (37 * hash) + LON_FIELD_NUMBER;
+        hash = (53 * hash) + getLonList().hashCode();
+      }
       hash = (29 * hash) + getUnknownFields().hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -13608,6 +13836,8 @@ public final class Osmformat {
           infoBuilder_ = null;
         }
         refs_ = emptyLongList();
+        lat_ = emptyLongList();
+        lon_ = emptyLongList();
         return this;
       }
 
@@ -13664,6 +13894,14 @@ public final class Osmformat {
           refs_.makeImmutable();
           result.refs_ = refs_;
         }
+        if (((from_bitField0_ & 0x00000020) != 0)) {
+          lat_.makeImmutable();
+          result.lat_ = lat_;
+        }
+        if (((from_bitField0_ & 0x00000040) != 0)) {
+          lon_.makeImmutable();
+          result.lon_ = lon_;
+        }
         result.bitField0_ |= to_bitField0_;
       }
 
@@ -13718,6 +13956,28 @@ public final class Osmformat {
           }
           onChanged();
         }
+        if (!other.lat_.isEmpty()) {
+          if (lat_.isEmpty()) {
+            lat_ = other.lat_;
+            lat_.makeImmutable();
+            bitField0_ |= 0x00000020;
+          } else {
+            ensureLatIsMutable();
+            lat_.addAll(other.lat_);
+          }
+          onChanged();
+        }
+        if (!other.lon_.isEmpty()) {
+          if (lon_.isEmpty()) {
+            lon_ = other.lon_;
+            lon_.makeImmutable();
+            bitField0_ |= 0x00000040;
+          } else {
+            ensureLonIsMutable();
+            lon_.addAll(other.lon_);
+          }
+          onChanged();
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         onChanged();
         return this;
@@ -13807,6 +14067,38 @@ public final class Osmformat {
                 input.popLimit(limit);
                 break;
               } // case 66
+              case 72: {
+                long v = input.readSInt64();
+                ensureLatIsMutable();
+                lat_.addLong(v);
+                break;
+              } // case 72
+              case 74: {
+                int length = input.readRawVarint32();
+                int limit = input.pushLimit(length);
+                ensureLatIsMutable();
+                while (input.getBytesUntilLimit() > 0) {
+                  lat_.addLong(input.readSInt64());
+                }
+                input.popLimit(limit);
+                break;
+              } // case 74
+              case 80: {
+                long v = input.readSInt64();
+                ensureLonIsMutable();
+                lon_.addLong(v);
+                break;
+              } // case 80
+              case 82: {
+                int length = input.readRawVarint32();
+                int limit = input.pushLimit(length);
+                ensureLonIsMutable();
+                while (input.getBytesUntilLimit() > 0) {
+                  lon_.addLong(input.readSInt64());
+                }
+                input.popLimit(limit);
+                break;
+              } // case 82
               default: {
                 if (!super.parseUnknownField(input, extensionRegistry, tag)) {
                   done = true; // was an endgroup tag
@@ -14293,6 +14585,265 @@ public final class Osmformat {
         return this;
       }
 
+      private com.google.protobuf.Internal.LongList lat_ = emptyLongList();
+      private void ensureLatIsMutable() {
+        if (!lat_.isModifiable()) {
+          lat_ = makeMutableCopy(lat_);
+        }
+        bitField0_ |= 0x00000020;
+      }
+      /**
+       * <pre>
+       * The following two fields are optional. They are only used in a special
+       * format where node locations are also added to the ways. This makes the
+       * files larger, but allows creating way geometries directly.
+       *
+       * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+       * and the number of values in refs, lat, and lon MUST be the same.
+       * </pre>
+       *
+       * <code>repeated sint64 lat = 9 [packed = true];</code>
+       * @return A list containing the lat.
+       */
+      public java.util.List<java.lang.Long>
+          getLatList() {
+        lat_.makeImmutable();
+        return lat_;
+      }
+      /**
+       * <pre>
+       * The following two fields are optional. They are only used in a special
+       * format where node locations are also added to the ways. This makes the
+       * files larger, but allows creating way geometries directly.
+       *
+       * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+       * and the number of values in refs, lat, and lon MUST be the same.
+       * </pre>
+       *
+       * <code>repeated sint64 lat = 9 [packed = true];</code>
+       * @return The count of lat.
+       */
+      public int getLatCount() {
+        return lat_.size();
+      }
+      /**
+       * <pre>
+       * The following two fields are optional. They are only used in a special
+       * format where node locations are also added to the ways. This makes the
+       * files larger, but allows creating way geometries directly.
+       *
+       * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+       * and the number of values in refs, lat, and lon MUST be the same.
+       * </pre>
+       *
+       * <code>repeated sint64 lat = 9 [packed = true];</code>
+       * @param index The index of the element to return.
+       * @return The lat at the given index.
+       */
+      public long getLat(int index) {
+        return lat_.getLong(index);
+      }
+      /**
+       * <pre>
+       * The following two fields are optional. They are only used in a special
+       * format where node locations are also added to the ways. This makes the
+       * files larger, but allows creating way geometries directly.
+       *
+       * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+       * and the number of values in refs, lat, and lon MUST be the same.
+       * </pre>
+       *
+       * <code>repeated sint64 lat = 9 [packed = true];</code>
+       * @param index The index to set the value at.
+       * @param value The lat to set.
+       * @return This builder for chaining.
+       */
+      public Builder setLat(
+          int index, long value) {
+
+        ensureLatIsMutable();
+        lat_.setLong(index, value);
+        bitField0_ |= 0x00000020;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The following two fields are optional. They are only used in a special
+       * format where node locations are also added to the ways. This makes the
+       * files larger, but allows creating way geometries directly.
+       *
+       * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+       * and the number of values in refs, lat, and lon MUST be the same.
+       * </pre>
+       *
+       * <code>repeated sint64 lat = 9 [packed = true];</code>
+       * @param value The lat to add.
+       * @return This builder for chaining.
+       */
+      public Builder addLat(long value) {
+
+        ensureLatIsMutable();
+        lat_.addLong(value);
+        bitField0_ |= 0x00000020;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The following two fields are optional. They are only used in a special
+       * format where node locations are also added to the ways. This makes the
+       * files larger, but allows creating way geometries directly.
+       *
+       * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+       * and the number of values in refs, lat, and lon MUST be the same.
+       * </pre>
+       *
+       * <code>repeated sint64 lat = 9 [packed = true];</code>
+       * @param values The lat to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllLat(
+          java.lang.Iterable<? extends java.lang.Long> values) {
+        ensureLatIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, lat_);
+        bitField0_ |= 0x00000020;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The following two fields are optional. They are only used in a special
+       * format where node locations are also added to the ways. This makes the
+       * files larger, but allows creating way geometries directly.
+       *
+       * If this is used, you MUST set the optional_features tag "LocationsOnWays"
+       * and the number of values in refs, lat, and lon MUST be the same.
+       * </pre>
+       *
+       * <code>repeated sint64 lat = 9 [packed = true];</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearLat() {
+        lat_ = emptyLongList();
+        bitField0_ = (bitField0_ & ~0x00000020);
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.Internal.LongList lon_ = emptyLongList();
+      private void ensureLonIsMutable() {
+        if (!lon_.isModifiable()) {
+          lon_ = makeMutableCopy(lon_);
+        }
+        bitField0_ |= 0x00000040;
+      }
+      /**
+       * <pre>
+       * DELTA coded, optional
+       * </pre>
+       *
+       * <code>repeated sint64 lon = 10 [packed = true];</code>
+       * @return A list containing the lon.
+       */
+      public java.util.List<java.lang.Long>
+          getLonList() {
+        lon_.makeImmutable();
+        return lon_;
+      }
+      /**
+       * <pre>
+       * DELTA coded, optional
+       * </pre>
+       *
+       * <code>repeated sint64 lon = 10 [packed = true];</code>
+       * @return The count of lon.
+       */
+      public int getLonCount() {
+        return lon_.size();
+      }
+      /**
+       * <pre>
+       * DELTA coded, optional
+       * </pre>
+       *
+       * <code>repeated sint64 lon = 10 [packed = true];</code>
+       * @param index The index of the element to return.
+       * @return The lon at the given index.
+       */
+      public long getLon(int index) {
+        return lon_.getLong(index);
+      }
+      /**
+       * <pre>
+       * DELTA coded, optional
+       * </pre>
+       *
+       * <code>repeated sint64 lon = 10 [packed = true];</code>
+       * @param index The index to set the value at.
+       * @param value The lon to set.
+       * @return This builder for chaining.
+       */
+      public Builder setLon(
+          int index, long value) {
+
+        ensureLonIsMutable();
+        lon_.setLong(index, value);
+        bitField0_ |= 0x00000040;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * DELTA coded, optional
+       * </pre>
+       *
+       * <code>repeated sint64 lon = 10 [packed = true];</code>
+       * @param value The lon to add.
+       * @return This builder for chaining.
+       */
+      public Builder addLon(long value) {
+
+        ensureLonIsMutable();
+        lon_.addLong(value);
+        bitField0_ |= 0x00000040;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * DELTA coded, optional
+       * </pre>
+       *
+       * <code>repeated sint64 lon = 10 [packed = true];</code>
+       * @param values The lon to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllLon(
+          java.lang.Iterable<? extends java.lang.Long> values) {
+        ensureLonIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, lon_);
+        bitField0_ |= 0x00000040;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * DELTA coded, optional
+       * </pre>
+       *
+       * <code>repeated sint64 lon = 10 [packed = true];</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearLon() {
+        lon_ = emptyLongList();
+        bitField0_ = (bitField0_ & ~0x00000040);
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:OSMPBF.Way)
     }
 
@@ -16372,16 +16923,17 @@ public final class Osmformat {
       "o\022\013\n\003lat\030\010 \002(\022\022\013\n\003lon\030\t \002(\022\"{\n\nDenseNode" +
       "s\022\016\n\002id\030\001 \003(\022B\002\020\001\022$\n\tdenseinfo\030\005 \001(\0132\021.O" +
       "SMPBF.DenseInfo\022\017\n\003lat\030\010 \003(\022B\002\020\001\022\017\n\003lon\030" +
-      "\t \003(\022B\002\020\001\022\025\n\tkeys_vals\030\n \003(\005B\002\020\001\"c\n\003Way\022" +
-      "\n\n\002id\030\001 \002(\003\022\020\n\004keys\030\002 \003(\rB\002\020\001\022\020\n\004vals\030\003 " +
-      "\003(\rB\002\020\001\022\032\n\004info\030\004 \001(\0132\014.OSMPBF.Info\022\020\n\004r" +
-      "efs\030\010 \003(\022B\002\020\001\"\340\001\n\010Relation\022\n\n\002id\030\001 \002(\003\022\020" +
-      "\n\004keys\030\002 \003(\rB\002\020\001\022\020\n\004vals\030\003 \003(\rB\002\020\001\022\032\n\004in" +
-      "fo\030\004 \001(\0132\014.OSMPBF.Info\022\025\n\troles_sid\030\010 \003(" +
-      "\005B\002\020\001\022\022\n\006memids\030\t \003(\022B\002\020\001\022.\n\005types\030\n \003(\016" +
-      "2\033.OSMPBF.Relation.MemberTypeB\002\020\001\"-\n\nMem" +
-      "berType\022\010\n\004NODE\020\000\022\007\n\003WAY\020\001\022\014\n\010RELATION\020\002" +
-      "B \n\036de.topobyte.osm4j.pbf.protobuf"
+      "\t \003(\022B\002\020\001\022\025\n\tkeys_vals\030\n \003(\005B\002\020\001\"\205\001\n\003Way" +
+      "\022\n\n\002id\030\001 \002(\003\022\020\n\004keys\030\002 \003(\rB\002\020\001\022\020\n\004vals\030\003" +
+      " \003(\rB\002\020\001\022\032\n\004info\030\004 \001(\0132\014.OSMPBF.Info\022\020\n\004" +
+      "refs\030\010 \003(\022B\002\020\001\022\017\n\003lat\030\t \003(\022B\002\020\001\022\017\n\003lon\030\n" +
+      " \003(\022B\002\020\001\"\340\001\n\010Relation\022\n\n\002id\030\001 \002(\003\022\020\n\004key" +
+      "s\030\002 \003(\rB\002\020\001\022\020\n\004vals\030\003 \003(\rB\002\020\001\022\032\n\004info\030\004 " +
+      "\001(\0132\014.OSMPBF.Info\022\025\n\troles_sid\030\010 \003(\005B\002\020\001" +
+      "\022\022\n\006memids\030\t \003(\022B\002\020\001\022.\n\005types\030\n \003(\0162\033.OS" +
+      "MPBF.Relation.MemberTypeB\002\020\001\"-\n\nMemberTy" +
+      "pe\022\010\n\004NODE\020\000\022\007\n\003WAY\020\001\022\014\n\010RELATION\020\002B \n\036d" +
+      "e.topobyte.osm4j.pbf.protobuf"
     };
     descriptor = com.google.protobuf.Descriptors.FileDescriptor
       .internalBuildGeneratedFileFrom(descriptorData,
@@ -16452,7 +17004,7 @@ public final class Osmformat {
     internal_static_OSMPBF_Way_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_OSMPBF_Way_descriptor,
-        new java.lang.String[] { "Id", "Keys", "Vals", "Info", "Refs", });
+        new java.lang.String[] { "Id", "Keys", "Vals", "Info", "Refs", "Lat", "Lon", });
     internal_static_OSMPBF_Relation_descriptor =
       getDescriptor().getMessageTypes().get(11);
     internal_static_OSMPBF_Relation_fieldAccessorTable = new
@@ -0,0 +1,55 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.pbf.executables;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import de.topobyte.osm4j.pbf.raf.BlockIndex;
+import de.topobyte.osm4j.pbf.raf.BlockIndexBuilder;
+import de.topobyte.osm4j.pbf.raf.BlockIndexFile;
+import de.topobyte.osm4j.pbf.raf.PbfFile;
+
+public class CreateBlockIndex
+{
+
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length != 1 && args.length != 2) {
+			System.out.println(
+					"usage: " + CreateBlockIndex.class.getSimpleName()
+							+ " <filename> [<index filename>]");
+			System.exit(1);
+		}
+
+		Path file = Paths.get(args[0]);
+		Path fileIndex = BlockIndexFile.sidecar(file);
+		if (args.length == 2) {
+			fileIndex = Paths.get(args[1]);
+		}
+
+		PbfFile pbfFile = new PbfFile(file.toFile());
+		BlockIndex index = BlockIndexBuilder.scan(pbfFile);
+		BlockIndexFile.write(index, fileIndex);
+
+		System.out.println(String.format("indexed %d blocks",
+				index.getDataBlockInfos().size()));
+	}
+
+}
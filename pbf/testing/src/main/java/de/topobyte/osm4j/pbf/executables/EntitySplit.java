@@ -25,6 +25,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
@@ -34,6 +35,9 @@ import org.apache.commons.cli.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.topobyte.osm4j.pbf.raf.FileStructure;
+import de.topobyte.osm4j.pbf.raf.FileStructureAnalyzer;
+import de.topobyte.osm4j.pbf.raf.PbfFile;
 import de.topobyte.osm4j.pbf.seq.PbfEntitySplit;
 import de.topobyte.utilities.apache.commons.cli.OptionHelper;
 
@@ -75,9 +79,10 @@ public class EntitySplit
 		}
 
 		InputStream in = null;
+		File file = null;
 		if (line.hasOption(OPTION_INPUT)) {
 			String inputPath = line.getOptionValue(OPTION_INPUT);
-			File file = new File(inputPath);
+			file = new File(inputPath);
 			FileInputStream fis = new FileInputStream(file);
 			in = new BufferedInputStream(fis);
 		} else {
@@ -107,8 +112,19 @@ public class EntitySplit
 			System.exit(1);
 		}
 
+		// If not all entity types are requested and we are reading from a
+		// file, find out where the requested types are located so that the
+		// other blocks can be skipped.
+		FileStructure structure = null;
+		if (file != null && (outNodes == null || outWays == null
+				|| outRelations == null)) {
+			RandomAccessFile raf = new RandomAccessFile(file, "r");
+			structure = FileStructureAnalyzer.analyze(new PbfFile(raf));
+			raf.close();
+		}
+
 		PbfEntitySplit task = new PbfEntitySplit(in, outNodes, outWays,
-				outRelations);
+				outRelations, structure);
 		task.execute();
 	}
 
@@ -25,6 +25,7 @@ import de.topobyte.osm4j.changeset.Comment;
 import de.topobyte.osm4j.changeset.OsmChangeset;
 import de.topobyte.osm4j.core.model.iface.OsmTag;
 import de.topobyte.osm4j.core.model.impl.Tag;
+import de.topobyte.osm4j.core.util.TimestampCodec;
 import de.topobyte.xml.dynsax.Child;
 import de.topobyte.xml.dynsax.ChildType;
 import de.topobyte.xml.dynsax.Data;
@@ -46,7 +47,6 @@ class OsmChangesetsSaxHandler extends DynamicSaxHandler
 	}
 
 	private OsmChangesetsHandler handler;
-	private DateParser dateParser = new DateParser();
 
 	private OsmChangesetsSaxHandler(OsmChangesetsHandler handler)
 	{
@@ -252,7 +252,7 @@ class OsmChangesetsSaxHandler extends DynamicSaxHandler
 		if (value == null) {
 			return defaultValue;
 		}
-		return dateParser.parse(value).getMillis();
+		return TimestampCodec.parse(value);
 	}
 
 }
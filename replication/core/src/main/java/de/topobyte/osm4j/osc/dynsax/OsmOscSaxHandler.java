@@ -22,8 +22,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-import org.joda.time.DateTime;
-
 import com.slimjars.dist.gnu.trove.list.array.TLongArrayList;
 
 import de.topobyte.osm4j.core.model.iface.EntityType;
@@ -37,6 +35,7 @@ import de.topobyte.osm4j.core.model.impl.Relation;
 import de.topobyte.osm4j.core.model.impl.RelationMember;
 import de.topobyte.osm4j.core.model.impl.Tag;
 import de.topobyte.osm4j.core.model.impl.Way;
+import de.topobyte.osm4j.core.util.TimestampCodec;
 import de.topobyte.osm4j.osc.ChangeType;
 import de.topobyte.osm4j.osc.OsmChange;
 import de.topobyte.xml.dynsax.Child;
@@ -62,15 +61,11 @@ class OsmOscSaxHandler extends DynamicSaxHandler
 
 	private OsmChangeHandler handler;
 	private boolean parseMetadata;
-	private DateParser dateParser;
 
 	private OsmOscSaxHandler(OsmChangeHandler handler, boolean parseMetadata)
 	{
 		this.handler = handler;
 		this.parseMetadata = parseMetadata;
-		if (parseMetadata) {
-			dateParser = new DateParser();
-		}
 		setRoot(createRoot(), true);
 	}
 
@@ -374,8 +369,7 @@ class OsmOscSaxHandler extends DynamicSaxHandler
 
 		long timestamp = -1;
 		if (aTimestamp != null) {
-			DateTime date = dateParser.parse(aTimestamp);
-			timestamp = date.getMillis();
+			timestamp = TimestampCodec.parse(aTimestamp);
 		}
 
 		boolean visible = true;
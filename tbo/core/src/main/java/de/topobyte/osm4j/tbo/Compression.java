@@ -21,7 +21,8 @@ public enum Compression {
 
 	NONE(0),
 	DEFLATE(1),
-	LZ4(2);
+	LZ4(2),
+	ZSTD(3);
 
 	private int id;
 
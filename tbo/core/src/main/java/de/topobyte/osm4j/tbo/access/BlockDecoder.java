@@ -0,0 +1,105 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.access;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+
+import de.topobyte.compactio.CompactReader;
+import de.topobyte.compactio.InputStreamCompactReader;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.core.util.RawBlockDecoder;
+import de.topobyte.osm4j.tbo.Compression;
+import de.topobyte.osm4j.tbo.data.Definitions;
+import de.topobyte.osm4j.tbo.data.FileBlock;
+import de.topobyte.osm4j.tbo.io.ByteBufferCompactReader;
+import de.topobyte.osm4j.tbo.io.Decompression;
+import de.topobyte.osm4j.tbo.io.ZstdDictionaries;
+
+/**
+ * Decompresses and decodes a raw {@link FileBlock} into an
+ * {@link EntityBlock}. Instances do not keep any state between invocations of
+ * {@link #decode(FileBlock)} and can be shared among multiple threads.
+ */
+public class BlockDecoder
+		implements RawBlockDecoder<FileBlock, EntityBlock>
+{
+
+	private boolean fetchTags;
+	private boolean hasMetadata;
+	private boolean fetchMetadata;
+	private ZstdDictionaries dictionaries;
+
+	public BlockDecoder(boolean fetchTags, boolean hasMetadata,
+			boolean fetchMetadata)
+	{
+		this(fetchTags, hasMetadata, fetchMetadata, null);
+	}
+
+	public BlockDecoder(boolean fetchTags, boolean hasMetadata,
+			boolean fetchMetadata, ZstdDictionaries dictionaries)
+	{
+		this.fetchTags = fetchTags;
+		this.hasMetadata = hasMetadata;
+		this.fetchMetadata = fetchMetadata;
+		this.dictionaries = dictionaries;
+	}
+
+	public ZstdDictionaries getDictionaries()
+	{
+		return dictionaries;
+	}
+
+	@Override
+	public EntityBlock decode(FileBlock block) throws IOException
+	{
+		if (block.getCompression() == Compression.NONE) {
+			// Decode uncompressed data in place, without copying or streaming
+			return decode(new ByteBufferCompactReader(block.getData()), block);
+		}
+		// Decompress on demand, sections at the end of the block that are not
+		// requested will not be decompressed at all
+		try (InputStream input = Decompression.stream(block, dictionaries)) {
+			return decode(new InputStreamCompactReader(input), block);
+		}
+	}
+
+	private EntityBlock decode(CompactReader reader, FileBlock block)
+			throws IOException
+	{
+		switch (block.getType()) {
+		case Definitions.BLOCK_TYPE_NODES:
+			return new EntityBlock(EntityType.Node, ReaderUtil.parseNodes(
+					reader, block, fetchTags, hasMetadata, fetchMetadata));
+		case Definitions.BLOCK_TYPE_WAYS:
+			return new EntityBlock(EntityType.Way, ReaderUtil.parseWays(
+					reader, block, fetchTags, hasMetadata, fetchMetadata));
+		case Definitions.BLOCK_TYPE_RELATIONS:
+			return new EntityBlock(EntityType.Relation,
+					ReaderUtil.parseRelations(reader, block, fetchTags,
+							hasMetadata, fetchMetadata));
+		default:
+			List<OsmEntity> none = Collections.emptyList();
+			return new EntityBlock(EntityType.Node, none);
+		}
+	}
+
+}
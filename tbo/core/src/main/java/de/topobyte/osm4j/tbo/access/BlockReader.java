@@ -27,15 +27,19 @@ import com.slimjars.dist.gnu.trove.map.hash.TIntObjectHashMap;
 import de.topobyte.compactio.CompactReader;
 import de.topobyte.compactio.CompactWriter;
 import de.topobyte.compactio.InputStreamCompactReader;
+import de.topobyte.osm4j.core.util.RawBlockReader;
 import de.topobyte.osm4j.tbo.Compression;
 import de.topobyte.osm4j.tbo.data.FileBlock;
 import de.topobyte.osm4j.tbo.data.FileHeader;
+import de.topobyte.osm4j.tbo.io.ZstdDictionaries;
 
-public class BlockReader
+public class BlockReader implements RawBlockReader<FileBlock>
 {
 
 	protected final CompactReader reader;
 
+	private ZstdDictionaries dictionaries = null;
+
 	private static TIntObjectMap<Compression> compressions = new TIntObjectHashMap<>();
 	static {
 		for (Compression compression : Compression.values()) {
@@ -53,11 +57,39 @@ public class BlockReader
 		this.reader = reader;
 	}
 
+	public ZstdDictionaries getDictionaries()
+	{
+		return dictionaries;
+	}
+
+	/**
+	 * Set the zstd dictionaries for decompressing blocks of files that do not
+	 * have their dictionaries embedded in the header.
+	 */
+	public void setDictionaries(ZstdDictionaries dictionaries)
+	{
+		this.dictionaries = dictionaries;
+	}
+
+	/**
+	 * @return the dictionaries embedded in the header if there are any or the
+	 *         ones configured using
+	 *         {@link #setDictionaries(ZstdDictionaries)}.
+	 */
+	protected ZstdDictionaries getDictionaries(FileHeader header)
+	{
+		if (header != null && header.hasDictionaries()) {
+			return header.getDictionaries();
+		}
+		return dictionaries;
+	}
+
 	public FileHeader parseHeader() throws IOException
 	{
 		return ReaderUtil.parseHeader(reader);
 	}
 
+	@Override
 	public FileBlock readBlock() throws IOException
 	{
 		// Type of the block
@@ -102,11 +134,22 @@ public class BlockReader
 			uncompressedLength = compressedLength;
 		}
 
-		byte[] buffer = new byte[compressedLength];
+		return readBlockData(typeByte, compression, uncompressedLength,
+				numObjects, compressedLength);
+	}
+
+	/**
+	 * Read the data part of a block whose header has already been consumed.
+	 */
+	protected FileBlock readBlockData(int type, Compression compression,
+			int uncompressedLength, int numObjects, int length)
+			throws IOException
+	{
+		byte[] buffer = new byte[length];
 		reader.readFully(buffer);
 
-		return new FileBlock(typeByte, compression, uncompressedLength,
-				numObjects, buffer, compressedLength);
+		return new FileBlock(type, compression, uncompressedLength,
+				numObjects, buffer, length);
 	}
 
 }
@@ -20,11 +20,15 @@ package de.topobyte.osm4j.tbo.access;
 import java.io.IOException;
 import java.util.zip.DeflaterOutputStream;
 
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+
 import de.topobyte.compactio.CompactWriter;
 import de.topobyte.compactio.OutputStreamCompactWriter;
 import de.topobyte.osm4j.tbo.ByteArrayOutputStream;
 import de.topobyte.osm4j.tbo.Compression;
 import de.topobyte.osm4j.tbo.data.FileBlock;
+import de.topobyte.osm4j.tbo.io.ZstdDictionaries;
 import de.topobyte.osm4j.tbo.writerhelper.Blockable;
 import net.jpountz.lz4.LZ4Compressor;
 import net.jpountz.lz4.LZ4Factory;
@@ -36,6 +40,12 @@ public class BlockableWriter
 
 	private boolean lowMemoryFootprint;
 
+	public static final int DEFAULT_ZSTD_LEVEL = 3;
+
+	private int zstdLevel = DEFAULT_ZSTD_LEVEL;
+	private ZstdDictionaries dictionaries = null;
+	private ZstdDictCompress[] compressDictionaries = new ZstdDictCompress[4];
+
 	public BlockableWriter(boolean lowMemoryFootprint)
 	{
 		this.lowMemoryFootprint = lowMemoryFootprint;
@@ -44,6 +54,38 @@ public class BlockableWriter
 		}
 	}
 
+	public int getZstdLevel()
+	{
+		return zstdLevel;
+	}
+
+	public void setZstdLevel(int zstdLevel)
+	{
+		if (this.zstdLevel == zstdLevel) {
+			return;
+		}
+		this.zstdLevel = zstdLevel;
+		compressDictionaries = new ZstdDictCompress[4];
+	}
+
+	public ZstdDictionaries getDictionaries()
+	{
+		return dictionaries;
+	}
+
+	/**
+	 * Use the specified dictionaries for blocks compressed with
+	 * {@link Compression#ZSTD}.
+	 */
+	public void setDictionaries(ZstdDictionaries dictionaries)
+	{
+		if (this.dictionaries == dictionaries) {
+			return;
+		}
+		this.dictionaries = dictionaries;
+		compressDictionaries = new ZstdDictCompress[4];
+	}
+
 	public FileBlock writeBlock(Blockable blockable, int type, int count,
 			Compression compression) throws IOException
 	{
@@ -56,9 +98,23 @@ public class BlockableWriter
 		CompactWriter bufferWriter = new OutputStreamCompactWriter(baos);
 		blockable.write(bufferWriter);
 		byte[] uncompressed = baos.toByteArray();
+
+		return compress(uncompressed, type, count, compression);
+	}
+
+	/**
+	 * Create a block from data that has already been serialized.
+	 */
+	public FileBlock compress(byte[] uncompressed, int type, int count,
+			Compression compression) throws IOException
+	{
 		byte[] compressed = null;
 		int length = 0;
-		baos.reset();
+		if (baos == null) {
+			baos = new ByteArrayOutputStream();
+		} else {
+			baos.reset();
+		}
 
 		switch (compression) {
 		default:
@@ -80,16 +136,39 @@ public class BlockableWriter
 			compressed = new byte[estimate];
 			length = lz4Compressor.compress(uncompressed, compressed);
 			break;
+		case ZSTD:
+			ZstdDictCompress dictionary = getCompressDictionary(type);
+			if (dictionary == null) {
+				compressed = Zstd.compress(uncompressed, zstdLevel);
+			} else {
+				compressed = Zstd.compress(uncompressed, dictionary);
+			}
+			length = compressed.length;
+			break;
 		}
 
-		FileBlock block = new FileBlock(type, compression, uncompressed.length,
-				count, compressed, length);
-
 		if (lowMemoryFootprint) {
 			baos = null;
 		}
 
-		return block;
+		return new FileBlock(type, compression, uncompressed.length, count,
+				compressed, length);
+	}
+
+	private ZstdDictCompress getCompressDictionary(int type)
+	{
+		if (dictionaries == null) {
+			return null;
+		}
+		byte[] dictionary = dictionaries.get(type);
+		if (dictionary == null) {
+			return null;
+		}
+		if (compressDictionaries[type] == null) {
+			compressDictionaries[type] = new ZstdDictCompress(dictionary,
+					zstdLevel);
+		}
+		return compressDictionaries[type];
 	}
 
 	private LZ4Compressor lz4Compressor = null;
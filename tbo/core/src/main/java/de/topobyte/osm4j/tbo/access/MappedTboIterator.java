@@ -0,0 +1,82 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.access;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import de.topobyte.osm4j.tbo.Compression;
+import de.topobyte.osm4j.tbo.data.FileBlock;
+import de.topobyte.osm4j.tbo.io.ByteBufferCompactReader;
+
+/**
+ * An iterator that reads a TBO file by mapping it into memory. Header and
+ * block metadata are decoded directly from the mapped buffer and the blocks
+ * refer to their data within the mapping, so uncompressed blocks are decoded
+ * without copying them at all. This is most effective for small, uncompressed
+ * files.
+ * 
+ * Files need to be smaller than 2 GiB.
+ */
+public class MappedTboIterator extends TboIterator
+{
+
+	public MappedTboIterator(File file, boolean fetchTags,
+			boolean fetchMetadata) throws IOException
+	{
+		this(map(file), fetchTags, fetchMetadata);
+	}
+
+	/**
+	 * Read the data from the remaining bytes of the specified buffer.
+	 */
+	public MappedTboIterator(ByteBuffer buffer, boolean fetchTags,
+			boolean fetchMetadata) throws IOException
+	{
+		super(new ByteBufferCompactReader(buffer), fetchTags, fetchMetadata);
+	}
+
+	private static MappedByteBuffer map(File file) throws IOException
+	{
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			FileChannel channel = raf.getChannel();
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("File too large to be mapped: " + file);
+			}
+			// The mapping stays valid after closing the channel
+			return channel.map(MapMode.READ_ONLY, 0, size);
+		}
+	}
+
+	@Override
+	protected FileBlock readBlockData(int type, Compression compression,
+			int uncompressedLength, int numObjects, int length)
+			throws IOException
+	{
+		ByteBuffer data = ((ByteBufferCompactReader) reader).slice(length);
+		return new FileBlock(type, compression, uncompressedLength,
+				numObjects, data);
+	}
+
+}
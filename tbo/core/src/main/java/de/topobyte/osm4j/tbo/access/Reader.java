@@ -17,7 +17,6 @@
 
 package de.topobyte.osm4j.tbo.access;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
@@ -31,6 +30,7 @@ import de.topobyte.osm4j.tbo.data.Definitions;
 import de.topobyte.osm4j.tbo.data.FileBlock;
 import de.topobyte.osm4j.tbo.data.FileHeader;
 import de.topobyte.osm4j.tbo.io.Decompression;
+import de.topobyte.osm4j.tbo.io.ZstdDictionaries;
 
 public class Reader extends BlockReader
 {
@@ -39,6 +39,7 @@ public class Reader extends BlockReader
 
 	private boolean hasMetadata;
 	private boolean fetchMetadata;
+	private ZstdDictionaries zstdDictionaries;
 
 	private final Handler handler;
 
@@ -62,6 +63,7 @@ public class Reader extends BlockReader
 	{
 		FileHeader header = ReaderUtil.parseHeader(reader);
 		hasMetadata = header.hasMetadata();
+		zstdDictionaries = getDictionaries(header);
 		handler.handle(header);
 
 		long notifysize = 100 * 1024 * 1024;
@@ -97,12 +99,10 @@ public class Reader extends BlockReader
 
 	private void parseBlock(FileBlock block) throws IOException
 	{
-		byte[] uncompressed = Decompression.decompress(block);
-
-		ByteArrayInputStream bais = new ByteArrayInputStream(uncompressed);
-		CompactReader compactReader = new InputStreamCompactReader(bais);
-
-		parseBlock(compactReader, block);
+		try (InputStream input = Decompression.stream(block,
+				zstdDictionaries)) {
+			parseBlock(new InputStreamCompactReader(input), block);
+		}
 	}
 
 	private void parseBlock(CompactReader reader, FileBlock block)
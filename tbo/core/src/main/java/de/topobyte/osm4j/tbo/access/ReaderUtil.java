@@ -43,6 +43,7 @@ import de.topobyte.osm4j.tbo.data.BlockMetadataInfo;
 import de.topobyte.osm4j.tbo.data.Definitions;
 import de.topobyte.osm4j.tbo.data.FileBlock;
 import de.topobyte.osm4j.tbo.data.FileHeader;
+import de.topobyte.osm4j.tbo.io.ZstdDictionaries;
 import de.topobyte.osm4j.tbo.writerhelper.EntityTypeHelper;
 
 public class ReaderUtil
@@ -70,6 +71,9 @@ public class ReaderUtil
 		int flags = reader.readByte();
 		boolean hasMetadata = (flags & FileHeader.FLAG_HAS_METADATA) != 0;
 		boolean hasBounds = (flags & FileHeader.FLAG_HAS_BOUNDS) != 0;
+		boolean hasIndex = (flags & FileHeader.FLAG_HAS_INDEX) != 0;
+		boolean hasDictionaries = (flags
+				& FileHeader.FLAG_HAS_DICTIONARIES) != 0;
 
 		OsmBounds bounds = null;
 		if (hasBounds) {
@@ -80,7 +84,12 @@ public class ReaderUtil
 			bounds = new Bounds(left, right, top, bottom);
 		}
 
-		return new FileHeader(version, tags, hasMetadata, bounds);
+		FileHeader header = new FileHeader(version, tags, hasMetadata, bounds,
+				hasIndex);
+		if (hasDictionaries) {
+			header.setDictionaries(ZstdDictionaries.read(reader));
+		}
+		return header;
 	}
 
 	private static List<String> parsePool(CompactReader reader)
@@ -166,7 +175,7 @@ public class ReaderUtil
 				List<Tag> tags = parseTags(reader, poolTags);
 				nodes.get(i).setTags(tags);
 			}
-		} else {
+		} else if (hasMetadata && fetchMetadata) {
 			reader.skip(len);
 		}
 
@@ -246,7 +255,7 @@ public class ReaderUtil
 				List<Tag> tags = parseTags(reader, poolTags);
 				ways.get(i).setTags(tags);
 			}
-		} else {
+		} else if (hasMetadata && fetchMetadata) {
 			reader.skip(len);
 		}
 
@@ -334,7 +343,7 @@ public class ReaderUtil
 				List<Tag> tags = parseTags(reader, poolTags);
 				relations.get(i).setTags(tags);
 			}
-		} else {
+		} else if (hasMetadata && fetchMetadata) {
 			reader.skip(len);
 		}
 
@@ -0,0 +1,135 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.access;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import de.topobyte.compactio.CompactReader;
+import de.topobyte.compactio.InputStreamCompactReader;
+import de.topobyte.osm4j.core.access.OsmBatch;
+import de.topobyte.osm4j.core.access.OsmBatchIterator;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.tbo.data.FileBlock;
+import de.topobyte.osm4j.tbo.data.FileHeader;
+
+/**
+ * An iterator that returns the entities of each block of the file as a single
+ * batch.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class TboBatchIterator extends BlockReader implements OsmBatchIterator
+{
+
+	private FileHeader header;
+	private boolean hasMetadata;
+
+	private boolean fetchTags;
+	private boolean fetchMetadata;
+
+	private BlockDecoder decoder = null;
+
+	private OsmBatch next = null;
+	private boolean valid = true;
+
+	public TboBatchIterator(InputStream input, boolean fetchTags,
+			boolean fetchMetadata) throws IOException
+	{
+		this(new InputStreamCompactReader(input), fetchTags, fetchMetadata);
+	}
+
+	public TboBatchIterator(CompactReader reader, boolean fetchTags,
+			boolean fetchMetadata) throws IOException
+	{
+		super(reader);
+		this.fetchTags = fetchTags;
+		this.fetchMetadata = fetchMetadata;
+
+		header = ReaderUtil.parseHeader(reader);
+		hasMetadata = header.hasMetadata();
+	}
+
+	@Override
+	public Iterator<OsmBatch> iterator()
+	{
+		return this;
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		while (valid && next == null) {
+			try {
+				advanceBlock();
+			} catch (IOException e) {
+				throw new RuntimeException("error while reading block", e);
+			}
+		}
+		return next != null;
+	}
+
+	@Override
+	public OsmBatch next()
+	{
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		OsmBatch batch = next;
+		next = null;
+		return batch;
+	}
+
+	@Override
+	public void remove()
+	{
+		throw new UnsupportedOperationException("read only");
+	}
+
+	private void advanceBlock() throws IOException
+	{
+		FileBlock block = readBlock();
+		if (block == null) {
+			valid = false;
+			return;
+		}
+		if (decoder == null) {
+			decoder = new BlockDecoder(fetchTags, hasMetadata, fetchMetadata,
+					getDictionaries(header));
+		}
+		EntityBlock decoded = decoder.decode(block);
+		if (!decoded.getEntities().isEmpty()) {
+			next = new OsmBatch(decoded.getType(), decoded.getEntities());
+		}
+	}
+
+	@Override
+	public boolean hasBounds()
+	{
+		return header.hasBounds();
+	}
+
+	@Override
+	public OsmBounds getBounds()
+	{
+		return header.getBounds();
+	}
+
+}
@@ -0,0 +1,72 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.access;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import com.slimjars.dist.gnu.trove.list.TIntList;
+
+import de.topobyte.osm4j.core.access.OsmBatch;
+import de.topobyte.osm4j.core.access.OsmBlockSource;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.tbo.index.BlockIndex;
+
+/**
+ * Provides a selection of blocks of a {@link TboFile} as batches of entities,
+ * one batch per block.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class TboBlockSource implements OsmBlockSource
+{
+
+	private TboFile file;
+	private TIntList blocks;
+
+	/**
+	 * @param blocks
+	 *            the indices of the blocks of the file to provide, for
+	 *            example as returned by
+	 *            {@link BlockIndex#getBlocks(EntityType)}.
+	 */
+	public TboBlockSource(TboFile file, TIntList blocks)
+	{
+		this.file = file;
+		this.blocks = blocks;
+	}
+
+	@Override
+	public int getNumberOfBlocks()
+	{
+		return blocks.size();
+	}
+
+	@Override
+	public List<OsmBatch> decodeBlock(int index) throws IOException
+	{
+		EntityBlock block = file.decodeBlock(blocks.get(index));
+		if (block.getEntities().isEmpty()) {
+			return Collections.emptyList();
+		}
+		return Collections.singletonList(
+				new OsmBatch(block.getType(), block.getEntities()));
+	}
+
+}
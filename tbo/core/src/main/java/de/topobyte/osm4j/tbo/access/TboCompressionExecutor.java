@@ -0,0 +1,163 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.access;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import de.topobyte.compactio.OutputStreamCompactWriter;
+import de.topobyte.osm4j.tbo.ByteArrayOutputStream;
+import de.topobyte.osm4j.tbo.Compression;
+import de.topobyte.osm4j.tbo.data.FileBlock;
+import de.topobyte.osm4j.tbo.io.ZstdDictionaries;
+import de.topobyte.osm4j.tbo.writerhelper.Blockable;
+
+/**
+ * A pool of threads that compresses and writes blocks on behalf of any number
+ * of {@link TboWriter} instances, see
+ * {@link TboWriter#setCompressionExecutor(TboCompressionExecutor)}.
+ * 
+ * The amount of uncompressed data that has been submitted but not written yet
+ * is limited by a memory budget shared by all writers. Writers block when
+ * submitting a block would exceed the budget. Serialization buffers and
+ * {@link BlockableWriter}s are pooled and reused across writers.
+ */
+public class TboCompressionExecutor implements Closeable
+{
+
+	public static final long DEFAULT_MEMORY_BUDGET = 64 * 1024 * 1024;
+
+	private ExecutorService executor;
+	private long memoryBudget;
+	private long memoryUsed = 0;
+
+	private Queue<ByteArrayOutputStream> buffers;
+	private Queue<BlockableWriter> writers;
+
+	public TboCompressionExecutor(int numThreads)
+	{
+		this(numThreads, DEFAULT_MEMORY_BUDGET);
+	}
+
+	/**
+	 * @param memoryBudget
+	 *            the maximum number of bytes of uncompressed block data that
+	 *            may be pending at any time. A single block is always
+	 *            accepted, even if it exceeds the budget on its own.
+	 */
+	public TboCompressionExecutor(int numThreads, long memoryBudget)
+	{
+		if (numThreads < 1) {
+			throw new IllegalArgumentException(
+					"number of threads must be positive");
+		}
+		this.memoryBudget = memoryBudget;
+		buffers = new ConcurrentLinkedQueue<>();
+		writers = new ConcurrentLinkedQueue<>();
+		executor = Executors.newFixedThreadPool(numThreads,
+				new ThreadFactory() {
+
+					@Override
+					public Thread newThread(Runnable runnable)
+					{
+						Thread thread = new Thread(runnable,
+								"tbo-block-compressor");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+	}
+
+	public long getMemoryBudget()
+	{
+		return memoryBudget;
+	}
+
+	/**
+	 * Stop the worker threads once all submitted blocks have been processed.
+	 * Writers using this executor need to be completed before.
+	 */
+	@Override
+	public void close()
+	{
+		executor.shutdown();
+	}
+
+	byte[] serialize(Blockable blockable) throws IOException
+	{
+		ByteArrayOutputStream baos = buffers.poll();
+		if (baos == null) {
+			baos = new ByteArrayOutputStream();
+		}
+		try {
+			blockable.write(new OutputStreamCompactWriter(baos));
+			return baos.toByteArray();
+		} finally {
+			baos.reset();
+			buffers.add(baos);
+		}
+	}
+
+	FileBlock compress(byte[] uncompressed, int type, int count,
+			Compression compression, int zstdLevel,
+			ZstdDictionaries dictionaries) throws IOException
+	{
+		BlockableWriter writer = writers.poll();
+		if (writer == null) {
+			writer = new BlockableWriter(false);
+		}
+		try {
+			writer.setZstdLevel(zstdLevel);
+			writer.setDictionaries(dictionaries);
+			return writer.compress(uncompressed, type, count, compression);
+		} finally {
+			writers.add(writer);
+		}
+	}
+
+	void execute(Runnable task)
+	{
+		executor.execute(task);
+	}
+
+	synchronized void acquire(long bytes) throws InterruptedIOException
+	{
+		while (memoryUsed > 0 && memoryUsed + bytes > memoryBudget) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				throw new InterruptedIOException(
+						"interrupted while waiting for pending blocks");
+			}
+		}
+		memoryUsed += bytes;
+	}
+
+	synchronized void release(long bytes)
+	{
+		memoryUsed -= bytes;
+		notifyAll();
+	}
+
+}
@@ -0,0 +1,278 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.access;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.slimjars.dist.gnu.trove.list.TIntList;
+
+import de.topobyte.compactio.CompactReader;
+import de.topobyte.compactio.InputStreamCompactReader;
+import de.topobyte.osm4j.core.access.OsmIterator;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.tbo.data.Definitions;
+import de.topobyte.osm4j.tbo.data.FileBlock;
+import de.topobyte.osm4j.tbo.data.FileHeader;
+import de.topobyte.osm4j.tbo.index.BlockIndex;
+import de.topobyte.osm4j.tbo.index.BlockInfo;
+import de.topobyte.osm4j.tbo.io.Decompression;
+import de.topobyte.osm4j.tbo.io.ZstdDictionaries;
+
+/**
+ * Random access to the blocks of a TBO file.
+ * 
+ * If the file has been written with a block index (see
+ * {@link TboWriter#setWriteIndex(boolean)}), the index is loaded from the end
+ * of the file. Otherwise, the index is built by reading the whole file once
+ * the first time it is needed.
+ * 
+ * Blocks can be read and decoded from multiple threads concurrently. Reading
+ * the raw data of blocks is serialized while decoding happens in parallel.
+ */
+public class TboFile implements Closeable
+{
+
+	private RandomAccessFile file;
+	private boolean fetchTags;
+	private boolean fetchMetadata;
+	private BlockDecoder decoder;
+
+	private FileHeader header;
+	private long dataOffset;
+	private BlockIndex index = null;
+
+	public TboFile(File file, boolean fetchTags, boolean fetchMetadata)
+			throws IOException
+	{
+		this(new RandomAccessFile(file, "r"), fetchTags, fetchMetadata);
+	}
+
+	public TboFile(RandomAccessFile file, boolean fetchTags,
+			boolean fetchMetadata) throws IOException
+	{
+		this.file = file;
+		this.fetchTags = fetchTags;
+		this.fetchMetadata = fetchMetadata;
+
+		file.seek(0);
+		// Don't use a buffer here, we need to know where the header ends
+		CompactReader reader = new InputStreamCompactReader(
+				Channels.newInputStream(file.getChannel()));
+		header = ReaderUtil.parseHeader(reader);
+		dataOffset = file.getFilePointer();
+
+		decoder = new BlockDecoder(fetchTags, header.hasMetadata(),
+				fetchMetadata, header.getDictionaries());
+	}
+
+	/**
+	 * Set the zstd dictionaries for decompressing blocks of files that do not
+	 * have their dictionaries embedded in the header.
+	 */
+	public void setDictionaries(ZstdDictionaries dictionaries)
+	{
+		if (header.hasDictionaries()) {
+			return;
+		}
+		decoder = new BlockDecoder(fetchTags, header.hasMetadata(),
+				fetchMetadata, dictionaries);
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		file.close();
+	}
+
+	public FileHeader getHeader()
+	{
+		return header;
+	}
+
+	/**
+	 * @return whether the file contains a stored block index.
+	 */
+	public boolean hasIndex()
+	{
+		return header.hasIndex();
+	}
+
+	public synchronized BlockIndex getBlockIndex() throws IOException
+	{
+		if (index == null) {
+			if (header.hasIndex()) {
+				index = readIndex();
+			} else {
+				index = buildIndex();
+			}
+		}
+		return index;
+	}
+
+	public int getNumberOfBlocks() throws IOException
+	{
+		return getBlockIndex().getNumberOfBlocks();
+	}
+
+	public BlockInfo getBlockInfo(int i) throws IOException
+	{
+		return getBlockIndex().getBlock(i);
+	}
+
+	public synchronized FileBlock readBlock(int i) throws IOException
+	{
+		return readBlockAt(getBlockIndex().getBlock(i).getOffset());
+	}
+
+	public EntityBlock decodeBlock(int i) throws IOException
+	{
+		return decoder.decode(readBlock(i));
+	}
+
+	/**
+	 * Find the block that contains the entity with the specified type and id.
+	 * 
+	 * @see BlockIndex#findBlock(EntityType, long)
+	 * @return the index of the block or -1 if there is no such block.
+	 */
+	public int findBlock(EntityType type, long id) throws IOException
+	{
+		return getBlockIndex().findBlock(type, id);
+	}
+
+	/**
+	 * @return an iterator over the entities of the specified type that reads
+	 *         only the blocks containing such entities.
+	 */
+	public OsmIterator iterator(EntityType type) throws IOException
+	{
+		return new TboFileIterator(this, getBlockIndex().getBlocks(type));
+	}
+
+	/**
+	 * @return an iterator over the entities contained in the specified blocks.
+	 */
+	public OsmIterator iterator(TIntList blocks)
+	{
+		return new TboFileIterator(this, blocks);
+	}
+
+	private FileBlock readBlockAt(long offset) throws IOException
+	{
+		file.seek(offset);
+		BlockReader reader = new BlockReader(new BufferedInputStream(
+				Channels.newInputStream(file.getChannel())));
+		FileBlock block = reader.readBlock();
+		if (block == null) {
+			throw new IOException("no block at offset " + offset);
+		}
+		return block;
+	}
+
+	private BlockIndex readIndex() throws IOException
+	{
+		long length = file.length();
+		file.seek(length - 8);
+		CompactReader tail = new InputStreamCompactReader(
+				Channels.newInputStream(file.getChannel()));
+		long offset = tail.readLong();
+		if (offset < dataOffset || offset >= length - 8) {
+			throw new IOException("invalid position of block index");
+		}
+
+		FileBlock block = readBlockAt(offset);
+		if (block.getType() != Definitions.BLOCK_TYPE_INDEX) {
+			throw new IOException("no block index at the end of the file");
+		}
+
+		byte[] data = Decompression.decompress(block);
+		CompactReader reader = new InputStreamCompactReader(
+				new ByteArrayInputStream(data));
+		return BlockIndex.read(reader);
+	}
+
+	private BlockIndex buildIndex() throws IOException
+	{
+		BlockDecoder scanDecoder = new BlockDecoder(false,
+				header.hasMetadata(), false, decoder.getDictionaries());
+		List<BlockInfo> blocks = new ArrayList<>();
+
+		long offset = dataOffset;
+		file.seek(offset);
+		BlockReader reader = new BlockReader(new BufferedInputStream(
+				Channels.newInputStream(file.getChannel())));
+		while (true) {
+			FileBlock block = reader.readBlock();
+			if (block == null) {
+				break;
+			}
+			int type = block.getType();
+			if (type == Definitions.BLOCK_TYPE_NODES
+					|| type == Definitions.BLOCK_TYPE_WAYS
+					|| type == Definitions.BLOCK_TYPE_RELATIONS) {
+				EntityBlock entities = scanDecoder.decode(block);
+				blocks.add(createInfo(offset, entities));
+			}
+			offset += WriterUtil.getSize(block);
+		}
+
+		return new BlockIndex(blocks);
+	}
+
+	private static BlockInfo createInfo(long offset, EntityBlock block)
+	{
+		List<? extends OsmEntity> entities = block.getEntities();
+		EntityType type = block.getType();
+
+		long minId = Long.MAX_VALUE;
+		long maxId = Long.MIN_VALUE;
+		for (OsmEntity entity : entities) {
+			minId = Math.min(minId, entity.getId());
+			maxId = Math.max(maxId, entity.getId());
+		}
+
+		if (type != EntityType.Node || entities.isEmpty()) {
+			return new BlockInfo(offset, type, entities.size(), minId, maxId);
+		}
+
+		double minLon = Double.POSITIVE_INFINITY;
+		double maxLon = Double.NEGATIVE_INFINITY;
+		double minLat = Double.POSITIVE_INFINITY;
+		double maxLat = Double.NEGATIVE_INFINITY;
+		for (OsmEntity entity : entities) {
+			OsmNode node = (OsmNode) entity;
+			minLon = Math.min(minLon, node.getLongitude());
+			maxLon = Math.max(maxLon, node.getLongitude());
+			minLat = Math.min(minLat, node.getLatitude());
+			maxLat = Math.max(maxLat, node.getLatitude());
+		}
+		return new BlockInfo(offset, type, entities.size(), minId, maxId,
+				minLon, maxLon, minLat, maxLat);
+	}
+
+}
@@ -0,0 +1,106 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.access;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.slimjars.dist.gnu.trove.list.TIntList;
+
+import de.topobyte.osm4j.core.access.OsmIterator;
+import de.topobyte.osm4j.core.model.iface.EntityContainer;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+
+/**
+ * An iterator over the entities of a selection of blocks of a {@link TboFile}.
+ * 
+ * Errors that occur while reading or decoding blocks are rethrown from
+ * {@link #hasNext()} wrapped in a {@link RuntimeException}.
+ */
+public class TboFileIterator implements OsmIterator
+{
+
+	private TboFile file;
+	private TIntList blocks;
+
+	private int nextBlock = 0;
+	private EntityBlock block = null;
+	private List<? extends OsmEntity> entities = null;
+	private int pointer = 0;
+
+	public TboFileIterator(TboFile file, TIntList blocks)
+	{
+		this.file = file;
+		this.blocks = blocks;
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		while (entities == null || pointer >= entities.size()) {
+			if (nextBlock >= blocks.size()) {
+				return false;
+			}
+			try {
+				block = file.decodeBlock(blocks.get(nextBlock++));
+			} catch (IOException e) {
+				throw new RuntimeException("error while reading block", e);
+			}
+			entities = block.getEntities();
+			pointer = 0;
+		}
+		return true;
+	}
+
+	@Override
+	public EntityContainer next()
+	{
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return new EntityContainer(block.getType(), entities.get(pointer++));
+	}
+
+	@Override
+	public void remove()
+	{
+		throw new UnsupportedOperationException("read only");
+	}
+
+	@Override
+	public Iterator<EntityContainer> iterator()
+	{
+		return this;
+	}
+
+	@Override
+	public boolean hasBounds()
+	{
+		return file.getHeader().hasBounds();
+	}
+
+	@Override
+	public OsmBounds getBounds()
+	{
+		return file.getHeader().getBounds();
+	}
+
+}
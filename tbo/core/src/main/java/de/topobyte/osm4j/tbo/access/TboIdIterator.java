@@ -17,7 +17,6 @@
 
 package de.topobyte.osm4j.tbo.access;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Iterator;
@@ -63,7 +62,7 @@ public class TboIdIterator extends BlockReader implements OsmIdIterator
 	@Override
 	public boolean hasNext()
 	{
-		if (available == 0) {
+		while (valid && available == 0) {
 			try {
 				advanceBlock();
 			} catch (IOException e) {
@@ -98,11 +97,14 @@ public class TboIdIterator extends BlockReader implements OsmIdIterator
 		pointer = 0;
 		available = block.getNumObjects();
 
-		byte[] uncompressed = Decompression.decompress(block);
-
-		ByteArrayInputStream bais = new ByteArrayInputStream(uncompressed);
-		CompactReader reader = new InputStreamCompactReader(bais);
+		try (InputStream input = Decompression.stream(block,
+				getDictionaries(header))) {
+			parseIds(new InputStreamCompactReader(input));
+		}
+	}
 
+	private void parseIds(CompactReader reader) throws IOException
+	{
 		switch (block.getType()) {
 		case Definitions.BLOCK_TYPE_NODES:
 			entityType = EntityType.Node;
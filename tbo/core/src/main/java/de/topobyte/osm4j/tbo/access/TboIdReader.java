@@ -17,7 +17,6 @@
 
 package de.topobyte.osm4j.tbo.access;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -33,11 +32,13 @@ import de.topobyte.osm4j.tbo.data.Definitions;
 import de.topobyte.osm4j.tbo.data.FileBlock;
 import de.topobyte.osm4j.tbo.data.FileHeader;
 import de.topobyte.osm4j.tbo.io.Decompression;
+import de.topobyte.osm4j.tbo.io.ZstdDictionaries;
 
 public class TboIdReader extends BlockReader implements OsmIdReader
 {
 
 	private OsmIdHandler handler;
+	private ZstdDictionaries zstdDictionaries;
 
 	public TboIdReader(InputStream is)
 	{
@@ -63,6 +64,7 @@ public class TboIdReader extends BlockReader implements OsmIdReader
 			if (header.hasBounds()) {
 				handler.handle(header.getBounds());
 			}
+			zstdDictionaries = getDictionaries(header);
 		} catch (IOException e) {
 			throw new OsmInputException("error while reading header", e);
 		}
@@ -94,12 +96,10 @@ public class TboIdReader extends BlockReader implements OsmIdReader
 
 	private void parseBlock(FileBlock block) throws IOException
 	{
-		byte[] uncompressed = Decompression.decompress(block);
-
-		ByteArrayInputStream bais = new ByteArrayInputStream(uncompressed);
-		CompactReader compactReader = new InputStreamCompactReader(bais);
-
-		parseBlock(compactReader, block);
+		try (InputStream input = Decompression.stream(block,
+				zstdDictionaries)) {
+			parseBlock(new InputStreamCompactReader(input), block);
+		}
 	}
 
 	private void parseBlock(CompactReader reader, FileBlock block)
@@ -17,7 +17,6 @@
 
 package de.topobyte.osm4j.tbo.access;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Iterator;
@@ -30,10 +29,8 @@ import de.topobyte.osm4j.core.model.iface.EntityContainer;
 import de.topobyte.osm4j.core.model.iface.EntityType;
 import de.topobyte.osm4j.core.model.iface.OsmBounds;
 import de.topobyte.osm4j.core.model.iface.OsmEntity;
-import de.topobyte.osm4j.tbo.data.Definitions;
 import de.topobyte.osm4j.tbo.data.FileBlock;
 import de.topobyte.osm4j.tbo.data.FileHeader;
-import de.topobyte.osm4j.tbo.io.Decompression;
 
 public class TboIterator extends BlockReader implements OsmIterator
 {
@@ -44,6 +41,8 @@ public class TboIterator extends BlockReader implements OsmIterator
 	private boolean fetchTags;
 	private boolean fetchMetadata;
 
+	private BlockDecoder decoder = null;
+
 	private int available = 0;
 	private int pointer = 0;
 
@@ -72,7 +71,7 @@ public class TboIterator extends BlockReader implements OsmIterator
 	@Override
 	public boolean hasNext()
 	{
-		if (available == 0) {
+		while (valid && available == 0) {
 			try {
 				advanceBlock();
 			} catch (IOException e) {
@@ -104,31 +103,15 @@ public class TboIterator extends BlockReader implements OsmIterator
 			valid = false;
 			return;
 		}
-		pointer = 0;
-		available = block.getNumObjects();
-
-		byte[] uncompressed = Decompression.decompress(block);
-
-		ByteArrayInputStream bais = new ByteArrayInputStream(uncompressed);
-		CompactReader reader = new InputStreamCompactReader(bais);
-
-		switch (block.getType()) {
-		case Definitions.BLOCK_TYPE_NODES:
-			entityType = EntityType.Node;
-			entities = ReaderUtil.parseNodes(reader, block, fetchTags,
-					hasMetadata, fetchMetadata);
-			break;
-		case Definitions.BLOCK_TYPE_WAYS:
-			entityType = EntityType.Way;
-			entities = ReaderUtil.parseWays(reader, block, fetchTags,
-					hasMetadata, fetchMetadata);
-			break;
-		case Definitions.BLOCK_TYPE_RELATIONS:
-			entityType = EntityType.Relation;
-			entities = ReaderUtil.parseRelations(reader, block, fetchTags,
-					hasMetadata, fetchMetadata);
-			break;
+		if (decoder == null) {
+			decoder = new BlockDecoder(fetchTags, hasMetadata, fetchMetadata,
+					getDictionaries(header));
 		}
+		EntityBlock decoded = decoder.decode(block);
+		entityType = decoded.getType();
+		entities = decoded.getEntities();
+		pointer = 0;
+		available = entities.size();
 	}
 
 	@Override
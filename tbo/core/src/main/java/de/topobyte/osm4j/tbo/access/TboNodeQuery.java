@@ -0,0 +1,107 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.access;
+
+import java.io.IOException;
+
+import com.slimjars.dist.gnu.trove.list.TIntList;
+
+import de.topobyte.osm4j.core.access.OsmOutputStream;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.tbo.index.BlockIndex;
+import de.topobyte.osm4j.tbo.index.BlockMatch;
+import de.topobyte.osm4j.tbo.index.Region;
+
+/**
+ * Retrieves the nodes of a TBO file that are located within a
+ * {@link Region}, using the bounding boxes of the node blocks from the block
+ * index. Blocks disjoint with the region are not read at all, nodes of blocks
+ * completely within the region are passed on without testing them
+ * individually.
+ * 
+ * This is most effective with files that contain a stored block index,
+ * otherwise the index is built by reading the whole file first.
+ */
+public class TboNodeQuery
+{
+
+	private TboFile file;
+	private Region region;
+
+	private int numBlocksDisjoint = 0;
+	private int numBlocksContained = 0;
+	private int numBlocksIntersecting = 0;
+
+	public TboNodeQuery(TboFile file, Region region)
+	{
+		this.file = file;
+		this.region = region;
+	}
+
+	/**
+	 * Write all nodes within the region to the specified output.
+	 */
+	public void execute(OsmOutputStream output) throws IOException
+	{
+		BlockIndex index = file.getBlockIndex();
+		TIntList blocks = index.getBlocks(EntityType.Node);
+		for (int k = 0; k < blocks.size(); k++) {
+			int i = blocks.get(k);
+			BlockMatch match = BlockMatch.classify(region, index.getBlock(i));
+			if (match == BlockMatch.DISJOINT) {
+				numBlocksDisjoint++;
+				continue;
+			}
+
+			EntityBlock block = file.decodeBlock(i);
+			if (match == BlockMatch.CONTAINED) {
+				numBlocksContained++;
+				for (OsmEntity entity : block.getEntities()) {
+					output.write((OsmNode) entity);
+				}
+			} else {
+				numBlocksIntersecting++;
+				for (OsmEntity entity : block.getEntities()) {
+					OsmNode node = (OsmNode) entity;
+					if (region.contains(node.getLongitude(),
+							node.getLatitude())) {
+						output.write(node);
+					}
+				}
+			}
+		}
+	}
+
+	public int getNumBlocksDisjoint()
+	{
+		return numBlocksDisjoint;
+	}
+
+	public int getNumBlocksContained()
+	{
+		return numBlocksContained;
+	}
+
+	public int getNumBlocksIntersecting()
+	{
+		return numBlocksIntersecting;
+	}
+
+}
@@ -17,13 +17,14 @@
 
 package de.topobyte.osm4j.tbo.access;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 
 import de.topobyte.compactio.CompactReader;
 import de.topobyte.compactio.InputStreamCompactReader;
+import de.topobyte.osm4j.core.access.OsmBatchHandler;
+import de.topobyte.osm4j.core.access.OsmBatchReader;
 import de.topobyte.osm4j.core.access.OsmHandler;
 import de.topobyte.osm4j.core.access.OsmInputException;
 import de.topobyte.osm4j.core.access.OsmReader;
@@ -34,16 +35,20 @@ import de.topobyte.osm4j.tbo.data.Definitions;
 import de.topobyte.osm4j.tbo.data.FileBlock;
 import de.topobyte.osm4j.tbo.data.FileHeader;
 import de.topobyte.osm4j.tbo.io.Decompression;
+import de.topobyte.osm4j.tbo.io.ZstdDictionaries;
 
-public class TboReader extends BlockReader implements OsmReader
+public class TboReader extends BlockReader
+		implements OsmReader, OsmBatchReader
 {
 
 	private boolean fetchTags;
 
 	private boolean hasMetadata;
 	private boolean fetchMetadata;
+	private ZstdDictionaries zstdDictionaries;
 
 	private OsmHandler handler;
+	private OsmBatchHandler batchHandler;
 
 	public TboReader(InputStream is, boolean fetchTags, boolean fetchMetadata)
 	{
@@ -62,6 +67,18 @@ public class TboReader extends BlockReader implements OsmReader
 	public void setHandler(OsmHandler handler)
 	{
 		this.handler = handler;
+		this.batchHandler = null;
+	}
+
+	/**
+	 * Receive the entities of each block as a single batch instead of one at
+	 * a time. Replaces any handler set using {@link #setHandler(OsmHandler)}.
+	 */
+	@Override
+	public void setBatchHandler(OsmBatchHandler batchHandler)
+	{
+		this.batchHandler = batchHandler;
+		this.handler = null;
 	}
 
 	@Override
@@ -70,9 +87,14 @@ public class TboReader extends BlockReader implements OsmReader
 		try {
 			FileHeader header = ReaderUtil.parseHeader(reader);
 			if (header.hasBounds()) {
-				handler.handle(header.getBounds());
+				if (batchHandler != null) {
+					batchHandler.handle(header.getBounds());
+				} else {
+					handler.handle(header.getBounds());
+				}
 			}
 			hasMetadata = header.hasMetadata();
+			zstdDictionaries = getDictionaries(header);
 		} catch (IOException e) {
 			throw new OsmInputException("error while reading header", e);
 		}
@@ -115,7 +137,11 @@ public class TboReader extends BlockReader implements OsmReader
 		}
 
 		try {
-			handler.complete();
+			if (batchHandler != null) {
+				batchHandler.complete();
+			} else {
+				handler.complete();
+			}
 		} catch (IOException e) {
 			throw new OsmInputException("error while completing handler", e);
 		}
@@ -123,12 +149,10 @@ public class TboReader extends BlockReader implements OsmReader
 
 	private void parseBlock(FileBlock block) throws IOException
 	{
-		byte[] uncompressed = Decompression.decompress(block);
-
-		ByteArrayInputStream bais = new ByteArrayInputStream(uncompressed);
-		CompactReader compactReader = new InputStreamCompactReader(bais);
-
-		parseBlock(compactReader, block);
+		try (InputStream input = Decompression.stream(block,
+				zstdDictionaries)) {
+			parseBlock(new InputStreamCompactReader(input), block);
+		}
 	}
 
 	private void parseBlock(CompactReader reader, FileBlock block)
@@ -138,18 +162,30 @@ public class TboReader extends BlockReader implements OsmReader
 		if (block.getType() == Definitions.BLOCK_TYPE_NODES) {
 			List<Node> nodes = ReaderUtil.parseNodes(reader, block, fetchTags,
 					hasMetadata, fetchMetadata);
+			if (batchHandler != null) {
+				batchHandler.handleNodes(nodes);
+				return;
+			}
 			for (Node node : nodes) {
 				handler.handle(node);
 			}
 		} else if (block.getType() == Definitions.BLOCK_TYPE_WAYS) {
 			List<Way> ways = ReaderUtil.parseWays(reader, block, fetchTags,
 					hasMetadata, fetchMetadata);
+			if (batchHandler != null) {
+				batchHandler.handleWays(ways);
+				return;
+			}
 			for (Way way : ways) {
 				handler.handle(way);
 			}
 		} else if (block.getType() == Definitions.BLOCK_TYPE_RELATIONS) {
 			List<Relation> relations = ReaderUtil.parseRelations(reader, block,
 					fetchTags, hasMetadata, fetchMetadata);
+			if (batchHandler != null) {
+				batchHandler.handleRelations(relations);
+				return;
+			}
 			for (Relation relation : relations) {
 				handler.handle(relation);
 			}
@@ -18,16 +18,22 @@
 package de.topobyte.osm4j.tbo.access;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import de.topobyte.compactio.CompactWriter;
 import de.topobyte.compactio.OutputStreamCompactWriter;
 import de.topobyte.osm4j.core.access.OsmOutputStream;
+import de.topobyte.osm4j.core.model.iface.EntityType;
 import de.topobyte.osm4j.core.model.iface.OsmBounds;
 import de.topobyte.osm4j.core.model.iface.OsmEntity;
 import de.topobyte.osm4j.core.model.iface.OsmNode;
 import de.topobyte.osm4j.core.model.iface.OsmRelation;
 import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.tbo.ByteArrayOutputStream;
 import de.topobyte.osm4j.tbo.Compression;
 import de.topobyte.osm4j.tbo.batching.BatchBuilder;
 import de.topobyte.osm4j.tbo.batching.ElementCountBatchBuilder;
@@ -36,6 +42,10 @@ import de.topobyte.osm4j.tbo.batching.WayNodeCountBatchBuilder;
 import de.topobyte.osm4j.tbo.data.Definitions;
 import de.topobyte.osm4j.tbo.data.FileBlock;
 import de.topobyte.osm4j.tbo.data.FileHeader;
+import de.topobyte.osm4j.tbo.index.BlockIndexBuilder;
+import de.topobyte.osm4j.tbo.index.BlockInfo;
+import de.topobyte.osm4j.tbo.io.ZstdDictionaries;
+import de.topobyte.osm4j.tbo.writerhelper.Blockable;
 import de.topobyte.osm4j.tbo.writerhelper.NodeBatch;
 import de.topobyte.osm4j.tbo.writerhelper.RelationBatch;
 import de.topobyte.osm4j.tbo.writerhelper.WayBatch;
@@ -55,11 +65,27 @@ public class TboWriter implements OsmOutputStream
 
 	private Compression compression = Compression.NONE;
 	private boolean writeMetadata;
+	private boolean writeIndex = false;
+	private boolean embedDictionaries = false;
+
+	private long position = 0;
+	private BlockIndexBuilder indexBuilder = new BlockIndexBuilder();
 
 	private NodeBatch nodeBatch;
 	private WayBatch wayBatch;
 	private RelationBatch relationBatch;
 
+	private TboCompressionExecutor compressionExecutor = null;
+
+	// State for writing blocks in order when compressing asynchronously. The
+	// fields below the lock are guarded by it.
+	private long numSubmitted = 0;
+	private final Object asyncLock = new Object();
+	private long numWritten = 0;
+	private int numPending = 0;
+	private Map<Long, CompressedBlock> compressedBlocks = new HashMap<>();
+	private Throwable asyncFailure = null;
+
 	public TboWriter(OutputStream output, boolean writeMetadata)
 	{
 		this(new OutputStreamCompactWriter(output), writeMetadata);
@@ -122,6 +148,86 @@ public class TboWriter implements OsmOutputStream
 		this.writeMetadata = writeMetadata;
 	}
 
+	public int getZstdLevel()
+	{
+		return blockableWriter.getZstdLevel();
+	}
+
+	public void setZstdLevel(int zstdLevel)
+	{
+		blockableWriter.setZstdLevel(zstdLevel);
+	}
+
+	public ZstdDictionaries getDictionaries()
+	{
+		return blockableWriter.getDictionaries();
+	}
+
+	/**
+	 * Use the specified dictionaries for compressing blocks with
+	 * {@link Compression#ZSTD}. See {@link #setEmbedDictionaries(boolean)}
+	 * for how readers obtain the dictionaries.
+	 */
+	public void setDictionaries(ZstdDictionaries dictionaries)
+	{
+		blockableWriter.setDictionaries(dictionaries);
+	}
+
+	public boolean isEmbedDictionaries()
+	{
+		return embedDictionaries;
+	}
+
+	/**
+	 * Whether to store the dictionaries in the file header. By default, they
+	 * are not embedded and readers need to be supplied with the dictionaries
+	 * explicitly, typically from a sidecar file written with
+	 * {@link ZstdDictionaries#write(OutputStream)}.
+	 * 
+	 * Embedding makes a file self-contained, but the dictionaries take up to
+	 * a few hundred KiB in each file header. For many small files that share
+	 * the same dictionaries, such as the leaves of an extraction tree, that
+	 * overhead can exceed the space saved by dictionary compression. Enable
+	 * embedding only for large files or files that are distributed on their
+	 * own.
+	 */
+	public void setEmbedDictionaries(boolean embedDictionaries)
+	{
+		this.embedDictionaries = embedDictionaries;
+	}
+
+	public TboCompressionExecutor getCompressionExecutor()
+	{
+		return compressionExecutor;
+	}
+
+	/**
+	 * Compress and write blocks using the specified executor instead of the
+	 * calling thread. Blocks are still written in the order they are
+	 * produced. The executor can be shared among many writers. This needs to
+	 * be configured before writing any data.
+	 */
+	public void setCompressionExecutor(
+			TboCompressionExecutor compressionExecutor)
+	{
+		this.compressionExecutor = compressionExecutor;
+	}
+
+	public boolean isWriteIndex()
+	{
+		return writeIndex;
+	}
+
+	/**
+	 * Append a block index to the file that allows random access to blocks
+	 * using {@link TboFile}. This needs to be configured before writing any
+	 * data, since the presence of the index is recorded in the file header.
+	 */
+	public void setWriteIndex(boolean writeIndex)
+	{
+		this.writeIndex = writeIndex;
+	}
+
 	public void setBatchSizeByElementCount(int batchSize)
 	{
 		batchBuilderNodes = new ElementCountBatchBuilder<>(batchSize);
@@ -291,29 +397,193 @@ public class TboWriter implements OsmOutputStream
 
 	private void writeNodeBatch() throws IOException
 	{
-		FileBlock block = blockableWriter.writeBlock(nodeBatch,
-				Definitions.BLOCK_TYPE_NODES, nodeBatch.size(), compression);
-		blockWriter.writeBlock(block);
+		writeBatch(nodeBatch, Definitions.BLOCK_TYPE_NODES, EntityType.Node,
+				nodeBatch.getElements());
 		nodeBatch.clear();
 	}
 
 	private void writeWayBatch() throws IOException
 	{
-		FileBlock block = blockableWriter.writeBlock(wayBatch,
-				Definitions.BLOCK_TYPE_WAYS, wayBatch.size(), compression);
-		blockWriter.writeBlock(block);
+		writeBatch(wayBatch, Definitions.BLOCK_TYPE_WAYS, EntityType.Way,
+				wayBatch.getElements());
 		wayBatch.clear();
 	}
 
 	private void writeRelationBatch() throws IOException
 	{
-		FileBlock block = blockableWriter.writeBlock(relationBatch,
-				Definitions.BLOCK_TYPE_RELATIONS, relationBatch.size(),
-				compression);
-		blockWriter.writeBlock(block);
+		writeBatch(relationBatch, Definitions.BLOCK_TYPE_RELATIONS,
+				EntityType.Relation, relationBatch.getElements());
 		relationBatch.clear();
 	}
 
+	private void writeBatch(Blockable batch, int type, EntityType entityType,
+			List<? extends OsmEntity> elements) throws IOException
+	{
+		BlockInfo info = null;
+		if (writeIndex) {
+			// The offset is filled in once the block actually gets written
+			info = BlockIndexBuilder.createInfo(0, entityType, elements);
+		}
+
+		if (compressionExecutor == null) {
+			FileBlock block = blockableWriter.writeBlock(batch, type,
+					elements.size(), compression);
+			writeBlock(block, info);
+		} else {
+			submitBatch(batch, type, elements.size(), info);
+		}
+	}
+
+	private void writeBlock(FileBlock block, BlockInfo info)
+			throws IOException
+	{
+		if (info != null) {
+			info.setOffset(position);
+			indexBuilder.add(info);
+		}
+		writeBlock(block);
+	}
+
+	private void writeBlock(FileBlock block) throws IOException
+	{
+		blockWriter.writeBlock(block);
+		position += WriterUtil.getSize(block);
+	}
+
+	private static class CompressedBlock
+	{
+
+		FileBlock block;
+		BlockInfo info;
+		int size;
+
+		CompressedBlock(FileBlock block, BlockInfo info, int size)
+		{
+			this.block = block;
+			this.info = info;
+			this.size = size;
+		}
+
+	}
+
+	private void submitBatch(Blockable batch, final int type, final int count,
+			final BlockInfo info) throws IOException
+	{
+		checkAsyncFailure();
+
+		// Serialize on the calling thread so that the batch can be reused
+		// right away
+		final byte[] data = compressionExecutor.serialize(batch);
+		compressionExecutor.acquire(data.length);
+
+		final long sequence = numSubmitted++;
+		final Compression compression = this.compression;
+		final int zstdLevel = blockableWriter.getZstdLevel();
+		final ZstdDictionaries dictionaries = blockableWriter
+				.getDictionaries();
+
+		synchronized (asyncLock) {
+			numPending++;
+		}
+
+		compressionExecutor.execute(new Runnable() {
+
+			@Override
+			public void run()
+			{
+				FileBlock block = null;
+				Throwable failure = null;
+				try {
+					block = compressionExecutor.compress(data, type, count,
+							compression, zstdLevel, dictionaries);
+				} catch (Throwable e) {
+					failure = e;
+				}
+				blockCompressed(sequence,
+						new CompressedBlock(block, info, data.length),
+						failure);
+			}
+		});
+	}
+
+	private void blockCompressed(long sequence, CompressedBlock compressed,
+			Throwable failure)
+	{
+		synchronized (asyncLock) {
+			compressedBlocks.put(sequence, compressed);
+			if (failure != null && asyncFailure == null) {
+				asyncFailure = failure;
+			}
+
+			// Write as many blocks as possible in order
+			while (asyncFailure == null) {
+				CompressedBlock next = compressedBlocks.remove(numWritten);
+				if (next == null) {
+					break;
+				}
+				try {
+					writeBlock(next.block, next.info);
+				} catch (Throwable e) {
+					asyncFailure = e;
+				}
+				numWritten++;
+				compressionExecutor.release(next.size);
+				numPending--;
+			}
+
+			if (asyncFailure != null) {
+				// Nothing will be written anymore, just free the memory
+				for (CompressedBlock pending : compressedBlocks.values()) {
+					compressionExecutor.release(pending.size);
+					numPending--;
+				}
+				compressedBlocks.clear();
+			}
+
+			asyncLock.notifyAll();
+		}
+	}
+
+	private void checkAsyncFailure() throws IOException
+	{
+		synchronized (asyncLock) {
+			if (asyncFailure != null) {
+				throw new IOException("Error while writing block",
+						asyncFailure);
+			}
+		}
+	}
+
+	private void waitForPendingBlocks() throws IOException
+	{
+		synchronized (asyncLock) {
+			while (numPending > 0) {
+				try {
+					asyncLock.wait();
+				} catch (InterruptedException e) {
+					throw new InterruptedIOException(
+							"interrupted while waiting for pending blocks");
+				}
+			}
+		}
+		checkAsyncFailure();
+	}
+
+	private void writeIndex() throws IOException
+	{
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		CompactWriter writer = new OutputStreamCompactWriter(baos);
+		indexBuilder.build().write(writer);
+		// The position of the index block itself goes into the last bytes of
+		// the file, so that readers can locate the index from the end.
+		writer.writeLong(position);
+
+		byte[] data = baos.toByteArray();
+		FileBlock block = new FileBlock(Definitions.BLOCK_TYPE_INDEX,
+				Compression.NONE, data.length, 0, data, data.length);
+		writeBlock(block);
+	}
+
 	@Override
 	public void complete() throws IOException
 	{
@@ -321,6 +591,12 @@ public class TboWriter implements OsmOutputStream
 		finishNodes();
 		finishWays();
 		finishRelations();
+		if (compressionExecutor != null) {
+			waitForPendingBlocks();
+		}
+		if (writeIndex) {
+			writeIndex();
+		}
 	}
 
 	private void finishHeader() throws IOException
@@ -329,7 +605,12 @@ public class TboWriter implements OsmOutputStream
 			if (header == null) {
 				header = WriterUtil.createHeader(writeMetadata, null);
 			}
+			header.setHasIndex(writeIndex);
+			if (embedDictionaries && compression == Compression.ZSTD) {
+				header.setDictionaries(blockableWriter.getDictionaries());
+			}
 			blockWriter.writeHeader(header);
+			position += WriterUtil.getSize(header);
 			mode = Mode.NODE;
 		}
 	}
@@ -0,0 +1,174 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.access;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import de.topobyte.compactio.CompactReader;
+import de.topobyte.compactio.InputStreamCompactReader;
+import de.topobyte.osm4j.core.access.OsmIterator;
+import de.topobyte.osm4j.core.model.iface.EntityContainer;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.core.util.ThreadedBlockReader;
+import de.topobyte.osm4j.tbo.data.FileBlock;
+import de.topobyte.osm4j.tbo.data.FileHeader;
+import de.topobyte.osm4j.tbo.io.ZstdDictionaries;
+
+/**
+ * An iterator over TBO data that decodes blocks in parallel using a
+ * {@link ThreadedBlockReader}. Entities are returned in the same order as with
+ * {@link TboIterator}.
+ * 
+ * Errors that occur while reading or decoding blocks are rethrown from
+ * {@link #hasNext()} wrapped in a {@link RuntimeException}.
+ */
+public class ThreadedTboIterator implements OsmIterator
+{
+
+	private CompactReader input;
+	private boolean fetchTags;
+	private boolean fetchMetadata;
+	private int numThreads;
+	private ZstdDictionaries dictionaries = null;
+
+	private FileHeader header;
+	private ThreadedBlockReader<FileBlock, EntityBlock> reader = null;
+
+	private EntityBlock block = null;
+	private List<? extends OsmEntity> entities = null;
+	private int pointer = 0;
+	private boolean finished = false;
+
+	public ThreadedTboIterator(InputStream input, boolean fetchTags,
+			boolean fetchMetadata, int numThreads) throws IOException
+	{
+		this(new InputStreamCompactReader(input), fetchTags, fetchMetadata,
+				numThreads);
+	}
+
+	public ThreadedTboIterator(CompactReader input, boolean fetchTags,
+			boolean fetchMetadata, int numThreads) throws IOException
+	{
+		this.input = input;
+		this.fetchTags = fetchTags;
+		this.fetchMetadata = fetchMetadata;
+		this.numThreads = numThreads;
+		header = ReaderUtil.parseHeader(input);
+	}
+
+	public ZstdDictionaries getDictionaries()
+	{
+		return dictionaries;
+	}
+
+	/**
+	 * Set the zstd dictionaries for decompressing blocks of files that do not
+	 * have their dictionaries embedded in the header.
+	 */
+	public void setDictionaries(ZstdDictionaries dictionaries)
+	{
+		this.dictionaries = dictionaries;
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		while (!finished && (entities == null || pointer >= entities.size())) {
+			advanceBlock();
+		}
+		return !finished;
+	}
+
+	@Override
+	public EntityContainer next()
+	{
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return new EntityContainer(block.getType(), entities.get(pointer++));
+	}
+
+	@Override
+	public void remove()
+	{
+		throw new UnsupportedOperationException("read only");
+	}
+
+	private void advanceBlock()
+	{
+		if (reader == null) {
+			ZstdDictionaries blockDictionaries = header.hasDictionaries()
+					? header.getDictionaries() : dictionaries;
+			BlockDecoder decoder = new BlockDecoder(fetchTags,
+					header.hasMetadata(), fetchMetadata, blockDictionaries);
+			reader = new ThreadedBlockReader<>(new BlockReader(input), decoder,
+					numThreads, "tbo");
+		}
+		try {
+			block = reader.next();
+		} catch (IOException e) {
+			finished = true;
+			throw new RuntimeException("error while reading block", e);
+		}
+
+		if (block == null) {
+			finished = true;
+			entities = null;
+			return;
+		}
+
+		entities = block.getEntities();
+		pointer = 0;
+	}
+
+	/**
+	 * Stop the background threads. This is only necessary if the iterator is
+	 * abandoned before all entities have been consumed.
+	 */
+	public void close()
+	{
+		finished = true;
+		if (reader != null) {
+			reader.stop();
+		}
+	}
+
+	@Override
+	public Iterator<EntityContainer> iterator()
+	{
+		return this;
+	}
+
+	@Override
+	public boolean hasBounds()
+	{
+		return header.hasBounds();
+	}
+
+	@Override
+	public OsmBounds getBounds()
+	{
+		return header.getBounds();
+	}
+
+}
@@ -0,0 +1,148 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.access;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import de.topobyte.compactio.CompactReader;
+import de.topobyte.compactio.InputStreamCompactReader;
+import de.topobyte.osm4j.core.access.OsmHandler;
+import de.topobyte.osm4j.core.access.OsmInputException;
+import de.topobyte.osm4j.core.access.OsmReader;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.core.util.ThreadedBlockReader;
+import de.topobyte.osm4j.tbo.data.FileBlock;
+import de.topobyte.osm4j.tbo.data.FileHeader;
+import de.topobyte.osm4j.tbo.io.ZstdDictionaries;
+
+/**
+ * A reader for TBO data that decodes blocks in parallel using a
+ * {@link ThreadedBlockReader}. The handler is always invoked from the thread
+ * that calls {@link #read()} and receives the entities in file order.
+ */
+public class ThreadedTboReader implements OsmReader
+{
+
+	private CompactReader input;
+	private boolean fetchTags;
+	private boolean fetchMetadata;
+	private int numThreads;
+	private ZstdDictionaries dictionaries = null;
+
+	private OsmHandler handler;
+
+	public ThreadedTboReader(InputStream input, boolean fetchTags,
+			boolean fetchMetadata, int numThreads)
+	{
+		this(new InputStreamCompactReader(input), fetchTags, fetchMetadata,
+				numThreads);
+	}
+
+	public ThreadedTboReader(CompactReader input, boolean fetchTags,
+			boolean fetchMetadata, int numThreads)
+	{
+		this.input = input;
+		this.fetchTags = fetchTags;
+		this.fetchMetadata = fetchMetadata;
+		this.numThreads = numThreads;
+	}
+
+	public ZstdDictionaries getDictionaries()
+	{
+		return dictionaries;
+	}
+
+	/**
+	 * Set the zstd dictionaries for decompressing blocks of files that do not
+	 * have their dictionaries embedded in the header.
+	 */
+	public void setDictionaries(ZstdDictionaries dictionaries)
+	{
+		this.dictionaries = dictionaries;
+	}
+
+	@Override
+	public void setHandler(OsmHandler handler)
+	{
+		this.handler = handler;
+	}
+
+	@Override
+	public void read() throws OsmInputException
+	{
+		FileHeader header;
+		try {
+			header = ReaderUtil.parseHeader(input);
+			if (header.hasBounds()) {
+				handler.handle(header.getBounds());
+			}
+		} catch (IOException e) {
+			throw new OsmInputException("error while reading header", e);
+		}
+
+		ZstdDictionaries blockDictionaries = header.hasDictionaries()
+				? header.getDictionaries() : dictionaries;
+		BlockDecoder decoder = new BlockDecoder(fetchTags,
+				header.hasMetadata(), fetchMetadata, blockDictionaries);
+		ThreadedBlockReader<FileBlock, EntityBlock> reader;
+		reader = new ThreadedBlockReader<>(new BlockReader(input), decoder,
+				numThreads, "tbo");
+		try {
+			EntityBlock block;
+			while ((block = reader.next()) != null) {
+				handle(block);
+			}
+		} catch (IOException e) {
+			throw new OsmInputException("error while parsing data", e);
+		} finally {
+			reader.stop();
+		}
+
+		try {
+			handler.complete();
+		} catch (IOException e) {
+			throw new OsmInputException("error while completing handler", e);
+		}
+	}
+
+	private void handle(EntityBlock block) throws IOException
+	{
+		switch (block.getType()) {
+		case Node:
+			for (OsmEntity node : block.getEntities()) {
+				handler.handle((OsmNode) node);
+			}
+			break;
+		case Way:
+			for (OsmEntity way : block.getEntities()) {
+				handler.handle((OsmWay) way);
+			}
+			break;
+		case Relation:
+			for (OsmEntity relation : block.getEntities()) {
+				handler.handle((OsmRelation) relation);
+			}
+			break;
+		}
+	}
+
+}
@@ -17,14 +17,20 @@
 
 package de.topobyte.osm4j.tbo.access;
 
+import java.io.IOException;
 import java.text.DateFormat;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 
+import de.topobyte.compactio.CompactWriter;
+import de.topobyte.compactio.OutputStreamCompactWriter;
 import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.tbo.ByteArrayOutputStream;
+import de.topobyte.osm4j.tbo.Compression;
 import de.topobyte.osm4j.tbo.data.Definitions;
+import de.topobyte.osm4j.tbo.data.FileBlock;
 import de.topobyte.osm4j.tbo.data.FileHeader;
 
 public class WriterUtil
@@ -45,4 +51,30 @@ public class WriterUtil
 		return header;
 	}
 
+	/**
+	 * @return the number of bytes the header occupies in a file.
+	 */
+	public static long getSize(FileHeader header) throws IOException
+	{
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		header.write(new OutputStreamCompactWriter(baos));
+		return baos.size();
+	}
+
+	/**
+	 * @return the number of bytes the block occupies in a file, including the
+	 *         type byte and the length field, as written by
+	 *         {@link DefaultBlockWriter}.
+	 */
+	public static long getSize(FileBlock block)
+	{
+		int total = 1 + block.getLength();
+		if (block.getCompression() != Compression.NONE) {
+			total += CompactWriter
+					.getNumberOfBytesUnsigned(block.getUncompressedLength());
+		}
+		total += CompactWriter.getNumberOfBytesUnsigned(block.getNumObjects());
+		return 1 + CompactWriter.getNumberOfBytesUnsigned(total) + total;
+	}
+
 }
@@ -0,0 +1,118 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.access;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.github.luben.zstd.ZstdDictTrainer;
+
+import de.topobyte.osm4j.tbo.Compression;
+import de.topobyte.osm4j.tbo.data.Definitions;
+import de.topobyte.osm4j.tbo.data.FileBlock;
+import de.topobyte.osm4j.tbo.data.FileHeader;
+import de.topobyte.osm4j.tbo.io.ZstdDictionaries;
+
+/**
+ * A {@link BlockWriter} that collects uncompressed blocks as samples for
+ * training zstd dictionaries. Use it as the target of a {@link TboWriter}
+ * configured with {@link Compression#NONE} and the same batch sizes as the
+ * writer that will later use the dictionaries, then call {@link #train()}.
+ */
+public class ZstdDictionaryTrainer implements BlockWriter
+{
+
+	public static final int DEFAULT_DICTIONARY_SIZE = 112 * 1024;
+	public static final int DEFAULT_SAMPLE_SIZE = 16 * 1024 * 1024;
+
+	private ZstdDictTrainer nodes;
+	private ZstdDictTrainer ways;
+	private ZstdDictTrainer relations;
+
+	public ZstdDictionaryTrainer()
+	{
+		this(DEFAULT_SAMPLE_SIZE, DEFAULT_DICTIONARY_SIZE);
+	}
+
+	/**
+	 * @param sampleSize
+	 *            the maximum number of bytes of samples to collect per block
+	 *            type.
+	 * @param dictionarySize
+	 *            the maximum size of each dictionary.
+	 */
+	public ZstdDictionaryTrainer(int sampleSize, int dictionarySize)
+	{
+		nodes = new ZstdDictTrainer(sampleSize, dictionarySize);
+		ways = new ZstdDictTrainer(sampleSize, dictionarySize);
+		relations = new ZstdDictTrainer(sampleSize, dictionarySize);
+	}
+
+	@Override
+	public void writeHeader(FileHeader header) throws IOException
+	{
+		// nothing to do here
+	}
+
+	@Override
+	public void writeBlock(FileBlock block) throws IOException
+	{
+		if (block.getCompression() != Compression.NONE) {
+			throw new IOException("Unable to use compressed blocks as samples");
+		}
+
+		ZstdDictTrainer trainer = null;
+		switch (block.getType()) {
+		case Definitions.BLOCK_TYPE_NODES:
+			trainer = nodes;
+			break;
+		case Definitions.BLOCK_TYPE_WAYS:
+			trainer = ways;
+			break;
+		case Definitions.BLOCK_TYPE_RELATIONS:
+			trainer = relations;
+			break;
+		default:
+			return;
+		}
+
+		// Once the sample buffer is full, further samples are dropped
+		trainer.addSample(Arrays.copyOf(block.getBuffer(), block.getLength()));
+	}
+
+	/**
+	 * Train dictionaries from the samples collected so far. If there are not
+	 * enough samples for some type of block, no dictionary will be available
+	 * for that type.
+	 */
+	public ZstdDictionaries train()
+	{
+		return new ZstdDictionaries(train(nodes), train(ways),
+				train(relations));
+	}
+
+	private static byte[] train(ZstdDictTrainer trainer)
+	{
+		try {
+			return trainer.trainSamples();
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
+
+}
@@ -24,6 +24,11 @@ public class Definitions
 	public static final int BLOCK_TYPE_WAYS = 2;
 	public static final int BLOCK_TYPE_RELATIONS = 3;
 
+	// The optional block index at the end of the file. It is stored as an
+	// uncompressed block without objects, hence readers that do not know
+	// about it skip it like any other block of an unknown type.
+	public static final int BLOCK_TYPE_INDEX = 4;
+
 	public static final int DEFAULT_BATCH_SIZE_NODES = 4096;
 	public static final int DEFAULT_BATCH_SIZE_WAY_NODES = 6144;
 	public static final int DEFAULT_BATCH_SIZE_RELATION_MEMBERS = 8192;
@@ -17,6 +17,8 @@
 
 package de.topobyte.osm4j.tbo.data;
 
+import java.nio.ByteBuffer;
+
 import de.topobyte.osm4j.tbo.Compression;
 
 public class FileBlock
@@ -26,7 +28,8 @@ public class FileBlock
 	private final Compression compression;
 	private final int uncompressedLength;
 	private final int numObjects;
-	private final byte[] buffer;
+	private byte[] buffer;
+	private final ByteBuffer data;
 	private final int length;
 
 	public FileBlock(int type, Compression compression, int uncompressedLength,
@@ -37,9 +40,27 @@ public class FileBlock
 		this.uncompressedLength = uncompressedLength;
 		this.numObjects = numObjects;
 		this.buffer = buffer;
+		this.data = null;
 		this.length = length;
 	}
 
+	/**
+	 * Create a block that refers to its data within the specified buffer
+	 * instead of holding a copy of it. The block data are the remaining bytes
+	 * of the buffer.
+	 */
+	public FileBlock(int type, Compression compression, int uncompressedLength,
+			int numObjects, ByteBuffer data)
+	{
+		this.type = type;
+		this.compression = compression;
+		this.uncompressedLength = uncompressedLength;
+		this.numObjects = numObjects;
+		this.buffer = null;
+		this.data = data;
+		this.length = data.remaining();
+	}
+
 	public int getType()
 	{
 		return type;
@@ -60,11 +81,31 @@ public class FileBlock
 		return numObjects;
 	}
 
+	/**
+	 * @return the block data as an array. For blocks that refer to a
+	 *         {@link ByteBuffer}, the data is copied on first access.
+	 */
 	public byte[] getBuffer()
 	{
+		if (buffer == null) {
+			byte[] copy = new byte[length];
+			data.duplicate().get(copy);
+			buffer = copy;
+		}
 		return buffer;
 	}
 
+	/**
+	 * @return a new view of the block data, positioned at its start.
+	 */
+	public ByteBuffer getData()
+	{
+		if (data != null) {
+			return data.duplicate();
+		}
+		return ByteBuffer.wrap(buffer, 0, length);
+	}
+
 	public int getLength()
 	{
 		return length;
@@ -24,6 +24,7 @@ import java.util.TreeMap;
 
 import de.topobyte.compactio.CompactWriter;
 import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.tbo.io.ZstdDictionaries;
 import de.topobyte.osm4j.tbo.writerhelper.Blockable;
 
 public class FileHeader implements Blockable
@@ -33,6 +34,8 @@ public class FileHeader implements Blockable
 
 	public static final int FLAG_HAS_METADATA = 0x1;
 	public static final int FLAG_HAS_BOUNDS = 0x2;
+	public static final int FLAG_HAS_INDEX = 0x4;
+	public static final int FLAG_HAS_DICTIONARIES = 0x8;
 
 	private int version;
 
@@ -40,14 +43,23 @@ public class FileHeader implements Blockable
 
 	private boolean hasMetadata;
 	private OsmBounds bounds;
+	private boolean hasIndex;
+	private ZstdDictionaries dictionaries = null;
 
 	public FileHeader(int version, Map<String, String> tags,
 			boolean hasMetadata, OsmBounds bounds)
+	{
+		this(version, tags, hasMetadata, bounds, false);
+	}
+
+	public FileHeader(int version, Map<String, String> tags,
+			boolean hasMetadata, OsmBounds bounds, boolean hasIndex)
 	{
 		this.version = version;
 		this.tags = tags;
 		this.hasMetadata = hasMetadata;
 		this.bounds = bounds;
+		this.hasIndex = hasIndex;
 	}
 
 	public int getVersion()
@@ -90,6 +102,38 @@ public class FileHeader implements Blockable
 		this.bounds = bounds;
 	}
 
+	/**
+	 * @return whether the file ends with a block index, see
+	 *         {@link Definitions#BLOCK_TYPE_INDEX}.
+	 */
+	public boolean hasIndex()
+	{
+		return hasIndex;
+	}
+
+	public void setHasIndex(boolean hasIndex)
+	{
+		this.hasIndex = hasIndex;
+	}
+
+	public boolean hasDictionaries()
+	{
+		return dictionaries != null;
+	}
+
+	/**
+	 * @return the zstd dictionaries embedded into the header or null.
+	 */
+	public ZstdDictionaries getDictionaries()
+	{
+		return dictionaries;
+	}
+
+	public void setDictionaries(ZstdDictionaries dictionaries)
+	{
+		this.dictionaries = dictionaries;
+	}
+
 	@Override
 	public void write(CompactWriter writer) throws IOException
 	{
@@ -107,6 +151,12 @@ public class FileHeader implements Blockable
 		if (hasBounds()) {
 			flags |= FLAG_HAS_BOUNDS;
 		}
+		if (hasIndex) {
+			flags |= FLAG_HAS_INDEX;
+		}
+		if (hasDictionaries()) {
+			flags |= FLAG_HAS_DICTIONARIES;
+		}
 		writer.writeByte(flags);
 		if (hasBounds()) {
 			writer.writeLong(Double.doubleToLongBits(bounds.getLeft()));
@@ -114,6 +164,9 @@ public class FileHeader implements Blockable
 			writer.writeLong(Double.doubleToLongBits(bounds.getBottom()));
 			writer.writeLong(Double.doubleToLongBits(bounds.getTop()));
 		}
+		if (hasDictionaries()) {
+			dictionaries.write(writer);
+		}
 	}
 
 }
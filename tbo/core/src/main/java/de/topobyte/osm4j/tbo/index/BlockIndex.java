@@ -0,0 +1,232 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.index;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import com.slimjars.dist.gnu.trove.list.TIntList;
+import com.slimjars.dist.gnu.trove.list.array.TIntArrayList;
+
+import de.topobyte.compactio.CompactReader;
+import de.topobyte.compactio.CompactWriter;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.tbo.data.Definitions;
+
+/**
+ * An index of the blocks of a TBO file. It stores a {@link BlockInfo} for each
+ * entity block, which allows accessing blocks directly and finding the block
+ * that contains a specific entity without decoding any other blocks.
+ * 
+ * The index is written to the end of a file by the
+ * {@link de.topobyte.osm4j.tbo.access.TboWriter} if requested and can be used
+ * with {@link de.topobyte.osm4j.tbo.access.TboFile}.
+ */
+public class BlockIndex
+{
+
+	private List<BlockInfo> blocks;
+
+	private Map<EntityType, TIntList> blocksByType = new EnumMap<>(
+			EntityType.class);
+	private Map<EntityType, Boolean> sorted = new EnumMap<>(EntityType.class);
+
+	public BlockIndex(List<BlockInfo> blocks)
+	{
+		this.blocks = blocks;
+
+		for (EntityType type : EntityType.values()) {
+			blocksByType.put(type, new TIntArrayList());
+			sorted.put(type, true);
+		}
+
+		for (int i = 0; i < blocks.size(); i++) {
+			BlockInfo block = blocks.get(i);
+			TIntList list = blocksByType.get(block.getType());
+			if (!list.isEmpty()) {
+				BlockInfo last = blocks.get(list.get(list.size() - 1));
+				if (last.getMaxId() >= block.getMinId()) {
+					sorted.put(block.getType(), false);
+				}
+			}
+			list.add(i);
+		}
+	}
+
+	public int getNumberOfBlocks()
+	{
+		return blocks.size();
+	}
+
+	public BlockInfo getBlock(int i)
+	{
+		return blocks.get(i);
+	}
+
+	public List<BlockInfo> getBlocks()
+	{
+		return blocks;
+	}
+
+	/**
+	 * @return the indices of the blocks that contain entities of the specified
+	 *         type, in file order.
+	 */
+	public TIntList getBlocks(EntityType type)
+	{
+		return blocksByType.get(type);
+	}
+
+	/**
+	 * Find the block that contains the entity with the specified type and id.
+	 * If the blocks are sorted by id, a binary search is performed, otherwise
+	 * all blocks are checked.
+	 * 
+	 * Note that a block returned by this method is not guaranteed to contain
+	 * the entity, since only the range of ids is known for each block.
+	 * 
+	 * @return the index of the block or -1 if no block's id range covers the
+	 *         specified id.
+	 */
+	public int findBlock(EntityType type, long id)
+	{
+		TIntList list = blocksByType.get(type);
+		if (!sorted.get(type)) {
+			for (int i = 0; i < list.size(); i++) {
+				int index = list.get(i);
+				if (blocks.get(index).containsId(id)) {
+					return index;
+				}
+			}
+			return -1;
+		}
+
+		int low = 0;
+		int high = list.size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int index = list.get(mid);
+			BlockInfo block = blocks.get(index);
+			if (block.getMaxId() < id) {
+				low = mid + 1;
+			} else if (block.getMinId() > id) {
+				high = mid - 1;
+			} else {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	public void write(CompactWriter writer) throws IOException
+	{
+		writer.writeVariableLengthUnsignedInteger(blocks.size());
+		long offset = 0;
+		for (BlockInfo block : blocks) {
+			writer.writeByte(blockType(block.getType()));
+			writer.writeVariableLengthUnsignedInteger(
+					block.getOffset() - offset);
+			offset = block.getOffset();
+			writer.writeVariableLengthUnsignedInteger(block.getCount());
+			writer.writeVariableLengthSignedInteger(block.getMinId());
+			writer.writeVariableLengthUnsignedInteger(
+					block.getMaxId() - block.getMinId());
+			if (block.getType() != EntityType.Node) {
+				continue;
+			}
+			writer.writeByte(block.hasBBox() ? 1 : 0);
+			if (block.hasBBox()) {
+				writer.writeVariableLengthSignedInteger(
+						toLong(block.getMinLon()));
+				writer.writeVariableLengthSignedInteger(
+						toLong(block.getMaxLon()));
+				writer.writeVariableLengthSignedInteger(
+						toLong(block.getMinLat()));
+				writer.writeVariableLengthSignedInteger(
+						toLong(block.getMaxLat()));
+			}
+		}
+	}
+
+	public static BlockIndex read(CompactReader reader) throws IOException
+	{
+		int n = (int) reader.readVariableLengthUnsignedInteger();
+		List<BlockInfo> blocks = new ArrayList<>(n);
+		long offset = 0;
+		for (int i = 0; i < n; i++) {
+			int blockType = reader.readByte();
+			EntityType type = entityType(blockType);
+			offset += reader.readVariableLengthUnsignedInteger();
+			int count = (int) reader.readVariableLengthUnsignedInteger();
+			long minId = reader.readVariableLengthSignedInteger();
+			long maxId = minId + reader.readVariableLengthUnsignedInteger();
+			if (type != EntityType.Node || reader.readByte() == 0) {
+				blocks.add(new BlockInfo(offset, type, count, minId, maxId));
+				continue;
+			}
+			double minLon = fromLong(reader.readVariableLengthSignedInteger());
+			double maxLon = fromLong(reader.readVariableLengthSignedInteger());
+			double minLat = fromLong(reader.readVariableLengthSignedInteger());
+			double maxLat = fromLong(reader.readVariableLengthSignedInteger());
+			blocks.add(new BlockInfo(offset, type, count, minId, maxId, minLon,
+					maxLon, minLat, maxLat));
+		}
+		return new BlockIndex(blocks);
+	}
+
+	private static EntityType entityType(int blockType) throws IOException
+	{
+		switch (blockType) {
+		case Definitions.BLOCK_TYPE_NODES:
+			return EntityType.Node;
+		case Definitions.BLOCK_TYPE_WAYS:
+			return EntityType.Way;
+		case Definitions.BLOCK_TYPE_RELATIONS:
+			return EntityType.Relation;
+		default:
+			throw new IOException("invalid block type in index: " + blockType);
+		}
+	}
+
+	private static int blockType(EntityType type)
+	{
+		switch (type) {
+		default:
+		case Node:
+			return Definitions.BLOCK_TYPE_NODES;
+		case Way:
+			return Definitions.BLOCK_TYPE_WAYS;
+		case Relation:
+			return Definitions.BLOCK_TYPE_RELATIONS;
+		}
+	}
+
+	private static long toLong(double degrees)
+	{
+		return Math.round(degrees / .0000001);
+	}
+
+	private static double fromLong(long value)
+	{
+		return value * .0000001;
+	}
+
+}
@@ -0,0 +1,107 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+
+/**
+ * Collects the information about the blocks of a TBO file while it is being
+ * written.
+ */
+public class BlockIndexBuilder
+{
+
+	private List<BlockInfo> blocks = new ArrayList<>();
+
+	/**
+	 * Add a block to the index.
+	 * 
+	 * @param offset
+	 *            the position of the block within the file.
+	 * @param entities
+	 *            the entities in the order they are written to the block.
+	 */
+	public void add(long offset, EntityType type,
+			List<? extends OsmEntity> entities)
+	{
+		blocks.add(createInfo(offset, type, entities));
+	}
+
+	public void add(BlockInfo info)
+	{
+		blocks.add(info);
+	}
+
+	/**
+	 * Create the index entry for a block with the specified entities.
+	 */
+	public static BlockInfo createInfo(long offset, EntityType type,
+			List<? extends OsmEntity> entities)
+	{
+		long minId = Long.MAX_VALUE;
+		long maxId = Long.MIN_VALUE;
+		for (OsmEntity entity : entities) {
+			minId = Math.min(minId, entity.getId());
+			maxId = Math.max(maxId, entity.getId());
+		}
+
+		if (type != EntityType.Node || entities.isEmpty()) {
+			return new BlockInfo(offset, type, entities.size(), minId, maxId);
+		}
+
+		// Compute the bounding box from the fixed point coordinates as they
+		// are stored in the block, so that it matches the decoded nodes
+		long minLon = Long.MAX_VALUE;
+		long maxLon = Long.MIN_VALUE;
+		long minLat = Long.MAX_VALUE;
+		long maxLat = Long.MIN_VALUE;
+		for (OsmEntity entity : entities) {
+			OsmNode node = (OsmNode) entity;
+			long lon = toLong(node.getLongitude());
+			long lat = toLong(node.getLatitude());
+			minLon = Math.min(minLon, lon);
+			maxLon = Math.max(maxLon, lon);
+			minLat = Math.min(minLat, lat);
+			maxLat = Math.max(maxLat, lat);
+		}
+		return new BlockInfo(offset, type, entities.size(), minId, maxId,
+				fromLong(minLon), fromLong(maxLon), fromLong(minLat),
+				fromLong(maxLat));
+	}
+
+	public BlockIndex build()
+	{
+		return new BlockIndex(new ArrayList<>(blocks));
+	}
+
+	private static long toLong(double degrees)
+	{
+		return (long) (degrees / .0000001);
+	}
+
+	private static double fromLong(long value)
+	{
+		return value * .0000001;
+	}
+
+}
@@ -0,0 +1,129 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.index;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+
+/**
+ * Summary of a single block of a TBO file: its position in the file, the type
+ * and number of the entities it contains, the range of their ids and, for
+ * nodes, the bounding box of their coordinates.
+ */
+public class BlockInfo
+{
+
+	private long offset;
+	private EntityType type;
+	private int count;
+	private long minId;
+	private long maxId;
+
+	private boolean hasBBox;
+	private double minLon;
+	private double maxLon;
+	private double minLat;
+	private double maxLat;
+
+	public BlockInfo(long offset, EntityType type, int count, long minId,
+			long maxId)
+	{
+		this.offset = offset;
+		this.type = type;
+		this.count = count;
+		this.minId = minId;
+		this.maxId = maxId;
+		this.hasBBox = false;
+	}
+
+	public BlockInfo(long offset, EntityType type, int count, long minId,
+			long maxId, double minLon, double maxLon, double minLat,
+			double maxLat)
+	{
+		this(offset, type, count, minId, maxId);
+		this.hasBBox = true;
+		this.minLon = minLon;
+		this.maxLon = maxLon;
+		this.minLat = minLat;
+		this.maxLat = maxLat;
+	}
+
+	public long getOffset()
+	{
+		return offset;
+	}
+
+	/**
+	 * Update the position of the block, for blocks that have been described
+	 * before their final position was known.
+	 */
+	public void setOffset(long offset)
+	{
+		this.offset = offset;
+	}
+
+	public EntityType getType()
+	{
+		return type;
+	}
+
+	public int getCount()
+	{
+		return count;
+	}
+
+	public long getMinId()
+	{
+		return minId;
+	}
+
+	public long getMaxId()
+	{
+		return maxId;
+	}
+
+	public boolean hasBBox()
+	{
+		return hasBBox;
+	}
+
+	public double getMinLon()
+	{
+		return minLon;
+	}
+
+	public double getMaxLon()
+	{
+		return maxLon;
+	}
+
+	public double getMinLat()
+	{
+		return minLat;
+	}
+
+	public double getMaxLat()
+	{
+		return maxLat;
+	}
+
+	public boolean containsId(long id)
+	{
+		return id >= minId && id <= maxId;
+	}
+
+}
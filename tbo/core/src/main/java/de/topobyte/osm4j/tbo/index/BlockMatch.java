@@ -0,0 +1,56 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.index;
+
+/**
+ * The relation of a block's bounding box to a {@link Region}.
+ */
+public enum BlockMatch {
+
+	/**
+	 * None of the nodes of the block are within the region.
+	 */
+	DISJOINT,
+	/**
+	 * All nodes of the block are within the region.
+	 */
+	CONTAINED,
+	/**
+	 * Nodes need to be tested individually.
+	 */
+	INTERSECTING;
+
+	public static BlockMatch classify(Region region, BlockInfo block)
+	{
+		if (!block.hasBBox()) {
+			return INTERSECTING;
+		}
+		double minLon = block.getMinLon();
+		double maxLon = block.getMaxLon();
+		double minLat = block.getMinLat();
+		double maxLat = block.getMaxLat();
+		if (!region.intersects(minLon, maxLon, minLat, maxLat)) {
+			return DISJOINT;
+		}
+		if (region.contains(minLon, maxLon, minLat, maxLat)) {
+			return CONTAINED;
+		}
+		return INTERSECTING;
+	}
+
+}
@@ -0,0 +1,63 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.index;
+
+/**
+ * A rectangular {@link Region}, boundary included.
+ */
+public class EnvelopeRegion implements Region
+{
+
+	private double minLon;
+	private double maxLon;
+	private double minLat;
+	private double maxLat;
+
+	public EnvelopeRegion(double minLon, double maxLon, double minLat,
+			double maxLat)
+	{
+		this.minLon = minLon;
+		this.maxLon = maxLon;
+		this.minLat = minLat;
+		this.maxLat = maxLat;
+	}
+
+	@Override
+	public boolean contains(double lon, double lat)
+	{
+		return lon >= minLon && lon <= maxLon && lat >= minLat
+				&& lat <= maxLat;
+	}
+
+	@Override
+	public boolean contains(double minLon, double maxLon, double minLat,
+			double maxLat)
+	{
+		return minLon >= this.minLon && maxLon <= this.maxLon
+				&& minLat >= this.minLat && maxLat <= this.maxLat;
+	}
+
+	@Override
+	public boolean intersects(double minLon, double maxLon, double minLat,
+			double maxLat)
+	{
+		return minLon <= this.maxLon && maxLon >= this.minLon
+				&& minLat <= this.maxLat && maxLat >= this.minLat;
+	}
+
+}
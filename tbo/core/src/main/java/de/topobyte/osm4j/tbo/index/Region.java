@@ -0,0 +1,38 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.index;
+
+/**
+ * A region of interest for spatial queries on node blocks.
+ */
+public interface Region
+{
+
+	public boolean contains(double lon, double lat);
+
+	/**
+	 * @return whether all points within the specified box are contained in
+	 *         the region.
+	 */
+	public boolean contains(double minLon, double maxLon, double minLat,
+			double maxLat);
+
+	public boolean intersects(double minLon, double maxLon, double minLat,
+			double maxLat);
+
+}
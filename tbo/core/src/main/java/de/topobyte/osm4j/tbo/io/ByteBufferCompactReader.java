@@ -0,0 +1,113 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import de.topobyte.compactio.CompactReader;
+
+/**
+ * A {@link CompactReader} that reads directly from a {@link ByteBuffer}, such
+ * as a buffer of uncompressed block data or a memory-mapped file, without
+ * going through an input stream.
+ */
+public class ByteBufferCompactReader extends CompactReader
+{
+
+	private final ByteBuffer buffer;
+
+	/**
+	 * Read the remaining bytes of the specified buffer. Reading advances the
+	 * position of the buffer.
+	 */
+	public ByteBufferCompactReader(ByteBuffer buffer)
+	{
+		this.buffer = buffer;
+	}
+
+	public ByteBuffer getBuffer()
+	{
+		return buffer;
+	}
+
+	/**
+	 * @return a view of the next {@code length} bytes. The position of this
+	 *         reader is advanced past these bytes.
+	 */
+	public ByteBuffer slice(int length) throws IOException
+	{
+		if (length > buffer.remaining()) {
+			throw new EOFException();
+		}
+		ByteBuffer slice = buffer.slice();
+		slice.limit(length);
+		buffer.position(buffer.position() + length);
+		return slice;
+	}
+
+	@Override
+	public int readByte() throws IOException
+	{
+		if (!buffer.hasRemaining()) {
+			throw new EOFException();
+		}
+		return buffer.get() & 0xff;
+	}
+
+	@Override
+	public void readFully(byte[] bytes) throws IOException
+	{
+		try {
+			buffer.get(bytes);
+		} catch (BufferUnderflowException e) {
+			throw new EOFException();
+		}
+	}
+
+	@Override
+	public void skip(long n) throws IOException
+	{
+		if (n > buffer.remaining()) {
+			throw new EOFException();
+		}
+		buffer.position(buffer.position() + (int) n);
+	}
+
+	@Override
+	public long readVariableLengthUnsignedInteger() throws IOException
+	{
+		long value = 0;
+		int shift = 0;
+		try {
+			while (true) {
+				byte b = buffer.get();
+				value |= (long) (b & 0x7f) << shift;
+				if (b >= 0) {
+					return value;
+				}
+				shift += 7;
+			}
+		} catch (BufferUnderflowException e) {
+			throw new EOFException();
+		}
+	}
+
+}
@@ -17,9 +17,17 @@
 
 package de.topobyte.osm4j.tbo.io;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.zip.DataFormatException;
 import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdException;
 
 import net.jpountz.lz4.LZ4Factory;
 import net.jpountz.lz4.LZ4FastDecompressor;
@@ -29,6 +37,17 @@ public class Decompression
 {
 
 	public static byte[] decompress(FileBlock block) throws IOException
+	{
+		return decompress(block, null);
+	}
+
+	/**
+	 * @param dictionaries
+	 *            the zstd dictionaries to use for blocks that have been
+	 *            compressed with a dictionary, may be null.
+	 */
+	public static byte[] decompress(FileBlock block,
+			ZstdDictionaries dictionaries) throws IOException
 	{
 		byte[] compressed = block.getBuffer();
 		byte[] uncompressed;
@@ -56,13 +75,80 @@ public class Decompression
 			initLz4();
 			lz4Decompressor.decompress(compressed, uncompressed);
 			break;
+		case ZSTD:
+			uncompressed = zstd(block, dictionaries);
+			break;
 		}
 		return uncompressed;
 	}
 
+	private static byte[] zstd(FileBlock block, ZstdDictionaries dictionaries)
+			throws IOException
+	{
+		byte[] compressed = block.getBuffer();
+		try {
+			long id = Zstd.getDictIdFromFrame(compressed);
+			if (id == 0) {
+				return Zstd.decompress(compressed,
+						block.getUncompressedLength());
+			}
+			ZstdDictDecompress dictionary = null;
+			if (dictionaries != null) {
+				dictionary = dictionaries.getDecompressDictionary(id);
+			}
+			if (dictionary == null) {
+				throw new IOException(String.format(
+						"Block requires zstd dictionary with id %d", id));
+			}
+			return Zstd.decompress(compressed, dictionary,
+					block.getUncompressedLength());
+		} catch (ZstdException e) {
+			throw new IOException("Error while decompressing zstd data", e);
+		}
+	}
+
+	/**
+	 * Get a stream of the uncompressed data of a block. As opposed to
+	 * {@link #decompress(FileBlock)}, data is decompressed on demand where the
+	 * compression method allows that. Parsers that only need the leading
+	 * sections of a block can close the stream early and thereby avoid
+	 * decompressing the remaining sections at all.
+	 * 
+	 * Skipping bytes on the returned stream always skips the requested number
+	 * of bytes, see {@link SkipFullyInputStream}.
+	 */
+	public static InputStream stream(FileBlock block) throws IOException
+	{
+		return stream(block, null);
+	}
+
+	/**
+	 * @see #stream(FileBlock)
+	 * @see #decompress(FileBlock, ZstdDictionaries)
+	 */
+	public static InputStream stream(FileBlock block,
+			ZstdDictionaries dictionaries) throws IOException
+	{
+		switch (block.getCompression()) {
+		default:
+		case NONE:
+			return new ByteArrayInputStream(block.getBuffer(), 0,
+					block.getLength());
+		case DEFLATE:
+			ByteArrayInputStream compressed = new ByteArrayInputStream(
+					block.getBuffer(), 0, block.getLength());
+			return new SkipFullyInputStream(new BufferedInputStream(
+					new InflaterInputStream(compressed)));
+		case LZ4:
+		case ZSTD:
+			// Small blocks decompress faster in one go
+			return new ByteArrayInputStream(decompress(block, dictionaries));
+		}
+	}
+
 	private static LZ4FastDecompressor lz4Decompressor = null;
 
-	private static void initLz4()
+	private static synchronized void initLz4()
 	{
 		if (lz4Decompressor == null) {
 			LZ4Factory factory = LZ4Factory.fastestInstance();
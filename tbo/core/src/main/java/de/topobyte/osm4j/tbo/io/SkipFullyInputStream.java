@@ -0,0 +1,66 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.io;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A stream whose {@link #skip(long)} method always skips the requested number
+ * of bytes. {@link InputStream#skip(long)} may skip fewer bytes than
+ * requested, for example when the underlying stream decompresses data and
+ * reaches the end of its buffer. Section parsers however need to skip exactly
+ * the length of a section.
+ */
+public class SkipFullyInputStream extends FilterInputStream
+{
+
+	public SkipFullyInputStream(InputStream in)
+	{
+		super(in);
+	}
+
+	/**
+	 * Skip exactly {@code n} bytes.
+	 * 
+	 * @throws EOFException
+	 *             if the end of the stream is reached before {@code n} bytes
+	 *             have been skipped.
+	 */
+	@Override
+	public long skip(long n) throws IOException
+	{
+		long remaining = n;
+		while (remaining > 0) {
+			long skipped = in.skip(remaining);
+			if (skipped <= 0) {
+				// skip() may return 0 before the end of the stream, read a
+				// single byte to find out whether there is more data
+				if (in.read() < 0) {
+					throw new EOFException();
+				}
+				skipped = 1;
+			}
+			remaining -= skipped;
+		}
+		return n;
+	}
+
+}
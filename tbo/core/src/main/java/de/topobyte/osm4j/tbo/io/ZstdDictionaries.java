@@ -0,0 +1,186 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictDecompress;
+
+import de.topobyte.compactio.CompactReader;
+import de.topobyte.compactio.CompactWriter;
+import de.topobyte.compactio.InputStreamCompactReader;
+import de.topobyte.compactio.OutputStreamCompactWriter;
+import de.topobyte.osm4j.tbo.data.Definitions;
+
+/**
+ * A set of zstd dictionaries for compressing TBO blocks, one for each type of
+ * block. Each dictionary is optional.
+ * 
+ * Dictionaries can either be embedded into the header of each file or be
+ * stored separately using {@link #write(OutputStream)}. In the latter case
+ * they need to be passed to the readers explicitly. Compressed blocks refer
+ * to their dictionary by its zstd dictionary id.
+ */
+public class ZstdDictionaries
+{
+
+	private static final byte[] MAGIC = "tbod".getBytes();
+
+	private byte[] nodes;
+	private byte[] ways;
+	private byte[] relations;
+
+	private long[] ids = null;
+	private ZstdDictDecompress[] decompressDictionaries = null;
+
+	public ZstdDictionaries(byte[] nodes, byte[] ways, byte[] relations)
+	{
+		this.nodes = nodes;
+		this.ways = ways;
+		this.relations = relations;
+	}
+
+	public byte[] getNodes()
+	{
+		return nodes;
+	}
+
+	public byte[] getWays()
+	{
+		return ways;
+	}
+
+	public byte[] getRelations()
+	{
+		return relations;
+	}
+
+	/**
+	 * @return the dictionary for the specified block type or null if there is
+	 *         none.
+	 */
+	public byte[] get(int blockType)
+	{
+		switch (blockType) {
+		case Definitions.BLOCK_TYPE_NODES:
+			return nodes;
+		case Definitions.BLOCK_TYPE_WAYS:
+			return ways;
+		case Definitions.BLOCK_TYPE_RELATIONS:
+			return relations;
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * @return a prepared dictionary for decompression with the specified zstd
+	 *         dictionary id or null if there is no such dictionary.
+	 */
+	public synchronized ZstdDictDecompress getDecompressDictionary(long id)
+	{
+		if (decompressDictionaries == null) {
+			byte[][] dictionaries = { nodes, ways, relations };
+			int n = dictionaries.length;
+			ids = new long[n];
+			decompressDictionaries = new ZstdDictDecompress[n];
+			for (int i = 0; i < n; i++) {
+				if (dictionaries[i] != null) {
+					ids[i] = Zstd.getDictIdFromDict(dictionaries[i]);
+					decompressDictionaries[i] = new ZstdDictDecompress(
+							dictionaries[i]);
+				}
+			}
+		}
+		for (int i = 0; i < ids.length; i++) {
+			if (decompressDictionaries[i] != null && ids[i] == id) {
+				return decompressDictionaries[i];
+			}
+		}
+		return null;
+	}
+
+	public void write(CompactWriter writer) throws IOException
+	{
+		writeDictionary(writer, nodes);
+		writeDictionary(writer, ways);
+		writeDictionary(writer, relations);
+	}
+
+	private static void writeDictionary(CompactWriter writer,
+			byte[] dictionary) throws IOException
+	{
+		if (dictionary == null) {
+			writer.writeVariableLengthUnsignedInteger(0);
+			return;
+		}
+		writer.writeVariableLengthUnsignedInteger(dictionary.length);
+		writer.write(dictionary);
+	}
+
+	public static ZstdDictionaries read(CompactReader reader)
+			throws IOException
+	{
+		byte[] nodes = readDictionary(reader);
+		byte[] ways = readDictionary(reader);
+		byte[] relations = readDictionary(reader);
+		return new ZstdDictionaries(nodes, ways, relations);
+	}
+
+	private static byte[] readDictionary(CompactReader reader)
+			throws IOException
+	{
+		int length = (int) reader.readVariableLengthUnsignedInteger();
+		if (length == 0) {
+			return null;
+		}
+		byte[] dictionary = new byte[length];
+		reader.readFully(dictionary);
+		return dictionary;
+	}
+
+	/**
+	 * Store the dictionaries in a separate file.
+	 */
+	public void write(OutputStream output) throws IOException
+	{
+		CompactWriter writer = new OutputStreamCompactWriter(output);
+		writer.write(MAGIC);
+		write(writer);
+	}
+
+	/**
+	 * Load dictionaries from a file created with {@link #write(OutputStream)}.
+	 */
+	public static ZstdDictionaries read(InputStream input) throws IOException
+	{
+		CompactReader reader = new InputStreamCompactReader(input);
+		byte[] magic = new byte[MAGIC.length];
+		reader.readFully(magic);
+		if (!Arrays.equals(magic, MAGIC)) {
+			throw new IOException(
+					"Not a TBO dictionary file: wrong magic code");
+		}
+		return read(reader);
+	}
+
+}
@@ -64,6 +64,11 @@ public abstract class EntityBatch<T extends OsmEntity> implements Blockable
 		return elements.size();
 	}
 
+	public List<T> getElements()
+	{
+		return elements;
+	}
+
 	public void writeAndReset(CompactWriter writer, ByteArrayOutputStream baos)
 			throws IOException
 	{
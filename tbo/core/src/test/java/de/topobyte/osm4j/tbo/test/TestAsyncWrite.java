@@ -0,0 +1,135 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.tbo.Compression;
+import de.topobyte.osm4j.tbo.access.TboCompressionExecutor;
+import de.topobyte.osm4j.tbo.access.TboWriter;
+import de.topobyte.osm4j.tbo.data.Definitions;
+import de.topobyte.osm4j.tbo.data.FileHeader;
+import de.topobyte.osm4j.testing.DataSetGenerator;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.EntityGenerator;
+import de.topobyte.osm4j.testing.TestDataSet;
+
+public class TestAsyncWrite
+{
+
+	private static final int NUM_WRITERS = 20;
+
+	private EntityGenerator entityGenerator = new EntityGenerator(100, true);
+	private DataSetGenerator dataSetGenerator = new DataSetGenerator(
+			entityGenerator);
+
+	private TboWriter createWriter(ByteArrayOutputStream baos,
+			Compression compression, TboCompressionExecutor executor)
+	{
+		TboWriter writer = new TboWriter(baos, true);
+		// Use a fixed header, the default one contains the creation time
+		writer.writeHeader(new FileHeader(Definitions.VERSION,
+				new HashMap<String, String>(), true, null));
+		writer.setBatchSizeByElementCount(8);
+		writer.setCompression(compression);
+		writer.setWriteIndex(true);
+		writer.setCompressionExecutor(executor);
+		return writer;
+	}
+
+	private byte[] writeSynchronously(TestDataSet data, Compression compression)
+			throws IOException
+	{
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		TboWriter writer = createWriter(baos, compression, null);
+		DataSetHelper.write(data, writer);
+		writer.complete();
+		return baos.toByteArray();
+	}
+
+	private void test(Compression compression, long memoryBudget)
+			throws IOException
+	{
+		List<TestDataSet> datasets = new ArrayList<>();
+		for (int i = 0; i < NUM_WRITERS; i++) {
+			datasets.add(dataSetGenerator.generate(100, 40, 20));
+		}
+
+		List<ByteArrayOutputStream> outputs = new ArrayList<>();
+		List<TboWriter> writers = new ArrayList<>();
+
+		try (TboCompressionExecutor executor = new TboCompressionExecutor(4,
+				memoryBudget)) {
+			for (int i = 0; i < NUM_WRITERS; i++) {
+				ByteArrayOutputStream baos = new ByteArrayOutputStream();
+				outputs.add(baos);
+				writers.add(createWriter(baos, compression, executor));
+			}
+
+			// Interleave writing to all writers like the distributors do
+			for (int k = 0; k < 100; k++) {
+				for (int i = 0; i < NUM_WRITERS; i++) {
+					List<? extends OsmNode> nodes = datasets.get(i).getNodes();
+					if (k < nodes.size()) {
+						writers.get(i).write(nodes.get(k));
+					}
+				}
+			}
+			for (int i = 0; i < NUM_WRITERS; i++) {
+				TboWriter writer = writers.get(i);
+				for (OsmWay way : datasets.get(i).getWays()) {
+					writer.write(way);
+				}
+				for (OsmRelation relation : datasets.get(i).getRelations()) {
+					writer.write(relation);
+				}
+				writer.complete();
+			}
+		}
+
+		for (int i = 0; i < NUM_WRITERS; i++) {
+			byte[] expected = writeSynchronously(datasets.get(i), compression);
+			Assert.assertArrayEquals(expected, outputs.get(i).toByteArray());
+		}
+	}
+
+	@Test
+	public void testLz4() throws IOException
+	{
+		test(Compression.LZ4, TboCompressionExecutor.DEFAULT_MEMORY_BUDGET);
+	}
+
+	@Test
+	public void testDeflateSmallBudget() throws IOException
+	{
+		// A budget below the size of a single block forces the writers to
+		// wait for each block to be written
+		test(Compression.DEFLATE, 100);
+	}
+
+}
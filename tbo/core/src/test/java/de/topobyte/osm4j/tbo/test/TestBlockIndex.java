@@ -0,0 +1,174 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.tbo.access.EntityBlock;
+import de.topobyte.osm4j.tbo.access.TboFile;
+import de.topobyte.osm4j.tbo.access.TboIterator;
+import de.topobyte.osm4j.tbo.access.TboWriter;
+import de.topobyte.osm4j.tbo.index.BlockIndex;
+import de.topobyte.osm4j.tbo.index.BlockInfo;
+import de.topobyte.osm4j.testing.DataSetGenerator;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.EntityGenerator;
+import de.topobyte.osm4j.testing.TestDataSet;
+
+public class TestBlockIndex
+{
+
+	private EntityGenerator entityGenerator = new EntityGenerator(100, true);
+	private DataSetGenerator dataSetGenerator = new DataSetGenerator(
+			entityGenerator);
+
+	private TestDataSet data;
+	private File fileIndexed;
+	private File filePlain;
+
+	@Before
+	public void setup() throws IOException
+	{
+		data = dataSetGenerator.generate(300, 100, 50);
+		fileIndexed = File.createTempFile("test", ".tbo");
+		filePlain = File.createTempFile("test", ".tbo");
+		write(data, fileIndexed, true);
+		write(data, filePlain, false);
+	}
+
+	@After
+	public void cleanup()
+	{
+		fileIndexed.delete();
+		filePlain.delete();
+	}
+
+	private void write(TestDataSet data, File file, boolean index)
+			throws IOException
+	{
+		OutputStream output = new FileOutputStream(file);
+		TboWriter writer = new TboWriter(output, true);
+		writer.setBatchSizeByElementCount(16);
+		writer.setWriteIndex(index);
+		DataSetHelper.write(data, writer);
+		writer.complete();
+		output.close();
+	}
+
+	@Test
+	public void testSequentialReading() throws IOException
+	{
+		// Readers that don't use the index should not be affected by it
+		InputStream input = new FileInputStream(fileIndexed);
+		TestDataSet read = DataSetHelper
+				.read(new TboIterator(input, true, true));
+		input.close();
+		Assert.assertTrue(DataSetHelper.equals(data, read));
+	}
+
+	@Test
+	public void testStoredIndex() throws IOException
+	{
+		try (TboFile file = new TboFile(fileIndexed, true, true)) {
+			Assert.assertTrue(file.hasIndex());
+			check(file);
+		}
+	}
+
+	@Test
+	public void testScannedIndex() throws IOException
+	{
+		try (TboFile plain = new TboFile(filePlain, true, true);
+				TboFile indexed = new TboFile(fileIndexed, true, true)) {
+			Assert.assertFalse(plain.hasIndex());
+			check(plain);
+
+			BlockIndex a = plain.getBlockIndex();
+			BlockIndex b = indexed.getBlockIndex();
+			Assert.assertEquals(a.getNumberOfBlocks(), b.getNumberOfBlocks());
+			for (int i = 0; i < a.getNumberOfBlocks(); i++) {
+				BlockInfo x = a.getBlock(i);
+				BlockInfo y = b.getBlock(i);
+				Assert.assertEquals(x.getOffset(), y.getOffset());
+				Assert.assertEquals(x.getType(), y.getType());
+				Assert.assertEquals(x.getCount(), y.getCount());
+				Assert.assertEquals(x.getMinId(), y.getMinId());
+				Assert.assertEquals(x.getMaxId(), y.getMaxId());
+				Assert.assertEquals(x.hasBBox(), y.hasBBox());
+				Assert.assertEquals(x.getMinLon(), y.getMinLon(), 0);
+				Assert.assertEquals(x.getMaxLat(), y.getMaxLat(), 0);
+			}
+		}
+	}
+
+	private void check(TboFile file) throws IOException
+	{
+		Assert.assertEquals((300 + 15) / 16 + (100 + 15) / 16 + (50 + 15) / 16,
+				file.getNumberOfBlocks());
+
+		int total = 0;
+		for (int i = 0; i < file.getNumberOfBlocks(); i++) {
+			BlockInfo info = file.getBlockInfo(i);
+			EntityBlock block = file.decodeBlock(i);
+			List<? extends OsmEntity> entities = block.getEntities();
+			Assert.assertEquals(info.getType(), block.getType());
+			Assert.assertEquals(info.getCount(), entities.size());
+			Assert.assertEquals(info.getType() == EntityType.Node,
+					info.hasBBox());
+			for (OsmEntity entity : entities) {
+				Assert.assertTrue(info.containsId(entity.getId()));
+				Assert.assertEquals(i,
+						file.findBlock(info.getType(), entity.getId()));
+				if (info.hasBBox()) {
+					OsmNode node = (OsmNode) entity;
+					Assert.assertTrue(node.getLongitude() >= info.getMinLon());
+					Assert.assertTrue(node.getLongitude() <= info.getMaxLon());
+					Assert.assertTrue(node.getLatitude() >= info.getMinLat());
+					Assert.assertTrue(node.getLatitude() <= info.getMaxLat());
+				}
+			}
+			total += entities.size();
+		}
+		Assert.assertEquals(450, total);
+
+		long maxNodeId = data.getNodes().get(data.getNodes().size() - 1)
+				.getId();
+		Assert.assertEquals(-1, file.findBlock(EntityType.Node, maxNodeId + 1));
+
+		TestDataSet ways = DataSetHelper.read(file.iterator(EntityType.Way));
+		Assert.assertTrue(ways.getNodes().isEmpty());
+		Assert.assertTrue(ways.getRelations().isEmpty());
+		Assert.assertTrue(
+				DataSetHelper.waysEqual(data.getWays(), ways.getWays()));
+	}
+
+}
@@ -0,0 +1,93 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.topobyte.osm4j.tbo.Compression;
+import de.topobyte.osm4j.tbo.access.MappedTboIterator;
+import de.topobyte.osm4j.tbo.access.TboWriter;
+import de.topobyte.osm4j.testing.DataSetGenerator;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.EntityGenerator;
+import de.topobyte.osm4j.testing.TestDataSet;
+
+public class TestMappedRead
+{
+
+	private EntityGenerator entityGenerator = new EntityGenerator(100, true);
+	private DataSetGenerator dataSetGenerator = new DataSetGenerator(
+			entityGenerator);
+
+	private File file;
+
+	@Before
+	public void setup() throws IOException
+	{
+		file = File.createTempFile("test", ".tbo");
+	}
+
+	@After
+	public void cleanup()
+	{
+		file.delete();
+	}
+
+	private void write(TestDataSet data, Compression compression)
+			throws IOException
+	{
+		OutputStream output = new FileOutputStream(file);
+		TboWriter writer = new TboWriter(output, true);
+		writer.setCompression(compression);
+		writer.setBatchSizeByElementCount(16);
+		DataSetHelper.write(data, writer);
+		writer.complete();
+		output.close();
+	}
+
+	@Test
+	public void test() throws IOException
+	{
+		TestDataSet data = dataSetGenerator.generate(300, 100, 50);
+		for (Compression compression : Compression.values()) {
+			write(data, compression);
+			TestDataSet read = DataSetHelper
+					.read(new MappedTboIterator(file, true, true));
+			Assert.assertTrue("Compression: " + compression,
+					DataSetHelper.equals(data, read));
+		}
+	}
+
+	@Test
+	public void testEmpty() throws IOException
+	{
+		write(new TestDataSet(), Compression.NONE);
+		TestDataSet read = DataSetHelper
+				.read(new MappedTboIterator(file, true, true));
+		Assert.assertTrue(read.getNodes().isEmpty());
+	}
+
+}
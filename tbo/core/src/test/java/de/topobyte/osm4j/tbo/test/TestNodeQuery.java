@@ -0,0 +1,113 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.topobyte.osm4j.tbo.access.TboFile;
+import de.topobyte.osm4j.tbo.access.TboNodeQuery;
+import de.topobyte.osm4j.tbo.access.TboWriter;
+import de.topobyte.osm4j.tbo.index.EnvelopeRegion;
+import de.topobyte.osm4j.tbo.index.Region;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.EntityGenerator;
+import de.topobyte.osm4j.testing.TestDataSetOutputStream;
+import de.topobyte.osm4j.testing.model.TestNode;
+
+public class TestNodeQuery
+{
+
+	private EntityGenerator entityGenerator = new EntityGenerator(100, true);
+
+	private List<TestNode> nodes = new ArrayList<>();
+	private File file;
+
+	@Before
+	public void setup() throws IOException
+	{
+		for (int i = 0; i < 1000; i++) {
+			nodes.add(entityGenerator.generateNode());
+		}
+		// Order by longitude so that the blocks cover distinct areas
+		Collections.sort(nodes, new Comparator<TestNode>() {
+
+			@Override
+			public int compare(TestNode o1, TestNode o2)
+			{
+				return Double.compare(o1.getLongitude(), o2.getLongitude());
+			}
+		});
+
+		file = File.createTempFile("test", ".tbo");
+		OutputStream output = new FileOutputStream(file);
+		TboWriter writer = new TboWriter(output, true);
+		writer.setBatchSizeByElementCount(20);
+		writer.setWriteIndex(true);
+		for (TestNode node : nodes) {
+			writer.write(node);
+		}
+		writer.complete();
+		output.close();
+	}
+
+	@After
+	public void cleanup()
+	{
+		file.delete();
+	}
+
+	@Test
+	public void test() throws IOException
+	{
+		Region region = new EnvelopeRegion(-40, 60, -30, 50);
+
+		TestDataSetOutputStream output = new TestDataSetOutputStream();
+		TboNodeQuery query;
+		try (TboFile tboFile = new TboFile(file, true, true)) {
+			query = new TboNodeQuery(tboFile, region);
+			query.execute(output);
+		}
+
+		List<TestNode> expected = new ArrayList<>();
+		for (TestNode node : nodes) {
+			if (region.contains(node.getLongitude(), node.getLatitude())) {
+				expected.add(node);
+			}
+		}
+		List<TestNode> read = output.getData().getNodes();
+		Assert.assertTrue(DataSetHelper.nodesEqual(expected, read));
+
+		Assert.assertTrue(query.getNumBlocksDisjoint() > 0);
+		Assert.assertEquals(50, query.getNumBlocksDisjoint()
+				+ query.getNumBlocksContained()
+				+ query.getNumBlocksIntersecting());
+	}
+
+}
@@ -0,0 +1,144 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.tbo.Compression;
+import de.topobyte.osm4j.tbo.access.TboIterator;
+import de.topobyte.osm4j.tbo.access.TboWriter;
+import de.topobyte.osm4j.testing.DataSetGenerator;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.EntityGenerator;
+import de.topobyte.osm4j.testing.TestDataSet;
+
+public class TestPartialDecoding
+{
+
+	private EntityGenerator entityGenerator = new EntityGenerator(100, true);
+	private DataSetGenerator dataSetGenerator = new DataSetGenerator(
+			entityGenerator);
+
+	@Test
+	public void test() throws IOException
+	{
+		TestDataSet data = dataSetGenerator.generate(100, 40, 20);
+		for (Compression compression : Compression.values()) {
+			byte[] bytes = write(data, compression);
+			check(data, bytes, true, true);
+			check(data, bytes, true, false);
+			check(data, bytes, false, true);
+			check(data, bytes, false, false);
+		}
+	}
+
+	@Test
+	public void testLargeBlocks() throws IOException
+	{
+		// Sections much larger than the buffers of the decompressing streams
+		// so that skipping a section cannot be done in one call
+		TestDataSet data = dataSetGenerator.generate(20000, 4000, 1000);
+		for (Compression compression : Compression.values()) {
+			byte[] bytes = write(data, compression, 100000);
+			check(data, bytes, true, true);
+			check(data, bytes, false, true);
+			check(data, bytes, false, false);
+		}
+	}
+
+	private byte[] write(TestDataSet data, Compression compression)
+			throws IOException
+	{
+		return write(data, compression, 16);
+	}
+
+	private byte[] write(TestDataSet data, Compression compression,
+			int batchSize) throws IOException
+	{
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		TboWriter writer = new TboWriter(output, true);
+		writer.setCompression(compression);
+		writer.setBatchSizeByElementCount(batchSize);
+		DataSetHelper.write(data, writer);
+		writer.complete();
+		return output.toByteArray();
+	}
+
+	private void check(TestDataSet data, byte[] bytes, boolean fetchTags,
+			boolean fetchMetadata) throws IOException
+	{
+		TestDataSet read = DataSetHelper.read(new TboIterator(
+				new ByteArrayInputStream(bytes), fetchTags, fetchMetadata));
+
+		Assert.assertEquals(data.getNodes().size(), read.getNodes().size());
+		Assert.assertEquals(data.getWays().size(), read.getWays().size());
+		Assert.assertEquals(data.getRelations().size(),
+				read.getRelations().size());
+
+		for (int i = 0; i < data.getNodes().size(); i++) {
+			Assert.assertEquals(data.getNodes().get(i).getLongitude(),
+					read.getNodes().get(i).getLongitude(), 0.0001);
+			Assert.assertEquals(data.getNodes().get(i).getLatitude(),
+					read.getNodes().get(i).getLatitude(), 0.0001);
+		}
+		for (int i = 0; i < data.getWays().size(); i++) {
+			Assert.assertTrue(DataSetHelper.nodeRefsEqual(
+					data.getWays().get(i), read.getWays().get(i)));
+		}
+		for (int i = 0; i < data.getRelations().size(); i++) {
+			Assert.assertTrue(DataSetHelper.membersEqual(
+					data.getRelations().get(i), read.getRelations().get(i)));
+		}
+
+		checkEntities(data.getNodes(), read.getNodes(), fetchTags,
+				fetchMetadata);
+		checkEntities(data.getWays(), read.getWays(), fetchTags,
+				fetchMetadata);
+		checkEntities(data.getRelations(), read.getRelations(), fetchTags,
+				fetchMetadata);
+	}
+
+	private void checkEntities(List<? extends OsmEntity> expected,
+			List<? extends OsmEntity> read, boolean fetchTags,
+			boolean fetchMetadata)
+	{
+		for (int i = 0; i < expected.size(); i++) {
+			OsmEntity a = expected.get(i);
+			OsmEntity b = read.get(i);
+			Assert.assertEquals(a.getId(), b.getId());
+			if (fetchTags) {
+				Assert.assertTrue(DataSetHelper.tagsEqual(a, b));
+			} else {
+				Assert.assertEquals(0, b.getNumberOfTags());
+			}
+			if (fetchMetadata) {
+				Assert.assertTrue(DataSetHelper.metadataEqual(a, b));
+			} else {
+				Assert.assertNull(b.getMetadata());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.topobyte.osm4j.tbo.io.SkipFullyInputStream;
+
+public class TestSkipFully
+{
+
+	/**
+	 * A stream that skips at most one byte per call and sometimes none.
+	 */
+	private static class ShortSkipInputStream extends FilterInputStream
+	{
+
+		private int calls = 0;
+
+		ShortSkipInputStream(InputStream in)
+		{
+			super(in);
+		}
+
+		@Override
+		public long skip(long n) throws IOException
+		{
+			if (calls++ % 2 == 0) {
+				return 0;
+			}
+			return super.skip(Math.min(n, 1));
+		}
+
+	}
+
+	private static InputStream input(int size)
+	{
+		byte[] data = new byte[size];
+		for (int i = 0; i < size; i++) {
+			data[i] = (byte) i;
+		}
+		return new SkipFullyInputStream(
+				new ShortSkipInputStream(new ByteArrayInputStream(data)));
+	}
+
+	@Test
+	public void testSkip() throws IOException
+	{
+		InputStream input = input(100);
+		Assert.assertEquals(50, input.skip(50));
+		Assert.assertEquals(50, input.read());
+		Assert.assertEquals(40, input.skip(40));
+		Assert.assertEquals(91, input.read());
+	}
+
+	@Test(expected = EOFException.class)
+	public void testSkipBeyondEnd() throws IOException
+	{
+		InputStream input = input(100);
+		input.skip(101);
+	}
+
+}
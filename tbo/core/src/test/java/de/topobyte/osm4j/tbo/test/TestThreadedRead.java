@@ -0,0 +1,118 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.access.OsmInputException;
+import de.topobyte.osm4j.core.access.OsmIterator;
+import de.topobyte.osm4j.tbo.access.TboIterator;
+import de.topobyte.osm4j.tbo.access.TboWriter;
+import de.topobyte.osm4j.tbo.access.ThreadedTboIterator;
+import de.topobyte.osm4j.tbo.access.ThreadedTboReader;
+import de.topobyte.osm4j.testing.DataSetGenerator;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.EntityGenerator;
+import de.topobyte.osm4j.testing.TestDataSet;
+
+public class TestThreadedRead
+{
+
+	private static byte[] bytes;
+	private static TestDataSet expected;
+
+	@BeforeClass
+	public static void setup() throws IOException
+	{
+		EntityGenerator entityGenerator = new EntityGenerator(100, true);
+		DataSetGenerator dataSetGenerator = new DataSetGenerator(
+				entityGenerator);
+		TestDataSet generated = dataSetGenerator.generate(500, 200, 100);
+
+		// Write the test data using small blocks so that there is actually
+		// something to decode in parallel.
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		TboWriter writer = new TboWriter(output, true);
+		writer.setBatchSizeByElementCount(10);
+		DataSetHelper.write(generated, writer);
+		writer.complete();
+		bytes = output.toByteArray();
+
+		expected = DataSetHelper
+				.read(new TboIterator(input(bytes), true, true));
+		Assert.assertTrue(DataSetHelper.equals(generated, expected));
+	}
+
+	private static InputStream input(byte[] data)
+	{
+		return new ByteArrayInputStream(data);
+	}
+
+	@Test
+	public void testIterator() throws IOException
+	{
+		for (int threads = 1; threads <= 8; threads++) {
+			OsmIterator iterator = new ThreadedTboIterator(input(bytes), true,
+					true, threads);
+			TestDataSet data = DataSetHelper.read(iterator);
+
+			Assert.assertTrue("Comparison with sequential iterator",
+					DataSetHelper.equals(expected, data));
+		}
+	}
+
+	@Test
+	public void testReader() throws IOException, OsmInputException
+	{
+		for (int threads = 1; threads <= 8; threads++) {
+			ThreadedTboReader reader = new ThreadedTboReader(input(bytes),
+					true, true, threads);
+			TestDataSet data = DataSetHelper.read(reader);
+
+			Assert.assertTrue("Comparison with sequential iterator",
+					DataSetHelper.equals(expected, data));
+		}
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testIteratorTruncated() throws IOException
+	{
+		byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+		OsmIterator iterator = new ThreadedTboIterator(input(truncated), true,
+				true, 4);
+		DataSetHelper.read(iterator);
+	}
+
+	@Test(expected = OsmInputException.class)
+	public void testReaderTruncated() throws IOException, OsmInputException
+	{
+		byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+		ThreadedTboReader reader = new ThreadedTboReader(input(truncated),
+				true, true, 4);
+		DataSetHelper.read(reader);
+	}
+
+}
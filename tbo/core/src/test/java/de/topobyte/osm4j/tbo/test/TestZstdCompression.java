@@ -0,0 +1,153 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.tbo.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.access.OsmInputException;
+import de.topobyte.osm4j.tbo.Compression;
+import de.topobyte.osm4j.tbo.access.TboIterator;
+import de.topobyte.osm4j.tbo.access.TboReader;
+import de.topobyte.osm4j.tbo.access.TboWriter;
+import de.topobyte.osm4j.tbo.access.ZstdDictionaryTrainer;
+import de.topobyte.osm4j.tbo.io.ZstdDictionaries;
+import de.topobyte.osm4j.testing.DataSetGenerator;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.EntityGenerator;
+import de.topobyte.osm4j.testing.TestDataSet;
+
+public class TestZstdCompression
+{
+
+	private static final int BATCH_SIZE = 16;
+
+	private EntityGenerator entityGenerator = new EntityGenerator(100, true);
+	private DataSetGenerator dataSetGenerator = new DataSetGenerator(
+			entityGenerator);
+
+	private byte[] write(TestDataSet data, ZstdDictionaries dictionaries,
+			boolean embed) throws IOException
+	{
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		TboWriter writer = new TboWriter(baos, true);
+		writer.setBatchSizeByElementCount(BATCH_SIZE);
+		writer.setCompression(Compression.ZSTD);
+		writer.setDictionaries(dictionaries);
+		writer.setEmbedDictionaries(embed);
+		DataSetHelper.write(data, writer);
+		writer.complete();
+		return baos.toByteArray();
+	}
+
+	private ZstdDictionaries train(TestDataSet data) throws IOException
+	{
+		ZstdDictionaryTrainer trainer = new ZstdDictionaryTrainer(1024 * 1024,
+				4096);
+		TboWriter writer = new TboWriter(trainer, true, false);
+		writer.setBatchSizeByElementCount(BATCH_SIZE);
+		writer.setCompression(Compression.NONE);
+		DataSetHelper.write(data, writer);
+		writer.complete();
+		return trainer.train();
+	}
+
+	@Test
+	public void testWithoutDictionaries() throws IOException
+	{
+		TestDataSet data = dataSetGenerator.generate(300, 100, 50);
+		byte[] bytes = write(data, null, true);
+
+		TestDataSet read = DataSetHelper.read(new TboIterator(
+				new ByteArrayInputStream(bytes), true, true));
+		Assert.assertTrue(DataSetHelper.equals(data, read));
+	}
+
+	@Test
+	public void testEmbeddedDictionaries() throws IOException
+	{
+		ZstdDictionaries dictionaries = train(
+				dataSetGenerator.generate(2000, 1000, 500));
+		Assert.assertNotNull(dictionaries.getNodes());
+
+		TestDataSet data = dataSetGenerator.generate(300, 100, 50);
+		byte[] bytes = write(data, dictionaries, true);
+
+		TestDataSet read = DataSetHelper.read(new TboIterator(
+				new ByteArrayInputStream(bytes), true, true));
+		Assert.assertTrue(DataSetHelper.equals(data, read));
+	}
+
+	@Test
+	public void testSeparateDictionaries()
+			throws IOException, OsmInputException
+	{
+		ZstdDictionaries dictionaries = train(
+				dataSetGenerator.generate(2000, 1000, 500));
+
+		// Store and reload the dictionaries as a separate file
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		dictionaries.write(baos);
+		ZstdDictionaries loaded = ZstdDictionaries
+				.read(new ByteArrayInputStream(baos.toByteArray()));
+
+		TestDataSet data = dataSetGenerator.generate(300, 100, 50);
+		byte[] bytes = write(data, dictionaries, false);
+
+		TboReader reader = new TboReader(new ByteArrayInputStream(bytes),
+				true, true);
+		try {
+			DataSetHelper.read(reader);
+			Assert.fail("Reading without dictionaries should fail");
+		} catch (OsmInputException e) {
+			// expected
+		}
+
+		reader = new TboReader(new ByteArrayInputStream(bytes), true, true);
+		reader.setDictionaries(loaded);
+		TestDataSet read = DataSetHelper.read(reader);
+		Assert.assertTrue(DataSetHelper.equals(data, read));
+	}
+
+	@Test
+	public void testNotEmbeddedByDefault() throws IOException
+	{
+		ZstdDictionaries dictionaries = train(
+				dataSetGenerator.generate(2000, 1000, 500));
+		TestDataSet data = dataSetGenerator.generate(300, 100, 50);
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		TboWriter writer = new TboWriter(baos, true);
+		Assert.assertFalse(writer.isEmbedDictionaries());
+		writer.setBatchSizeByElementCount(BATCH_SIZE);
+		writer.setCompression(Compression.ZSTD);
+		writer.setDictionaries(dictionaries);
+		DataSetHelper.write(data, writer);
+		writer.complete();
+
+		byte[] embedded = write(data, dictionaries, true);
+		Assert.assertArrayEquals(write(data, dictionaries, false),
+				baos.toByteArray());
+		Assert.assertTrue(baos.size() < embedded.length);
+	}
+
+}
@@ -22,8 +22,11 @@ import java.io.IOException;
 import de.topobyte.adt.geo.BBox;
 import de.topobyte.adt.geo.BBoxString;
 import de.topobyte.osm4j.core.access.OsmIterator;
+import de.topobyte.osm4j.pbf.seq.PbfCursor;
 import de.topobyte.osm4j.utils.AbstractExecutableSingleInputStream;
+import de.topobyte.osm4j.utils.FileFormat;
 import de.topobyte.osm4j.utils.bbox.BBoxCalculator;
+import de.topobyte.osm4j.utils.bbox.PbfBBoxCalculator;
 
 public class OsmCalculateBbox extends AbstractExecutableSingleInputStream
 {
@@ -50,9 +53,17 @@ public class OsmCalculateBbox extends AbstractExecutableSingleInputStream
 
 	private void run() throws IOException
 	{
-		OsmIterator iterator = createIterator();
-		BBoxCalculator calculator = new BBoxCalculator(iterator);
-		BBox bbox = calculator.execute();
+		BBox bbox;
+		if (inputFormat == FileFormat.PBF) {
+			PbfCursor cursor = new PbfCursor(osmStream.getInputStream(),
+					false);
+			PbfBBoxCalculator calculator = new PbfBBoxCalculator(cursor);
+			bbox = calculator.execute();
+		} else {
+			OsmIterator iterator = createIterator();
+			BBoxCalculator calculator = new BBoxCalculator(iterator);
+			bbox = calculator.execute();
+		}
 
 		System.out.println(BBoxString.create(bbox));
 	}
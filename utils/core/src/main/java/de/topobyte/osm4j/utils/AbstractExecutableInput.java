@@ -17,6 +17,9 @@
 
 package de.topobyte.osm4j.utils;
 
+import de.topobyte.osm4j.utils.config.ConfigurationException;
+import de.topobyte.osm4j.utils.config.InputConfig;
+import de.topobyte.osm4j.utils.config.InputOptions;
 import de.topobyte.utilities.apache.commons.cli.OptionHelper;
 
 public abstract class AbstractExecutableInput extends AbstractExecutable
@@ -25,6 +28,7 @@ public abstract class AbstractExecutableInput extends AbstractExecutable
 	private static final String OPTION_INPUT_FORMAT = "input-format";
 
 	protected FileFormat inputFormat;
+	protected InputConfig inputConfig;
 	protected boolean readTags = true;
 	protected boolean readMetadata = true;
 
@@ -32,6 +36,7 @@ public abstract class AbstractExecutableInput extends AbstractExecutable
 	{
 		// @formatter:off
 		OptionHelper.addL(options, OPTION_INPUT_FORMAT, true, true, "the file format of the input");
+		InputOptions.add(options);
 		// @formatter:on
 	}
 
@@ -48,6 +53,14 @@ public abstract class AbstractExecutableInput extends AbstractExecutable
 					+ FileFormat.getHumanReadableListOfSupportedFormats());
 			System.exit(1);
 		}
+
+		try {
+			inputConfig = InputOptions.parse(line);
+		} catch (ConfigurationException e) {
+			System.out.println(
+					"Error while parsing input options: " + e.getMessage());
+			System.exit(1);
+		}
 	}
 
 }
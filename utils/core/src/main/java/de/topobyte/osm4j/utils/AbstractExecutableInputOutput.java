@@ -18,6 +18,8 @@
 package de.topobyte.osm4j.utils;
 
 import de.topobyte.osm4j.utils.config.ConfigurationException;
+import de.topobyte.osm4j.utils.config.InputConfig;
+import de.topobyte.osm4j.utils.config.InputOptions;
 import de.topobyte.osm4j.utils.config.PbfConfig;
 import de.topobyte.osm4j.utils.config.PbfOptions;
 import de.topobyte.osm4j.utils.config.TboConfig;
@@ -32,6 +34,7 @@ public abstract class AbstractExecutableInputOutput extends AbstractExecutable
 
 	protected FileFormat inputFormat;
 	protected FileFormat outputFormat;
+	protected InputConfig inputConfig;
 	protected PbfConfig pbfConfig;
 	protected TboConfig tboConfig;
 
@@ -45,6 +48,7 @@ public abstract class AbstractExecutableInputOutput extends AbstractExecutable
 		// @formatter:off
 		OptionHelper.addL(options, OPTION_INPUT_FORMAT, true, true, "the file format of the input");
 		OptionHelper.addL(options, OPTION_OUTPUT_FORMAT, true, true, "the file format of the output");
+		InputOptions.add(options);
 		PbfOptions.add(options);
 		TboOptions.add(options);
 		// @formatter:on
@@ -73,6 +77,13 @@ public abstract class AbstractExecutableInputOutput extends AbstractExecutable
 			System.exit(1);
 		}
 
+		try {
+			inputConfig = InputOptions.parse(line);
+		} catch (ConfigurationException e) {
+			System.out.println(
+					"Error while parsing input options: " + e.getMessage());
+			System.exit(1);
+		}
 		try {
 			pbfConfig = PbfOptions.parse(line);
 		} catch (ConfigurationException e) {
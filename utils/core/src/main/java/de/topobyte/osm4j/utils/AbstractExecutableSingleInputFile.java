@@ -51,7 +51,7 @@ public abstract class AbstractExecutableSingleInputFile
 
 	protected OsmFileInput getOsmFileInput()
 	{
-		return new OsmFileInput(getOsmFile());
+		return new OsmFileInput(getOsmFile(), inputConfig);
 	}
 
 }
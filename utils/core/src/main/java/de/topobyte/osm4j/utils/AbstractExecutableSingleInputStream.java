@@ -64,19 +64,20 @@ public abstract class AbstractExecutableSingleInputStream
 			File file = new File(pathInput);
 			in = StreamUtil.bufferedInputStream(file);
 		}
+		in = OsmIoUtils.setupInputStream(in, inputConfig);
 
 		osmStream = new OsmInputStream(in, inputFormat);
 	}
 
 	protected OsmIterator createIterator() throws IOException
 	{
-		OsmStreamInput input = new OsmStreamInput(osmStream);
+		OsmStreamInput input = new OsmStreamInput(osmStream, inputConfig);
 		return input.createIterator(readTags, readMetadata).getIterator();
 	}
 
 	protected OsmReader createReader() throws IOException
 	{
-		OsmStreamInput input = new OsmStreamInput(osmStream);
+		OsmStreamInput input = new OsmStreamInput(osmStream, inputConfig);
 		return input.createReader(readTags, readMetadata).getReader();
 	}
 
@@ -114,12 +114,19 @@ public abstract class AbstractExecutableSingleOutput extends AbstractExecutable
 		case TBO:
 			TboWriter tboWriter = new TboWriter(out, writeMetadata);
 			tboWriter.setCompression(tboConfig.getCompression());
+			tboWriter.setZstdLevel(tboConfig.getZstdLevel());
+			tboWriter.setWriteIndex(tboConfig.isWriteIndex());
+			tboWriter.setCompressionExecutor(
+					tboConfig.getCompressionExecutor());
 			osmOutputStream = tboWriter;
 			break;
 		case PBF:
 			PbfWriter pbfWriter = new PbfWriter(out, writeMetadata);
 			pbfWriter.setCompression(pbfConfig.getCompression());
+			pbfWriter.setZstdLevel(pbfConfig.getZstdLevel());
+			pbfWriter.setEncoderThreads(pbfConfig.getThreads());
 			pbfWriter.setUseDense(pbfConfig.isUseDenseNodes());
+			pbfWriter.setWriteLocationsOnWays(pbfConfig.isLocationsOnWays());
 			osmOutputStream = pbfWriter;
 			break;
 		}
@@ -131,6 +138,7 @@ public abstract class AbstractExecutableSingleOutput extends AbstractExecutable
 		if (closeOutput) {
 			out.close();
 		}
+		tboConfig.shutdownCompressionExecutor();
 	}
 
 }
@@ -27,27 +27,39 @@ import de.topobyte.osm4j.core.access.OsmIdIteratorInput;
 import de.topobyte.osm4j.core.access.OsmIdReader;
 import de.topobyte.osm4j.core.access.OsmIdReaderInput;
 import de.topobyte.osm4j.core.access.OsmInputAccessFactory;
-import de.topobyte.osm4j.core.access.OsmIterator;
 import de.topobyte.osm4j.core.access.OsmIteratorInput;
 import de.topobyte.osm4j.core.access.OsmReader;
 import de.topobyte.osm4j.core.access.OsmReaderInput;
+import de.topobyte.osm4j.utils.config.InputConfig;
 
 public class OsmFileInput implements OsmInputAccessFactory
 {
 
 	private Path path;
 	private FileFormat fileFormat;
+	private InputConfig inputConfig;
 
 	public OsmFileInput(OsmFile osmFile)
 	{
-		this.path = osmFile.getPath();
-		this.fileFormat = osmFile.getFileFormat();
+		this(osmFile, new InputConfig());
+	}
+
+	public OsmFileInput(OsmFile osmFile, InputConfig inputConfig)
+	{
+		this(osmFile.getPath(), osmFile.getFileFormat(), inputConfig);
 	}
 
 	public OsmFileInput(Path path, FileFormat fileFormat)
+	{
+		this(path, fileFormat, new InputConfig());
+	}
+
+	public OsmFileInput(Path path, FileFormat fileFormat,
+			InputConfig inputConfig)
 	{
 		this.path = path;
 		this.fileFormat = fileFormat;
+		this.inputConfig = inputConfig;
 	}
 
 	public Path getPath()
@@ -60,36 +72,45 @@ public class OsmFileInput implements OsmInputAccessFactory
 		return fileFormat;
 	}
 
+	public InputConfig getInputConfig()
+	{
+		return inputConfig;
+	}
+
 	@Override
 	public InputStream createInputStream() throws IOException
 	{
-		return StreamUtil.bufferedInputStream(path);
+		return open();
+	}
+
+	private InputStream open() throws IOException
+	{
+		InputStream input = StreamUtil.bufferedInputStream(path);
+		return OsmIoUtils.setupInputStream(input, inputConfig);
 	}
 
 	@Override
 	public OsmIteratorInput createIterator(boolean readTags,
 			boolean readMetadata) throws IOException
 	{
-		InputStream input = StreamUtil.bufferedInputStream(path);
-		OsmIterator iterator = OsmIoUtils.setupOsmIterator(input, fileFormat,
-				readTags, readMetadata);
-		return new OsmSingleIteratorInput(input, iterator);
+		return OsmIoUtils.setupOsmIterator(path, fileFormat, readTags,
+				readMetadata, inputConfig);
 	}
 
 	@Override
 	public OsmReaderInput createReader(boolean readTags, boolean readMetadata)
 			throws IOException
 	{
-		InputStream input = StreamUtil.bufferedInputStream(path);
+		InputStream input = open();
 		OsmReader reader = OsmIoUtils.setupOsmReader(input, fileFormat,
-				readTags, readMetadata);
+				readTags, readMetadata, inputConfig);
 		return new OsmSingleReaderInput(input, reader);
 	}
 
 	@Override
 	public OsmIdIteratorInput createIdIterator() throws IOException
 	{
-		InputStream input = StreamUtil.bufferedInputStream(path);
+		InputStream input = open();
 		OsmIdIterator iterator = OsmIoUtils.setupOsmIdIterator(input,
 				fileFormat);
 		return new OsmSingleIdIteratorInput(input, iterator);
@@ -98,7 +119,7 @@ public class OsmFileInput implements OsmInputAccessFactory
 	@Override
 	public OsmIdReaderInput createIdReader() throws IOException
 	{
-		InputStream input = StreamUtil.bufferedInputStream(path);
+		InputStream input = open();
 		OsmIdReader reader = OsmIoUtils.setupOsmIdReader(input, fileFormat);
 		return new OsmSingleIdReaderInput(input, reader);
 	}
@@ -17,14 +17,18 @@
 
 package de.topobyte.osm4j.utils;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Path;
 
+import de.topobyte.melon.io.StreamUtil;
 import de.topobyte.osm4j.core.access.OsmElementCounter;
 import de.topobyte.osm4j.core.access.OsmIdIterator;
 import de.topobyte.osm4j.core.access.OsmIdReader;
 import de.topobyte.osm4j.core.access.OsmIterator;
+import de.topobyte.osm4j.core.access.OsmIteratorInput;
 import de.topobyte.osm4j.core.access.OsmOutputStream;
 import de.topobyte.osm4j.core.access.OsmReader;
 import de.topobyte.osm4j.core.access.wrapper.OsmElementCounterReaderAdapter;
@@ -33,11 +37,17 @@ import de.topobyte.osm4j.core.access.wrapper.OsmIdReaderAdapter;
 import de.topobyte.osm4j.pbf.seq.PbfIterator;
 import de.topobyte.osm4j.pbf.seq.PbfReader;
 import de.topobyte.osm4j.pbf.seq.PbfWriter;
+import de.topobyte.osm4j.pbf.seq.ThreadedPbfIterator;
+import de.topobyte.osm4j.pbf.seq.ThreadedPbfReader;
 import de.topobyte.osm4j.tbo.access.TboIdIterator;
 import de.topobyte.osm4j.tbo.access.TboIdReader;
 import de.topobyte.osm4j.tbo.access.TboIterator;
 import de.topobyte.osm4j.tbo.access.TboReader;
 import de.topobyte.osm4j.tbo.access.TboWriter;
+import de.topobyte.osm4j.tbo.access.ThreadedTboIterator;
+import de.topobyte.osm4j.tbo.access.ThreadedTboReader;
+import de.topobyte.osm4j.utils.buffer.ReadAheadInputStream;
+import de.topobyte.osm4j.utils.config.InputConfig;
 import de.topobyte.osm4j.utils.config.PbfConfig;
 import de.topobyte.osm4j.utils.config.TboConfig;
 import de.topobyte.osm4j.utils.config.limit.ElementCountLimit;
@@ -49,10 +59,28 @@ import de.topobyte.osm4j.utils.config.limit.WayNodeLimit;
 import de.topobyte.osm4j.xml.dynsax.OsmXmlIterator;
 import de.topobyte.osm4j.xml.dynsax.OsmXmlReader;
 import de.topobyte.osm4j.xml.output.OsmXmlOutputStream;
+import de.topobyte.osm4j.xml.pull.OsmXmlPullIterator;
+import de.topobyte.osm4j.xml.pull.ParallelOsmXmlIterator;
 
 public class OsmIoUtils
 {
 
+	/**
+	 * Wrap the specified stream with a {@link ReadAheadInputStream} if
+	 * read-ahead is enabled in the input configuration. The returned stream
+	 * should be closed instead of the original one once reading is done.
+	 */
+	public static InputStream setupInputStream(InputStream in,
+			InputConfig inputConfig)
+	{
+		int buffers = inputConfig.getReadAheadBuffers();
+		if (buffers < 1) {
+			return in;
+		}
+		return new ReadAheadInputStream(in, buffers,
+				inputConfig.getReadAheadBufferSize());
+	}
+
 	public static OsmIterator setupOsmIterator(InputStream in,
 			FileFormat format, boolean readMetadata) throws IOException
 	{
@@ -62,18 +90,67 @@ public class OsmIoUtils
 	public static OsmIterator setupOsmIterator(InputStream in,
 			FileFormat format, boolean readTags, boolean readMetadata)
 			throws IOException
+	{
+		return setupOsmIterator(in, format, readTags, readMetadata,
+				new InputConfig());
+	}
+
+	public static OsmIterator setupOsmIterator(InputStream in,
+			FileFormat format, boolean readTags, boolean readMetadata,
+			InputConfig inputConfig) throws IOException
 	{
 		switch (format) {
 		default:
 		case PBF:
+			if (inputConfig.getThreads() > 1) {
+				return new ThreadedPbfIterator(in, readMetadata,
+						inputConfig.getThreads());
+			}
 			return new PbfIterator(in, readMetadata);
 		case TBO:
+			if (inputConfig.getThreads() > 1) {
+				return new ThreadedTboIterator(in, readTags, readMetadata,
+						inputConfig.getThreads());
+			}
 			return new TboIterator(in, readTags, readMetadata);
 		case XML:
+			if (inputConfig.isXmlPullParser()) {
+				return new OsmXmlPullIterator(in, readMetadata);
+			}
 			return new OsmXmlIterator(in, readMetadata);
 		}
 	}
 
+	/**
+	 * Set up an iterator over the file at the specified path. Uncompressed XML
+	 * files are parsed with multiple threads if the input configuration asks
+	 * for more than one thread. All other input is read from a stream just
+	 * like with
+	 * {@link #setupOsmIterator(InputStream, FileFormat, boolean, boolean, InputConfig)}.
+	 * The returned input should be closed once reading is done.
+	 */
+	public static OsmIteratorInput setupOsmIterator(Path path,
+			FileFormat format, boolean readTags, boolean readMetadata,
+			InputConfig inputConfig) throws IOException
+	{
+		if (format == FileFormat.XML && inputConfig.getThreads() > 1) {
+			ParallelOsmXmlIterator iterator = new ParallelOsmXmlIterator(
+					path.toFile(), readMetadata, inputConfig.getThreads(),
+					inputConfig.isOrdered());
+			return new OsmSingleIteratorInput(iterator, iterator);
+		}
+
+		InputStream input = setupInputStream(
+				StreamUtil.bufferedInputStream(path), inputConfig);
+		OsmIterator iterator = setupOsmIterator(input, format, readTags,
+				readMetadata, inputConfig);
+		if (iterator instanceof Closeable) {
+			// threaded iterators stop their threads and close the stream
+			return new OsmSingleIteratorInput((Closeable) iterator, iterator);
+		}
+		return new OsmSingleIteratorInput(input, iterator);
+	}
+
 	public static OsmReader setupOsmReader(InputStream in, FileFormat format,
 			boolean readMetadata)
 	{
@@ -82,12 +159,27 @@ public class OsmIoUtils
 
 	public static OsmReader setupOsmReader(InputStream in, FileFormat format,
 			boolean readTags, boolean readMetadata)
+	{
+		return setupOsmReader(in, format, readTags, readMetadata,
+				new InputConfig());
+	}
+
+	public static OsmReader setupOsmReader(InputStream in, FileFormat format,
+			boolean readTags, boolean readMetadata, InputConfig inputConfig)
 	{
 		switch (format) {
 		default:
 		case PBF:
+			if (inputConfig.getThreads() > 1) {
+				return new ThreadedPbfReader(in, readMetadata,
+						inputConfig.getThreads());
+			}
 			return new PbfReader(in, readMetadata);
 		case TBO:
+			if (inputConfig.getThreads() > 1) {
+				return new ThreadedTboReader(in, readTags, readMetadata,
+						inputConfig.getThreads());
+			}
 			return new TboReader(in, readTags, readMetadata);
 		case XML:
 			return new OsmXmlReader(in, readMetadata);
@@ -215,12 +307,18 @@ public class OsmIoUtils
 	private static void applyPbfConfig(PbfWriter pbfWriter, PbfConfig pbfConfig)
 	{
 		pbfWriter.setCompression(pbfConfig.getCompression());
+		pbfWriter.setZstdLevel(pbfConfig.getZstdLevel());
+		pbfWriter.setEncoderThreads(pbfConfig.getThreads());
 		pbfWriter.setUseDense(pbfConfig.isUseDenseNodes());
+		pbfWriter.setWriteLocationsOnWays(pbfConfig.isLocationsOnWays());
 	}
 
 	private static void applyTboConfig(TboWriter tboWriter, TboConfig tboConfig)
 	{
 		tboWriter.setCompression(tboConfig.getCompression());
+		tboWriter.setZstdLevel(tboConfig.getZstdLevel());
+		tboWriter.setWriteIndex(tboConfig.isWriteIndex());
+		tboWriter.setCompressionExecutor(tboConfig.getCompressionExecutor());
 
 		NodeLimit nodeLimit = tboConfig.getLimitNodes();
 		WayLimit wayLimit = tboConfig.getLimitWays();
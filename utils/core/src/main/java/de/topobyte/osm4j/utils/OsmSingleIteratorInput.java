@@ -17,8 +17,8 @@
 
 package de.topobyte.osm4j.utils;
 
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.InputStream;
 
 import de.topobyte.osm4j.core.access.OsmIterator;
 import de.topobyte.osm4j.core.access.OsmIteratorInput;
@@ -26,10 +26,10 @@ import de.topobyte.osm4j.core.access.OsmIteratorInput;
 public class OsmSingleIteratorInput implements OsmIteratorInput
 {
 
-	private InputStream input;
+	private Closeable input;
 	private OsmIterator iterator;
 
-	public OsmSingleIteratorInput(InputStream input, OsmIterator iterator)
+	public OsmSingleIteratorInput(Closeable input, OsmIterator iterator)
 	{
 		this.input = input;
 		this.iterator = iterator;
@@ -29,23 +29,37 @@ import de.topobyte.osm4j.core.access.OsmIterator;
 import de.topobyte.osm4j.core.access.OsmIteratorInput;
 import de.topobyte.osm4j.core.access.OsmReader;
 import de.topobyte.osm4j.core.access.OsmReaderInput;
+import de.topobyte.osm4j.utils.config.InputConfig;
 
 public class OsmStreamInput implements OsmInputAccessFactory
 {
 
 	private InputStream input;
 	private FileFormat fileFormat;
+	private InputConfig inputConfig;
 
 	public OsmStreamInput(OsmInputStream osmStream)
 	{
-		this.input = osmStream.getInputStream();
-		this.fileFormat = osmStream.getFileFormat();
+		this(osmStream, new InputConfig());
+	}
+
+	public OsmStreamInput(OsmInputStream osmStream, InputConfig inputConfig)
+	{
+		this(osmStream.getInputStream(), osmStream.getFileFormat(),
+				inputConfig);
 	}
 
 	public OsmStreamInput(InputStream input, FileFormat fileFormat)
+	{
+		this(input, fileFormat, new InputConfig());
+	}
+
+	public OsmStreamInput(InputStream input, FileFormat fileFormat,
+			InputConfig inputConfig)
 	{
 		this.input = input;
 		this.fileFormat = fileFormat;
+		this.inputConfig = inputConfig;
 	}
 
 	public FileFormat getFileFormat()
@@ -58,6 +72,11 @@ public class OsmStreamInput implements OsmInputAccessFactory
 		return input;
 	}
 
+	public InputConfig getInputConfig()
+	{
+		return inputConfig;
+	}
+
 	@Override
 	public InputStream createInputStream() throws IOException
 	{
@@ -69,7 +88,7 @@ public class OsmStreamInput implements OsmInputAccessFactory
 			boolean readMetadata) throws IOException
 	{
 		OsmIterator iterator = OsmIoUtils.setupOsmIterator(input, fileFormat,
-				readTags, readMetadata);
+				readTags, readMetadata, inputConfig);
 		return new OsmSingleIteratorInput(input, iterator);
 	}
 
@@ -78,7 +97,7 @@ public class OsmStreamInput implements OsmInputAccessFactory
 			throws IOException
 	{
 		OsmReader reader = OsmIoUtils.setupOsmReader(input, fileFormat,
-				readTags, readMetadata);
+				readTags, readMetadata, inputConfig);
 		return new OsmSingleReaderInput(input, reader);
 	}
 
@@ -0,0 +1,226 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.slimjars.dist.gnu.trove.list.TIntList;
+import com.slimjars.dist.gnu.trove.list.array.TIntArrayList;
+
+import de.topobyte.osm4j.core.access.OsmBatch;
+import de.topobyte.osm4j.core.access.OsmIteratorInput;
+import de.topobyte.osm4j.core.access.wrapper.OsmBatchIteratorAdapter;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.core.util.OsmBatchSpliterator;
+import de.topobyte.osm4j.core.util.OsmEntitySpliterator;
+import de.topobyte.osm4j.pbf.raf.MappedPbfFile;
+import de.topobyte.osm4j.pbf.seq.PbfBlockSource;
+import de.topobyte.osm4j.tbo.access.TboBlockSource;
+import de.topobyte.osm4j.tbo.access.TboFile;
+
+/**
+ * Access to the entities of OSM files through {@link java.util.stream}.
+ * 
+ * PBF and TBO files are split at block boundaries and each block is decoded
+ * by the thread that processes it, hence parallel streams decode blocks on
+ * the worker threads of the common fork-join pool. Other formats are read
+ * sequentially and only the processing of entities happens in parallel.
+ * 
+ * The returned streams hold on to open files and should be closed after use,
+ * for example using try-with-resources.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class OsmStreams
+{
+
+	public static Stream<OsmNode> nodes(OsmFileInput input, boolean parallel)
+			throws IOException
+	{
+		return nodes(input, true, parallel);
+	}
+
+	public static Stream<OsmWay> ways(OsmFileInput input, boolean parallel)
+			throws IOException
+	{
+		return ways(input, true, parallel);
+	}
+
+	public static Stream<OsmRelation> relations(OsmFileInput input,
+			boolean parallel) throws IOException
+	{
+		return relations(input, true, parallel);
+	}
+
+	public static Stream<OsmBatch> batches(OsmFileInput input,
+			boolean parallel) throws IOException
+	{
+		return batches(input, true, parallel);
+	}
+
+	public static Stream<OsmNode> nodes(OsmFileInput input,
+			boolean readMetadata, boolean parallel) throws IOException
+	{
+		return entities(input, EntityType.Node, readMetadata, parallel);
+	}
+
+	public static Stream<OsmWay> ways(OsmFileInput input, boolean readMetadata,
+			boolean parallel) throws IOException
+	{
+		return entities(input, EntityType.Way, readMetadata, parallel);
+	}
+
+	public static Stream<OsmRelation> relations(OsmFileInput input,
+			boolean readMetadata, boolean parallel) throws IOException
+	{
+		return entities(input, EntityType.Relation, readMetadata, parallel);
+	}
+
+	/**
+	 * @return a stream of the batches of entities contained in the file, in
+	 *         file order if the stream is sequential or ordered.
+	 */
+	public static Stream<OsmBatch> batches(OsmFileInput input,
+			boolean readMetadata, boolean parallel) throws IOException
+	{
+		Source source = open(input, EnumSet.allOf(EntityType.class),
+				readMetadata);
+		Stream<OsmBatch> stream = StreamSupport.stream(source.batches,
+				parallel);
+		return stream.onClose(closer(source.closeable));
+	}
+
+	private static <T extends OsmEntity> Stream<T> entities(
+			OsmFileInput input, EntityType type, boolean readMetadata,
+			boolean parallel) throws IOException
+	{
+		Source source = open(input, EnumSet.of(type), readMetadata);
+		Spliterator<T> spliterator = new OsmEntitySpliterator<>(
+				source.batches, type);
+		Stream<T> stream = StreamSupport.stream(spliterator, parallel);
+		return stream.onClose(closer(source.closeable));
+	}
+
+	private static class Source
+	{
+
+		Spliterator<OsmBatch> batches;
+		Closeable closeable;
+
+		Source(Spliterator<OsmBatch> batches, Closeable closeable)
+		{
+			this.batches = batches;
+			this.closeable = closeable;
+		}
+
+	}
+
+	private static Source open(OsmFileInput input, Set<EntityType> types,
+			boolean readMetadata) throws IOException
+	{
+		switch (input.getFileFormat()) {
+		case PBF:
+			return openPbf(input, types, readMetadata);
+		case TBO:
+			return openTbo(input, types, readMetadata);
+		default:
+			final OsmIteratorInput iteratorInput = input.createIterator(true,
+					readMetadata);
+			OsmBatchIteratorAdapter iterator = new OsmBatchIteratorAdapter(
+					iteratorInput.getIterator());
+			Spliterator<OsmBatch> batches = Spliterators
+					.spliteratorUnknownSize(iterator, Spliterator.ORDERED
+							| Spliterator.NONNULL | Spliterator.IMMUTABLE);
+			return new Source(batches, new Closeable() {
+
+				@Override
+				public void close() throws IOException
+				{
+					iteratorInput.close();
+				}
+
+			});
+		}
+	}
+
+	private static Source openPbf(OsmFileInput input, Set<EntityType> types,
+			boolean readMetadata) throws IOException
+	{
+		MappedPbfFile file = new MappedPbfFile(input.getPath());
+		try {
+			file.buildBlockIndex();
+		} catch (IOException e) {
+			file.close();
+			throw e;
+		}
+		PbfBlockSource source = new PbfBlockSource(file, readMetadata, types);
+		return new Source(new OsmBatchSpliterator(source), file);
+	}
+
+	private static Source openTbo(OsmFileInput input, Set<EntityType> types,
+			boolean readMetadata) throws IOException
+	{
+		TboFile file = new TboFile(input.getPath().toFile(), true,
+				readMetadata);
+		TIntList blocks = new TIntArrayList();
+		try {
+			// Only read blocks that contain entities of the requested types
+			int n = file.getNumberOfBlocks();
+			for (int i = 0; i < n; i++) {
+				if (types.contains(file.getBlockInfo(i).getType())) {
+					blocks.add(i);
+				}
+			}
+		} catch (IOException e) {
+			file.close();
+			throw e;
+		}
+		TboBlockSource source = new TboBlockSource(file, blocks);
+		return new Source(new OsmBatchSpliterator(source), file);
+	}
+
+	private static Runnable closer(final Closeable closeable)
+	{
+		return new Runnable() {
+
+			@Override
+			public void run()
+			{
+				try {
+					closeable.close();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+
+		};
+	}
+
+}
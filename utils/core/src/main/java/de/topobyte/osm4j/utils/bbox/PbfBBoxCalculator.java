@@ -0,0 +1,59 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.utils.bbox;
+
+import java.io.IOException;
+
+import org.locationtech.jts.geom.Envelope;
+
+import de.topobyte.adt.geo.BBox;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.pbf.seq.CursorNode;
+import de.topobyte.osm4j.pbf.seq.PbfCursor;
+
+/**
+ * Computes the same result as {@link BBoxCalculator} for PBF input but uses a
+ * {@link PbfCursor} so that no objects are created per node.
+ */
+public class PbfBBoxCalculator
+{
+
+	private PbfCursor cursor;
+
+	public PbfBBoxCalculator(PbfCursor cursor)
+	{
+		this.cursor = cursor;
+	}
+
+	public BBox execute() throws IOException
+	{
+		Envelope envelope = new Envelope();
+
+		while (cursor.next()) {
+			if (cursor.getType() != EntityType.Node) {
+				break;
+			}
+			CursorNode node = cursor.getNode();
+			envelope.expandToInclude(node.getLongitude(), node.getLatitude());
+		}
+
+		BBox bbox = new BBox(envelope);
+		return bbox;
+	}
+
+}
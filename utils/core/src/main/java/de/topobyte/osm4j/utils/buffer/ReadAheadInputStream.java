@@ -0,0 +1,250 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.utils.buffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * An input stream that reads data from another stream in a background thread
+ * ahead of the consumer. This lets I/O overlap with decoding the data, which
+ * is especially useful on slow or network attached volumes.
+ * 
+ * Data is read into a fixed number of reusable buffers of fixed size, hence
+ * the amount of memory used does not depend on how fast the consumer reads.
+ * Closing this stream stops the background thread and closes the underlying
+ * stream.
+ */
+public class ReadAheadInputStream extends InputStream
+{
+
+	public static final int DEFAULT_NUM_BUFFERS = 4;
+	public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+	private static class Chunk
+	{
+
+		private byte[] data;
+		private int length = 0;
+		private IOException error = null;
+
+		Chunk(int size)
+		{
+			data = new byte[size];
+		}
+
+	}
+
+	private static final Chunk END = new Chunk(0);
+
+	private final InputStream input;
+
+	private final BlockingQueue<Chunk> free;
+	private final BlockingQueue<Chunk> filled;
+
+	private final Thread thread;
+	private volatile boolean closed = false;
+
+	private Chunk current = null;
+	private int position = 0;
+	private boolean eof = false;
+
+	public ReadAheadInputStream(InputStream input)
+	{
+		this(input, DEFAULT_NUM_BUFFERS, DEFAULT_BUFFER_SIZE);
+	}
+
+	public ReadAheadInputStream(InputStream input, int numBuffers,
+			int bufferSize)
+	{
+		if (numBuffers < 1) {
+			throw new IllegalArgumentException("need at least one buffer");
+		}
+		if (bufferSize < 1) {
+			throw new IllegalArgumentException("invalid buffer size");
+		}
+
+		this.input = input;
+
+		free = new ArrayBlockingQueue<>(numBuffers);
+		// One extra slot for the end marker, so that the reader never blocks
+		// when adding to this queue
+		filled = new ArrayBlockingQueue<>(numBuffers + 1);
+		for (int i = 0; i < numBuffers; i++) {
+			free.add(new Chunk(bufferSize));
+		}
+
+		thread = new Thread(new Runnable() {
+
+			@Override
+			public void run()
+			{
+				readAhead();
+			}
+
+		}, "osm4j-read-ahead");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private void readAhead()
+	{
+		try {
+			while (!closed) {
+				Chunk chunk = free.take();
+				int length = fill(chunk.data);
+				if (length > 0) {
+					chunk.length = length;
+					filled.add(chunk);
+				}
+				if (length < chunk.data.length) {
+					filled.add(END);
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			// closed while waiting for a free buffer
+		} catch (IOException e) {
+			if (!closed) {
+				Chunk chunk = new Chunk(0);
+				chunk.error = e;
+				filled.add(chunk);
+			}
+		}
+	}
+
+	/**
+	 * Read from the underlying stream until the buffer is full or the end of
+	 * the stream has been reached.
+	 */
+	private int fill(byte[] buffer) throws IOException
+	{
+		int length = 0;
+		while (length < buffer.length) {
+			int n = input.read(buffer, length, buffer.length - length);
+			if (n < 0) {
+				break;
+			}
+			length += n;
+		}
+		return length;
+	}
+
+	/**
+	 * Make sure that the current buffer contains data to be consumed.
+	 * 
+	 * @return false if the end of the stream has been reached.
+	 */
+	private boolean ensureData() throws IOException
+	{
+		if (closed) {
+			throw new IOException("stream closed");
+		}
+		if (current != null && position < current.length) {
+			return true;
+		}
+		if (eof) {
+			return false;
+		}
+		if (current != null) {
+			free.add(current);
+			current = null;
+		}
+
+		Chunk chunk;
+		try {
+			chunk = filled.take();
+		} catch (InterruptedException e) {
+			throw new InterruptedIOException(
+					"interrupted while waiting for data");
+		}
+
+		if (chunk == END) {
+			eof = true;
+			return false;
+		}
+		if (chunk.error != null) {
+			eof = true;
+			throw new IOException("error while reading ahead", chunk.error);
+		}
+
+		current = chunk;
+		position = 0;
+		return true;
+	}
+
+	@Override
+	public int read() throws IOException
+	{
+		if (!ensureData()) {
+			return -1;
+		}
+		return current.data[position++] & 0xff;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException
+	{
+		if (len == 0) {
+			return 0;
+		}
+		if (!ensureData()) {
+			return -1;
+		}
+		int n = Math.min(len, current.length - position);
+		System.arraycopy(current.data, position, b, off, n);
+		position += n;
+		return n;
+	}
+
+	@Override
+	public long skip(long n) throws IOException
+	{
+		long skipped = 0;
+		while (skipped < n && ensureData()) {
+			int k = (int) Math.min(n - skipped, current.length - position);
+			position += k;
+			skipped += k;
+		}
+		return skipped;
+	}
+
+	@Override
+	public int available() throws IOException
+	{
+		if (current == null) {
+			return 0;
+		}
+		return current.length - position;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		if (closed) {
+			return;
+		}
+		closed = true;
+		thread.interrupt();
+		input.close();
+	}
+
+}
@@ -0,0 +1,93 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.utils.config;
+
+import de.topobyte.osm4j.utils.buffer.ReadAheadInputStream;
+
+public class InputConfig
+{
+
+	private int threads = 1;
+	private boolean ordered = true;
+	private boolean xmlPullParser = false;
+	private int readAheadBuffers = 0;
+	private int readAheadBufferSize = ReadAheadInputStream.DEFAULT_BUFFER_SIZE;
+
+	public int getThreads()
+	{
+		return threads;
+	}
+
+	public void setThreads(int threads)
+	{
+		this.threads = threads;
+	}
+
+	/**
+	 * @return whether entities have to be delivered in document order. Only
+	 *         parallel XML input makes use of unordered delivery.
+	 */
+	public boolean isOrdered()
+	{
+		return ordered;
+	}
+
+	public void setOrdered(boolean ordered)
+	{
+		this.ordered = ordered;
+	}
+
+	/**
+	 * @return whether sequential XML input is parsed with the StAX based pull
+	 *         parser instead of the SAX based iterator.
+	 */
+	public boolean isXmlPullParser()
+	{
+		return xmlPullParser;
+	}
+
+	public void setXmlPullParser(boolean xmlPullParser)
+	{
+		this.xmlPullParser = xmlPullParser;
+	}
+
+	/**
+	 * @return the number of buffers to read ahead in a background thread or 0
+	 *         if read-ahead is disabled.
+	 */
+	public int getReadAheadBuffers()
+	{
+		return readAheadBuffers;
+	}
+
+	public void setReadAheadBuffers(int readAheadBuffers)
+	{
+		this.readAheadBuffers = readAheadBuffers;
+	}
+
+	public int getReadAheadBufferSize()
+	{
+		return readAheadBufferSize;
+	}
+
+	public void setReadAheadBufferSize(int readAheadBufferSize)
+	{
+		this.readAheadBufferSize = readAheadBufferSize;
+	}
+
+}
@@ -0,0 +1,109 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.utils.config;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Options;
+
+import de.topobyte.utilities.apache.commons.cli.OptionHelper;
+import de.topobyte.utilities.apache.commons.cli.parsing.ArgumentHelper;
+import de.topobyte.utilities.apache.commons.cli.parsing.ArgumentParseException;
+import de.topobyte.utilities.apache.commons.cli.parsing.IntegerOption;
+
+public class InputOptions
+{
+
+	private static final String OPTION_INPUT_THREADS = "input-threads";
+	private static final String OPTION_UNORDERED = "input-unordered";
+	private static final String OPTION_XML_PULL = "input-xml-pull";
+	private static final String OPTION_READ_AHEAD = "input-read-ahead";
+	private static final String OPTION_READ_AHEAD_SIZE = "input-read-ahead-size";
+
+	public static void add(Options options)
+	{
+		// @formatter:off
+		OptionHelper.addL(options, OPTION_INPUT_THREADS, true, false, "number of threads to use for decoding PBF and TBO input and for parsing uncompressed XML files");
+		OptionHelper.addL(options, OPTION_UNORDERED, false, false, "allow parallel XML input to deliver entities out of document order");
+		OptionHelper.addL(options, OPTION_XML_PULL, false, false, "parse sequential XML input with the StAX based pull parser");
+		OptionHelper.addL(options, OPTION_READ_AHEAD, true, false, "number of buffers to read ahead in a background thread (default: 0, disabled)");
+		OptionHelper.addL(options, OPTION_READ_AHEAD_SIZE, true, false, "size of read-ahead buffers in KiB (default: 1024)");
+		// @formatter:on
+	}
+
+	public static InputConfig parse(CommandLine line)
+			throws ConfigurationException
+	{
+		InputConfig config = new InputConfig();
+		try {
+			IntegerOption threads = ArgumentHelper.getInteger(line,
+					OPTION_INPUT_THREADS);
+			if (threads.hasValue()) {
+				if (threads.getValue() < 1) {
+					throw new ConfigurationException(String.format(
+							"Option '%s' must be >= 1", OPTION_INPUT_THREADS));
+				}
+				config.setThreads(threads.getValue());
+			}
+		} catch (ArgumentParseException e) {
+			throw new ConfigurationException(String.format(
+					"Unable to parse option '%s'", OPTION_INPUT_THREADS), e);
+		}
+
+		if (line.hasOption(OPTION_UNORDERED)) {
+			config.setOrdered(false);
+		}
+
+		if (line.hasOption(OPTION_XML_PULL)) {
+			config.setXmlPullParser(true);
+		}
+
+		try {
+			IntegerOption buffers = ArgumentHelper.getInteger(line,
+					OPTION_READ_AHEAD);
+			if (buffers.hasValue()) {
+				if (buffers.getValue() < 0) {
+					throw new ConfigurationException(String.format(
+							"Option '%s' must be >= 0", OPTION_READ_AHEAD));
+				}
+				config.setReadAheadBuffers(buffers.getValue());
+			}
+		} catch (ArgumentParseException e) {
+			throw new ConfigurationException(String.format(
+					"Unable to parse option '%s'", OPTION_READ_AHEAD), e);
+		}
+
+		try {
+			IntegerOption size = ArgumentHelper.getInteger(line,
+					OPTION_READ_AHEAD_SIZE);
+			if (size.hasValue()) {
+				if (size.getValue() < 1) {
+					throw new ConfigurationException(
+							String.format("Option '%s' must be >= 1",
+									OPTION_READ_AHEAD_SIZE));
+				}
+				config.setReadAheadBufferSize(size.getValue() * 1024);
+			}
+		} catch (ArgumentParseException e) {
+			throw new ConfigurationException(String.format(
+					"Unable to parse option '%s'", OPTION_READ_AHEAD_SIZE), e);
+		}
+
+		return config;
+	}
+
+}
@@ -18,12 +18,16 @@
 package de.topobyte.osm4j.utils.config;
 
 import de.topobyte.osm4j.pbf.Compression;
+import de.topobyte.osm4j.pbf.seq.BlockWriter;
 
 public class PbfConfig
 {
 
 	private Compression compression = Compression.DEFLATE;
+	private int zstdLevel = BlockWriter.DEFAULT_ZSTD_LEVEL;
 	private boolean useDenseNodes = true;
+	private int threads = 1;
+	private boolean locationsOnWays = false;
 
 	public Compression getCompression()
 	{
@@ -35,6 +39,16 @@ public class PbfConfig
 		this.compression = compression;
 	}
 
+	public int getZstdLevel()
+	{
+		return zstdLevel;
+	}
+
+	public void setZstdLevel(int zstdLevel)
+	{
+		this.zstdLevel = zstdLevel;
+	}
+
 	public boolean isUseDenseNodes()
 	{
 		return useDenseNodes;
@@ -45,4 +59,24 @@ public class PbfConfig
 		this.useDenseNodes = useDenseNodes;
 	}
 
+	public boolean isLocationsOnWays()
+	{
+		return locationsOnWays;
+	}
+
+	public void setLocationsOnWays(boolean locationsOnWays)
+	{
+		this.locationsOnWays = locationsOnWays;
+	}
+
+	public int getThreads()
+	{
+		return threads;
+	}
+
+	public void setThreads(int threads)
+	{
+		this.threads = threads;
+	}
+
 }
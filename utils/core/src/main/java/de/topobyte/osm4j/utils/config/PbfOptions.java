@@ -21,23 +21,36 @@ import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Options;
 
 import de.topobyte.osm4j.pbf.Compression;
+import de.topobyte.osm4j.pbf.seq.BlockWriter;
 import de.topobyte.utilities.apache.commons.cli.OptionHelper;
+import de.topobyte.utilities.apache.commons.cli.parsing.ArgumentHelper;
+import de.topobyte.utilities.apache.commons.cli.parsing.ArgumentParseException;
+import de.topobyte.utilities.apache.commons.cli.parsing.IntegerOption;
 
 public class PbfOptions
 {
 
-	public static final String POSSIBLE_COMPRESSION_ARGUMENTS = "none, deflate, lz4";
+	public static final String POSSIBLE_COMPRESSION_ARGUMENTS = "none, deflate, lz4, zstd, lzma";
 
 	private static final String OPTION_PBF_COMPRESSION = "pbf-compression";
+	private static final String OPTION_PBF_ZSTD_LEVEL = "pbf-zstd-level";
 	private static final String OPTION_PBF_NONE_DENSE = "pbf-none-dense";
+	private static final String OPTION_PBF_THREADS = "pbf-threads";
+	private static final String OPTION_PBF_LOCATIONS_ON_WAYS = "pbf-locations-on-ways";
 
 	public static void add(Options options)
 	{
 		// @formatter:off
 		OptionHelper.addL(options, OPTION_PBF_COMPRESSION, true, false,
 				"PBF output compression. One of " + POSSIBLE_COMPRESSION_ARGUMENTS);
+		OptionHelper.addL(options, OPTION_PBF_ZSTD_LEVEL, true, false,
+				"PBF zstd compression level (default: " + BlockWriter.DEFAULT_ZSTD_LEVEL + ")");
 		OptionHelper.addL(options, OPTION_PBF_NONE_DENSE, false, false,
 				"Disable dense node packing");
+		OptionHelper.addL(options, OPTION_PBF_THREADS, true, false,
+				"Number of threads for PBF block compression (default: 1)");
+		OptionHelper.addL(options, OPTION_PBF_LOCATIONS_ON_WAYS, false, false,
+				"Store node locations with ways where available");
 		// @formatter:on
 	}
 
@@ -53,15 +66,46 @@ public class PbfOptions
 				config.setCompression(Compression.DEFLATE);
 			} else if (compressionArg.equals("lz4")) {
 				config.setCompression(Compression.LZ4);
+			} else if (compressionArg.equals("zstd")) {
+				config.setCompression(Compression.ZSTD);
+			} else if (compressionArg.equals("lzma")) {
+				config.setCompression(Compression.LZMA);
 			} else {
 				throw new ConfigurationException(
 						"Invalid compression value: Please specify one of: "
 								+ POSSIBLE_COMPRESSION_ARGUMENTS);
 			}
 		}
+		try {
+			IntegerOption zstdLevel = ArgumentHelper.getInteger(line,
+					OPTION_PBF_ZSTD_LEVEL);
+			if (zstdLevel.hasValue()) {
+				config.setZstdLevel(zstdLevel.getValue());
+			}
+		} catch (ArgumentParseException e) {
+			throw new ConfigurationException(String.format(
+					"Unable to parse option '%s'", OPTION_PBF_ZSTD_LEVEL), e);
+		}
 		if (line.hasOption(OPTION_PBF_NONE_DENSE)) {
 			config.setUseDenseNodes(false);
 		}
+		if (line.hasOption(OPTION_PBF_LOCATIONS_ON_WAYS)) {
+			config.setLocationsOnWays(true);
+		}
+		try {
+			IntegerOption threads = ArgumentHelper.getInteger(line,
+					OPTION_PBF_THREADS);
+			if (threads.hasValue()) {
+				if (threads.getValue() < 1) {
+					throw new ConfigurationException(String.format(
+							"Option '%s' must be >= 1", OPTION_PBF_THREADS));
+				}
+				config.setThreads(threads.getValue());
+			}
+		} catch (ArgumentParseException e) {
+			throw new ConfigurationException(String.format(
+					"Unable to parse option '%s'", OPTION_PBF_THREADS), e);
+		}
 		return config;
 	}
 
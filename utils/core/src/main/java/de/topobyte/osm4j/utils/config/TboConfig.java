@@ -18,6 +18,8 @@
 package de.topobyte.osm4j.utils.config;
 
 import de.topobyte.osm4j.tbo.Compression;
+import de.topobyte.osm4j.tbo.access.BlockableWriter;
+import de.topobyte.osm4j.tbo.access.TboCompressionExecutor;
 import de.topobyte.osm4j.tbo.data.Definitions;
 import de.topobyte.osm4j.utils.config.limit.ElementCountLimit;
 import de.topobyte.osm4j.utils.config.limit.NodeLimit;
@@ -30,6 +32,10 @@ public class TboConfig
 {
 
 	private Compression compression = Compression.LZ4;
+	private int zstdLevel = BlockableWriter.DEFAULT_ZSTD_LEVEL;
+	private boolean writeIndex = false;
+	private int compressionThreads = 0;
+	private TboCompressionExecutor compressionExecutor = null;
 
 	private NodeLimit limitNodes = new ElementCountLimit(
 			Definitions.DEFAULT_BATCH_SIZE_NODES);
@@ -48,6 +54,69 @@ public class TboConfig
 		this.compression = compression;
 	}
 
+	public int getZstdLevel()
+	{
+		return zstdLevel;
+	}
+
+	public void setZstdLevel(int zstdLevel)
+	{
+		this.zstdLevel = zstdLevel;
+	}
+
+	public boolean isWriteIndex()
+	{
+		return writeIndex;
+	}
+
+	public void setWriteIndex(boolean writeIndex)
+	{
+		this.writeIndex = writeIndex;
+	}
+
+	public int getCompressionThreads()
+	{
+		return compressionThreads;
+	}
+
+	public void setCompressionThreads(int compressionThreads)
+	{
+		this.compressionThreads = compressionThreads;
+	}
+
+	/**
+	 * The executor is created on first request and owned by this
+	 * configuration. Call {@link #shutdownCompressionExecutor()} once all
+	 * writers configured with this instance have been completed.
+	 * 
+	 * @return an executor for compressing blocks that is shared by all
+	 *         writers configured with this instance or null if blocks should
+	 *         be compressed on the writing thread.
+	 */
+	public synchronized TboCompressionExecutor getCompressionExecutor()
+	{
+		if (compressionThreads < 1) {
+			return null;
+		}
+		if (compressionExecutor == null) {
+			compressionExecutor = new TboCompressionExecutor(
+					compressionThreads);
+		}
+		return compressionExecutor;
+	}
+
+	/**
+	 * Stop the threads of the compression executor, if one has been created.
+	 * A later call to {@link #getCompressionExecutor()} creates a new one.
+	 */
+	public synchronized void shutdownCompressionExecutor()
+	{
+		if (compressionExecutor != null) {
+			compressionExecutor.close();
+			compressionExecutor = null;
+		}
+	}
+
 	public NodeLimit getLimitNodes()
 	{
 		return limitNodes;
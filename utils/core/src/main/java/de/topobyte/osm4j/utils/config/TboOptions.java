@@ -21,6 +21,7 @@ import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Options;
 
 import de.topobyte.osm4j.tbo.Compression;
+import de.topobyte.osm4j.tbo.access.BlockableWriter;
 import de.topobyte.osm4j.utils.config.limit.ElementCountLimit;
 import de.topobyte.osm4j.utils.config.limit.RelationMemberLimit;
 import de.topobyte.osm4j.utils.config.limit.WayNodeLimit;
@@ -32,9 +33,12 @@ import de.topobyte.utilities.apache.commons.cli.parsing.IntegerOption;
 public class TboOptions
 {
 
-	public static final String POSSIBLE_COMPRESSION_ARGUMENTS = "none, deflate, lz4";
+	public static final String POSSIBLE_COMPRESSION_ARGUMENTS = "none, deflate, lz4, zstd";
 
 	private static final String OPTION_TBO_COMPRESSION = "tbo-compression";
+	private static final String OPTION_TBO_ZSTD_LEVEL = "tbo-zstd-level";
+	private static final String OPTION_TBO_INDEX = "tbo-index";
+	private static final String OPTION_TBO_COMPRESSION_THREADS = "tbo-compression-threads";
 
 	private static final String OPTION_TBO_MAX_ELEMENTS_PER_BLOCK = "tbo-max-elements-per-block";
 	private static final String OPTION_TBO_MAX_NODES_PER_BLOCK = "tbo-max-nodes-per-block";
@@ -47,6 +51,9 @@ public class TboOptions
 	{
 		// @formatter:off
 		OptionHelper.addL(options, OPTION_TBO_COMPRESSION, true, false, "TBO output compression. One of " + POSSIBLE_COMPRESSION_ARGUMENTS);
+		OptionHelper.addL(options, OPTION_TBO_ZSTD_LEVEL, true, false, "TBO zstd compression level (default: " + BlockableWriter.DEFAULT_ZSTD_LEVEL + ")");
+		OptionHelper.addL(options, OPTION_TBO_INDEX, false, false, "TBO: append a block index for random access");
+		OptionHelper.addL(options, OPTION_TBO_COMPRESSION_THREADS, true, false, "TBO: number of threads shared by all outputs for block compression (default: 0, compress on the writing thread)");
 		OptionHelper.addL(options, OPTION_TBO_MAX_ELEMENTS_PER_BLOCK, true, false, "TBO: max number of elements per block");
 		OptionHelper.addL(options, OPTION_TBO_MAX_NODES_PER_BLOCK, true, false, "TBO: max number of nodes per block");
 		OptionHelper.addL(options, OPTION_TBO_MAX_WAYS_PER_BLOCK, true, false, "TBO: max number of ways per block");
@@ -68,6 +75,8 @@ public class TboOptions
 				config.setCompression(Compression.DEFLATE);
 			} else if (compressionArg.equals("lz4")) {
 				config.setCompression(Compression.LZ4);
+			} else if (compressionArg.equals("zstd")) {
+				config.setCompression(Compression.ZSTD);
 			} else {
 				throw new ConfigurationException(
 						"Invalid compression value. Please specify one of: "
@@ -75,6 +84,29 @@ public class TboOptions
 			}
 		}
 
+		try {
+			IntegerOption zstdLevel = ArgumentHelper.getInteger(line,
+					OPTION_TBO_ZSTD_LEVEL);
+			if (zstdLevel.hasValue()) {
+				config.setZstdLevel(zstdLevel.getValue());
+			}
+		} catch (ArgumentParseException e) {
+			throw new ConfigurationException(String.format(
+					"Unable to parse option '%s'", OPTION_TBO_ZSTD_LEVEL), e);
+		}
+
+		config.setWriteIndex(line.hasOption(OPTION_TBO_INDEX));
+
+		try {
+			IntegerOption compressionThreads = parseInteger(line,
+					OPTION_TBO_COMPRESSION_THREADS);
+			if (compressionThreads.hasValue()) {
+				config.setCompressionThreads(compressionThreads.getValue());
+			}
+		} catch (ArgumentParseException e) {
+			throw new ConfigurationException(e.getMessage(), e);
+		}
+
 		try {
 			IntegerOption maxElementsPerBlock = parseInteger(line,
 					OPTION_TBO_MAX_ELEMENTS_PER_BLOCK);
@@ -0,0 +1,156 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.access.OsmBatch;
+import de.topobyte.osm4j.core.access.OsmOutputStream;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.pbf.seq.PbfWriter;
+import de.topobyte.osm4j.tbo.access.TboWriter;
+import de.topobyte.osm4j.testing.DataSetGenerator;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.EntityGenerator;
+import de.topobyte.osm4j.testing.TestDataSet;
+import de.topobyte.osm4j.xml.output.OsmXmlOutputStream;
+
+public class TestOsmStreams
+{
+
+	private static TestDataSet data;
+
+	private static Path pbf;
+	private static Path tbo;
+	private static Path xml;
+
+	@BeforeClass
+	public static void setup() throws IOException
+	{
+		EntityGenerator entityGenerator = new EntityGenerator(100, true);
+		DataSetGenerator dataSetGenerator = new DataSetGenerator(
+				entityGenerator);
+		data = dataSetGenerator.generate(2000, 500, 200);
+
+		// Use small blocks so that there are many blocks to split at
+		pbf = Files.createTempFile("osm4j-test", ".pbf");
+		try (OutputStream output = Files.newOutputStream(pbf)) {
+			PbfWriter writer = new PbfWriter(output, true);
+			writer.setBatchLimit(50);
+			write(writer);
+		}
+
+		tbo = Files.createTempFile("osm4j-test", ".tbo");
+		try (OutputStream output = Files.newOutputStream(tbo)) {
+			TboWriter writer = new TboWriter(output, true);
+			writer.setBatchSizeByElementCount(50);
+			write(writer);
+		}
+
+		xml = Files.createTempFile("osm4j-test", ".osm");
+		try (OutputStream output = Files.newOutputStream(xml)) {
+			write(new OsmXmlOutputStream(output, true));
+		}
+	}
+
+	private static void write(OsmOutputStream output) throws IOException
+	{
+		DataSetHelper.write(data, output);
+		output.complete();
+	}
+
+	@AfterClass
+	public static void cleanup() throws IOException
+	{
+		Files.delete(pbf);
+		Files.delete(tbo);
+		Files.delete(xml);
+	}
+
+	@Test
+	public void testPbf() throws IOException
+	{
+		test(new OsmFileInput(pbf, FileFormat.PBF));
+	}
+
+	@Test
+	public void testTbo() throws IOException
+	{
+		test(new OsmFileInput(tbo, FileFormat.TBO));
+	}
+
+	@Test
+	public void testXml() throws IOException
+	{
+		test(new OsmFileInput(xml, FileFormat.XML));
+	}
+
+	private void test(OsmFileInput input) throws IOException
+	{
+		for (boolean parallel : new boolean[] { false, true }) {
+			List<OsmNode> nodes;
+			try (Stream<OsmNode> stream = OsmStreams.nodes(input,
+					parallel)) {
+				nodes = stream.collect(Collectors.<OsmNode> toList());
+			}
+			Assert.assertTrue(DataSetHelper.nodesEqual(data.getNodes(),
+					nodes));
+
+			List<OsmWay> ways;
+			try (Stream<OsmWay> stream = OsmStreams.ways(input, parallel)) {
+				ways = stream.collect(Collectors.<OsmWay> toList());
+			}
+			Assert.assertTrue(DataSetHelper.waysEqual(data.getWays(), ways));
+
+			List<OsmRelation> relations;
+			try (Stream<OsmRelation> stream = OsmStreams.relations(input,
+					parallel)) {
+				relations = stream
+						.collect(Collectors.<OsmRelation> toList());
+			}
+			Assert.assertTrue(DataSetHelper
+					.relationsEqual(data.getRelations(), relations));
+
+			long count = 0;
+			try (Stream<OsmBatch> stream = OsmStreams.batches(input,
+					parallel)) {
+				List<OsmBatch> batches = stream
+						.collect(Collectors.<OsmBatch> toList());
+				for (OsmBatch batch : batches) {
+					Assert.assertTrue(batch.size() > 0);
+					count += batch.size();
+				}
+			}
+			Assert.assertEquals(2700, count);
+		}
+	}
+
+}
@@ -0,0 +1,197 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.utils.buffer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.access.OsmIteratorInput;
+import de.topobyte.osm4j.core.access.OsmOutputStream;
+import de.topobyte.osm4j.testing.DataSetGenerator;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.EntityGenerator;
+import de.topobyte.osm4j.testing.TestDataSet;
+import de.topobyte.osm4j.utils.FileFormat;
+import de.topobyte.osm4j.utils.OsmFileInput;
+import de.topobyte.osm4j.utils.OsmIoUtils;
+import de.topobyte.osm4j.utils.config.InputConfig;
+import de.topobyte.osm4j.utils.config.PbfConfig;
+import de.topobyte.osm4j.utils.config.TboConfig;
+
+public class TestReadAheadInputStream
+{
+
+	private Random random = new Random(42);
+
+	/**
+	 * Read the input using a random mix of single byte reads, bulk reads and
+	 * skips. Skipped bytes are recorded as zeros.
+	 */
+	private byte[] read(InputStream input) throws IOException
+	{
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		byte[] buffer = new byte[100];
+		boolean eof = false;
+		while (!eof) {
+			int op = random.nextInt(3);
+			int len = 1 + random.nextInt(buffer.length);
+			if (op == 0) {
+				int b = input.read();
+				if (b < 0) {
+					eof = true;
+				} else {
+					baos.write(b);
+				}
+			} else if (op == 1) {
+				int done = 0;
+				while (done < len) {
+					int n = input.read(buffer, done, len - done);
+					if (n < 0) {
+						eof = true;
+						break;
+					}
+					done += n;
+				}
+				baos.write(buffer, 0, done);
+			} else {
+				long skipped = input.skip(len);
+				for (int i = 0; i < skipped; i++) {
+					baos.write(0);
+				}
+				if (skipped < len) {
+					eof = input.read() < 0;
+					if (!eof) {
+						baos.write(0);
+					}
+				}
+			}
+		}
+		return baos.toByteArray();
+	}
+
+	@Test
+	public void testBytes() throws IOException
+	{
+		int[] sizes = { 0, 1, 999, 1000, 1001, 12345 };
+		int[] bufferSizes = { 1, 7, 1000 };
+		for (int size : sizes) {
+			byte[] data = new byte[size];
+			random.nextBytes(data);
+			for (int bufferSize : bufferSizes) {
+				for (int numBuffers = 1; numBuffers <= 3; numBuffers++) {
+					long seed = random.nextLong();
+
+					random.setSeed(seed);
+					byte[] expected = read(new ByteArrayInputStream(data));
+
+					random.setSeed(seed);
+					InputStream input = new ReadAheadInputStream(
+							new ByteArrayInputStream(data), numBuffers,
+							bufferSize);
+					byte[] actual = read(input);
+					input.close();
+
+					Assert.assertArrayEquals(expected, actual);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testError() throws IOException
+	{
+		InputStream failing = new InputStream() {
+
+			private int n = 0;
+
+			@Override
+			public int read() throws IOException
+			{
+				if (n++ == 100) {
+					throw new IOException("failure");
+				}
+				return 1;
+			}
+
+		};
+
+		InputStream input = new ReadAheadInputStream(failing, 2, 10);
+		int n = 0;
+		try {
+			while (input.read() >= 0) {
+				n++;
+			}
+			Assert.fail("expected an exception");
+		} catch (IOException e) {
+			// expected
+		}
+		input.close();
+		Assert.assertEquals(100, n);
+	}
+
+	@Test
+	public void testFileInput() throws IOException
+	{
+		EntityGenerator entityGenerator = new EntityGenerator(10, true);
+		DataSetGenerator dataSetGenerator = new DataSetGenerator(
+				entityGenerator);
+		TestDataSet data = dataSetGenerator.generate(1000, 200, 50);
+
+		for (FileFormat format : new FileFormat[] { FileFormat.PBF,
+				FileFormat.TBO }) {
+			File file = File.createTempFile("osm4j-test", ".osm");
+			OutputStream output = new FileOutputStream(file);
+			OsmOutputStream osmOutput = OsmIoUtils.setupOsmOutput(output,
+					format, true, new PbfConfig(), new TboConfig());
+			DataSetHelper.write(data, osmOutput);
+			osmOutput.complete();
+			output.close();
+
+			TestDataSet expected = read(
+					new OsmFileInput(file.toPath(), format));
+
+			InputConfig config = new InputConfig();
+			config.setReadAheadBuffers(3);
+			config.setReadAheadBufferSize(1000);
+			TestDataSet actual = read(
+					new OsmFileInput(file.toPath(), format, config));
+
+			file.delete();
+
+			Assert.assertTrue(DataSetHelper.equals(expected, actual));
+		}
+	}
+
+	private TestDataSet read(OsmFileInput input) throws IOException
+	{
+		OsmIteratorInput iteratorInput = input.createIterator(true, true);
+		TestDataSet data = DataSetHelper.read(iteratorInput.getIterator());
+		iteratorInput.close();
+		return data;
+	}
+
+}
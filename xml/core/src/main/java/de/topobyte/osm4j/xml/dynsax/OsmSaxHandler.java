@@ -21,8 +21,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.joda.time.DateTime;
-
 import com.slimjars.dist.gnu.trove.list.array.TLongArrayList;
 
 import de.topobyte.osm4j.core.access.OsmHandler;
@@ -38,6 +36,7 @@ import de.topobyte.osm4j.core.model.impl.Relation;
 import de.topobyte.osm4j.core.model.impl.RelationMember;
 import de.topobyte.osm4j.core.model.impl.Tag;
 import de.topobyte.osm4j.core.model.impl.Way;
+import de.topobyte.osm4j.core.util.TimestampCodec;
 import de.topobyte.xml.dynsax.Child;
 import de.topobyte.xml.dynsax.ChildType;
 import de.topobyte.xml.dynsax.Data;
@@ -61,15 +60,11 @@ class OsmSaxHandler extends DynamicSaxHandler
 
 	private OsmHandler handler;
 	private boolean parseMetadata;
-	private DateParser dateParser;
 
 	private OsmSaxHandler(OsmHandler handler, boolean parseMetadata)
 	{
 		this.handler = handler;
 		this.parseMetadata = parseMetadata;
-		if (parseMetadata) {
-			dateParser = new DateParser();
-		}
 		setRoot(createRoot(), true);
 	}
 
@@ -259,8 +254,7 @@ class OsmSaxHandler extends DynamicSaxHandler
 
 			long timestamp = -1;
 			if (aTimestamp != null) {
-				DateTime date = dateParser.parse(aTimestamp);
-				timestamp = date.getMillis();
+				timestamp = TimestampCodec.parse(aTimestamp);
 			}
 
 			boolean visible = true;
@@ -27,16 +27,20 @@ import java.io.InputStream;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 
+import de.topobyte.osm4j.core.access.OsmBatch;
+import de.topobyte.osm4j.core.access.OsmBatchHandler;
+import de.topobyte.osm4j.core.access.OsmBatchReader;
 import de.topobyte.osm4j.core.access.OsmHandler;
 import de.topobyte.osm4j.core.access.OsmInputException;
 import de.topobyte.osm4j.core.access.OsmReader;
+import de.topobyte.osm4j.core.access.wrapper.OsmHandlerBatchAdapter;
 
 /**
  * This is a SAX-based parser for OSM XML data.
  * 
  * @author Sebastian Kuerten (sebastian@topobyte.de)
  */
-public class OsmXmlReader implements OsmReader
+public class OsmXmlReader implements OsmReader, OsmBatchReader
 {
 
 	private OsmHandler handler;
@@ -70,6 +74,27 @@ public class OsmXmlReader implements OsmReader
 		this.handler = handler;
 	}
 
+	/**
+	 * Receive entities in batches of consecutive entities of the same type
+	 * with up to {@link OsmBatch#DEFAULT_SIZE} elements each. Replaces any
+	 * handler set using {@link #setHandler(OsmHandler)}.
+	 */
+	@Override
+	public void setBatchHandler(OsmBatchHandler batchHandler)
+	{
+		setBatchHandler(batchHandler, OsmBatch.DEFAULT_SIZE);
+	}
+
+	/**
+	 * Receive entities in batches of consecutive entities of the same type
+	 * with up to {@code batchSize} elements each. Replaces any handler set
+	 * using {@link #setHandler(OsmHandler)}.
+	 */
+	public void setBatchHandler(OsmBatchHandler batchHandler, int batchSize)
+	{
+		this.handler = new OsmHandlerBatchAdapter(batchHandler, batchSize);
+	}
+
 	@Override
 	public void read() throws OsmInputException
 	{
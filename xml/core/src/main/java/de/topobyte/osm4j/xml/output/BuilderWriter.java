@@ -64,6 +64,18 @@ class BuilderWriter extends Writer
 		return buf.toString();
 	}
 
+	@Override
+	public Writer append(char c)
+	{
+		buf.append(c);
+		return this;
+	}
+
+	public void append(char[] chars, int offset, int length)
+	{
+		buf.append(chars, offset, length);
+	}
+
 	public void append(int i)
 	{
 		buf.append(i);
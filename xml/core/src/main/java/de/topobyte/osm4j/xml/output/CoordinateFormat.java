@@ -0,0 +1,97 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.xml.output;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Formats coordinates with up to 7 fractional digits, producing exactly the
+ * same text as a {@link DecimalFormat} with pattern
+ * <code>0.#######;-0.#######</code>.
+ * 
+ * Coordinates are scaled to a fixed-point number with 7 decimal places and
+ * printed digit by digit. {@link DecimalFormat} rounds half-even based on the
+ * exact binary value of a double. Scaling by 10^7 can introduce an error that
+ * is far below 10^-5 for values in the coordinate range. Values whose scaled
+ * fraction lies within that margin around one half, values outside the
+ * coordinate range and special values fall back to {@link DecimalFormat}.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+class CoordinateFormat
+{
+
+	private static final double LIMIT = 1000;
+	private static final double TIE_MARGIN = 1e-5;
+
+	private static final int SCALE = 10000000;
+
+	private DecimalFormat fallback = new DecimalFormat("0.#######;-0.#######",
+			new DecimalFormatSymbols(Locale.US));
+
+	private char[] fraction = new char[7];
+
+	public void format(BuilderWriter buf, double value)
+	{
+		double abs = Math.abs(value);
+		if (!(abs < LIMIT)) {
+			buf.append(fallback.format(value));
+			return;
+		}
+
+		double scaled = abs * SCALE;
+		double floor = Math.floor(scaled);
+		double remainder = scaled - floor;
+		if (Math.abs(remainder - 0.5) < TIE_MARGIN) {
+			buf.append(fallback.format(value));
+			return;
+		}
+
+		long fixed = (long) floor;
+		if (remainder > 0.5) {
+			fixed++;
+		}
+
+		// DecimalFormat keeps the sign of negative values, even of -0.0 and
+		// of values that round to zero.
+		if (Double.doubleToRawLongBits(value) < 0) {
+			buf.append('-');
+		}
+
+		buf.append(fixed / SCALE);
+		int decimals = (int) (fixed % SCALE);
+		if (decimals == 0) {
+			return;
+		}
+
+		int digits = 7;
+		while (decimals % 10 == 0) {
+			decimals /= 10;
+			digits--;
+		}
+		for (int i = digits - 1; i >= 0; i--) {
+			fraction[i] = (char) ('0' + decimals % 10);
+			decimals /= 10;
+		}
+		buf.append('.');
+		buf.append(fraction, 0, digits);
+	}
+
+}
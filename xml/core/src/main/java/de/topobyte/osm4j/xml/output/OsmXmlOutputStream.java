@@ -17,9 +17,20 @@
 
 package de.topobyte.osm4j.xml.output;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import de.topobyte.osm4j.core.access.OsmOutputStream;
 import de.topobyte.osm4j.core.model.iface.OsmBounds;
@@ -27,72 +38,260 @@ import de.topobyte.osm4j.core.model.iface.OsmNode;
 import de.topobyte.osm4j.core.model.iface.OsmRelation;
 import de.topobyte.osm4j.core.model.iface.OsmWay;
 
+/**
+ * Writes OSM XML. When constructed with an {@link OutputStream}, elements are
+ * encoded as UTF-8 into a reusable byte buffer.
+ * 
+ * With more than one thread, elements are collected into batches and each
+ * batch is serialized to bytes on a worker thread. The resulting chunks are
+ * written in the order of the batches, so the output is identical to the
+ * sequential output. In this mode, elements are serialized some time after
+ * they have been passed to one of the write methods, so they must not be
+ * modified afterwards.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
 public class OsmXmlOutputStream implements OsmOutputStream
 {
 
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int BATCH_SIZE = 1024;
+
 	private final String newline = "\n";
+	private final String indent1 = "  ";
+	private final String indent2 = "    ";
+	private final boolean printMetadata;
+
 	private final PrintWriter out;
+	private final Utf8Output output;
+
 	private final XmlWriter writer;
+	private final StringBuilder builder = new StringBuilder();
+	private final BuilderWriter buf = new BuilderWriter(builder);
+
+	private ExecutorService executor = null;
+	private int maxPending;
+	private List<Object> batch;
+	private Deque<Future<byte[]>> pending;
 
 	public OsmXmlOutputStream(PrintWriter out, boolean printMetadata)
 	{
 		this.out = out;
-		this.writer = new XmlWriter("  ", "    ", newline, printMetadata);
-		writeHeader();
+		this.output = null;
+		this.printMetadata = printMetadata;
+		this.writer = new XmlWriter(indent1, indent2, newline, printMetadata);
+		out.println("<?xml version='1.0' encoding='UTF-8'?>");
+		out.println("<osm version=\"0.6\">");
 	}
 
 	public OsmXmlOutputStream(OutputStream os, boolean printMetadata)
 	{
-		this(new PrintWriter(os), printMetadata);
+		this(os, printMetadata, 1);
 	}
 
-	private void writeHeader()
+	/**
+	 * @param threads
+	 *            the number of threads to use for serialization. With a single
+	 *            thread, elements are serialized on the calling thread.
+	 */
+	public OsmXmlOutputStream(OutputStream os, boolean printMetadata,
+			int threads)
 	{
-		out.println("<?xml version='1.0' encoding='UTF-8'?>");
-		out.println("<osm version=\"0.6\">");
+		this.out = null;
+		this.output = new Utf8Output(os, BUFFER_SIZE);
+		this.printMetadata = printMetadata;
+		this.writer = new XmlWriter(indent1, indent2, newline, printMetadata);
+
+		// Same line separator as PrintWriter.println() used before
+		String separator = System.lineSeparator();
+		builder.append("<?xml version='1.0' encoding='UTF-8'?>");
+		builder.append(separator);
+		builder.append("<osm version=\"0.6\">");
+		builder.append(separator);
+
+		if (threads > 1) {
+			executor = Executors.newFixedThreadPool(threads,
+					new ThreadFactory() {
+
+						@Override
+						public Thread newThread(Runnable r)
+						{
+							Thread thread = new Thread(r,
+									"osm-xml-serializer");
+							thread.setDaemon(true);
+							return thread;
+						}
+
+					});
+			maxPending = threads * 2;
+			batch = new ArrayList<>(BATCH_SIZE);
+			pending = new ArrayDeque<>();
+		}
 	}
 
 	@Override
-	public void complete()
+	public void complete() throws IOException
 	{
-		out.println("</osm>");
-		out.flush();
+		if (out != null) {
+			out.println("</osm>");
+			out.flush();
+			return;
+		}
+
+		if (executor != null) {
+			if (!batch.isEmpty()) {
+				submitBatch();
+			}
+			while (!pending.isEmpty()) {
+				writeChunk(pending.poll());
+			}
+			executor.shutdown();
+		}
+
+		builder.append("</osm>");
+		builder.append(System.lineSeparator());
+		output.write(builder);
+		builder.setLength(0);
+		output.flush();
 	}
 
 	@Override
 	public void write(OsmBounds bounds) throws IOException
 	{
-		BuilderWriter buf = new BuilderWriter();
+		if (executor != null) {
+			enqueue(bounds);
+			return;
+		}
 		writer.write(buf, bounds);
 		buf.append(newline);
-		out.print(buf.toString());
+		emit();
 	}
 
 	@Override
-	public void write(OsmNode node)
+	public void write(OsmNode node) throws IOException
 	{
-		BuilderWriter buf = new BuilderWriter();
+		if (executor != null) {
+			enqueue(node);
+			return;
+		}
 		writer.write(buf, node);
 		buf.append(newline);
-		out.print(buf.toString());
+		emit();
 	}
 
 	@Override
-	public void write(OsmWay way)
+	public void write(OsmWay way) throws IOException
 	{
-		BuilderWriter buf = new BuilderWriter();
+		if (executor != null) {
+			enqueue(way);
+			return;
+		}
 		writer.write(buf, way);
 		buf.append(newline);
-		out.print(buf.toString());
+		emit();
 	}
 
 	@Override
-	public void write(OsmRelation relation)
+	public void write(OsmRelation relation) throws IOException
 	{
-		BuilderWriter buf = new BuilderWriter();
+		if (executor != null) {
+			enqueue(relation);
+			return;
+		}
 		writer.write(buf, relation);
 		buf.append(newline);
-		out.print(buf.toString());
+		emit();
+	}
+
+	private void emit() throws IOException
+	{
+		if (out != null) {
+			out.append(builder);
+		} else {
+			output.write(builder);
+		}
+		builder.setLength(0);
+	}
+
+	private void enqueue(Object element) throws IOException
+	{
+		if (builder.length() > 0) {
+			// The header has not been written yet
+			output.write(builder);
+			builder.setLength(0);
+		}
+		batch.add(element);
+		if (batch.size() == BATCH_SIZE) {
+			submitBatch();
+		}
+	}
+
+	private void submitBatch() throws IOException
+	{
+		final List<Object> elements = batch;
+		batch = new ArrayList<>(BATCH_SIZE);
+		pending.add(executor.submit(new Callable<byte[]>() {
+
+			@Override
+			public byte[] call() throws IOException
+			{
+				return serialize(elements);
+			}
+
+		}));
+
+		// Write finished chunks and limit the number of chunks in flight
+		while (!pending.isEmpty() && (pending.size() > maxPending
+				|| pending.peek().isDone())) {
+			writeChunk(pending.poll());
+		}
+	}
+
+	private void writeChunk(Future<byte[]> future) throws IOException
+	{
+		byte[] chunk;
+		try {
+			chunk = future.get();
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			throw new IOException("interrupted while serializing", e);
+		} catch (ExecutionException e) {
+			executor.shutdownNow();
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw new RuntimeException("error while serializing", cause);
+		}
+		output.write(chunk);
+	}
+
+	private byte[] serialize(List<Object> elements) throws IOException
+	{
+		XmlWriter writer = new XmlWriter(indent1, indent2, newline,
+				printMetadata);
+		StringBuilder builder = new StringBuilder();
+		BuilderWriter buf = new BuilderWriter(builder);
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		Utf8Output output = new Utf8Output(baos, BUFFER_SIZE);
+
+		for (Object element : elements) {
+			if (element instanceof OsmNode) {
+				writer.write(buf, (OsmNode) element);
+			} else if (element instanceof OsmWay) {
+				writer.write(buf, (OsmWay) element);
+			} else if (element instanceof OsmRelation) {
+				writer.write(buf, (OsmRelation) element);
+			} else if (element instanceof OsmBounds) {
+				writer.write(buf, (OsmBounds) element);
+			}
+			buf.append(newline);
+			output.write(builder);
+			builder.setLength(0);
+		}
+
+		output.flush();
+		return baos.toByteArray();
 	}
 
 }
@@ -0,0 +1,94 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.xml.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Encodes characters as UTF-8 into a reusable byte buffer that is written to
+ * the underlying stream whenever it fills up. Unpaired surrogates are replaced
+ * with '?', just like the default encoder of an
+ * {@link java.io.OutputStreamWriter} does.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+class Utf8Output
+{
+
+	private final OutputStream out;
+	private final byte[] buffer;
+	private int position = 0;
+
+	public Utf8Output(OutputStream out, int bufferSize)
+	{
+		this.out = out;
+		buffer = new byte[bufferSize];
+	}
+
+	public void write(CharSequence chars) throws IOException
+	{
+		int n = chars.length();
+		for (int i = 0; i < n; i++) {
+			if (position > buffer.length - 4) {
+				flushBuffer();
+			}
+			char c = chars.charAt(i);
+			if (c < 0x80) {
+				buffer[position++] = (byte) c;
+			} else if (c < 0x800) {
+				buffer[position++] = (byte) (0xc0 | (c >> 6));
+				buffer[position++] = (byte) (0x80 | (c & 0x3f));
+			} else if (!Character.isSurrogate(c)) {
+				buffer[position++] = (byte) (0xe0 | (c >> 12));
+				buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+				buffer[position++] = (byte) (0x80 | (c & 0x3f));
+			} else if (Character.isHighSurrogate(c) && i + 1 < n
+					&& Character.isLowSurrogate(chars.charAt(i + 1))) {
+				int cp = Character.toCodePoint(c, chars.charAt(++i));
+				buffer[position++] = (byte) (0xf0 | (cp >> 18));
+				buffer[position++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+				buffer[position++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+				buffer[position++] = (byte) (0x80 | (cp & 0x3f));
+			} else {
+				buffer[position++] = '?';
+			}
+		}
+	}
+
+	public void write(byte[] bytes) throws IOException
+	{
+		flushBuffer();
+		out.write(bytes);
+	}
+
+	public void flush() throws IOException
+	{
+		flushBuffer();
+		out.flush();
+	}
+
+	private void flushBuffer() throws IOException
+	{
+		if (position > 0) {
+			out.write(buffer, 0, position);
+			position = 0;
+		}
+	}
+
+}
@@ -18,14 +18,10 @@
 package de.topobyte.osm4j.xml.output;
 
 import java.io.IOException;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.util.Locale;
 
 import org.apache.commons.text.StringEscapeUtils;
 import org.apache.commons.text.translate.CharSequenceTranslator;
-import org.joda.time.format.DateTimeFormat;
-import org.joda.time.format.DateTimeFormatter;
 
 import de.topobyte.osm4j.core.model.iface.EntityType;
 import de.topobyte.osm4j.core.model.iface.OsmBounds;
@@ -36,6 +32,7 @@ import de.topobyte.osm4j.core.model.iface.OsmRelation;
 import de.topobyte.osm4j.core.model.iface.OsmRelationMember;
 import de.topobyte.osm4j.core.model.iface.OsmTag;
 import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.core.util.TimestampCodec;
 
 class XmlWriter
 {
@@ -54,11 +51,9 @@ class XmlWriter
 		this.printMetadata = printMetadata;
 	}
 
-	private DecimalFormat f = new DecimalFormat("0.#######;-0.#######",
-			new DecimalFormatSymbols(Locale.US));
+	private CoordinateFormat f = new CoordinateFormat();
 
-	private DateTimeFormatter formatter = DateTimeFormat
-			.forPattern("yyyy-MM-dd'T'HH:mm:ss'Z'").withZoneUTC();
+	private char[] timestamp = new char[TimestampCodec.MAX_LENGTH];
 
 	private CharSequenceTranslator escaper = StringEscapeUtils.ESCAPE_XML11;
 
@@ -78,10 +73,10 @@ class XmlWriter
 		buf.append(node.getId());
 		buf.append("\"");
 		buf.append(" lat=\"");
-		buf.append(f.format(node.getLatitude()));
+		f.format(buf, node.getLatitude());
 		buf.append("\"");
 		buf.append(" lon=\"");
-		buf.append(f.format(node.getLongitude()));
+		f.format(buf, node.getLongitude());
 		buf.append("\"");
 		if (printMetadata) {
 			OsmMetadata metadata = node.getMetadata();
@@ -173,7 +168,9 @@ class XmlWriter
 		buf.append(metadata.getVersion());
 		buf.append("\"");
 		buf.append(" timestamp=\"");
-		buf.append(formatter.print(metadata.getTimestamp()));
+		int length = TimestampCodec.format(metadata.getTimestamp(), timestamp,
+				0);
+		buf.append(timestamp, 0, length);
 		buf.append("\"");
 		if (metadata.getUid() >= 0) {
 			buf.append(" uid=\"");
@@ -215,6 +212,10 @@ class XmlWriter
 	 */
 	private void escape(BuilderWriter buf, String string)
 	{
+		if (!needsEscaping(string)) {
+			buf.append(string);
+			return;
+		}
 		try {
 			escaper.translate(string, buf);
 		} catch (IOException e) {
@@ -223,4 +224,33 @@ class XmlWriter
 		}
 	}
 
+	/**
+	 * Check whether the escaper would modify the specified string. Most tag
+	 * keys and values consist of ordinary characters only and can be appended
+	 * directly.
+	 */
+	private static boolean needsEscaping(String string)
+	{
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			if (c < 0x20) {
+				if (c != '\t' && c != '\n' && c != '\r') {
+					return true;
+				}
+			} else if (c < 0x7f) {
+				if (c == '&' || c == '<' || c == '>' || c == '"'
+						|| c == '\'') {
+					return true;
+				}
+			} else if (c < 0xa0) {
+				if (c != 0x85) {
+					return true;
+				}
+			} else if (c >= 0xd800 && c < 0xe000 || c >= 0xfffe) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 }
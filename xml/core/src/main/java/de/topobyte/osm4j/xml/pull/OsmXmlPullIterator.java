@@ -0,0 +1,558 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.xml.pull;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.slimjars.dist.gnu.trove.list.array.TLongArrayList;
+
+import de.topobyte.osm4j.core.access.OsmIterator;
+import de.topobyte.osm4j.core.model.iface.EntityContainer;
+import de.topobyte.osm4j.core.model.iface.EntityType;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.model.iface.OsmMetadata;
+import de.topobyte.osm4j.core.model.iface.OsmRelationMember;
+import de.topobyte.osm4j.core.model.iface.OsmTag;
+import de.topobyte.osm4j.core.model.impl.Bounds;
+import de.topobyte.osm4j.core.model.impl.Metadata;
+import de.topobyte.osm4j.core.model.impl.Node;
+import de.topobyte.osm4j.core.model.impl.Relation;
+import de.topobyte.osm4j.core.model.impl.RelationMember;
+import de.topobyte.osm4j.core.model.impl.Tag;
+import de.topobyte.osm4j.core.model.impl.Way;
+import de.topobyte.osm4j.core.util.TimestampCodec;
+
+/**
+ * An iterator over OSM XML data that pulls elements from a StAX stream reader
+ * on the caller's thread. In contrast to the SAX based
+ * {@link de.topobyte.osm4j.xml.dynsax.OsmXmlIterator} there is no parser
+ * thread, no hand-over of entities between threads and no intermediate
+ * representation of elements: attributes are converted to primitive values
+ * directly while walking the element's attribute list.
+ * 
+ * Tag keys and member roles occur over and over again in typical data, so they
+ * are shared through a small pool of strings.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class OsmXmlPullIterator implements OsmIterator
+{
+
+	private static final int POOL_LIMIT = 16384;
+
+	private InputStream input;
+	private XMLStreamReader reader;
+	private boolean parseMetadata;
+
+	private Map<String, String> pool = new HashMap<>();
+
+	private OsmBounds bounds = null;
+	private boolean beyondBounds = false;
+
+	private int depth = 0;
+	private boolean rootIsOsm = false;
+
+	private EntityContainer next = null;
+	private boolean fetched = false;
+	private boolean finished = false;
+
+	public OsmXmlPullIterator(InputStream input, boolean parseMetadata)
+	{
+		this.input = input;
+		this.parseMetadata = parseMetadata;
+	}
+
+	public OsmXmlPullIterator(File file, boolean parseMetadata)
+			throws FileNotFoundException
+	{
+		this(new BufferedInputStream(new FileInputStream(file)),
+				parseMetadata);
+	}
+
+	public OsmXmlPullIterator(String pathname, boolean parseMetadata)
+			throws FileNotFoundException
+	{
+		this(new File(pathname), parseMetadata);
+	}
+
+	@Override
+	public Iterator<EntityContainer> iterator()
+	{
+		return this;
+	}
+
+	@Override
+	public boolean hasBounds()
+	{
+		fetch();
+		return bounds != null;
+	}
+
+	@Override
+	public OsmBounds getBounds()
+	{
+		fetch();
+		return bounds;
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		fetch();
+		return next != null;
+	}
+
+	@Override
+	public EntityContainer next()
+	{
+		fetch();
+		if (next == null) {
+			throw new NoSuchElementException("End of stream has been reached");
+		}
+		EntityContainer result = next;
+		next = null;
+		fetched = false;
+		return result;
+	}
+
+	@Override
+	public void remove()
+	{
+		throw new UnsupportedOperationException(
+				"an iterator over osm files is read-only");
+	}
+
+	private void fetch()
+	{
+		if (fetched) {
+			return;
+		}
+		fetched = true;
+		if (finished) {
+			return;
+		}
+		try {
+			if (reader == null) {
+				reader = createReader();
+			}
+			next = advance();
+		} catch (XMLStreamException | RuntimeException e) {
+			finish();
+			throw new RuntimeException("error while processing input", e);
+		}
+		if (next == null) {
+			finish();
+		}
+	}
+
+	private XMLStreamReader createReader() throws XMLStreamException
+	{
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+				false);
+		return factory.createXMLStreamReader(input);
+	}
+
+	private void finish()
+	{
+		finished = true;
+		beyondBounds = true;
+		try {
+			if (reader != null) {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			// ignore
+		}
+		try {
+			input.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	private EntityContainer advance() throws XMLStreamException
+	{
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+				continue;
+			}
+			if (event != XMLStreamConstants.START_ELEMENT) {
+				continue;
+			}
+			depth++;
+			String name = reader.getLocalName();
+			if (depth == 1) {
+				rootIsOsm = name.equals("osm");
+				continue;
+			}
+			// Like the SAX based parsers, only regard children of <osm>
+			if (depth != 2 || !rootIsOsm) {
+				continue;
+			}
+			switch (name) {
+			case "node":
+				beyondBounds = true;
+				depth--;
+				return new EntityContainer(EntityType.Node, readNode());
+			case "way":
+				beyondBounds = true;
+				depth--;
+				return new EntityContainer(EntityType.Way, readWay());
+			case "relation":
+				beyondBounds = true;
+				depth--;
+				return new EntityContainer(EntityType.Relation,
+						readRelation());
+			case "bounds":
+				readBounds();
+				break;
+			case "bound":
+				readBound();
+				break;
+			default:
+				break;
+			}
+		}
+		return null;
+	}
+
+	private void readBounds()
+	{
+		double minLon = 0, maxLon = 0, minLat = 0, maxLat = 0;
+		int n = reader.getAttributeCount();
+		for (int i = 0; i < n; i++) {
+			String value = reader.getAttributeValue(i);
+			switch (reader.getAttributeLocalName(i)) {
+			case "minlon":
+				minLon = Double.parseDouble(value);
+				break;
+			case "maxlon":
+				maxLon = Double.parseDouble(value);
+				break;
+			case "minlat":
+				minLat = Double.parseDouble(value);
+				break;
+			case "maxlat":
+				maxLat = Double.parseDouble(value);
+				break;
+			default:
+				break;
+			}
+		}
+		setBounds(new Bounds(minLon, maxLon, maxLat, minLat));
+	}
+
+	private void readBound()
+	{
+		String box = reader.getAttributeValue(null, "box");
+		if (box == null) {
+			return;
+		}
+		String[] parts = box.split(",");
+		if (parts.length != 4) {
+			return;
+		}
+		double minLat = Double.parseDouble(parts[0]);
+		double minLon = Double.parseDouble(parts[1]);
+		double maxLat = Double.parseDouble(parts[2]);
+		double maxLon = Double.parseDouble(parts[3]);
+		setBounds(new Bounds(minLon, maxLon, maxLat, minLat));
+	}
+
+	private void setBounds(OsmBounds bounds)
+	{
+		if (!beyondBounds) {
+			beyondBounds = true;
+			this.bounds = bounds;
+		}
+	}
+
+	/*
+	 * Attributes shared by all entity types. They are collected into fields
+	 * while walking the attribute list so that no per-element map is needed.
+	 */
+
+	private long id;
+	private double lon, lat;
+	private int version;
+	private long timestamp;
+	private long uid;
+	private String user;
+	private long changeset;
+	private boolean visible;
+
+	private void readEntityAttributes()
+	{
+		id = 0;
+		// Missing coordinates are represented as NaN, like the PBF readers do
+		lon = Double.NaN;
+		lat = Double.NaN;
+		version = -1;
+		timestamp = -1;
+		uid = -1;
+		user = "";
+		changeset = -1;
+		visible = true;
+
+		int n = reader.getAttributeCount();
+		for (int i = 0; i < n; i++) {
+			String name = reader.getAttributeLocalName(i);
+			String value = reader.getAttributeValue(i);
+			switch (name) {
+			case "id":
+				id = Long.parseLong(value);
+				break;
+			case "lon":
+				lon = Double.parseDouble(value);
+				break;
+			case "lat":
+				lat = Double.parseDouble(value);
+				break;
+			default:
+				if (parseMetadata) {
+					readMetadataAttribute(name, value);
+				}
+				break;
+			}
+		}
+	}
+
+	private void readMetadataAttribute(String name, String value)
+	{
+		switch (name) {
+		case "version":
+			version = Integer.parseInt(value);
+			break;
+		case "timestamp":
+			timestamp = TimestampCodec.parse(value);
+			break;
+		case "uid":
+			uid = Long.parseLong(value);
+			break;
+		case "user":
+			user = value;
+			break;
+		case "changeset":
+			changeset = Long.parseLong(value);
+			break;
+		case "visible":
+			visible = !value.equals("false");
+			break;
+		default:
+			break;
+		}
+	}
+
+	private OsmMetadata createMetadata()
+	{
+		if (!parseMetadata) {
+			return null;
+		}
+		return new Metadata(version, timestamp, uid, user, changeset,
+				visible);
+	}
+
+	private Node readNode() throws XMLStreamException
+	{
+		readEntityAttributes();
+		Node node = new Node(id, lon, lat, createMetadata());
+
+		List<OsmTag> tags = null;
+		int depth = 0;
+		while (true) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+				if (depth == 1 && reader.getLocalName().equals("tag")) {
+					tags = addTag(tags);
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				if (depth-- == 0) {
+					break;
+				}
+			}
+		}
+
+		if (tags != null) {
+			node.setTags(tags);
+		}
+		return node;
+	}
+
+	private Way readWay() throws XMLStreamException
+	{
+		readEntityAttributes();
+		TLongArrayList nodes = new TLongArrayList();
+		Way way = new Way(id, nodes, createMetadata());
+
+		List<OsmTag> tags = null;
+		int depth = 0;
+		while (true) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+				if (depth != 1) {
+					continue;
+				}
+				String name = reader.getLocalName();
+				if (name.equals("nd")) {
+					String ref = reader.getAttributeValue(null, "ref");
+					nodes.add(Long.parseLong(ref));
+				} else if (name.equals("tag")) {
+					tags = addTag(tags);
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				if (depth-- == 0) {
+					break;
+				}
+			}
+		}
+
+		if (tags != null) {
+			way.setTags(tags);
+		}
+		return way;
+	}
+
+	private Relation readRelation() throws XMLStreamException
+	{
+		readEntityAttributes();
+		List<OsmRelationMember> members = new ArrayList<>();
+		Relation relation = new Relation(id, members, createMetadata());
+
+		List<OsmTag> tags = null;
+		int depth = 0;
+		while (true) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+				if (depth != 1) {
+					continue;
+				}
+				String name = reader.getLocalName();
+				if (name.equals("member")) {
+					members.add(readMember());
+				} else if (name.equals("tag")) {
+					tags = addTag(tags);
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				if (depth-- == 0) {
+					break;
+				}
+			}
+		}
+
+		if (tags != null) {
+			relation.setTags(tags);
+		}
+		return relation;
+	}
+
+	private RelationMember readMember()
+	{
+		long ref = 0;
+		EntityType type = null;
+		String role = null;
+
+		int n = reader.getAttributeCount();
+		for (int i = 0; i < n; i++) {
+			String value = reader.getAttributeValue(i);
+			switch (reader.getAttributeLocalName(i)) {
+			case "ref":
+				ref = Long.parseLong(value);
+				break;
+			case "type":
+				type = parseType(value);
+				break;
+			case "role":
+				role = pooled(value);
+				break;
+			default:
+				break;
+			}
+		}
+		return new RelationMember(ref, type, role);
+	}
+
+	private static EntityType parseType(String value)
+	{
+		switch (value) {
+		case "node":
+			return EntityType.Node;
+		case "way":
+			return EntityType.Way;
+		case "relation":
+			return EntityType.Relation;
+		default:
+			return null;
+		}
+	}
+
+	private List<OsmTag> addTag(List<OsmTag> tags)
+	{
+		String k = null, v = null;
+		int n = reader.getAttributeCount();
+		for (int i = 0; i < n; i++) {
+			String name = reader.getAttributeLocalName(i);
+			if (name.equals("k")) {
+				k = pooled(reader.getAttributeValue(i));
+			} else if (name.equals("v")) {
+				v = reader.getAttributeValue(i);
+			}
+		}
+		if (tags == null) {
+			tags = new ArrayList<>();
+		}
+		tags.add(new Tag(k, v));
+		return tags;
+	}
+
+	private String pooled(String value)
+	{
+		String pooled = pool.get(value);
+		if (pooled != null) {
+			return pooled;
+		}
+		if (pool.size() < POOL_LIMIT) {
+			pool.put(value, value);
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,469 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.xml.pull;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+
+import de.topobyte.osm4j.core.access.OsmIterator;
+import de.topobyte.osm4j.core.model.iface.EntityContainer;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+
+/**
+ * An iterator over an uncompressed OSM XML file that parses the file with
+ * multiple threads.
+ * 
+ * The file is cut into byte ranges of roughly equal size. Each range is moved
+ * forward to the start of the next top-level <code>&lt;node</code>,
+ * <code>&lt;way</code> or <code>&lt;relation</code> element, so that every
+ * entity lies in exactly one range. A range is parsed by an independent
+ * {@link OsmXmlPullIterator} that sees the document header, the range itself
+ * and a closing root tag. As a literal <code>&lt;</code> always starts markup
+ * in XML, boundaries can be found without parsing. This requires an ASCII
+ * compatible encoding such as UTF-8 and no entity elements hidden in comments
+ * or CDATA sections.
+ * 
+ * By default entities are returned in document order. In unordered mode,
+ * ranges are delivered in the order in which they have been parsed, which
+ * avoids waiting for a slow range while others are already done.
+ * 
+ * Threads and the file are released once the iterator has been exhausted or
+ * when {@link #close()} is called.
+ * 
+ * @author Sebastian Kuerten (sebastian@topobyte.de)
+ */
+public class ParallelOsmXmlIterator implements OsmIterator, Closeable
+{
+
+	public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+	private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+	private static final byte[][] ELEMENTS = { bytes("node"), bytes("way"),
+			bytes("relation") };
+
+	private static final byte[] ROOT_END = bytes("</osm>");
+
+	private final FileChannel channel;
+	private final boolean parseMetadata;
+	private final boolean ordered;
+	private final long chunkSize;
+	private final int window;
+
+	private long length;
+	private long headerEnd;
+	private byte[] header;
+	private OsmBounds bounds;
+
+	private ExecutorService executor;
+	private BlockingQueue<Future<List<EntityContainer>>> done = null;
+	private CompletionService<List<EntityContainer>> completion = null;
+	private Deque<Future<List<EntityContainer>>> pending = new ArrayDeque<>();
+	private int numChunks;
+	private int nextChunk = 0;
+	private int running = 0;
+
+	private List<EntityContainer> current = Collections.emptyList();
+	private int index = 0;
+	private boolean closed = false;
+
+	public ParallelOsmXmlIterator(File file, boolean parseMetadata,
+			int threads, boolean ordered) throws IOException
+	{
+		this(file, parseMetadata, threads, ordered, DEFAULT_CHUNK_SIZE);
+	}
+
+	public ParallelOsmXmlIterator(File file, boolean parseMetadata,
+			int threads, boolean ordered, int chunkSize) throws IOException
+	{
+		this.parseMetadata = parseMetadata;
+		this.ordered = ordered;
+		this.chunkSize = chunkSize;
+		window = threads * 2;
+
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try {
+			init(threads);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private void init(int threads) throws IOException
+	{
+		length = channel.size();
+		headerEnd = findElement(0);
+
+		header = new byte[(int) headerEnd];
+		readFully(ByteBuffer.wrap(header), 0);
+
+		// Bounds are only regarded if they appear before the first entity
+		InputStream headerOnly = new ByteArrayInputStream(header);
+		if (headerEnd < length) {
+			headerOnly = new SequenceInputStream(headerOnly,
+					new ByteArrayInputStream(ROOT_END));
+		}
+		OsmXmlPullIterator headerIterator = new OsmXmlPullIterator(
+				headerOnly, false);
+		bounds = headerIterator.getBounds();
+
+		if (headerEnd == length) {
+			numChunks = 0;
+			return;
+		}
+		numChunks = (int) ((length - headerEnd + chunkSize - 1) / chunkSize);
+
+		executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r)
+			{
+				Thread thread = new Thread(r, "osm-xml-parser");
+				thread.setDaemon(true);
+				return thread;
+			}
+
+		});
+		if (!ordered) {
+			// Only used in unordered mode, in ordered mode nobody would drain
+			// the queue of completed tasks and it would keep all results
+			done = new LinkedBlockingQueue<>();
+			completion = new ExecutorCompletionService<>(executor, done);
+		}
+		submit();
+	}
+
+	@Override
+	public Iterator<EntityContainer> iterator()
+	{
+		return this;
+	}
+
+	@Override
+	public boolean hasBounds()
+	{
+		return bounds != null;
+	}
+
+	@Override
+	public OsmBounds getBounds()
+	{
+		return bounds;
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		while (index >= current.size()) {
+			if (closed || (running == 0 && nextChunk >= numChunks)) {
+				close();
+				return false;
+			}
+			current = take();
+			index = 0;
+			submit();
+		}
+		return true;
+	}
+
+	@Override
+	public EntityContainer next()
+	{
+		if (!hasNext()) {
+			throw new NoSuchElementException("End of stream has been reached");
+		}
+		return current.get(index++);
+	}
+
+	@Override
+	public void remove()
+	{
+		throw new UnsupportedOperationException(
+				"an iterator over osm files is read-only");
+	}
+
+	@Override
+	public void close()
+	{
+		if (closed) {
+			return;
+		}
+		closed = true;
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	private void submit()
+	{
+		while (running < window && nextChunk < numChunks) {
+			long from = headerEnd + nextChunk * chunkSize;
+			nextChunk++;
+			running++;
+			ChunkTask task = new ChunkTask(from, from + chunkSize);
+			if (ordered) {
+				pending.add(executor.submit(task));
+			} else {
+				pending.add(completion.submit(task));
+			}
+		}
+	}
+
+	/**
+	 * @return the number of chunks that have been submitted for parsing and
+	 *         whose results are still referenced by this iterator, i.e. have
+	 *         not been handed out yet.
+	 */
+	int getNumberOfRetainedChunks()
+	{
+		int count = pending.size();
+		if (done != null) {
+			for (Future<List<EntityContainer>> future : done) {
+				if (!pending.contains(future)) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	private List<EntityContainer> take()
+	{
+		try {
+			Future<List<EntityContainer>> future;
+			if (ordered) {
+				future = pending.poll();
+			} else {
+				future = completion.take();
+				pending.remove(future);
+			}
+			running--;
+			return future.get();
+		} catch (InterruptedException e) {
+			close();
+			throw new RuntimeException("interrupted while waiting for input",
+					e);
+		} catch (ExecutionException e) {
+			close();
+			throw new RuntimeException("error while processing input",
+					e.getCause());
+		}
+	}
+
+	private List<EntityContainer> parse(long from, long to) throws IOException
+	{
+		long start = align(from);
+		long end = align(to);
+		if (start >= end) {
+			return Collections.emptyList();
+		}
+
+		List<InputStream> parts = new ArrayList<>();
+		parts.add(new ByteArrayInputStream(header));
+		parts.add(new BufferedInputStream(new RangeInputStream(start, end)));
+		if (end < length) {
+			parts.add(new ByteArrayInputStream(ROOT_END));
+		}
+		InputStream input = new SequenceInputStream(
+				Collections.enumeration(parts));
+
+		List<EntityContainer> results = new ArrayList<>();
+		OsmXmlPullIterator iterator = new OsmXmlPullIterator(input,
+				parseMetadata);
+		while (iterator.hasNext()) {
+			results.add(iterator.next());
+		}
+		return results;
+	}
+
+	private long align(long position) throws IOException
+	{
+		if (position <= headerEnd) {
+			return headerEnd;
+		}
+		if (position >= length) {
+			return length;
+		}
+		return findElement(position);
+	}
+
+	/**
+	 * Find the offset of the first entity start tag at or after the specified
+	 * position or the file length if there is none.
+	 */
+	private long findElement(long position) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+		byte[] bytes = buffer.array();
+		// Maximum number of bytes needed to recognize a start tag
+		int lookahead = 2 + "relation".length();
+
+		while (position < length) {
+			buffer.clear();
+			int n = readFully(buffer, position);
+			boolean eof = position + n >= length;
+			int limit = eof ? n : n - lookahead;
+			for (int i = 0; i < limit; i++) {
+				if (bytes[i] == '<' && isEntityStart(bytes, i + 1, n)) {
+					return position + i;
+				}
+			}
+			position += limit;
+		}
+		return length;
+	}
+
+	private static boolean isEntityStart(byte[] bytes, int offset, int n)
+	{
+		for (byte[] name : ELEMENTS) {
+			int end = offset + name.length;
+			if (end >= n) {
+				continue;
+			}
+			boolean match = true;
+			for (int k = 0; k < name.length; k++) {
+				if (bytes[offset + k] != name[k]) {
+					match = false;
+					break;
+				}
+			}
+			if (!match) {
+				continue;
+			}
+			byte next = bytes[end];
+			if (next == ' ' || next == '\t' || next == '\n' || next == '\r'
+					|| next == '>' || next == '/') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int readFully(ByteBuffer buffer, long position) throws IOException
+	{
+		int total = 0;
+		while (buffer.hasRemaining()) {
+			int n = channel.read(buffer, position + total);
+			if (n < 0) {
+				break;
+			}
+			total += n;
+		}
+		return total;
+	}
+
+	private static byte[] bytes(String string)
+	{
+		return string.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	private class ChunkTask implements Callable<List<EntityContainer>>
+	{
+
+		private long from;
+		private long to;
+
+		ChunkTask(long from, long to)
+		{
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public List<EntityContainer> call() throws IOException
+		{
+			return parse(from, to);
+		}
+
+	}
+
+	/**
+	 * A stream over a range of the file that uses positional reads, so that
+	 * multiple ranges can be read concurrently from the same channel.
+	 */
+	private class RangeInputStream extends InputStream
+	{
+
+		private long position;
+		private long end;
+
+		RangeInputStream(long position, long end)
+		{
+			this.position = position;
+			this.end = end;
+		}
+
+		@Override
+		public int read() throws IOException
+		{
+			byte[] b = new byte[1];
+			int n = read(b, 0, 1);
+			return n < 0 ? -1 : b[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException
+		{
+			if (position >= end) {
+				return -1;
+			}
+			int count = (int) Math.min(len, end - position);
+			ByteBuffer buffer = ByteBuffer.wrap(b, off, count);
+			int n = channel.read(buffer, position);
+			if (n < 0) {
+				return -1;
+			}
+			position += n;
+			return n;
+		}
+
+	}
+
+}
@@ -0,0 +1,85 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.xml.output;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestCoordinateFormat
+{
+
+	private DecimalFormat reference = new DecimalFormat("0.#######;-0.#######",
+			new DecimalFormatSymbols(Locale.US));
+
+	private CoordinateFormat format = new CoordinateFormat();
+
+	private void check(double value)
+	{
+		BuilderWriter buf = new BuilderWriter();
+		format.format(buf, value);
+		Assert.assertEquals("value " + value, reference.format(value),
+				buf.toString());
+	}
+
+	@Test
+	public void testSpecialValues()
+	{
+		double[] values = { 0, -0.0, 1, -1, 180, -180, 90, -90, 0.5, 1e-7,
+				-1e-7, 1e-8, -1e-8, 5e-8, -5e-8, 1.5e-7, 2.5e-7, 0.00000015,
+				13.00000005, 52.1234567, -52.1234567, 1e10, -1e10,
+				Double.NaN, Double.POSITIVE_INFINITY,
+				Double.NEGATIVE_INFINITY, Double.MIN_VALUE };
+		for (double value : values) {
+			check(value);
+		}
+	}
+
+	@Test
+	public void testFixedPoint()
+	{
+		// Coordinates as they are decoded from PBF and TBO files
+		Random random = new Random(1);
+		for (int i = 0; i < 100000; i++) {
+			long fixed = (long) (random.nextDouble() * 3600000000L)
+					- 1800000000L;
+			check(fixed * 1e-7);
+			check(fixed / 1e7);
+		}
+	}
+
+	@Test
+	public void testRandom()
+	{
+		Random random = new Random(2);
+		for (int i = 0; i < 100000; i++) {
+			check(random.nextDouble() * 360 - 180);
+		}
+		for (int i = 0; i < 100000; i++) {
+			// Values close to a rounding tie
+			long fixed = random.nextInt(1800000000);
+			check((fixed + 0.5) / 1e7);
+			check(-(fixed + 0.5) / 1e7);
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.xml.pull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.topobyte.osm4j.testing.DataSetGenerator;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.EntityGenerator;
+import de.topobyte.osm4j.testing.TestDataSet;
+import de.topobyte.osm4j.xml.output.OsmXmlOutputStream;
+
+public class TestParallelIteratorWindow
+{
+
+	private static File file;
+	private static int numEntities;
+
+	@BeforeClass
+	public static void setup() throws IOException
+	{
+		EntityGenerator entityGenerator = new EntityGenerator(10, true);
+		DataSetGenerator dataSetGenerator = new DataSetGenerator(
+				entityGenerator);
+		TestDataSet data = dataSetGenerator.generate(2000, 500, 100);
+		numEntities = 2600;
+
+		file = File.createTempFile("osm4j", ".osm");
+		OutputStream out = new FileOutputStream(file);
+		OsmXmlOutputStream output = new OsmXmlOutputStream(out, true);
+		DataSetHelper.write(data, output);
+		output.complete();
+		out.close();
+	}
+
+	@AfterClass
+	public static void cleanup()
+	{
+		file.delete();
+	}
+
+	@Test
+	public void testOrdered() throws IOException
+	{
+		test(true);
+	}
+
+	@Test
+	public void testUnordered() throws IOException
+	{
+		test(false);
+	}
+
+	private void test(boolean ordered) throws IOException
+	{
+		int threads = 2;
+		int window = threads * 2;
+		// Many small chunks, far more than fit into the window
+		ParallelOsmXmlIterator iterator = new ParallelOsmXmlIterator(file,
+				false, threads, ordered, 256);
+
+		int count = 0;
+		while (iterator.hasNext()) {
+			iterator.next();
+			count++;
+			Assert.assertTrue("retained chunks exceed window",
+					iterator.getNumberOfRetainedChunks() <= window);
+		}
+		Assert.assertEquals(numEntities, count);
+	}
+
+}
@@ -0,0 +1,114 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.xml.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.access.OsmBatchHandler;
+import de.topobyte.osm4j.core.access.OsmInputException;
+import de.topobyte.osm4j.core.access.wrapper.OsmReaderBatchAdapter;
+import de.topobyte.osm4j.core.model.iface.OsmBounds;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.core.model.iface.OsmRelation;
+import de.topobyte.osm4j.core.model.iface.OsmWay;
+import de.topobyte.osm4j.testing.DataSetGenerator;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.EntityGenerator;
+import de.topobyte.osm4j.testing.TestDataSet;
+import de.topobyte.osm4j.xml.dynsax.OsmXmlIterator;
+import de.topobyte.osm4j.xml.dynsax.OsmXmlReader;
+import de.topobyte.osm4j.xml.output.OsmXmlOutputStream;
+
+public class TestBatchRead
+{
+
+	@Test
+	public void testReader() throws IOException, OsmInputException
+	{
+		EntityGenerator entityGenerator = new EntityGenerator(10, true);
+		DataSetGenerator dataSetGenerator = new DataSetGenerator(
+				entityGenerator);
+		TestDataSet generated = dataSetGenerator.generate(30, 20, 10);
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		OsmXmlOutputStream output = new OsmXmlOutputStream(baos, true);
+		DataSetHelper.write(generated, output);
+		output.complete();
+		byte[] bytes = baos.toByteArray();
+
+		final List<Integer> sizes = new ArrayList<>();
+		OsmXmlReader reader = new OsmXmlReader(new ByteArrayInputStream(bytes),
+				true);
+		reader.setBatchHandler(new OsmBatchHandler() {
+
+			@Override
+			public void handle(OsmBounds bounds) throws IOException
+			{
+				// ignore
+			}
+
+			@Override
+			public void handleNodes(List<? extends OsmNode> nodes)
+					throws IOException
+			{
+				sizes.add(nodes.size());
+			}
+
+			@Override
+			public void handleWays(List<? extends OsmWay> ways)
+					throws IOException
+			{
+				sizes.add(ways.size());
+			}
+
+			@Override
+			public void handleRelations(List<? extends OsmRelation> relations)
+					throws IOException
+			{
+				sizes.add(relations.size());
+			}
+
+			@Override
+			public void complete() throws IOException
+			{
+				sizes.add(0);
+			}
+
+		}, 8);
+		reader.read();
+
+		// 30 nodes, 20 ways and 10 relations in batches of up to 8
+		Assert.assertEquals(4 + 3 + 2 + 1, sizes.size());
+		Assert.assertEquals(6, (int) sizes.get(3));
+		Assert.assertEquals(0, (int) sizes.get(sizes.size() - 1));
+
+		TestDataSet expected = DataSetHelper.read(
+				new OsmXmlIterator(new ByteArrayInputStream(bytes), true));
+		TestDataSet data = DataSetHelper.read(new OsmReaderBatchAdapter(
+				new OsmXmlReader(new ByteArrayInputStream(bytes), true)));
+		Assert.assertTrue(DataSetHelper.equals(expected, data));
+	}
+
+}
@@ -0,0 +1,120 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.xml.test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.model.iface.OsmEntity;
+import de.topobyte.osm4j.testing.DataSetGenerator;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.EntityGenerator;
+import de.topobyte.osm4j.testing.TestDataSet;
+import de.topobyte.osm4j.testing.model.TestBounds;
+import de.topobyte.osm4j.xml.output.OsmXmlOutputStream;
+import de.topobyte.osm4j.xml.pull.ParallelOsmXmlIterator;
+
+public class TestParallelIterator
+{
+
+	private static File file;
+	private static TestDataSet data;
+
+	@BeforeClass
+	public static void setup() throws IOException
+	{
+		EntityGenerator entityGenerator = new EntityGenerator(10, true);
+		DataSetGenerator dataSetGenerator = new DataSetGenerator(
+				entityGenerator);
+		data = dataSetGenerator.generate(1000, 300, 100);
+		data.setBounds(new TestBounds(12, 13, 52, 50));
+
+		file = File.createTempFile("osm4j", ".osm");
+		OutputStream out = new FileOutputStream(file);
+		OsmXmlOutputStream output = new OsmXmlOutputStream(out, true);
+		output.write(data.getBounds());
+		DataSetHelper.write(data, output);
+		output.complete();
+		out.close();
+	}
+
+	@AfterClass
+	public static void cleanup()
+	{
+		file.delete();
+	}
+
+	@Test
+	public void testOrdered() throws IOException
+	{
+		for (int chunkSize : new int[] { 100, 4096, 1 << 20 }) {
+			for (int threads = 1; threads <= 4; threads++) {
+				ParallelOsmXmlIterator iterator = new ParallelOsmXmlIterator(
+						file, true, threads, true, chunkSize);
+				TestDataSet read = DataSetHelper.read(iterator);
+
+				Assert.assertNotNull(read.getBounds());
+				Assert.assertTrue("generated vs. parsed in parallel",
+						DataSetHelper.equals(data, read));
+			}
+		}
+	}
+
+	@Test
+	public void testUnordered() throws IOException
+	{
+		ParallelOsmXmlIterator iterator = new ParallelOsmXmlIterator(file,
+				true, 4, false, 1000);
+		TestDataSet read = DataSetHelper.read(iterator);
+		TestDataSet expected = new TestDataSet(data);
+
+		sort(read.getNodes());
+		sort(read.getWays());
+		sort(read.getRelations());
+		sort(expected.getNodes());
+		sort(expected.getWays());
+		sort(expected.getRelations());
+
+		Assert.assertTrue("generated vs. parsed in parallel",
+				DataSetHelper.equals(expected, read));
+	}
+
+	private static void sort(List<? extends OsmEntity> entities)
+	{
+		Collections.sort(entities, new Comparator<OsmEntity>() {
+
+			@Override
+			public int compare(OsmEntity o1, OsmEntity o2)
+			{
+				return Long.compare(o1.getId(), o2.getId());
+			}
+
+		});
+	}
+
+}
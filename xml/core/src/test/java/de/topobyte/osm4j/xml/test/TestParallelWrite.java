@@ -0,0 +1,76 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.xml.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.topobyte.osm4j.testing.DataSetGenerator;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.EntityGenerator;
+import de.topobyte.osm4j.testing.TestDataSet;
+import de.topobyte.osm4j.testing.model.TestBounds;
+import de.topobyte.osm4j.xml.output.OsmXmlOutputStream;
+import de.topobyte.osm4j.xml.pull.OsmXmlPullIterator;
+
+public class TestParallelWrite
+{
+
+	@Test
+	public void test() throws IOException
+	{
+		EntityGenerator entityGenerator = new EntityGenerator(10, true);
+		DataSetGenerator dataSetGenerator = new DataSetGenerator(
+				entityGenerator);
+		TestDataSet data = dataSetGenerator.generate(3000, 1000, 300);
+		data.setBounds(new TestBounds(12, 13, 52, 50));
+
+		// Reference output through a character based writer
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		PrintWriter pw = new PrintWriter(
+				new OutputStreamWriter(baos, StandardCharsets.UTF_8));
+		OsmXmlOutputStream output = new OsmXmlOutputStream(pw, true);
+		output.write(data.getBounds());
+		DataSetHelper.write(data, output);
+		output.complete();
+		byte[] expected = baos.toByteArray();
+
+		for (int threads = 1; threads <= 4; threads++) {
+			baos = new ByteArrayOutputStream();
+			output = new OsmXmlOutputStream(baos, true, threads);
+			output.write(data.getBounds());
+			DataSetHelper.write(data, output);
+			output.complete();
+			byte[] bytes = baos.toByteArray();
+
+			Assert.assertArrayEquals("threads: " + threads, expected, bytes);
+		}
+
+		TestDataSet reread = DataSetHelper.read(new OsmXmlPullIterator(
+				new ByteArrayInputStream(expected), true));
+		Assert.assertTrue(DataSetHelper.equals(data, reread));
+	}
+
+}
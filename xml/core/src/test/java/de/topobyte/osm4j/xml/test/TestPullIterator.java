@@ -0,0 +1,154 @@
+// Copyright 2026 Sebastian Kuerten
+//
+// This file is part of osm4j.
+//
+// osm4j is free software: you can redistribute it and/or modify
+// it under the terms of the GNU Lesser General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// osm4j is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+// GNU Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU Lesser General Public License
+// along with osm4j. If not, see <http://www.gnu.org/licenses/>.
+
+package de.topobyte.osm4j.xml.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.topobyte.osm4j.core.model.iface.OsmMetadata;
+import de.topobyte.osm4j.core.model.iface.OsmNode;
+import de.topobyte.osm4j.testing.DataSetGenerator;
+import de.topobyte.osm4j.testing.DataSetHelper;
+import de.topobyte.osm4j.testing.EntityGenerator;
+import de.topobyte.osm4j.testing.TestDataSet;
+import de.topobyte.osm4j.testing.model.TestBounds;
+import de.topobyte.osm4j.testing.model.TestNode;
+import de.topobyte.osm4j.xml.dynsax.OsmXmlIterator;
+import de.topobyte.osm4j.xml.output.OsmXmlOutputStream;
+import de.topobyte.osm4j.xml.pull.OsmXmlPullIterator;
+
+public class TestPullIterator extends LocaleTest
+{
+
+	public TestPullIterator(Locale locale)
+	{
+		super(locale);
+	}
+
+	@Test
+	public void testRandom() throws IOException
+	{
+		for (boolean metadata : new boolean[] { true, false }) {
+			EntityGenerator entityGenerator = new EntityGenerator(10,
+					metadata);
+			DataSetGenerator dataSetGenerator = new DataSetGenerator(
+					entityGenerator);
+			TestDataSet data = dataSetGenerator.generate(30, 20, 10);
+			data.setBounds(new TestBounds(12, 13, 52, 50));
+
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			OsmXmlOutputStream output = new OsmXmlOutputStream(baos,
+					metadata);
+			output.write(data.getBounds());
+			DataSetHelper.write(data, output);
+			output.complete();
+			String xml = new String(baos.toByteArray(),
+					StandardCharsets.UTF_8);
+
+			TestDataSet sax = DataSetHelper.read(new OsmXmlIterator(
+					IOUtils.toInputStream(xml, StandardCharsets.UTF_8),
+					metadata));
+			TestDataSet pull = DataSetHelper.read(new OsmXmlPullIterator(
+					IOUtils.toInputStream(xml, StandardCharsets.UTF_8),
+					metadata));
+
+			Assert.assertNotNull(pull.getBounds());
+			Assert.assertEquals(sax.getBounds().getLeft(),
+					pull.getBounds().getLeft(), 0);
+			Assert.assertEquals(sax.getBounds().getBottom(),
+					pull.getBounds().getBottom(), 0);
+			Assert.assertTrue("generated vs. pulled",
+					DataSetHelper.equals(data, pull));
+			Assert.assertTrue("sax vs. pulled",
+					DataSetHelper.equals(sax, pull));
+		}
+	}
+
+	@Test
+	public void testEmoji()
+	{
+		InputStream input = Util.stream("username-emoji.osm");
+
+		OsmXmlPullIterator iterator = new OsmXmlPullIterator(input, true);
+		OsmNode node = (OsmNode) iterator.next().getEntity();
+
+		OsmMetadata metadata = node.getMetadata();
+		Assert.assertEquals("account with emoji 😎", metadata.getUser());
+		Assert.assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	public void testMissingCoordinates()
+	{
+		InputStream input = Util.stream("missing-coordinates.osm");
+		TestDataSet data = DataSetHelper
+				.read(new OsmXmlPullIterator(input, true));
+		List<TestNode> nodes = data.getNodes();
+
+		// lat missing
+		Assert.assertTrue(Double.isNaN(nodes.get(2).getLatitude()));
+		Assert.assertEquals(13.4666233, nodes.get(2).getLongitude(), 0);
+		// lon missing
+		Assert.assertTrue(Double.isNaN(nodes.get(4).getLongitude()));
+		Assert.assertEquals(52.5069276, nodes.get(4).getLatitude(), 0);
+		// both missing
+		Assert.assertTrue(Double.isNaN(nodes.get(7).getLatitude()));
+		Assert.assertTrue(Double.isNaN(nodes.get(7).getLongitude()));
+
+		for (int i : new int[] { 0, 1, 3, 5, 6, 8, 9 }) {
+			Assert.assertFalse(Double.isNaN(nodes.get(i).getLatitude()));
+			Assert.assertFalse(Double.isNaN(nodes.get(i).getLongitude()));
+		}
+	}
+
+	@Test
+	public void testOnlyChildrenOfOsm()
+	{
+		String xml = "<?xml version='1.0' encoding='UTF-8'?>\n"
+				+ "<osm version=\"0.6\">\n"
+				+ "  <node id=\"1\" lat=\"52.5\" lon=\"13.4\"/>\n"
+				+ "  <extra>\n"
+				+ "    <node id=\"2\" lat=\"52.5\" lon=\"13.4\"/>\n"
+				+ "    <bounds minlat=\"1\" minlon=\"1\""
+				+ " maxlat=\"2\" maxlon=\"2\"/>\n"
+				+ "  </extra>\n"
+				+ "  <way id=\"3\">\n"
+				+ "    <nd ref=\"1\"/>\n"
+				+ "  </way>\n"
+				+ "</osm>\n";
+
+		TestDataSet sax = DataSetHelper.read(new OsmXmlIterator(
+				IOUtils.toInputStream(xml, StandardCharsets.UTF_8), false));
+		TestDataSet pull = DataSetHelper.read(new OsmXmlPullIterator(
+				IOUtils.toInputStream(xml, StandardCharsets.UTF_8), false));
+
+		Assert.assertEquals(1, pull.getNodes().size());
+		Assert.assertEquals(1, pull.getWays().size());
+		Assert.assertNull(pull.getBounds());
+		Assert.assertTrue("sax vs. pulled", DataSetHelper.equals(sax, pull));
+	}
+
+}